@@ -0,0 +1,92 @@
+package dev.viniciussr.gamerental.benchmark;
+
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.Rental;
+import dev.viniciussr.gamerental.model.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Entidades de exemplo compartilhadas pelos benchmarks.
+ * <p>
+ * Os dados são determinísticos, para que execuções diferentes sejam comparáveis.
+ * </p>
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "benchmark-secret-0123456789abcdef";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user(long id) {
+
+        User user = new User(
+                "Usuário " + id,
+                "usuario" + id + "@gamerental.dev",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5bOgH8GqT9/Rb3Ztqv2Xz0K",
+                UserRole.USER,
+                SubscriptionPlans.values()[(int) (id % SubscriptionPlans.values().length)],
+                0
+        );
+        user.setIdUser(id);
+        return user;
+    }
+
+    public static Game game(long id) {
+
+        Game game = new Game(
+                "Jogo " + id,
+                GameGenres.values()[(int) (id % GameGenres.values().length)],
+                EnumSet.of(Platforms.values()[(int) (id % Platforms.values().length)]),
+                (int) (id % 10) + 1,
+                true
+        );
+        game.setIdGame(id);
+        return game;
+    }
+
+    public static Rental rental(long id) {
+
+        LocalDate rentalDate = LocalDate.of(2025, 1, 1).plusDays(id % 365);
+
+        Rental rental = new Rental(
+                game(id % 500 + 1),
+                user(id % 2000 + 1),
+                rentalDate,
+                rentalDate.plusDays(7),
+                RentalStatus.ACTIVE
+        );
+        rental.setIdRental(id);
+        return rental;
+    }
+
+    public static List<Game> games(int size) {
+
+        List<Game> games = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) games.add(game(id));
+        return games;
+    }
+
+    public static List<Rental> rentals(int size) {
+
+        List<Rental> rentals = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) rentals.add(rental(id));
+        return rentals;
+    }
+
+    public static List<User> users(int size) {
+
+        List<User> users = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) users.add(user(id));
+        return users;
+    }
+}
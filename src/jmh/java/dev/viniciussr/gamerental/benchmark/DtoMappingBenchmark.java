@@ -0,0 +1,58 @@
+package dev.viniciussr.gamerental.benchmark;
+
+import dev.viniciussr.gamerental.dto.GameDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.dto.UserDto;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.Rental;
+import dev.viniciussr.gamerental.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da conversão de entidades em DTOs, no mesmo formato usado pelos
+ * serviços ao montar as listagens ({@code stream().map(XxxDto::new).toList()}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<Game> games;
+    private List<Rental> rentals;
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+
+        games = BenchmarkFixtures.games(size);
+        rentals = BenchmarkFixtures.rentals(size);
+        users = BenchmarkFixtures.users(size);
+    }
+
+    @Benchmark
+    public List<GameDto> gameDtos() {
+
+        return games.stream().map(GameDto::new).toList();
+    }
+
+    @Benchmark
+    public List<RentalDto> rentalDtos() {
+
+        return rentals.stream().map(RentalDto::new).toList();
+    }
+
+    @Benchmark
+    public List<UserDto> userDtos() {
+
+        return users.stream().map(UserDto::new).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package dev.viniciussr.gamerental.benchmark;
+
+import dev.viniciussr.gamerental.exception.ErrorResponse;
+import dev.viniciussr.gamerental.exception.GlobalExceptionHandler;
+import dev.viniciussr.gamerental.exception.game.GameNotFoundException;
+import dev.viniciussr.gamerental.exception.rental.PlanLimitExceededException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks das respostas de erro montadas pelo {@link GlobalExceptionHandler}.
+ * <p>
+ * Mede separadamente o tratamento de uma exceção já criada e o caminho completo
+ * (criação da exceção, com captura da pilha, seguida do tratamento).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private GameNotFoundException gameNotFound;
+
+    @Setup
+    public void setup() {
+
+        handler = new GlobalExceptionHandler();
+        gameNotFound = new GameNotFoundException("Jogo não encontrado: 42");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> handleNotFound() {
+
+        return handler.handleGameNotFound(gameNotFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> throwAndHandlePlanLimit() {
+
+        try {
+            throw new PlanLimitExceededException(BenchmarkFixtures.user(1));
+        } catch (PlanLimitExceededException e) {
+            return handler.handlePlanLimitExceeded(e);
+        }
+    }
+}
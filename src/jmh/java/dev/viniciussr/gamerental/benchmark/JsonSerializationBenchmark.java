@@ -0,0 +1,55 @@
+package dev.viniciussr.gamerental.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.dto.GameDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da serialização JSON de listas grandes de DTOs, como nas respostas
+ * de listagem da API.
+ * <p>
+ * O {@link ObjectMapper} é criado com {@link Jackson2ObjectMapperBuilder}, com os
+ * mesmos módulos registrados pelo Spring Boot (ex.: datas do {@code java.time}).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<GameDto> games;
+    private List<RentalDto> rentals;
+
+    @Setup
+    public void setup() {
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        games = BenchmarkFixtures.games(size).stream().map(GameDto::new).toList();
+        rentals = BenchmarkFixtures.rentals(size).stream().map(RentalDto::new).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeGames() throws JsonProcessingException {
+
+        return objectMapper.writeValueAsBytes(games);
+    }
+
+    @Benchmark
+    public byte[] serializeRentals() throws JsonProcessingException {
+
+        return objectMapper.writeValueAsBytes(rentals);
+    }
+}
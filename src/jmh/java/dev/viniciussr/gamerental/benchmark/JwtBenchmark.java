@@ -0,0 +1,78 @@
+package dev.viniciussr.gamerental.benchmark;
+
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.security.jwt.JwtService;
+import dev.viniciussr.gamerental.security.jwt.JwtTokenFilter;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da autenticação JWT: emissão e validação do token e o filtro
+ * {@link JwtTokenFilter} aplicado a uma requisição autenticada.
+ * <p>
+ * O carregamento do usuário é substituído por um usuário em memória, isolando
+ * o custo do filtro do acesso ao banco.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private JwtTokenFilter jwtTokenFilter;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", BenchmarkFixtures.JWT_SECRET);
+
+        user = BenchmarkFixtures.user(1);
+        jwtTokenFilter = new JwtTokenFilter(jwtService, username -> user);
+        token = jwtService.generateToken(user);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String generateToken() {
+
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateToken() {
+
+        jwtService.validateToken(token);
+        return token;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterAuthenticatedRequest() throws ServletException, IOException {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/games");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtTokenFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,127 @@
+package dev.viniciussr.gamerental.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.viniciussr.gamerental.dto.GameDto;
+import dev.viniciussr.gamerental.model.Game;
+import org.flywaydb.core.Flyway;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da listagem de jogos pelo Hibernate (H2 em memória), com a sessão em modo
+ * somente leitura ({@code FlushMode.MANUAL} e entidades sem snapshot, como em
+ * {@code @Transactional(readOnly = true)}) e no modo padrão de leitura e escrita.
+ * <p>
+ * Com {@code -prof gc}, a métrica {@code gc.alloc.rate.norm} indica a memória alocada por listagem.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyListingBenchmark {
+
+    private static final String URL =
+            "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setup() {
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(URL);
+        dataSource.setUsername("sa");
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").cleanDisabled(false).load().clean();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Game> games = BenchmarkFixtures.games(size);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tb_game (id_game, title, genre, quantity, available, version) VALUES (?, ?, ?, ?, ?, 0)",
+                games, games.size(), (ps, game) -> {
+                    ps.setLong(1, game.getIdGame());
+                    ps.setString(2, game.getTitle());
+                    ps.setString(3, game.getGenre().name());
+                    ps.setInt(4, game.getQuantity());
+                    ps.setBoolean(5, game.isAvailable());
+                });
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tb_game_platform (game_id, platform) VALUES (?, ?)",
+                games, games.size(), (ps, game) -> {
+                    ps.setLong(1, game.getIdGame());
+                    ps.setString(2, game.getPlatform().iterator().next().name());
+                });
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Game.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<GameDto> listGamesReadOnly() {
+
+        return listGames(true);
+    }
+
+    @Benchmark
+    public List<GameDto> listGamesReadWrite() {
+
+        return listGames(false);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Lista os jogos (com as plataformas) e converte em DTOs dentro de uma transação, como nos serviços.
+     */
+    private List<GameDto> listGames(boolean readOnly) {
+
+        try (Session session = sessionFactory.openSession()) {
+
+            if (readOnly) {
+                session.setDefaultReadOnly(true);
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+            }
+
+            Transaction transaction = session.beginTransaction();
+            List<GameDto> games = session
+                    .createSelectionQuery("select distinct g from Game g left join fetch g.platform", Game.class)
+                    .getResultList()
+                    .stream()
+                    .map(GameDto::new)
+                    .toList();
+            transaction.commit();
+            return games;
+        }
+    }
+}
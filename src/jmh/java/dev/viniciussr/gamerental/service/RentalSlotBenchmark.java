@@ -0,0 +1,88 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.benchmark.BenchmarkFixtures;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import dev.viniciussr.gamerental.exception.rental.PlanLimitExceededException;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da verificação do limite de aluguéis ativos do plano
+ * ({@link UserService#reserveRentalSlot(User)}).
+ * <p>
+ * Fica no pacote {@code service} por se tratar de um método de pacote. O repositório
+ * é substituído por um proxy que responde ao {@code UPDATE} condicional sem acessar
+ * o banco, de modo que apenas o custo da própria verificação é medido: vaga
+ * disponível (1 registro atualizado) ou limite atingido (0 registros e exceção).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalSlotBenchmark {
+
+    /** Feed de alterações sem gravação: registro feito no commit, fora do custo medido. */
+    private static final ChangeLog CHANGE_LOG = new ChangeLog(null, null, null) {
+        @Override
+        public void changed(ChangeEntity entity, Long id) {
+        }
+    };
+
+    private UserService slotAvailable;
+    private UserService limitReached;
+    private User user;
+
+    @Setup
+    public void setup() {
+
+        slotAvailable = userService(1);
+        limitReached = userService(0);
+        user = BenchmarkFixtures.user(1);
+    }
+
+    @Benchmark
+    public User reserveRentalSlot() {
+
+        slotAvailable.reserveRentalSlot(user);
+        return user;
+    }
+
+    @Benchmark
+    public PlanLimitExceededException reserveRentalSlotLimitReached() {
+
+        try {
+            limitReached.reserveRentalSlot(user);
+            return null;
+        } catch (PlanLimitExceededException e) {
+            return e;
+        }
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Cria o serviço com um repositório cujo {@code incrementActiveRentals} retorna sempre {@code updatedRows}.
+     */
+    private static UserService userService(int updatedRows) {
+
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "incrementActiveRentals", "decrementActiveRentals" -> updatedRows;
+                    case "toString" -> "UserRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+
+        return new UserService(userRepository, null, null, null, CHANGE_LOG, new SimpleMeterRegistry());
+    }
+}
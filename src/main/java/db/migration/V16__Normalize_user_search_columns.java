@@ -0,0 +1,54 @@
+package db.migration;
+
+import dev.viniciussr.gamerental.model.User;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Preenche as colunas de busca normalizadas dos usuários existentes com a normalização da aplicação
+ * ({@link User#normalizeForSearch(String)}: sem acentos e em minúsculas).
+ * <p>
+ * O preenchimento da V7 usou apenas {@code LOWER()}, que mantém os acentos: a busca por prefixo sem acento
+ * não encontrava os usuários acentuados cadastrados antes dela. A remoção de acentos não tem equivalente
+ * portável em SQL, por isso os valores são calculados em Java e gravados em lotes.
+ * </p>
+ */
+public class V16__Normalize_user_search_columns extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_SQL = "SELECT id_user, name, email FROM tb_user";
+
+    private static final String UPDATE_SQL =
+            "UPDATE tb_user SET name_normalized = ?, email_normalized = ? WHERE id_user = ?";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+
+        Connection connection = context.getConnection();
+
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery(SELECT_SQL);
+             PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+
+            int pending = 0;
+            while (rs.next()) {
+                update.setString(1, User.normalizeForSearch(rs.getString("name")));
+                update.setString(2, User.normalizeForSearch(rs.getString("email")));
+                update.setLong(3, rs.getLong("id_user"));
+                update.addBatch();
+
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) update.executeBatch();
+        }
+    }
+}
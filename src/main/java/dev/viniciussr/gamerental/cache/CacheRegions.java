@@ -0,0 +1,31 @@
+package dev.viniciussr.gamerental.cache;
+
+import org.hibernate.cache.spi.RegionFactory;
+
+/**
+ * Nomes das regiões do cache de segundo nível do Hibernate.
+ * <p>
+ * Cada região é um cache JCache próprio, dimensionado em {@code jpa.second-level-cache.regions.<nome>.*}
+ * (ver {@link SecondLevelCacheProperties}).
+ * </p>
+ */
+public final class CacheRegions {
+
+    /** Jogos (entidade {@code Game}). */
+    public static final String GAME = "game";
+
+    /** Plataformas de cada jogo (coleção {@code Game.platform}). */
+    public static final String GAME_PLATFORMS = "game-platforms";
+
+    /** Usuários (entidade {@code User}). */
+    public static final String USER = "user";
+
+    /** IDs retornados pelas consultas em cache (ex.: jogos por gênero, usuários por plano e por role). */
+    public static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    /** Momento da última alteração de cada tabela, usado para invalidar as consultas em cache. */
+    public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,113 @@
+package dev.viniciussr.gamerental.cache;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.annotations.CacheLayout;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate ({@code jpa.second-level-cache.enabled=true}),
+ * em memória, com o Ehcache como provedor JCache.
+ * <p>
+ * Cada região de {@link SecondLevelCacheProperties} vira um cache limitado em número de entradas e,
+ * opcionalmente, em tempo de vida. As entidades usam a estratégia {@code READ_WRITE}: o Hibernate
+ * bloqueia a entrada durante a transação que altera a linha e só a substitui após o commit, de modo
+ * que os campos versionados (ex.: estoque dos jogos) nunca são lidos desatualizados do cache.
+ * </p>
+ * <p>
+ * As consultas em cache guardam apenas os IDs ({@link CacheLayout#SHALLOW}); as entidades vêm das
+ * regiões de entidade. As métricas ficam em {@code hibernate.second.level.cache.*}
+ * e {@code hibernate.cache.query.*} (estatísticas do Hibernate)
+ * e em {@code cache.*} (descartes e remoções por região).
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+@ConditionalOnProperty(prefix = "jpa.second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    /** Entradas da região de timestamps: uma por tabela, sem descarte nem expiração. */
+    private static final long UPDATE_TIMESTAMPS_ENTRIES = 1000;
+
+    /**
+     * Gerenciador de cache exclusivo do Hibernate, com todas as regiões já criadas.
+     * <p>
+     * O URI é único por contexto, para que contextos distintos (ex.: nos testes) não compartilhem entradas.
+     * </p>
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("urn:game-rental-api:hibernate:" + UUID.randomUUID()),
+                new DefaultConfiguration(provider.getDefaultClassLoader()));
+
+        properties.regions().forEach((name, region) ->
+                createRegion(cacheManager, name, region.maxEntries(), region.timeToLive()));
+
+        // Timestamps descartados invalidariam consultas em cache cedo demais ou de menos
+        createRegion(cacheManager, CacheRegions.UPDATE_TIMESTAMPS, UPDATE_TIMESTAMPS_ENTRIES, null);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+
+        return properties -> {
+            properties.put(CacheSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail"); // Região sem configuração impede a inicialização
+            properties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(CacheSettings.USE_QUERY_CACHE, true);
+            properties.put(CacheSettings.QUERY_CACHE_LAYOUT, CacheLayout.SHALLOW);
+        };
+    }
+
+    /**
+     * Publica as métricas {@code cache.*} de cada região (tag {@code cache}).
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name)));
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxEntries, Duration timeToLive) {
+
+        CacheConfiguration<Object, Object> configuration = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(timeToLive != null
+                        ? ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive)
+                        : ExpiryPolicyBuilder.noExpiration())
+                .build();
+
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+        cacheManager.enableStatistics(name, true);
+    }
+}
@@ -0,0 +1,40 @@
+package dev.viniciussr.gamerental.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate.
+ * <p>
+ * Toda região usada pelos mapeamentos ({@link CacheRegions}) precisa estar configurada: regiões ausentes
+ * impedem a inicialização. A região {@link CacheRegions#UPDATE_TIMESTAMPS} não é configurável.
+ * </p>
+ *
+ * @param enabled ativa o cache de entidades e de consultas.
+ * @param regions limites de cada região (prefixo {@code jpa.second-level-cache.regions.<nome>}).
+ */
+@ConfigurationProperties(prefix = "jpa.second-level-cache")
+public record SecondLevelCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<String, Region> regions
+) {
+
+    public SecondLevelCacheProperties {
+        regions = regions != null ? Map.copyOf(regions) : Map.of();
+    }
+
+    /**
+     * Limites de uma região.
+     *
+     * @param maxEntries quantidade máxima de entradas em memória (as menos usadas são descartadas).
+     * @param timeToLive tempo máximo de uma entrada no cache (nulo: sem expiração).
+     */
+    public record Region(
+            @DefaultValue("1000") long maxEntries,
+            Duration timeToLive
+    ) {
+    }
+}
@@ -5,6 +5,7 @@ import dev.viniciussr.gamerental.dto.UserDto;
 import dev.viniciussr.gamerental.dto.UserLoginDto;
 import dev.viniciussr.gamerental.dto.UserRegisterDto;
 import dev.viniciussr.gamerental.exception.jwt.JwtGenerationException;
+import dev.viniciussr.gamerental.exception.user.UserAlreadyExistsException;
 import dev.viniciussr.gamerental.service.LoginService;
 import dev.viniciussr.gamerental.service.UserService;
 import jakarta.validation.Valid;
@@ -44,6 +45,7 @@ public class AuthController {
      *
      * @param dto objeto {@link UserRegisterDto} contendo os dados necessários para criação do usuário.
      * @return {@link ResponseEntity} contendo o {@link UserDto} do usuário criado e status {@code 201 Created}.
+     * @throws UserAlreadyExistsException se o e-mail já estiver cadastrado.
      */
     @PostMapping("/register")
     public ResponseEntity<UserDto> register (@RequestBody @Valid UserRegisterDto dto) {
@@ -0,0 +1,49 @@
+package dev.viniciussr.gamerental.controller;
+
+import dev.viniciussr.gamerental.dto.ChangesPageDto;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import dev.viniciussr.gamerental.service.ChangeFeedService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * Controlador responsável pelo feed de alterações de jogos, usuários e aluguéis.
+ * <p>
+ * Disponibiliza a sincronização incremental: o cliente informa a sequência retornada em {@code next} pela
+ * consulta anterior e recebe apenas as alterações posteriores, incluindo remoções (tombstones).
+ * Enquanto {@code hasMore} for verdadeiro, há outras páginas a consultar.
+ * </p>
+ * <p>
+ * Usuários podem consultar apenas as alterações do catálogo ({@code entity=GAME}); as de usuários e aluguéis
+ * são restritas a administradores.
+ * </p>
+ */
+@RestController
+@RequestMapping("/changes")
+public class ChangeController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Endpoint para listar as alterações posteriores a uma sequência.
+     *
+     * @param since    sequência da última alteração recebida (padrão: 0, sincronização completa).
+     * @param limit    quantidade máxima de alterações (padrão: 500, máximo: {@code changes.feed.max-page-size}).
+     * @param entities tipos de registro, conforme o enum {@link ChangeEntity} (padrão: todos).
+     * @return {@link ResponseEntity} contendo a página de alterações ({@link ChangesPageDto}).
+     */
+    @GetMapping
+    public ResponseEntity<ChangesPageDto> listChanges(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "limit", defaultValue = "500") int limit,
+            @RequestParam(value = "entity", required = false) Set<ChangeEntity> entities
+    ) {
+        return ResponseEntity.ok(changeFeedService.listChanges(since, limit, entities != null ? entities : Set.of()));
+    }
+}
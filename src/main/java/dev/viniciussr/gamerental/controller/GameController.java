@@ -2,15 +2,21 @@ package dev.viniciussr.gamerental.controller;
 
 import dev.viniciussr.gamerental.dto.GameDto;
 import dev.viniciussr.gamerental.dto.GameUpdateDto;
+import dev.viniciussr.gamerental.dto.InventoryEventDto;
 import dev.viniciussr.gamerental.enums.GameGenres;
 import dev.viniciussr.gamerental.exception.game.GameNotFoundException;
+import dev.viniciussr.gamerental.service.CatalogResponseCache;
+import dev.viniciussr.gamerental.service.EntityTags;
 import dev.viniciussr.gamerental.service.GameService;
+import dev.viniciussr.gamerental.service.InventoryStream;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 /**
  * Controlador responsável por gerenciar as operações relacionadas a jogos.
@@ -18,15 +24,35 @@ import java.util.List;
  * Disponibiliza endpoints para criação, atualização, exclusão, busca e listagem de jogos,
  * com filtros adicionais por título, gênero e disponibilidade para aluguel.
  * </p>
+ * <p>
+ * As listagens do catálogo são respondidas com o JSON já serializado do {@link CatalogResponseCache}
+ * (exceto a busca por título, cujos termos livres não são guardados em cache), com a ETag derivada do conteúdo.
+ * A busca por identificador leva a ETag da versão dos jogos ({@link EntityTags}). Clientes com a resposta atual
+ * recebem {@code 304 Not Modified}.
+ * </p>
+ * <p>
+ * As alterações de estoque são enviadas em tempo real pelo stream {@code GET /games/stream} ({@link InventoryStream}).
+ * </p>
  */
 @RestController
 @RequestMapping("/games")
 public class GameController {
 
     private final GameService gameService;
+    private final CatalogResponseCache catalogResponseCache;
+    private final EntityTags entityTags;
+    private final InventoryStream inventoryStream;
 
-    public GameController(GameService gameService) {
+    public GameController(
+            GameService gameService,
+            CatalogResponseCache catalogResponseCache,
+            EntityTags entityTags,
+            InventoryStream inventoryStream
+    ) {
         this.gameService = gameService;
+        this.catalogResponseCache = catalogResponseCache;
+        this.entityTags = entityTags;
+        this.inventoryStream = inventoryStream;
     }
 
     /**
@@ -69,58 +95,100 @@ public class GameController {
     /**
      * Endpoint para buscar um jogo pelo seu identificador.
      *
-     * @param id identificador do jogo.
+     * @param id          identificador do jogo.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo o {@link GameDto} do jogo encontrado.
      * @throws GameNotFoundException se o jogo não for encontrado.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<GameDto> findGameById(@PathVariable Long id) {
-        return ResponseEntity.ok(gameService.findGameById(id));
+    public ResponseEntity<GameDto> findGameById(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::games, ifNoneMatch, () -> gameService.findGameById(id));
     }
 
     /**
      * Endpoint para listar todos os jogos cadastrados no sistema.
      *
-     * @return {@link ResponseEntity} contendo uma lista de {@link GameDto}.
+     * @param acceptEncoding header {@code Accept-Encoding} (resposta comprimida com gzip, se aceito).
+     * @param ifNoneMatch    header {@code If-None-Match} (ETag da resposta já recebida).
+     * @return {@link ResponseEntity} contendo uma lista de {@link GameDto} serializada.
      * @throws GameNotFoundException se não houver jogos cadastrados.
      */
     @GetMapping
-    public ResponseEntity<List<GameDto>> listGames() {
-        return ResponseEntity.ok(gameService.listGames());
+    public ResponseEntity<byte[]> listGames(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return catalogResponseCache.respond("games", acceptEncoding, ifNoneMatch, gameService::listGames);
     }
 
     /**
      * Endpoint para listar jogos filtrados por título.
      *
-     * @param title título do jogo ou parte dele.
+     * @param title          título do jogo ou parte dele.
+     * @param acceptEncoding header {@code Accept-Encoding} (resposta comprimida com gzip, se aceito).
+     * @param ifNoneMatch    header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link GameDto} que correspondem ao título informado.
      * @throws GameNotFoundException se nenhum jogo não for encontrado.
      */
     @GetMapping(params = "title")
-    public ResponseEntity<List<GameDto>> listGamesByTitle(@RequestParam String title) {
-        return ResponseEntity.ok(gameService.listGamesByTitle(title));
+    public ResponseEntity<byte[]> listGamesByTitle(
+            @RequestParam String title,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return catalogResponseCache.respondUncached(acceptEncoding, ifNoneMatch, () -> gameService.listGamesByTitle(title));
     }
 
     /**
      * Endpoint para listar jogos filtrados por gênero.
      *
-     * @param genre gênero do jogo, conforme o enum {@link GameGenres}.
+     * @param genre          gênero do jogo, conforme o enum {@link GameGenres}.
+     * @param acceptEncoding header {@code Accept-Encoding} (resposta comprimida com gzip, se aceito).
+     * @param ifNoneMatch    header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link GameDto} do gênero informado.
      * @throws GameNotFoundException se nenhum jogo não for encontrado.
      */
     @GetMapping(params = "genre")
-    public ResponseEntity<List<GameDto>> listGamesByGenre(@RequestParam GameGenres genre) {
-        return ResponseEntity.ok(gameService.listGamesByGenre(genre));
+    public ResponseEntity<byte[]> listGamesByGenre(
+            @RequestParam GameGenres genre,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return catalogResponseCache.respond("games?genre=" + genre, acceptEncoding, ifNoneMatch,
+                () -> gameService.listGamesByGenre(genre));
     }
 
     /**
      * Endpoint para listar todos os jogos disponíveis para aluguel.
      *
+     * @param acceptEncoding header {@code Accept-Encoding} (resposta comprimida com gzip, se aceito).
+     * @param ifNoneMatch    header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link GameDto} disponíveis para locação.
      * @throws GameNotFoundException se nenhum jogo não for encontrado.
      */
     @GetMapping("/available")
-    public ResponseEntity<List<GameDto>> listAvailableGames() {
-        return ResponseEntity.ok(gameService.listAvailableGames());
+    public ResponseEntity<byte[]> listAvailableGames(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return catalogResponseCache.respond("games/available", acceptEncoding, ifNoneMatch, gameService::listAvailableGames);
+    }
+
+    /**
+     * Endpoint de stream (server-sent events) das alterações de estoque e disponibilidade dos jogos.
+     * <p>
+     * Cada alteração é enviada como evento {@code inventory} com um {@link InventoryEventDto}.
+     * Na reconexão, o header {@code Last-Event-ID} retoma o stream a partir do último evento recebido; se não for
+     * possível, o evento {@code reset} indica que a listagem de jogos disponíveis deve ser recarregada.
+     * </p>
+     *
+     * @param lastEventId header {@code Last-Event-ID} (ID do último evento recebido, opcional).
+     * @return {@link ResponseEntity} com o stream {@code text/event-stream}.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamInventory(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                .body(inventoryStream.subscribe(lastEventId));
     }
 }
\ No newline at end of file
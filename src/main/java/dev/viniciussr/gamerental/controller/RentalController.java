@@ -1,20 +1,34 @@
 package dev.viniciussr.gamerental.controller;
 
+import dev.viniciussr.gamerental.dto.RentalArchiveDto;
 import dev.viniciussr.gamerental.dto.RentalDto;
 import dev.viniciussr.gamerental.dto.RentalUpdateDto;
+import dev.viniciussr.gamerental.enums.ExportFormat;
 import dev.viniciussr.gamerental.enums.RentalStatus;
 import dev.viniciussr.gamerental.exception.game.GameNotFoundException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotencyKeyReusedException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotentRequestInProgressException;
+import dev.viniciussr.gamerental.exception.rental.InvalidDateRangeException;
 import dev.viniciussr.gamerental.exception.rental.RentalAlreadyClosedException;
 import dev.viniciussr.gamerental.exception.rental.RentalNotFoundException;
 import dev.viniciussr.gamerental.exception.user.UserNotFoundException;
+import dev.viniciussr.gamerental.service.EntityTags;
+import dev.viniciussr.gamerental.service.IdempotencyService;
+import dev.viniciussr.gamerental.service.RentalArchiveService;
+import dev.viniciussr.gamerental.service.RentalExportService;
 import dev.viniciussr.gamerental.service.RentalService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controlador responsável por gerenciar as operações relacionadas a aluguéis de jogos.
@@ -22,200 +36,372 @@ import java.util.List;
  * Disponibiliza endpoints para criação, atualização, exclusão, devolução, renovação e cancelamento de aluguéis,
  * bem como busca e listagem de aluguéis com filtros adicionais por jogo, usuário, datas e status.
  * </p>
+ * <p>
+ * As listagens consultam apenas os aluguéis não arquivados; os arquivados são incluídos com
+ * {@code ?include-archived=true}. A busca por ID consulta ambos.
+ * </p>
+ * <p>
+ * As operações que alteram o estado dos aluguéis aceitam o header opcional {@code Idempotency-Key}:
+ * requisições repetidas com a mesma chave recebem a resposta da primeira execução.
+ * </p>
+ * <p>
+ * As consultas levam a ETag da versão dos aluguéis ({@link EntityTags}); clientes com a versão atual
+ * recebem {@code 304 Not Modified}.
+ * </p>
  */
 @RestController
 @RequestMapping("/rentals")
 public class RentalController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String INCLUDE_ARCHIVED_PARAM = "include-archived";
+
     private final RentalService rentalService;
+    private final RentalExportService rentalExportService;
+    private final RentalArchiveService rentalArchiveService;
+    private final IdempotencyService idempotencyService;
+    private final EntityTags entityTags;
 
-    public RentalController(RentalService rentalService) {
+    public RentalController(
+            RentalService rentalService,
+            RentalExportService rentalExportService,
+            RentalArchiveService rentalArchiveService,
+            IdempotencyService idempotencyService,
+            EntityTags entityTags
+    ) {
         this.rentalService = rentalService;
+        this.rentalExportService = rentalExportService;
+        this.rentalArchiveService = rentalArchiveService;
+        this.idempotencyService = idempotencyService;
+        this.entityTags = entityTags;
     }
 
     /**
      * Endpoint para criar um novo aluguel no sistema.
      *
-     * @param dto objeto {@link RentalDto} contendo os dados do aluguel a ser criado.
+     * @param dto            objeto {@link RentalDto} contendo os dados do aluguel a ser criado.
+     * @param idempotencyKey chave de idempotência (header {@code Idempotency-Key}, opcional).
      * @return {@link ResponseEntity} com o aluguel criado e status {@code 201 Created}.
+     * @throws IdempotencyKeyReusedException         se a chave já tiver sido usada em outra requisição.
+     * @throws IdempotentRequestInProgressException se a requisição original ainda estiver em andamento.
      */
     @PostMapping
-    public ResponseEntity<RentalDto> createRental(@RequestBody @Valid RentalDto dto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(rentalService.createRental(dto));
+    public ResponseEntity<RentalDto> createRental(
+            @RequestBody @Valid RentalDto dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /rentals", dto, RentalDto.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(rentalService.createRental(dto)));
     }
 
     /**
      * Endpoint para atualizar as informações de um aluguel existente.
      *
-     * @param id  identificador do aluguel a ser atualizado.
-     * @param dto objeto {@link RentalUpdateDto} contendo os novos dados do aluguel.
+     * @param id             identificador do aluguel a ser atualizado.
+     * @param dto            objeto {@link RentalUpdateDto} contendo os novos dados do aluguel.
+     * @param idempotencyKey chave de idempotência (header {@code Idempotency-Key}, opcional).
      * @return {@link ResponseEntity} com o {@link RentalDto} do aluguel atualizado
      * @throws RentalNotFoundException      se o aluguel não for encontrado.
      * @throws RentalAlreadyClosedException se o aluguel já estiver encerrado.
      * @throws GameNotFoundException        se o novo jogo (quando informado) não for encontrado.
      * @throws UserNotFoundException        se o novo usuário (quando informado) não for encontrado.
+     * @throws IdempotencyKeyReusedException         se a chave já tiver sido usada em outra requisição.
+     * @throws IdempotentRequestInProgressException se a requisição original ainda estiver em andamento.
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<RentalDto> updateRental(@PathVariable Long id, @RequestBody @Valid RentalUpdateDto dto) {
-        return ResponseEntity.ok(rentalService.updateRental(id, dto));
+    public ResponseEntity<RentalDto> updateRental(
+            @PathVariable Long id,
+            @RequestBody @Valid RentalUpdateDto dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(idempotencyKey, "PATCH /rentals/" + id, dto, RentalDto.class,
+                () -> ResponseEntity.ok(rentalService.updateRental(id, dto)));
     }
 
     /**
      * Endpoint para remover um aluguel do sistema.
      *
-     * @param id identificador do aluguel.
+     * @param id             identificador do aluguel.
+     * @param idempotencyKey chave de idempotência (header {@code Idempotency-Key}, opcional).
      * @return {@link ResponseEntity} com status {@code 204 No Content}.
      * @throws RentalNotFoundException      se o aluguel não for encontrado.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteRental(@PathVariable Long id) {
-        rentalService.deleteRental(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> deleteRental(
+            @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(idempotencyKey, "DELETE /rentals/" + id, null, Void.class, () -> {
+            rentalService.deleteRental(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     /**
      * Endpoint para registrar a devolução de um aluguel ativo.
      *
-     * @param id identificador do aluguel.
+     * @param id             identificador do aluguel.
+     * @param idempotencyKey chave de idempotência (header {@code Idempotency-Key}, opcional).
      * @return {@link ResponseEntity} com status {@code 204 No Content}.
      * @throws RentalNotFoundException se o aluguel não for encontrado.
      */
     @PutMapping("/return/{id}")
-    public ResponseEntity<Void> returnRental(@PathVariable Long id) {
-        rentalService.returnRental(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> returnRental(
+            @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(idempotencyKey, "PUT /rentals/return/" + id, null, Void.class, () -> {
+            rentalService.returnRental(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     /**
      * Endpoint para renovar um aluguel por mais 7 dias.
      *
-     * @param id identificador do aluguel.
+     * @param id             identificador do aluguel.
+     * @param idempotencyKey chave de idempotência (header {@code Idempotency-Key}, opcional).
      * @return {@link ResponseEntity} com status {@code 204 No Content}.
      * @throws RentalNotFoundException se o aluguel não for encontrado.
      */
     @PutMapping("/renew/{id}")
-    public ResponseEntity<Void> renewRental(@PathVariable Long id) {
-        rentalService.renewRental(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> renewRental(
+            @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(idempotencyKey, "PUT /rentals/renew/" + id, null, Void.class, () -> {
+            rentalService.renewRental(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     /**
      * Endpoint para cancelar um aluguel.
      *
-     * @param id identificador do aluguel.
+     * @param id             identificador do aluguel.
+     * @param idempotencyKey chave de idempotência (header {@code Idempotency-Key}, opcional).
      * @return {@link ResponseEntity} com status {@code 204 No Content}.
      * @throws RentalNotFoundException se o aluguel não for encontrado.
      */
     @PutMapping("/cancel/{id}")
-    public ResponseEntity<Void> cancelRental(@PathVariable Long id) {
-        rentalService.cancelRental(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> cancelRental(
+            @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(idempotencyKey, "PUT /rentals/cancel/" + id, null, Void.class, () -> {
+            rentalService.cancelRental(id);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    /**
+     * Endpoint para executar manualmente o arquivamento de aluguéis encerrados antigos.
+     *
+     * @return {@link ResponseEntity} contendo o resumo da execução ({@link RentalArchiveDto}).
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<RentalArchiveDto> archiveClosedRentals() {
+        return ResponseEntity.ok(rentalArchiveService.archiveClosedRentals());
     }
 
     /**
      * Endpoint para buscar um aluguel pelo seu identificador.
      *
-     * @param id identificador do aluguel.
+     * @param id          identificador do aluguel.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo o {@link RentalDto} do aluguel encontrado.
      * @throws RentalNotFoundException se o aluguel não for encontrado.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<RentalDto> findRentalById(@PathVariable Long id) {
-        return ResponseEntity.ok(rentalService.findRentalById(id));
+    public ResponseEntity<RentalDto> findRentalById(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch, () -> rentalService.findRentalById(id));
     }
 
     /**
      * Endpoint para listar todos os aluguéis cadastrados no sistema.
      *
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados (padrão: {@code false}).
+     * @param ifNoneMatch     header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link RentalDto}.
      * @throws RentalNotFoundException se não houver aluguéis cadastrados.
      */
     @GetMapping
-    public ResponseEntity<List<RentalDto>> listRentals() {
-        return ResponseEntity.ok(rentalService.listRentals());
+    public ResponseEntity<List<RentalDto>> listRentals(
+            @RequestParam(name = INCLUDE_ARCHIVED_PARAM, defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch,
+                () -> rentalService.listRentals(includeArchived));
+    }
+
+    /**
+     * Endpoint para exportar aluguéis em CSV ou NDJSON.
+     * <p>
+     * Os registros são transmitidos diretamente para a resposta à medida que são lidos do banco,
+     * sem carregar a listagem completa em memória. A resposta é comprimida com gzip quando o
+     * cliente envia {@code Accept-Encoding: gzip}.
+     * </p>
+     *
+     * @param format         formato do arquivo, conforme o enum {@link ExportFormat} (padrão: CSV).
+     * @param from           data de início mínima do aluguel (opcional).
+     * @param to             data de início máxima do aluguel (opcional).
+     * @param rentalStatus   status do aluguel (opcional).
+     * @param acceptEncoding header {@code Accept-Encoding} enviado pelo cliente.
+     * @return {@link ResponseEntity} com o corpo transmitido em streaming.
+     * @throws InvalidDateRangeException se a data inicial for posterior à data final.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRentals(
+            @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+            @RequestParam(value = "from", required = false) LocalDate from,
+            @RequestParam(value = "to", required = false) LocalDate to,
+            @RequestParam(value = "status", required = false) RentalStatus rentalStatus,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        rentalExportService.validateFilters(from, to);
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            rentalExportService.exportRentals(format, from, to, rentalStatus, target);
+            if (target instanceof GZIPOutputStream gzipStream) gzipStream.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"rentals." + format.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        return response.body(body);
     }
 
     /**
      * Endpoint para listar aluguéis filtrados pelo ID do jogo.
      *
-     * @param gameId identificador do jogo.
+     * @param gameId          identificador do jogo.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados (padrão: {@code false}).
+     * @param ifNoneMatch     header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link RentalDto}.
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
     @GetMapping("/game-id/{id}")
-    public ResponseEntity<List<RentalDto>> listRentalsByGameId(@PathVariable("id") Long gameId) {
-        return ResponseEntity.ok(rentalService.listRentalsByGameId(gameId));
+    public ResponseEntity<List<RentalDto>> listRentalsByGameId(
+            @PathVariable("id") Long gameId,
+            @RequestParam(name = INCLUDE_ARCHIVED_PARAM, defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch,
+                () -> rentalService.listRentalsByGameId(gameId, includeArchived));
     }
 
     /**
      * Endpoint para listar aluguéis filtrados pelo ID do usuário.
      *
-     * @param userId identificador do usuário.
+     * @param userId          identificador do usuário.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados (padrão: {@code false}).
+     * @param ifNoneMatch     header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link RentalDto}.
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
     @GetMapping("/user-id/{id}")
-    public ResponseEntity<List<RentalDto>> listRentalsByUserId(@PathVariable("id") Long userId) {
-        return ResponseEntity.ok(rentalService.listRentalsByUserId(userId));
+    public ResponseEntity<List<RentalDto>> listRentalsByUserId(
+            @PathVariable("id") Long userId,
+            @RequestParam(name = INCLUDE_ARCHIVED_PARAM, defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch,
+                () -> rentalService.listRentalsByUserId(userId, includeArchived));
     }
 
     /**
      * Endpoint para listar aluguéis filtrados pela data de início.
      *
-     * @param rentalDate data de início do aluguel.
+     * @param rentalDate      data de início do aluguel.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados (padrão: {@code false}).
+     * @param ifNoneMatch     header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link RentalDto}.
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
     @GetMapping(params = "rental-date")
-    public ResponseEntity<List<RentalDto>> listRentalsByRentalDate(@RequestParam("rental-date") LocalDate rentalDate) {
-        return ResponseEntity.ok(rentalService.listRentalsByRentalDate(rentalDate));
+    public ResponseEntity<List<RentalDto>> listRentalsByRentalDate(
+            @RequestParam("rental-date") LocalDate rentalDate,
+            @RequestParam(name = INCLUDE_ARCHIVED_PARAM, defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch,
+                () -> rentalService.listRentalsByRentalDate(rentalDate, includeArchived));
     }
 
     /**
      * Endpoint para listar aluguéis filtrados pela data de encerramento.
      *
-     * @param endDate data de encerramento do aluguel.
+     * @param endDate         data de encerramento do aluguel.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados (padrão: {@code false}).
+     * @param ifNoneMatch     header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link RentalDto}.
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
     @GetMapping(params = "end-date")
-    public ResponseEntity<List<RentalDto>> listRentalsByReturnDate(@RequestParam("end-date") LocalDate endDate) {
-        return ResponseEntity.ok(rentalService.listRentalsByEndDate(endDate));
+    public ResponseEntity<List<RentalDto>> listRentalsByReturnDate(
+            @RequestParam("end-date") LocalDate endDate,
+            @RequestParam(name = INCLUDE_ARCHIVED_PARAM, defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch,
+                () -> rentalService.listRentalsByEndDate(endDate, includeArchived));
     }
 
     /**
      * Endpoint para listar aluguéis filtrados pelo status.
      *
-     * @param rentalStatus status do aluguel, conforme o enum {@link RentalStatus}.
+     * @param rentalStatus    status do aluguel, conforme o enum {@link RentalStatus}.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados (padrão: {@code false}).
+     * @param ifNoneMatch     header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link RentalDto}.
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
     @GetMapping(params = "status")
-    public ResponseEntity<List<RentalDto>> listRentalsByStatus(@RequestParam("status") RentalStatus rentalStatus) {
-        return ResponseEntity.ok(rentalService.listRentalsByStatus(rentalStatus));
+    public ResponseEntity<List<RentalDto>> listRentalsByStatus(
+            @RequestParam("status") RentalStatus rentalStatus,
+            @RequestParam(name = INCLUDE_ARCHIVED_PARAM, defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch,
+                () -> rentalService.listRentalsByStatus(rentalStatus, includeArchived));
     }
 
     /**
      * Endpoint para listar aluguéis filtrados pelo nome do usuário (username).
      *
-     * @param userName nome do usuário ou parte dele.
+     * @param userName        nome do usuário ou parte dele.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados (padrão: {@code false}).
+     * @param ifNoneMatch     header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link RentalDto}.
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
     @GetMapping(params = "username")
-    public ResponseEntity<List<RentalDto>> listRentalsByUserName(@RequestParam("username") String userName) {
-        return ResponseEntity.ok(rentalService.listRentalsByUserName(userName));
+    public ResponseEntity<List<RentalDto>> listRentalsByUserName(
+            @RequestParam("username") String userName,
+            @RequestParam(name = INCLUDE_ARCHIVED_PARAM, defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch,
+                () -> rentalService.listRentalsByUserName(userName, includeArchived));
     }
 
     /**
      * Endpoint para listar aluguéis filtrados pelo título do jogo.
      *
-     * @param gameTitle título do jogo ou parte dele.
+     * @param gameTitle       título do jogo ou parte dele.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados (padrão: {@code false}).
+     * @param ifNoneMatch     header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link RentalDto}.
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
     @GetMapping(params = "title")
-    public ResponseEntity<List<RentalDto>> listRentalsByGameTitle(@RequestParam("title") String gameTitle) {
-        return ResponseEntity.ok(rentalService.listRentalsByGameTitle(gameTitle));
+    public ResponseEntity<List<RentalDto>> listRentalsByGameTitle(
+            @RequestParam("title") String gameTitle,
+            @RequestParam(name = INCLUDE_ARCHIVED_PARAM, defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::rentals, ifNoneMatch,
+                () -> rentalService.listRentalsByGameTitle(gameTitle, includeArchived));
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package dev.viniciussr.gamerental.controller;
+
+import dev.viniciussr.gamerental.dto.DailyRentalStatsDto;
+import dev.viniciussr.gamerental.dto.GameRankingDto;
+import dev.viniciussr.gamerental.dto.StatisticsBackfillDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.exception.rental.InvalidDateRangeException;
+import dev.viniciussr.gamerental.service.RentalStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controlador responsável pelas estatísticas de aluguéis.
+ * <p>
+ * Disponibiliza endpoints para o ranking de jogos mais alugados, séries temporais diárias por gênero
+ * e reconstrução das estatísticas a partir do histórico de aluguéis.
+ * Quando não informado, o período padrão corresponde aos últimos 30 dias.
+ * </p>
+ */
+@RestController
+@RequestMapping("/statistics")
+public class StatisticsController {
+
+    private static final int DEFAULT_PERIOD_DAYS = 30;
+
+    private final RentalStatisticsService statisticsService;
+
+    public StatisticsController(RentalStatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * Endpoint para listar os jogos mais alugados em um período.
+     *
+     * @param from  primeiro dia do período (padrão: 30 dias atrás).
+     * @param to    último dia do período (padrão: hoje).
+     * @param limit quantidade máxima de jogos (padrão: 10, máximo: 100).
+     * @return {@link ResponseEntity} contendo uma lista de {@link GameRankingDto}.
+     * @throws InvalidDateRangeException se a data inicial for posterior à data final.
+     */
+    @GetMapping("/top-games")
+    public ResponseEntity<List<GameRankingDto>> listTopGames(
+            @RequestParam(value = "from", required = false) LocalDate from,
+            @RequestParam(value = "to", required = false) LocalDate to,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_PERIOD_DAYS);
+
+        return ResponseEntity.ok(statisticsService.listTopGames(start, end, limit));
+    }
+
+    /**
+     * Endpoint para listar a série temporal diária de aluguéis de um gênero.
+     *
+     * @param genre gênero dos jogos, conforme o enum {@link GameGenres}.
+     * @param from  primeiro dia do período (padrão: 30 dias atrás).
+     * @param to    último dia do período (padrão: hoje).
+     * @return {@link ResponseEntity} contendo uma lista de {@link DailyRentalStatsDto}.
+     * @throws InvalidDateRangeException se a data inicial for posterior à data final.
+     */
+    @GetMapping("/genres/{genre}")
+    public ResponseEntity<List<DailyRentalStatsDto>> listDailyStatsByGenre(
+            @PathVariable GameGenres genre,
+            @RequestParam(value = "from", required = false) LocalDate from,
+            @RequestParam(value = "to", required = false) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_PERIOD_DAYS);
+
+        return ResponseEntity.ok(statisticsService.listDailyStatsByGenre(genre, start, end));
+    }
+
+    /**
+     * Endpoint para reconstruir as estatísticas a partir do histórico de aluguéis.
+     *
+     * @param from primeiro dia a reconstruir.
+     * @param to   último dia a reconstruir (anterior a hoje).
+     * @return {@link ResponseEntity} contendo o resumo da execução ({@link StatisticsBackfillDto}).
+     * @throws InvalidDateRangeException se o período for inválido ou incluir o dia atual.
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<StatisticsBackfillDto> rebuildStatistics(
+            @RequestParam("from") LocalDate from,
+            @RequestParam("to") LocalDate to
+    ) {
+        return ResponseEntity.ok(statisticsService.rebuildStatistics(from, to));
+    }
+}
@@ -1,13 +1,18 @@
 package dev.viniciussr.gamerental.controller;
 
+import dev.viniciussr.gamerental.dto.UserBulkResultDto;
 import dev.viniciussr.gamerental.dto.UserDto;
 import dev.viniciussr.gamerental.dto.UserRegisterDto;
 import dev.viniciussr.gamerental.dto.UserUpdateDto;
 import dev.viniciussr.gamerental.enums.SubscriptionPlans;
 import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.exception.user.BulkImportTooLargeException;
 import dev.viniciussr.gamerental.exception.user.UserNotFoundException;
+import dev.viniciussr.gamerental.service.EntityTags;
+import dev.viniciussr.gamerental.service.UserProvisioningService;
 import dev.viniciussr.gamerental.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,18 +22,30 @@ import java.util.List;
 /**
  * Controlador responsável por gerenciar as operações relacionadas a usuários.
  * <p>
- * Disponibiliza endpoints para criação, atualização, exclusão, busca e listagem de usuários,
+ * Disponibiliza endpoints para criação (individual ou em lote), atualização, exclusão, busca e listagem de usuários,
  * com filtros adicionais por nome, e-mail, função e plano de assinatura.
  * </p>
+ * <p>
+ * As consultas levam a ETag da versão dos usuários ({@link EntityTags}); clientes com a versão atual
+ * recebem {@code 304 Not Modified}.
+ * </p>
  */
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
+    private final EntityTags entityTags;
 
-    public UserController(UserService userService) {
+    public UserController(
+            UserService userService,
+            UserProvisioningService userProvisioningService,
+            EntityTags entityTags
+    ) {
         this.userService = userService;
+        this.userProvisioningService = userProvisioningService;
+        this.entityTags = entityTags;
     }
 
     /**
@@ -42,6 +59,22 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUser(dto));
     }
 
+    /**
+     * Endpoint para cadastrar usuários em lote (importação de contas).
+     * <p>
+     * Cada linha é validada individualmente; as linhas rejeitadas são informadas no resultado
+     * sem impedir o cadastro das demais.
+     * </p>
+     *
+     * @param dtos lista de {@link UserRegisterDto} com os usuários a serem cadastrados.
+     * @return {@link ResponseEntity} contendo o resumo do cadastro ({@link UserBulkResultDto}).
+     * @throws BulkImportTooLargeException se o lote exceder a quantidade máxima de linhas.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<UserBulkResultDto> createUsers(@RequestBody List<UserRegisterDto> dtos) {
+        return ResponseEntity.ok(userProvisioningService.createUsers(dtos));
+    }
+
     /**
      * Endpoint para atualizar os dados de um usuário existente.
      *
@@ -71,71 +104,118 @@ public class UserController {
     /**
      * Endpoint para buscar um usuário pelo seu identificador.
      *
-     * @param id identificador do usuário.
+     * @param id          identificador do usuário.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo o {@link UserDto} do usuário encontrado.
      * @throws UserNotFoundException se o usuário não for encontrado.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> findUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.findUserById(id));
+    public ResponseEntity<UserDto> findUserById(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::users, ifNoneMatch, () -> userService.findUserById(id));
     }
 
     /**
      * Endpoint para listar todos os usuários cadastrados no sistema.
      *
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link UserDto}.
      * @throws UserNotFoundException se nenhum usuário não for encontrado.
      */
     @GetMapping
-    public ResponseEntity<List<UserDto>> listUsers() {
-        return ResponseEntity.ok(userService.listUsers());
+    public ResponseEntity<List<UserDto>> listUsers(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::users, ifNoneMatch, userService::listUsers);
     }
 
     /**
      * Endpoint para listar usuários filtrados por nome.
      *
-     * @param name nome do usuário ou parte dele.
+     * @param name        nome do usuário ou parte dele.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link UserDto} que correspondem ao nome informado.
      * @throws UserNotFoundException se nenhum usuário não for encontrado.
      */
     @GetMapping(params = "name")
-    public ResponseEntity<List<UserDto>> listUsersByName(@RequestParam String name) {
-        return ResponseEntity.ok(userService.listUsersByName(name));
+    public ResponseEntity<List<UserDto>> listUsersByName(
+            @RequestParam String name,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::users, ifNoneMatch, () -> userService.listUsersByName(name));
     }
 
     /**
      * Endpoint para listar usuários filtrados por e-mail.
      *
-     * @param email e-mail do usuário ou parte dele.
+     * @param email       e-mail do usuário ou parte dele.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link UserDto} que correspondem ao e-mail informado.
      * @throws UserNotFoundException se nenhum usuário não for encontrado.
      */
     @GetMapping(params = "email")
-    public ResponseEntity<List<UserDto>> listUsersByEmail(@RequestParam String email) {
-        return ResponseEntity.ok(userService.listUsersByEmail(email));
+    public ResponseEntity<List<UserDto>> listUsersByEmail(
+            @RequestParam String email,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::users, ifNoneMatch, () -> userService.listUsersByEmail(email));
+    }
+
+    /**
+     * Endpoint para listar usuários cujo nome comece com o prefixo informado.
+     *
+     * @param prefix      início do nome do usuário.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
+     * @return {@link ResponseEntity} contendo uma lista de {@link UserDto} que correspondem ao prefixo informado.
+     * @throws UserNotFoundException se nenhum usuário for encontrado.
+     */
+    @GetMapping(params = "name-prefix")
+    public ResponseEntity<List<UserDto>> listUsersByNamePrefix(
+            @RequestParam("name-prefix") String prefix,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::users, ifNoneMatch, () -> userService.listUsersByNamePrefix(prefix));
+    }
+
+    /**
+     * Endpoint para listar usuários cujo e-mail comece com o prefixo informado.
+     *
+     * @param prefix      início do e-mail do usuário.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
+     * @return {@link ResponseEntity} contendo uma lista de {@link UserDto} que correspondem ao prefixo informado.
+     * @throws UserNotFoundException se nenhum usuário for encontrado.
+     */
+    @GetMapping(params = "email-prefix")
+    public ResponseEntity<List<UserDto>> listUsersByEmailPrefix(
+            @RequestParam("email-prefix") String prefix,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::users, ifNoneMatch, () -> userService.listUsersByEmailPrefix(prefix));
     }
 
     /**
      * Endpoint para listar usuários filtrados por função (role).
      *
-     * @param role função do usuário, conforme o enum {@link UserRole}.
+     * @param role        função do usuário, conforme o enum {@link UserRole}.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link UserDto} com a função especificada.
      * @throws UserNotFoundException se nenhum usuário não for encontrado.
      */
     @GetMapping(params = "role")
-    public ResponseEntity<List<UserDto>> listUsersByRole(@RequestParam UserRole role) {
-        return ResponseEntity.ok(userService.listUsersByRole(role));
+    public ResponseEntity<List<UserDto>> listUsersByRole(
+            @RequestParam UserRole role,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::users, ifNoneMatch, () -> userService.listUsersByRole(role));
     }
 
     /**
      * Endpoint para listar usuários filtrados por plano de assinatura.
      *
-     * @param plan plano de assinatura do usuário, conforme o enum {@link SubscriptionPlans}.
+     * @param plan        plano de assinatura do usuário, conforme o enum {@link SubscriptionPlans}.
+     * @param ifNoneMatch header {@code If-None-Match} (ETag da resposta já recebida).
      * @return {@link ResponseEntity} contendo uma lista de {@link UserDto} com o plano especificado.
      * @throws UserNotFoundException se nenhum usuário não for encontrado.
      */
     @GetMapping(params = "plan")
-    public ResponseEntity<List<UserDto>> listUsersByPlan(@RequestParam SubscriptionPlans plan) {
-        return ResponseEntity.ok(userService.listUsersByPlan(plan));
+    public ResponseEntity<List<UserDto>> listUsersByPlan(
+            @RequestParam SubscriptionPlans plan,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return entityTags.respond(entityTags::users, ifNoneMatch, () -> userService.listUsersByPlan(plan));
     }
 }
\ No newline at end of file
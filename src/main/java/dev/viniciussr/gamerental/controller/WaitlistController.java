@@ -0,0 +1,84 @@
+package dev.viniciussr.gamerental.controller;
+
+import dev.viniciussr.gamerental.dto.WaitlistDto;
+import dev.viniciussr.gamerental.exception.game.GameNotFoundException;
+import dev.viniciussr.gamerental.exception.user.UserNotFoundException;
+import dev.viniciussr.gamerental.exception.waitlist.AlreadyOnWaitlistException;
+import dev.viniciussr.gamerental.exception.waitlist.GameIsAvailableException;
+import dev.viniciussr.gamerental.exception.waitlist.WaitlistEntryNotFoundException;
+import dev.viniciussr.gamerental.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador responsável por gerenciar a fila de espera de jogos indisponíveis.
+ * <p>
+ * Disponibiliza endpoints para entrar e sair da fila e consultar a posição ou a reserva de cada entrada.
+ * </p>
+ */
+@RestController
+@RequestMapping("/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    /**
+     * Endpoint para incluir um usuário na fila de espera de um jogo.
+     *
+     * @param dto objeto {@link WaitlistDto} contendo os IDs do jogo e do usuário.
+     * @return {@link ResponseEntity} com a entrada criada e status {@code 201 Created}.
+     * @throws GameNotFoundException      se o jogo não for encontrado.
+     * @throws UserNotFoundException      se o usuário não for encontrado.
+     * @throws GameIsAvailableException   se o jogo tiver cópias disponíveis.
+     * @throws AlreadyOnWaitlistException se o usuário já estiver na fila do jogo.
+     */
+    @PostMapping
+    public ResponseEntity<WaitlistDto> joinWaitlist(@RequestBody @Valid WaitlistDto dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.joinWaitlist(dto));
+    }
+
+    /**
+     * Endpoint para remover um usuário da fila de espera.
+     *
+     * @param id identificador da entrada na fila.
+     * @return {@link ResponseEntity} com status {@code 204 No Content}.
+     * @throws WaitlistEntryNotFoundException se a entrada não for encontrada ou já estiver encerrada.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long id) {
+        waitlistService.leaveWaitlist(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint para buscar uma entrada da fila de espera (posição ou reserva).
+     *
+     * @param id identificador da entrada na fila.
+     * @return {@link ResponseEntity} contendo o {@link WaitlistDto} da entrada.
+     * @throws WaitlistEntryNotFoundException se a entrada não for encontrada.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistDto> findWaitlistEntryById(@PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.findWaitlistEntryById(id));
+    }
+
+    /**
+     * Endpoint para listar a fila de espera de um jogo.
+     *
+     * @param gameId identificador do jogo.
+     * @return {@link ResponseEntity} contendo uma lista de {@link WaitlistDto}, em ordem de chegada.
+     * @throws WaitlistEntryNotFoundException se a fila estiver vazia.
+     */
+    @GetMapping("/game-id/{id}")
+    public ResponseEntity<List<WaitlistDto>> listWaitlistByGameId(@PathVariable("id") Long gameId) {
+        return ResponseEntity.ok(waitlistService.listWaitlistByGameId(gameId));
+    }
+}
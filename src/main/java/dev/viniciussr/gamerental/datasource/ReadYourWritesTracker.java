@@ -0,0 +1,50 @@
+package dev.viniciussr.gamerental.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra as gravações recentes de cada usuário, para a leitura das próprias gravações.
+ * <p>
+ * Durante a janela configurada após uma gravação confirmada, as leituras do mesmo usuário vão ao
+ * primário, mesmo que a réplica ainda não tenha recebido a alteração.
+ * </p>
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+
+    /** Momento (System.nanoTime) da última gravação confirmada de cada usuário. */
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Registra uma gravação confirmada do usuário.
+     */
+    public void recordWrite(String user) {
+
+        lastWriteByUser.put(user, System.nanoTime());
+    }
+
+    /**
+     * @return {@code true} se o usuário gravou algo dentro da janela.
+     */
+    public boolean wroteRecently(String user) {
+
+        Long writtenAt = lastWriteByUser.get(user);
+        return writtenAt != null && System.nanoTime() - writtenAt <= windowNanos;
+    }
+
+    /**
+     * Remove os registros mais antigos que a janela.
+     */
+    public void purgeExpired() {
+
+        long now = System.nanoTime();
+        lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+    }
+}
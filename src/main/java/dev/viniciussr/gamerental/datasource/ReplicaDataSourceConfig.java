@@ -0,0 +1,124 @@
+package dev.viniciussr.gamerental.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Configuração do roteamento entre o primário e as réplicas de leitura ({@code datasource.replicas.enabled=true}).
+ * <p>
+ * Substitui o DataSource da autoconfiguração por um {@link ReplicaRoutingDataSource} envolvido por um
+ * {@link LazyConnectionDataSourceProxy}. O primário usa {@code spring.datasource.*} (inclusive
+ * {@code spring.datasource.hikari.*}); as réplicas usam pools próprios, somente leitura. As métricas
+ * {@code hikaricp.*} de cada pool são publicadas com o nome do pool.
+ * </p>
+ * <p>
+ * O Hibernate passa a devolver a conexão ao fim de cada transação, para que cada transação seja roteada
+ * separadamente mesmo com o EntityManager aberto durante toda a requisição (open-in-view).
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPools replicaPools(
+            DataSourceProperties dataSourceProperties,
+            ReplicaProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry
+    ) {
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) primary.setPoolName("primary");
+        primary.setMetricRegistry(meterRegistry);
+
+        List<ReplicaPools.Replica> replicas = properties.nodes().stream()
+                .map(node -> new ReplicaPools.Replica(node.name(), replicaPool(node, meterRegistry)))
+                .toList();
+
+        return new ReplicaPools(primary, replicas);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+
+        return new ReadYourWritesTracker(properties.readYourWritesWindow());
+    }
+
+    /**
+     * DataSource da aplicação: a conexão física (e, com ela, o destino) só é obtida no primeiro comando.
+     * <p>
+     * O roteador não é registrado como bean, para que apenas este DataSource seja envolvido pelo perfil de SQL.
+     * O EntityManagerFactory, que depende deste DataSource, é obtido apenas no roteamento.
+     * </p>
+     */
+    @Bean
+    public DataSource dataSource(
+            ReplicaPools replicaPools,
+            ReadYourWritesTracker readYourWritesTracker,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            MeterRegistry meterRegistry
+    ) {
+
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(replicaPools, readYourWritesTracker, entityManagerFactory, meterRegistry));
+    }
+
+    @Bean
+    @DependsOnDatabaseInitialization
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaPools replicaPools,
+            ReadYourWritesTracker readYourWritesTracker,
+            ReplicaProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replicaPools, readYourWritesTracker, properties.maxLag(), meterRegistry);
+    }
+
+    @Bean
+    public ReplicaReadScope replicaReadScope() {
+
+        return new ReplicaReadScope();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static HikariDataSource replicaPool(ReplicaProperties.Node node, MeterRegistry meterRegistry) {
+
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + node.name());
+        pool.setJdbcUrl(node.url());
+        pool.setUsername(node.username());
+        pool.setPassword(node.password());
+        pool.setMaximumPoolSize(node.maximumPoolSize());
+        pool.setReadOnly(true);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
@@ -0,0 +1,112 @@
+package dev.viniciussr.gamerental.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a defasagem das réplicas de leitura e define quais podem receber leituras.
+ * <p>
+ * A cada verificação, grava no primário o horário atual em {@code tb_replica_heartbeat} e lê o valor
+ * replicado em cada réplica: a defasagem é a idade do valor lido. Réplicas acima de {@code maxLag} ou
+ * que falham na consulta deixam de receber leituras até a próxima verificação dentro do limite.
+ * </p>
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String BEAT_SQL = "UPDATE tb_replica_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String READ_BEAT_SQL = "SELECT beat_at FROM tb_replica_heartbeat WHERE id = 1";
+
+    private final ReplicaPools pools;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long maxLagMillis;
+
+    public ReplicaLagMonitor(
+            ReplicaPools pools,
+            ReadYourWritesTracker readYourWrites,
+            Duration maxLag,
+            MeterRegistry meterRegistry
+    ) {
+        this.pools = pools;
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = maxLag.toMillis();
+
+        for (ReplicaPools.Replica replica : pools.replicas()) {
+            TimeGauge.builder("datasource.replica.lag", replica, TimeUnit.MILLISECONDS, ReplicaPools.Replica::lagMillis)
+                    .description("Defasagem medida da réplica (-1 se indisponível)")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("Réplica recebendo leituras (1) ou fora do roteamento (0)")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Grava o batimento no primário e atualiza a defasagem de cada réplica (na inicialização e periodicamente).
+     */
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${datasource.replicas.lag-check-interval:1s}",
+            fixedDelayString = "${datasource.replicas.lag-check-interval:1s}"
+    )
+    public void checkReplicas() {
+
+        try {
+            new JdbcTemplate(pools.primary()).update(BEAT_SQL, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar o batimento de replicação no primário", e);
+        }
+
+        for (ReplicaPools.Replica replica : pools.replicas()) {
+            checkReplica(replica);
+        }
+
+        readYourWrites.purgeExpired();
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Lê o batimento replicado e atualiza a defasagem e a elegibilidade da réplica.
+     */
+    private void checkReplica(ReplicaPools.Replica replica) {
+
+        boolean wasHealthy = replica.isHealthy();
+        long lagMillis;
+
+        try {
+            Timestamp beatAt = new JdbcTemplate(replica.dataSource()).queryForObject(READ_BEAT_SQL, Timestamp.class);
+            lagMillis = beatAt != null
+                    ? Math.max(0, Duration.between(beatAt.toLocalDateTime(), LocalDateTime.now()).toMillis())
+                    : -1;
+        } catch (DataAccessException e) {
+            lagMillis = -1;
+            if (wasHealthy) log.warn("Réplica {} indisponível; leituras redirecionadas", replica.name(), e);
+        }
+
+        boolean healthy = lagMillis >= 0 && lagMillis <= maxLagMillis;
+        replica.update(lagMillis, healthy);
+
+        if (wasHealthy && !healthy && lagMillis >= 0) {
+            log.warn("Réplica {} com defasagem de {} ms (limite {} ms); leituras redirecionadas",
+                    replica.name(), lagMillis, maxLagMillis);
+        } else if (!wasHealthy && healthy) {
+            log.info("Réplica {} recebendo leituras (defasagem de {} ms)", replica.name(), lagMillis);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dev.viniciussr.gamerental.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pools de conexões do primário e das réplicas de leitura, com o estado de cada réplica.
+ * <p>
+ * Uma réplica só recebe leituras enquanto sua defasagem estiver dentro do limite
+ * (atualizado pelo {@link ReplicaLagMonitor}); até a primeira verificação, nenhuma réplica é elegível.
+ * </p>
+ */
+public class ReplicaPools implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPools(HikariDataSource primary, List<Replica> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Escolhe, em rodízio, uma réplica com defasagem dentro do limite.
+     *
+     * @return Réplica escolhida, ou vazio se nenhuma estiver elegível.
+     */
+    public Optional<Replica> nextHealthy() {
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) return Optional.of(replica);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+
+        replicas.forEach(replica -> replica.dataSource().close());
+        primary.close();
+    }
+
+    /**
+     * Réplica de leitura: pool de conexões e última defasagem medida.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * @return Última defasagem medida em milissegundos ({@code -1} se a réplica não respondeu).
+         */
+        public long lagMillis() {
+            return lagMillis;
+        }
+
+        void update(long lagMillis, boolean healthy) {
+            this.lagMillis = lagMillis;
+            this.healthy = healthy;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.viniciussr.gamerental.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuração das réplicas de leitura.
+ * <p>
+ * O primário continua configurado em {@code spring.datasource.*}; cada réplica tem seu próprio pool.
+ * </p>
+ *
+ * @param enabled              ativa o roteamento entre primário e réplicas.
+ * @param readYourWritesWindow período, após uma gravação do usuário, em que suas leituras vão ao primário.
+ * @param maxLag               defasagem máxima para uma réplica receber leituras.
+ * @param lagCheckInterval     intervalo entre os batimentos gravados no primário e a verificação das réplicas.
+ * @param nodes                réplicas (prefixo {@code datasource.replicas.nodes[n]}).
+ */
+@ConfigurationProperties(prefix = "datasource.replicas")
+public record ReplicaProperties(
+        boolean enabled,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("1s") Duration lagCheckInterval,
+        List<Node> nodes
+) {
+
+    public ReplicaProperties {
+        nodes = nodes != null ? List.copyOf(nodes) : List.of();
+    }
+
+    /**
+     * Conexão de uma réplica.
+     *
+     * @param name            nome da réplica (tag das métricas e nome do pool).
+     * @param url             URL JDBC.
+     * @param username        usuário.
+     * @param password        senha.
+     * @param maximumPoolSize tamanho máximo do pool de conexões.
+     */
+    public record Node(
+            String name,
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
@@ -0,0 +1,44 @@
+package dev.viniciussr.gamerental.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Marca a execução dos métodos de serviço anotados com {@code @Transactional(readOnly = true)}
+ * como elegível para as réplicas de leitura.
+ * <p>
+ * As transações somente leitura abertas implicitamente pelos repositórios Spring Data (ex.: um
+ * {@code findById} antes de um {@code save}) não são marcadas e continuam no primário: as réplicas
+ * recebem apenas as leituras declaradas como tal na camada de serviço.
+ * </p>
+ */
+@Aspect
+public class ReplicaReadScope {
+
+    private static final ThreadLocal<Integer> depth = ThreadLocal.withInitial(() -> 0);
+
+    @Around("within(dev.viniciussr.gamerental.service..*) && @annotation(transactional)")
+    public Object readOnlyServiceMethod(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+
+        if (!transactional.readOnly()) return joinPoint.proceed();
+
+        depth.set(depth.get() + 1);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            int remaining = depth.get() - 1;
+            if (remaining == 0) depth.remove();
+            else depth.set(remaining);
+        }
+    }
+
+    /**
+     * @return {@code true} se a thread atual está dentro de um método de serviço somente leitura.
+     */
+    static boolean isActive() {
+
+        return depth.get() > 0;
+    }
+}
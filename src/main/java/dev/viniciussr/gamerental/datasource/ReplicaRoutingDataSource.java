@@ -0,0 +1,174 @@
+package dev.viniciussr.gamerental.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DataSource que direciona cada conexão ao primário ou a uma réplica de leitura.
+ * <p>
+ * Uma conexão vai a uma réplica quando:
+ * <ul>
+ *     <li>a transação atual é somente leitura e foi aberta por um método de serviço
+ *     {@code @Transactional(readOnly = true)} ({@link ReplicaReadScope});</li>
+ *     <li>o usuário autenticado não gravou nada dentro da janela de leitura das próprias gravações;</li>
+ *     <li>existe réplica com defasagem dentro do limite ({@link ReplicaLagMonitor}).</li>
+ * </ul>
+ * Em qualquer outro caso (gravações, leituras sem transação, migrações), a conexão vai ao primário.
+ * </p>
+ * <p>
+ * A decisão depende do estado da transação, por isso este DataSource deve ser envolvido por um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: a conexão física só é
+ * obtida no primeiro comando, depois que a transação já foi marcada como somente leitura.
+ * </p>
+ * <p>
+ * A sessão do Hibernate de uma transação roteada a uma réplica continua lendo do cache de segundo nível,
+ * mas não grava nele ({@link CacheMode#GET}): linhas lidas de uma réplica atrasada não substituem, no cache,
+ * o que já foi gravado no primário.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaPools pools;
+    private final ReadYourWritesTracker readYourWrites;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+    private final Counter readYourWritesCounter;
+
+    public ReplicaRoutingDataSource(
+            ReplicaPools pools,
+            ReadYourWritesTracker readYourWrites,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            MeterRegistry meterRegistry
+    ) {
+        this.pools = pools;
+        this.readYourWrites = readYourWrites;
+        this.entityManagerFactory = entityManagerFactory;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, pools.primary());
+        pools.replicas().forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pools.primary());
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.primaryCounter = routeCounter(meterRegistry, "primary", "default");
+        this.replicaCounter = routeCounter(meterRegistry, "replica", "read-only");
+        this.readYourWritesCounter = routeCounter(meterRegistry, "primary", "read-your-writes");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        boolean transactional = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+        if (!transactional || !readOnly || !ReplicaReadScope.isActive()) {
+            if (transactional && !readOnly) trackWrite();
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+
+        String user = currentUser();
+        if (user != null && readYourWrites.wroteRecently(user)) {
+            readYourWritesCounter.increment();
+            return PRIMARY;
+        }
+
+        Optional<ReplicaPools.Replica> replica = pools.nextHealthy();
+        if (replica.isEmpty()) {
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+
+        skipCachePuts();
+        replicaCounter.increment();
+        return replica.get().name();
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Impede que a sessão do Hibernate da transação atual grave no cache de segundo nível as entidades
+     * e consultas lidas da réplica. A sessão pertence à transação, de modo que as demais não são afetadas.
+     */
+    private void skipCachePuts() {
+
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null) return;
+
+        if (TransactionSynchronizationManager.getResource(factory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    /**
+     * Registra, ao confirmar a transação de escrita atual, a gravação do usuário autenticado.
+     * <p>
+     * Toda transação de escrita é tratada como gravação (abordagem conservadora).
+     * </p>
+     */
+    private void trackWrite() {
+
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        // Uma única sincronização por transação, mesmo com várias conexões obtidas
+        if (TransactionSynchronizationManager.hasResource(this)) return;
+        TransactionSynchronizationManager.bindResource(this, user);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(user);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+            }
+        });
+    }
+
+    /**
+     * @return Nome do usuário autenticado, ou {@code null} em requisições anônimas e tarefas agendadas.
+     */
+    private static String currentUser() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target, String reason) {
+
+        return Counter.builder("datasource.route")
+                .description("Conexões obtidas pelo roteamento entre primário e réplicas")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package dev.viniciussr.gamerental.dto;
+
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+
+/**
+ * DTO de uma alteração retornada pelo feed de alterações ({@code GET /changes}).
+ * <p>
+ * Cada registro aparece uma única vez no feed, com a sequência da sua última alteração.
+ * </p>
+ *
+ * @param sequence sequência da alteração (global e crescente).
+ * @param entity   tipo do registro alterado.
+ * @param id       identificador do registro.
+ * @param deleted  {@code true} se o registro foi removido (tombstone, sem dados).
+ * @param data     dados atuais do registro ({@link GameDto}, {@link UserDto} ou {@link RentalDto}).
+ */
+public record ChangeDto(
+        long sequence,
+        ChangeEntity entity,
+        Long id,
+        boolean deleted,
+        Object data
+) {
+}
@@ -0,0 +1,17 @@
+package dev.viniciussr.gamerental.dto;
+
+import java.util.List;
+
+/**
+ * DTO de uma página do feed de alterações ({@code GET /changes}).
+ *
+ * @param changes alterações posteriores à sequência informada, em ordem de sequência.
+ * @param next    sequência a ser informada na próxima consulta ({@code since}).
+ * @param hasMore {@code true} se há mais alterações após esta página.
+ */
+public record ChangesPageDto(
+        List<ChangeDto> changes,
+        long next,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,19 @@
+package dev.viniciussr.gamerental.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO utilizado para retornar os totais diários de aluguéis (série temporal).
+ *
+ * @param date      dia a que os totais se referem.
+ * @param created   quantidade de aluguéis criados no dia.
+ * @param returned  quantidade de aluguéis devolvidos no dia.
+ * @param cancelled quantidade de aluguéis cancelados no dia.
+ */
+public record DailyRentalStatsDto(
+        LocalDate date,
+        Long created,
+        Long returned,
+        Long cancelled
+) {
+}
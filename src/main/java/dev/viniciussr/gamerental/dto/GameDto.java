@@ -8,6 +8,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -48,9 +49,19 @@ public record GameDto(
                 game.getIdGame(),
                 game.getTitle(),
                 game.getGenre(),
-                game.getPlatform(),
+                copyOf(game.getPlatform()),
                 game.getQuantity(),
                 game.isAvailable()
         );
     }
+
+    /**
+     * Copia as plataformas da entidade, para que o DTO não dependa da sessão do Hibernate.
+     */
+    private static Set<Platforms> copyOf(Set<Platforms> platforms) {
+
+        Set<Platforms> copy = EnumSet.noneOf(Platforms.class);
+        if (platforms != null) copy.addAll(platforms);
+        return copy;
+    }
 }
\ No newline at end of file
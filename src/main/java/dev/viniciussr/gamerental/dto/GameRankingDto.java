@@ -0,0 +1,15 @@
+package dev.viniciussr.gamerental.dto;
+
+/**
+ * DTO utilizado para retornar a posição de um jogo no ranking de mais alugados.
+ *
+ * @param gameId  ID do jogo.
+ * @param title   título do jogo (nulo se o jogo tiver sido removido).
+ * @param rentals quantidade de aluguéis criados no período.
+ */
+public record GameRankingDto(
+        Long gameId,
+        String title,
+        Long rentals
+) {
+}
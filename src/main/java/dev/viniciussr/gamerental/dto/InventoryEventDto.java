@@ -0,0 +1,17 @@
+package dev.viniciussr.gamerental.dto;
+
+/**
+ * DTO de uma alteração de estoque de jogo, enviado no stream de estoque ({@code GET /games/stream}).
+ *
+ * @param idGame    identificador do jogo.
+ * @param quantity  quantidade de cópias em estoque após a alteração.
+ * @param available disponibilidade para aluguel após a alteração.
+ * @param deleted   {@code true} se o jogo foi removido.
+ */
+public record InventoryEventDto(
+        Long idGame,
+        Integer quantity,
+        boolean available,
+        boolean deleted
+) {
+}
@@ -0,0 +1,17 @@
+package dev.viniciussr.gamerental.dto;
+
+/**
+ * DTO utilizado para retornar o resultado de uma execução do arquivamento de aluguéis.
+ *
+ * @param rowsMoved  quantidade de aluguéis movidos para o arquivo.
+ * @param chunks     quantidade de lotes processados.
+ * @param elapsedMs  tempo total de execução em milissegundos.
+ * @param rowsPerSec vazão da execução (aluguéis movidos por segundo).
+ */
+public record RentalArchiveDto(
+        long rowsMoved,
+        int chunks,
+        long elapsedMs,
+        double rowsPerSec
+) {
+}
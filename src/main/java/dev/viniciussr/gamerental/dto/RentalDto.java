@@ -1,6 +1,7 @@
 package dev.viniciussr.gamerental.dto;
 
 import dev.viniciussr.gamerental.enums.RentalStatus;
+import dev.viniciussr.gamerental.model.ArchivedRental;
 import dev.viniciussr.gamerental.model.Rental;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotNull;
@@ -49,4 +50,15 @@ public record RentalDto(
                 rental.getStatus()
         );
     }
+
+    public RentalDto(ArchivedRental rental) {
+        this(
+                rental.getIdRental(),
+                rental.getGame().getIdGame(),
+                rental.getUser().getIdUser(),
+                rental.getRentalDate(),
+                rental.getEndDate(),
+                rental.getStatus()
+        );
+    }
 }
\ No newline at end of file
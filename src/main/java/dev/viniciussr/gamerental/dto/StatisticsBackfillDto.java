@@ -0,0 +1,19 @@
+package dev.viniciussr.gamerental.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO utilizado para retornar o resultado da reconstrução das estatísticas de aluguéis.
+ *
+ * @param from      primeiro dia reconstruído.
+ * @param to        último dia reconstruído.
+ * @param chunks    quantidade de blocos (intervalos de dias) processados.
+ * @param elapsedMs tempo total de execução em milissegundos.
+ */
+public record StatisticsBackfillDto(
+        LocalDate from,
+        LocalDate to,
+        int chunks,
+        long elapsedMs
+) {
+}
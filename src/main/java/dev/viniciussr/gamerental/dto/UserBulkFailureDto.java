@@ -0,0 +1,15 @@
+package dev.viniciussr.gamerental.dto;
+
+/**
+ * DTO utilizado para informar uma linha rejeitada no cadastro de usuários em lote.
+ *
+ * @param index  posição da linha na requisição (a partir de 0).
+ * @param email  e-mail informado na linha.
+ * @param reason motivo da rejeição.
+ */
+public record UserBulkFailureDto(
+        int index,
+        String email,
+        String reason
+) {
+}
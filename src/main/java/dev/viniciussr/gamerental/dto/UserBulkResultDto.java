@@ -0,0 +1,19 @@
+package dev.viniciussr.gamerental.dto;
+
+import java.util.List;
+
+/**
+ * DTO utilizado para retornar o resultado do cadastro de usuários em lote.
+ *
+ * @param requested quantidade de linhas recebidas.
+ * @param created   quantidade de usuários cadastrados.
+ * @param failures  linhas rejeitadas, com o motivo ({@link UserBulkFailureDto}).
+ * @param elapsedMs tempo total de execução em milissegundos.
+ */
+public record UserBulkResultDto(
+        int requested,
+        int created,
+        List<UserBulkFailureDto> failures,
+        long elapsedMs
+) {
+}
@@ -0,0 +1,49 @@
+package dev.viniciussr.gamerental.dto;
+
+import dev.viniciussr.gamerental.enums.WaitlistStatus;
+import dev.viniciussr.gamerental.model.WaitlistEntry;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO utilizado para incluir um usuário na fila de espera de um jogo e retornar seus dados nas respostas da API.
+ *
+ * @param idWaitlist    identificador único da entrada na fila.
+ * @param gameId        ID do jogo aguardado (não pode ser nulo).
+ * @param userId        ID do usuário na fila (não pode ser nulo).
+ * @param status        status atual da entrada.
+ * @param position      posição na fila (apenas para WAITING, a partir de 1).
+ * @param createdAt     data/hora de entrada na fila.
+ * @param holdExpiresAt data/hora de expiração da reserva (apenas para HOLDING).
+ */
+public record WaitlistDto(
+
+        Long idWaitlist,
+
+        @NotNull(message = "ID do jogo é campo obrigatório")
+        Long gameId,
+
+        @NotNull(message = "ID do usuário é campo obrigatório")
+        Long userId,
+
+        WaitlistStatus status,
+
+        Integer position,
+
+        LocalDateTime createdAt,
+
+        LocalDateTime holdExpiresAt
+) {
+    public WaitlistDto(WaitlistEntry entry, Integer position) {
+        this(
+                entry.getIdWaitlist(),
+                entry.getGame().getIdGame(),
+                entry.getUser().getIdUser(),
+                entry.getStatus(),
+                position,
+                entry.getCreatedAt(),
+                entry.getHoldExpiresAt()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package dev.viniciussr.gamerental.enums;
+
+/**
+ * Tipos de registro acompanhados pelo feed de alterações ({@code GET /changes}).
+ */
+public enum ChangeEntity {
+
+    /**
+     * Jogo do catálogo (inclui alterações de estoque e disponibilidade).
+     */
+    GAME,
+
+    /**
+     * Usuário (inclui alterações do número de aluguéis ativos).
+     */
+    USER,
+
+    /**
+     * Aluguel (ativo ou arquivado).
+     */
+    RENTAL
+}
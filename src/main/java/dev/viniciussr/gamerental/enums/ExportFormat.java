@@ -0,0 +1,42 @@
+package dev.viniciussr.gamerental.enums;
+
+/**
+ * Representa os formatos disponíveis para exportação de dados da API.
+ * <p>
+ * Cada formato define o tipo de mídia e a extensão do arquivo gerado.
+ * </p>
+ */
+public enum ExportFormat {
+
+    /**
+     * Valores separados por vírgula, com linha de cabeçalho.
+     */
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    /**
+     * JSON delimitado por quebra de linha (um objeto por linha).
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * @return Tipo de mídia (Content-Type) do formato.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return Extensão do arquivo exportado.
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -12,15 +12,28 @@ public enum SubscriptionPlans {
     /**
      * Permite até 1 (um) aluguel por vez.
      */
-    NOOB,
+    NOOB(1),
 
     /**
      * Permite até 3 (três) aluguéis por vez.
      */
-    PRO,
+    PRO(3),
 
     /**
      * Permite até 5 (cinco) aluguéis por vez.
      */
-    LEGEND
+    LEGEND(5);
+
+    private final int maxActiveRentals;
+
+    SubscriptionPlans(int maxActiveRentals) {
+        this.maxActiveRentals = maxActiveRentals;
+    }
+
+    /**
+     * @return Quantidade máxima de aluguéis ativos simultâneos permitida pelo plano.
+     */
+    public int getMaxActiveRentals() {
+        return maxActiveRentals;
+    }
 }
\ No newline at end of file
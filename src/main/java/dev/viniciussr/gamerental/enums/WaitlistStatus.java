@@ -0,0 +1,32 @@
+package dev.viniciussr.gamerental.enums;
+
+/**
+ * Representa os possíveis status de uma entrada na fila de espera de um jogo.
+ */
+public enum WaitlistStatus {
+
+    /**
+     * Aguardando na fila a liberação de uma cópia.
+     */
+    WAITING,
+
+    /**
+     * Cópia reservada para o usuário até o fim do prazo da reserva.
+     */
+    HOLDING,
+
+    /**
+     * Reserva convertida em aluguel.
+     */
+    FULFILLED,
+
+    /**
+     * Reserva expirada sem que o aluguel fosse efetuado.
+     */
+    EXPIRED,
+
+    /**
+     * Entrada removida da fila pelo usuário.
+     */
+    CANCELLED
+}
@@ -3,19 +3,28 @@ package dev.viniciussr.gamerental.exception;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import dev.viniciussr.gamerental.exception.game.GameIsNotAvailableException;
 import dev.viniciussr.gamerental.exception.game.GameNotFoundException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotencyKeyReusedException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotentRequestInProgressException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotentRequestOutcomeUnknownException;
 import dev.viniciussr.gamerental.exception.jwt.*;
 import dev.viniciussr.gamerental.exception.rental.PlanLimitExceededException;
 import dev.viniciussr.gamerental.exception.rental.RentalAlreadyClosedException;
 import dev.viniciussr.gamerental.exception.rental.RentalNotFoundException;
+import dev.viniciussr.gamerental.exception.user.UserAlreadyExistsException;
 import dev.viniciussr.gamerental.exception.user.UserNotFoundException;
+import dev.viniciussr.gamerental.exception.waitlist.AlreadyOnWaitlistException;
+import dev.viniciussr.gamerental.exception.waitlist.GameIsAvailableException;
+import dev.viniciussr.gamerental.exception.waitlist.WaitlistEntryNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
@@ -93,6 +102,17 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, e.getMessage());
     }
 
+    /**
+     * Trata exceção: e-mail de usuário já cadastrado.
+     *
+     * @param e exceção do tipo {@link UserAlreadyExistsException}.
+     * @return Resposta HTTP 409 (CONFLICT) com mensagem de erro.
+     */
+    @ExceptionHandler(UserAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleUserAlreadyExistsException(UserAlreadyExistsException e) {
+        return buildErrorResponse(HttpStatus.CONFLICT, e.getMessage());
+    }
+
     /**
      * Trata exceção: aluguel não encontrado.
      *
@@ -137,6 +157,83 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, e.getMessage());
     }
 
+    /**
+     * Trata exceção: entrada da fila de espera não encontrada.
+     *
+     * @param e exceção do tipo {@link WaitlistEntryNotFoundException}.
+     * @return Resposta HTTP 404 (NOT FOUND) com mensagem de erro.
+     */
+    @ExceptionHandler(WaitlistEntryNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleWaitlistEntryNotFound(WaitlistEntryNotFoundException e) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    /**
+     * Trata exceção: usuário já presente na fila de espera do jogo.
+     *
+     * @param e exceção do tipo {@link AlreadyOnWaitlistException}.
+     * @return Resposta HTTP 409 (CONFLICT) com mensagem de erro.
+     */
+    @ExceptionHandler(AlreadyOnWaitlistException.class)
+    public ResponseEntity<ErrorResponse> handleAlreadyOnWaitlist(AlreadyOnWaitlistException e) {
+        return buildErrorResponse(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    /**
+     * Trata exceção: fila de espera para jogo com cópias disponíveis.
+     *
+     * @param e exceção do tipo {@link GameIsAvailableException}.
+     * @return Resposta HTTP 409 (CONFLICT) com mensagem de erro.
+     */
+    @ExceptionHandler(GameIsAvailableException.class)
+    public ResponseEntity<ErrorResponse> handleGameIsAvailable(GameIsAvailableException e) {
+        return buildErrorResponse(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    /**
+     * Trata exceção: chave de idempotência reutilizada em outra requisição.
+     *
+     * @param e exceção do tipo {@link IdempotencyKeyReusedException}.
+     * @return Resposta HTTP 422 (UNPROCESSABLE ENTITY) com mensagem de erro.
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+    }
+
+    /**
+     * Trata exceção: requisição idempotente original ainda em andamento.
+     *
+     * @param e exceção do tipo {@link IdempotentRequestInProgressException}.
+     * @return Resposta HTTP 409 (CONFLICT) com mensagem de erro.
+     */
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotentRequestInProgress(IdempotentRequestInProgressException e) {
+        return buildErrorResponse(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    /**
+     * Trata exceção: requisição idempotente original interrompida sem resposta registrada.
+     *
+     * @param e exceção do tipo {@link IdempotentRequestOutcomeUnknownException}.
+     * @return Resposta HTTP 409 (CONFLICT) com mensagem de erro.
+     */
+    @ExceptionHandler(IdempotentRequestOutcomeUnknownException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotentRequestOutcomeUnknown(IdempotentRequestOutcomeUnknownException e) {
+        return buildErrorResponse(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    /**
+     * Trata conflitos de versão: o registro foi alterado por outra requisição simultânea.
+     *
+     * @param e exceção do tipo {@link ObjectOptimisticLockingFailureException}.
+     * @return Resposta HTTP 409 (CONFLICT) com mensagem de erro.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        return buildErrorResponse(HttpStatus.CONFLICT, "Registro alterado por outra requisição. Tente novamente.");
+    }
+
     /**
      * Trata tentativas de cadastro de usuário com dados já existentes.
      *
@@ -284,4 +381,15 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleJwtVerification(JwtVerificationException e) {
         return buildErrorResponse(HttpStatus.UNAUTHORIZED, e.getMessage());
     }
+
+    /**
+     * Trata exceção: conexão encerrada pelo cliente durante uma resposta assíncrona (ex.: stream de estoque).
+     * Não há resposta a escrever.
+     *
+     * @param e exceção do tipo {@link AsyncRequestNotUsableException}.
+     */
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsable(AsyncRequestNotUsableException e) {
+        // Cliente desconectado
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package dev.viniciussr.gamerental.exception.idempotency;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada quando uma chave de idempotência é reutilizada
+ * em uma requisição diferente da original.
+ */
+public class IdempotencyKeyReusedException extends BusinessException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Chave de idempotência já utilizada em outra requisição: " + key);
+    }
+}
@@ -0,0 +1,13 @@
+package dev.viniciussr.gamerental.exception.idempotency;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada quando a requisição original de uma chave de idempotência
+ * ainda está em andamento em outra instância da aplicação.
+ */
+public class IdempotentRequestInProgressException extends BusinessException {
+    public IdempotentRequestInProgressException(String key) {
+        super("Requisição com a chave de idempotência " + key + " ainda em andamento. Tente novamente.");
+    }
+}
@@ -0,0 +1,15 @@
+package dev.viniciussr.gamerental.exception.idempotency;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada quando a requisição original de uma chave de idempotência foi interrompida
+ * sem resposta registrada: a chave não é executada novamente e o cliente deve verificar o estado
+ * do recurso antes de repetir a operação com uma nova chave.
+ */
+public class IdempotentRequestOutcomeUnknownException extends BusinessException {
+    public IdempotentRequestOutcomeUnknownException(String key) {
+        super("Resultado da requisição com a chave de idempotência " + key
+                + " desconhecido. Verifique o estado do recurso antes de repetir com uma nova chave.");
+    }
+}
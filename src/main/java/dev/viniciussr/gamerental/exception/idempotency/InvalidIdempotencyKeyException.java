@@ -0,0 +1,12 @@
+package dev.viniciussr.gamerental.exception.idempotency;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada quando a chave de idempotência informada é inválida.
+ */
+public class InvalidIdempotencyKeyException extends BusinessException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
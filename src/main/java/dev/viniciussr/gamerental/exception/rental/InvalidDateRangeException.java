@@ -0,0 +1,13 @@
+package dev.viniciussr.gamerental.exception.rental;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada quando um intervalo de datas informado é inválido
+ * (data inicial posterior à data final).
+ */
+public class InvalidDateRangeException extends BusinessException {
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
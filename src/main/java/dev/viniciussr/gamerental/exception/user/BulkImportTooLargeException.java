@@ -0,0 +1,12 @@
+package dev.viniciussr.gamerental.exception.user;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada quando o cadastro de usuários em lote excede a quantidade máxima de linhas.
+ */
+public class BulkImportTooLargeException extends BusinessException {
+    public BulkImportTooLargeException(int rows, int maxRows) {
+        super("Lote com " + rows + " usuários excede o limite de " + maxRows + " por requisição");
+    }
+}
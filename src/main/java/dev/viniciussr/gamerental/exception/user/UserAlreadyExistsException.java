@@ -0,0 +1,12 @@
+package dev.viniciussr.gamerental.exception.user;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada ao cadastrar um usuário com e-mail já existente.
+ */
+public class UserAlreadyExistsException extends BusinessException {
+    public UserAlreadyExistsException(String email) {
+        super("Usuário já cadastrado com o e-mail: " + email);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.viniciussr.gamerental.exception.waitlist;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada quando o usuário já está na fila de espera do jogo.
+ */
+public class AlreadyOnWaitlistException extends BusinessException {
+    public AlreadyOnWaitlistException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.viniciussr.gamerental.exception.waitlist;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada ao tentar entrar na fila de espera de um jogo com cópias disponíveis.
+ */
+public class GameIsAvailableException extends BusinessException {
+    public GameIsAvailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.viniciussr.gamerental.exception.waitlist;
+
+import dev.viniciussr.gamerental.exception.BusinessException;
+
+/**
+ * Exceção lançada quando uma entrada da fila de espera não é encontrada no banco de dados.
+ */
+public class WaitlistEntryNotFoundException extends BusinessException {
+    public WaitlistEntryNotFoundException(String message) {
+        super(message);
+    }
+}
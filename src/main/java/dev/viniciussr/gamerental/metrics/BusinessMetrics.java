@@ -0,0 +1,83 @@
+package dev.viniciussr.gamerental.metrics;
+
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import dev.viniciussr.gamerental.enums.WaitlistStatus;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.RentalRepository;
+import dev.viniciussr.gamerental.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de negócio da locadora (gauges).
+ * <p>
+ * Os valores são contados no banco periodicamente e mantidos em memória, de modo que a coleta
+ * das métricas ({@code /actuator/prometheus}) não executa consultas a cada requisição.
+ * </p>
+ */
+@Component
+public class BusinessMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(BusinessMetrics.class);
+
+    private final RentalRepository rentalRepository;
+    private final GameRepository gameRepository;
+    private final WaitlistEntryRepository waitlistRepository;
+
+    private final AtomicLong activeRentals = new AtomicLong();
+    private final AtomicLong lateRentals = new AtomicLong();
+    private final AtomicLong unavailableGames = new AtomicLong();
+    private final AtomicLong waitingEntries = new AtomicLong();
+
+    public BusinessMetrics(
+            RentalRepository rentalRepository,
+            GameRepository gameRepository,
+            WaitlistEntryRepository waitlistRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.rentalRepository = rentalRepository;
+        this.gameRepository = gameRepository;
+        this.waitlistRepository = waitlistRepository;
+
+        Gauge.builder("rental.active", activeRentals, AtomicLong::get)
+                .description("Aluguéis ativos (status ACTIVE)")
+                .register(meterRegistry);
+        Gauge.builder("rental.late", lateRentals, AtomicLong::get)
+                .description("Aluguéis em atraso (status LATE)")
+                .register(meterRegistry);
+        Gauge.builder("game.unavailable", unavailableGames, AtomicLong::get)
+                .description("Jogos indisponíveis (sem cópias em estoque)")
+                .register(meterRegistry);
+        Gauge.builder("waitlist.waiting", waitingEntries, AtomicLong::get)
+                .description("Entradas aguardando na fila de espera")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Atualiza os valores das métricas a partir do banco (na inicialização e periodicamente).
+     */
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${metrics.business.refresh-interval-ms:30000}",
+            fixedDelayString = "${metrics.business.refresh-interval-ms:30000}"
+    )
+    public void refresh() {
+
+        try {
+            activeRentals.set(rentalRepository.countByStatus(RentalStatus.ACTIVE));
+            lateRentals.set(rentalRepository.countByStatus(RentalStatus.LATE));
+            unavailableGames.set(gameRepository.countByAvailableFalse());
+            waitingEntries.set(waitlistRepository.countByStatus(WaitlistStatus.WAITING));
+        } catch (DataAccessException e) {
+            log.warn("Falha ao atualizar as métricas de negócio; valores anteriores mantidos", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package dev.viniciussr.gamerental.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuração das distribuições de latência por endpoint (métrica {@code http.server.requests}).
+ * <p>
+ * Cada endpoint é identificado pelo método HTTP e pela rota (padrão do mapeamento, ex.: {@code /games/{id}}),
+ * e pode publicar histograma de percentis, percentis calculados na aplicação e limites de SLO.
+ * </p>
+ *
+ * @param endpoints endpoints com distribuição configurada (prefixo {@code metrics.http.endpoints[n]}).
+ */
+@ConfigurationProperties(prefix = "metrics.http")
+public record HttpMetricsProperties(List<Endpoint> endpoints) {
+
+    public HttpMetricsProperties {
+        endpoints = endpoints != null ? List.copyOf(endpoints) : List.of();
+    }
+
+    /**
+     * Distribuição de latência de um endpoint.
+     *
+     * @param method               método HTTP (ex.: {@code GET}).
+     * @param uri                  rota do endpoint (ex.: {@code /rentals/return/{id}}).
+     * @param percentilesHistogram publica os buckets do histograma (percentis calculados no Prometheus).
+     * @param percentiles          percentis calculados na aplicação (ex.: {@code 0.5,0.95,0.99}).
+     * @param slo                  limites de SLO, publicados como buckets do histograma (ex.: {@code 100ms,500ms}).
+     */
+    public record Endpoint(
+            String method,
+            String uri,
+            boolean percentilesHistogram,
+            List<Double> percentiles,
+            List<Duration> slo
+    ) {
+        public Endpoint {
+            percentiles = percentiles != null ? List.copyOf(percentiles) : List.of();
+            slo = slo != null ? List.copyOf(slo) : List.of();
+        }
+
+        /**
+         * @return {@code true} se o endpoint corresponde ao método e à rota informados.
+         */
+        boolean matches(String method, String uri) {
+            return this.method.equalsIgnoreCase(method) && this.uri.equals(uri);
+        }
+    }
+}
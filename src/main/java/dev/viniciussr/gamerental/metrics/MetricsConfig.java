@@ -0,0 +1,78 @@
+package dev.viniciussr.gamerental.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das métricas da API.
+ * <p>
+ * As métricas são expostas no formato Prometheus em {@code /actuator/prometheus}:
+ * </p>
+ * <ul>
+ *     <li>{@code http.server.requests}: requisições por endpoint (método, rota, status e resultado);</li>
+ *     <li>{@code service.method}: chamadas aos serviços anotados com {@code @Timed} (classe e método);</li>
+ *     <li>{@code tasks.scheduled.execution}: execuções das tarefas agendadas;</li>
+ *     <li>{@code hikaricp.connections.*}: uso do pool de conexões;</li>
+ *     <li>{@code hibernate.*} e {@code cache.*}: estatísticas do Hibernate e das regiões do cache de segundo nível;</li>
+ *     <li>métricas de negócio publicadas por {@link BusinessMetrics}.</li>
+ * </ul>
+ */
+@Configuration
+@EnableConfigurationProperties(HttpMetricsProperties.class)
+public class MetricsConfig {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    /**
+     * Aplica a distribuição de latência configurada em {@link HttpMetricsProperties} a cada endpoint,
+     * permitindo definir histogramas e SLOs apenas onde forem necessários.
+     *
+     * @param properties distribuições configuradas por endpoint.
+     * @return Filtro de métricas aplicado aos registros do Micrometer.
+     */
+    @Bean
+    public MeterFilter httpEndpointDistributionFilter(HttpMetricsProperties properties) {
+
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+
+                if (!HTTP_SERVER_REQUESTS.equals(id.getName())) return config;
+
+                String method = id.getTag("method");
+                String uri = id.getTag("uri");
+
+                return properties.endpoints().stream()
+                        .filter(endpoint -> endpoint.matches(method, uri))
+                        .findFirst()
+                        .map(endpoint -> toDistributionConfig(endpoint).merge(config))
+                        .orElse(config);
+            }
+        };
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Converte a configuração do endpoint em distribuição do Micrometer (SLOs de timers em nanossegundos).
+     * Itens não configurados ficam nulos e herdam a configuração global.
+     */
+    private static DistributionStatisticConfig toDistributionConfig(HttpMetricsProperties.Endpoint endpoint) {
+
+        DistributionStatisticConfig.Builder builder = DistributionStatisticConfig.builder()
+                .percentilesHistogram(endpoint.percentilesHistogram() ? true : null);
+
+        if (!endpoint.percentiles().isEmpty()) {
+            builder.percentiles(endpoint.percentiles().stream().mapToDouble(Double::doubleValue).toArray());
+        }
+        if (!endpoint.slo().isEmpty()) {
+            builder.serviceLevelObjectives(endpoint.slo().stream().mapToDouble(slo -> (double) slo.toNanos()).toArray());
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,147 @@
+package dev.viniciussr.gamerental.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monitor de pinning das threads virtuais.
+ * <p>
+ * Ativo apenas no modo de threads virtuais ({@code spring.threads.virtual.enabled=true}). Consome, via
+ * JFR em streaming, os eventos {@code jdk.VirtualThreadPinned}: a thread virtual ficou presa à thread
+ * portadora (ex.: bloqueio dentro de um bloco {@code synchronized} em Java 21 ou em um frame nativo)
+ * por mais tempo que o limite configurado.
+ * </p>
+ * <p>
+ * Cada ocorrência é registrada no timer {@code jvm.threads.virtual.pinned}, com a tag {@code path}
+ * indicando se o bloqueio ocorreu no caminho JDBC (driver, pool de conexões ou proxy de SQL). A pilha
+ * é registrada no log uma única vez por local de origem.
+ * </p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "virtual-threads.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /** Pacotes que compõem o caminho JDBC da aplicação. */
+    private static final List<String> JDBC_PACKAGES = List.of(
+            "com.mysql.", "org.h2.", "com.zaxxer.hikari.", "net.ttddyy.dsproxy.", "java.sql.", "org.hibernate."
+    );
+
+    /** Limite de locais de origem distintos registrados no log. */
+    private static final int MAX_LOGGED_ORIGINS = 256;
+
+    private static final int LOGGED_FRAMES = 15;
+
+    private final Duration threshold;
+    private final Map<String, Timer> pinnedTimers;
+    private final Set<String> loggedOrigins = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold
+    ) {
+        this.threshold = threshold;
+        this.pinnedTimers = Map.of(
+                "jdbc", pinnedTimer(meterRegistry, "jdbc"),
+                "other", pinnedTimer(meterRegistry, "other")
+        );
+    }
+
+    /**
+     * Inicia a gravação JFR em streaming dos eventos de pinning.
+     */
+    @PostConstruct
+    public void start() {
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+
+        log.info("Monitor de pinning das threads virtuais iniciado (limite de {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+
+        if (stream != null) stream.close();
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Registra um evento de pinning: duração no timer e, para um local de origem ainda não visto, a pilha no log.
+     */
+    private void onPinned(RecordedEvent event) {
+
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        boolean jdbcPath = frames.stream().anyMatch(VirtualThreadPinningMonitor::isJdbcFrame);
+
+        pinnedTimers.get(jdbcPath ? "jdbc" : "other").record(event.getDuration());
+
+        String origin = frames.stream()
+                .filter(frame -> !frame.getMethod().getType().getName().startsWith("java."))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse("desconhecida");
+
+        if (loggedOrigins.size() < MAX_LOGGED_ORIGINS && loggedOrigins.add(origin)) {
+
+            StringBuilder stack = new StringBuilder();
+            frames.stream().limit(LOGGED_FRAMES).forEach(frame ->
+                    stack.append(System.lineSeparator()).append("    at ").append(describe(frame)));
+
+            log.warn("Thread virtual presa à portadora por {} ms (caminho {}), origem {}:{}",
+                    event.getDuration().toMillis(), jdbcPath ? "JDBC" : "da aplicação", origin, stack);
+        }
+    }
+
+    private static Timer pinnedTimer(MeterRegistry meterRegistry, String path) {
+
+        return Timer.builder("jvm.threads.virtual.pinned")
+                .description("Períodos em que uma thread virtual ficou presa à thread portadora")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    private static boolean isJdbcFrame(RecordedFrame frame) {
+
+        String type = frame.getMethod().getType().getName();
+        return JDBC_PACKAGES.stream().anyMatch(type::startsWith);
+    }
+
+    private static String describe(RecordedFrame frame) {
+
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
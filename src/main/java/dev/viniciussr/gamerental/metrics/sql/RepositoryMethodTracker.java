@@ -0,0 +1,51 @@
+package dev.viniciussr.gamerental.metrics.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Interceptor adicionado aos proxies dos repositórios Spring Data que registra, por thread,
+ * o método de repositório em execução (ex.: {@code GameRepository.findById}).
+ * <p>
+ * Permite atribuir cada comando SQL ao método de repositório que o originou. Chamadas aninhadas
+ * (repositório chamando outro) ficam empilhadas; prevalece o método mais interno.
+ * </p>
+ */
+class RepositoryMethodTracker implements MethodInterceptor {
+
+    /** Valor usado para comandos executados fora de um método de repositório (ex.: JdbcTemplate). */
+    static final String NONE = "none";
+
+    private static final ThreadLocal<Deque<String>> CURRENT = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final String repositoryName;
+
+    RepositoryMethodTracker(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+
+        Deque<String> stack = CURRENT.get();
+        stack.push(repositoryName + "." + invocation.getMethod().getName());
+
+        try {
+            return invocation.proceed();
+        } finally {
+            stack.pop();
+        }
+    }
+
+    /**
+     * @return Método de repositório em execução na thread atual, ou {@link #NONE}.
+     */
+    static String current() {
+
+        String method = CURRENT.get().peek();
+        return method != null ? method : NONE;
+    }
+}
@@ -0,0 +1,136 @@
+package dev.viniciussr.gamerental.metrics.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.jdk.JdkJdbcProxyFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.time.Duration;
+
+/**
+ * Configuração do perfil de SQL em tempo de execução.
+ * <p>
+ * Envolve o {@link DataSource} com o datasource-proxy, cujos eventos são tratados pelo
+ * {@link SqlQueryProfiler}, e adiciona o {@link RepositoryMethodTracker} aos repositórios
+ * Spring Data para atribuir cada comando ao método de repositório que o executou.
+ * </p>
+ * <p>
+ * Substitui o {@code spring.jpa.show-sql}: nada é impresso por comando; apenas consultas lentas
+ * e suspeitas de N+1 são registradas no log (de forma assíncrona).
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sql.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilingConfig {
+
+    @Bean
+    public SqlQueryProfiler sqlQueryProfiler(
+            MeterRegistry meterRegistry,
+            @Value("${sql.profiling.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+            @Value("${sql.profiling.n-plus-one-threshold:10}") int nPlusOneThreshold,
+            @Value("${sql.profiling.row-sample-rate:0.01}") double rowSampleRate,
+            @Value("${sql.profiling.log-queue-size:1000}") int logQueueSize
+    ) {
+        return new SqlQueryProfiler(meterRegistry, slowQueryThreshold, nPlusOneThreshold, rowSampleRate, logQueueSize);
+    }
+
+    @Bean
+    public SqlRequestProfilingFilter sqlRequestProfilingFilter(SqlQueryProfiler sqlQueryProfiler) {
+
+        return new SqlRequestProfilingFilter(sqlQueryProfiler);
+    }
+
+    /**
+     * Envolve o {@link DataSource} da aplicação com o proxy de perfil de SQL.
+     * <p>
+     * Além do {@link SqlQueryProfiler}, recebe os eventos dos comandos qualquer outro
+     * {@link QueryExecutionListener} registrado como bean (ex.: contagem de comandos nos testes).
+     * </p>
+     * <p>
+     * Os ResultSets só passam pelo proxy quando a contagem de linhas está habilitada, e apenas os
+     * sorteados pela amostragem ({@link SqlQueryProfiler#sampleRows()}); os demais são devolvidos sem proxy.
+     * </p>
+     *
+     * @param profiler  perfilador resolvido sob demanda (evita inicialização antecipada das métricas).
+     * @param listeners ouvintes de comandos registrados no contexto.
+     * @return BeanPostProcessor que substitui o DataSource pelo proxy.
+     */
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourcePostProcessor(
+            ObjectProvider<SqlQueryProfiler> profiler,
+            ObjectProvider<QueryExecutionListener> listeners
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                if (!(bean instanceof DataSource dataSource)) return bean;
+
+                SqlQueryProfiler sqlQueryProfiler = profiler.getObject();
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+
+                if (sqlQueryProfiler.isRowSamplingEnabled()) {
+                    builder.methodListener(sqlQueryProfiler)
+                            .proxyResultSet() // Necessário para contar as linhas retornadas
+                            .jdbcProxyFactory(new SampledResultSetProxyFactory(sqlQueryProfiler));
+                }
+
+                listeners.orderedStream().forEach(builder::listener);
+
+                return builder.build();
+            }
+        };
+    }
+
+    /**
+     * Adiciona o {@link RepositoryMethodTracker} aos proxies de todos os repositórios Spring Data.
+     *
+     * @return BeanPostProcessor aplicado às fábricas de repositórios antes de sua inicialização.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMethodTrackerPostProcessor() {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryMethodTracker(information.getRepositoryInterface()))
+                    ));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Cria o proxy de ResultSet apenas para as consultas sorteadas pela amostragem de linhas.
+     */
+    private static final class SampledResultSetProxyFactory extends JdkJdbcProxyFactory {
+
+        private final SqlQueryProfiler profiler;
+
+        private SampledResultSetProxyFactory(SqlQueryProfiler profiler) {
+            this.profiler = profiler;
+        }
+
+        @Override
+        public ResultSet createResultSet(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+
+            return profiler.sampleRows() ? super.createResultSet(resultSet, connectionInfo, proxyConfig) : resultSet;
+        }
+    }
+}
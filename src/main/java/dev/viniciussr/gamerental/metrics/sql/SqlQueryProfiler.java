@@ -0,0 +1,398 @@
+package dev.viniciussr.gamerental.metrics.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Perfil dos comandos SQL executados pela aplicação (eventos do datasource-proxy).
+ * <p>
+ * Para cada comando registra a latência ({@code sql.query}) por método de repositório
+ * ({@link RepositoryMethodTracker}) e tipo de comando. As linhas lidas ({@code sql.rows}) são contadas apenas
+ * em uma amostra das consultas ({@link #sampleRows()}): somente os ResultSets amostrados passam pelo proxy,
+ * e as demais consultas (ex.: exportações com milhares de linhas) não pagam o custo por {@code next()}.
+ * Comandos acima do limite configurado são registrados como consulta lenta. Durante uma requisição HTTP
+ * ({@link SqlRequestProfilingFilter}), conta as execuções de cada formato de comando e, ao final, aponta os
+ * formatos repetidos acima do limite de N+1 ({@code sql.n_plus_one}), com o endpoint de origem.
+ * </p>
+ * <p>
+ * As mensagens de log são escritas por uma thread dedicada com fila limitada: a requisição nunca espera
+ * pelo log, e mensagens excedentes são descartadas ({@code sql.log.dropped}).
+ * </p>
+ */
+public class SqlQueryProfiler implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlQueryProfiler.class);
+
+    /** Listas de parâmetros de tamanho variável ({@code IN (?, ?, ?)}) pertencem ao mesmo formato. */
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LOGGED_SQL_LENGTH = 1000;
+    private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdNanos;
+    private final int nPlusOneThreshold;
+    private final double rowSampleRate;
+
+    private final ThreadPoolExecutor logExecutor;
+    private final Counter slowQueryCounter;
+    private final Counter droppedLogCounter;
+
+    private final Map<String, Timer> queryTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Long> queryStart = new ThreadLocal<>();
+    private final ThreadLocal<Map<ResultSet, ResultSetRows>> openResultSets = new ThreadLocal<>();
+    private final ThreadLocal<RequestQueries> currentRequest = new ThreadLocal<>();
+
+    public SqlQueryProfiler(
+            MeterRegistry meterRegistry,
+            Duration slowQueryThreshold,
+            int nPlusOneThreshold,
+            double rowSampleRate,
+            int logQueueSize
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.rowSampleRate = Math.clamp(rowSampleRate, 0.0, 1.0);
+
+        this.logExecutor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(logQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sql-profiling-log");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        this.slowQueryCounter = Counter.builder("sql.slow")
+                .description("Comandos SQL acima do limite de consulta lenta")
+                .register(meterRegistry);
+        this.droppedLogCounter = Counter.builder("sql.log.dropped")
+                .description("Mensagens do perfil de SQL descartadas (fila de log cheia)")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        logExecutor.shutdown();
+    }
+
+    // ******************************
+    // COMANDOS SQL
+    // ******************************
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        queryStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        Long start = queryStart.get();
+        long elapsedNanos = start != null ? System.nanoTime() - start : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        queryStart.remove();
+
+        String repositoryMethod = RepositoryMethodTracker.current();
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.getFirst().getQuery();
+
+        queryTimer(repositoryMethod, statementType(sql), execInfo.isSuccess()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        RequestQueries request = currentRequest.get();
+        if (request != null) request.count(shapeOf(sql), repositoryMethod);
+
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            slowQueryCounter.increment();
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            String endpoint = request != null ? request.endpointForLog() : "-";
+            logAsync(() -> log.warn("Consulta lenta ({} ms) em {} [{}]: {}",
+                    elapsedMs, repositoryMethod, endpoint, abbreviate(sql)));
+        }
+    }
+
+    // ******************************
+    // LINHAS RETORNADAS
+    // ******************************
+
+    /**
+     * @return {@code true} se a contagem de linhas estiver habilitada (taxa de amostragem maior que zero).
+     */
+    public boolean isRowSamplingEnabled() {
+
+        return rowSampleRate > 0;
+    }
+
+    /**
+     * Sorteia se as linhas do próximo ResultSet serão contadas.
+     *
+     * @return {@code true} se o ResultSet deve passar pelo proxy de contagem.
+     */
+    public boolean sampleRows() {
+
+        return rowSampleRate >= 1.0 || (rowSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < rowSampleRate);
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    /**
+     * Conta as linhas lidas de cada {@link ResultSet} amostrado; o total é registrado quando o ResultSet
+     * é esgotado ({@code next() == false}) ou fechado, ou quando o seu Statement é fechado.
+     * <p>
+     * O registro dos ResultSets abertos é removido da thread assim que fica vazio: threads de tarefas
+     * agendadas e threads virtuais, que não passam pelo {@link SqlRequestProfilingFilter}, não retêm
+     * ResultSets já fechados.
+     * </p>
+     */
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+
+        Object target = executionContext.getTarget();
+        String methodName = executionContext.getMethod().getName();
+
+        if (target instanceof ResultSet resultSet) {
+
+            if (methodName.equals("next")) {
+
+                Map<ResultSet, ResultSetRows> open = openResultSets.get();
+                if (open == null) {
+                    open = new IdentityHashMap<>();
+                    openResultSets.set(open);
+                }
+
+                ResultSetRows rows = open.computeIfAbsent(resultSet, key -> new ResultSetRows(RepositoryMethodTracker.current(), statementOf(key)));
+                if (Boolean.TRUE.equals(executionContext.getResult())) {
+                    rows.count++;
+                } else {
+                    closeResultSet(resultSet);
+                }
+            } else if (methodName.equals("close")) {
+
+                closeResultSet(resultSet);
+            }
+        } else if (target instanceof Statement statement && methodName.equals("close")) {
+
+            closeStatement(statement);
+        }
+    }
+
+    // ******************************
+    // REQUISIÇÕES (N+1)
+    // ******************************
+
+    /**
+     * Inicia a contagem dos comandos executados pela requisição na thread atual.
+     *
+     * @param request requisição HTTP em andamento.
+     */
+    void beginRequest(HttpServletRequest request) {
+
+        currentRequest.set(new RequestQueries(request));
+    }
+
+    /**
+     * Encerra a contagem da requisição e aponta os formatos de comando repetidos acima do limite de N+1.
+     */
+    void endRequest() {
+
+        RequestQueries request = currentRequest.get();
+        currentRequest.remove();
+
+        if (request == null) return;
+
+        request.shapes.forEach((shape, executions) -> {
+            if (executions.count < nPlusOneThreshold) return;
+
+            Counter.builder("sql.n_plus_one")
+                    .description("Requisições que repetiram o mesmo formato de comando SQL acima do limite")
+                    .tag("endpoint", request.endpointForMetric())
+                    .register(meterRegistry)
+                    .increment();
+
+            String endpoint = request.endpointForLog();
+            logAsync(() -> log.warn("Possível N+1 em {}: {} execuções de {} ({})",
+                    endpoint, executions.count, abbreviate(shape), executions.repositoryMethod));
+        });
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private Timer queryTimer(String repositoryMethod, String type, boolean success) {
+
+        return queryTimers.computeIfAbsent(repositoryMethod + '|' + type + '|' + success, key ->
+                Timer.builder("sql.query")
+                        .description("Duração dos comandos SQL por método de repositório")
+                        .tag("repository", repositoryMethod)
+                        .tag("type", type)
+                        .tag("success", String.valueOf(success))
+                        .register(meterRegistry));
+    }
+
+    private void recordRows(ResultSetRows rows) {
+
+        rowSummaries.computeIfAbsent(rows.repositoryMethod, key ->
+                        DistributionSummary.builder("sql.rows")
+                                .description("Linhas lidas por consulta, por método de repositório")
+                                .baseUnit("rows")
+                                .tag("repository", key)
+                                .register(meterRegistry))
+                .record(rows.count);
+    }
+
+    private void closeResultSet(ResultSet resultSet) {
+
+        Map<ResultSet, ResultSetRows> open = openResultSets.get();
+        if (open == null) return;
+
+        ResultSetRows rows = open.remove(resultSet);
+        if (rows != null) recordRows(rows);
+        if (open.isEmpty()) openResultSets.remove();
+    }
+
+    /**
+     * Registra os ResultSets do Statement fechado que não foram esgotados nem fechados explicitamente.
+     */
+    private void closeStatement(Statement statement) {
+
+        Map<ResultSet, ResultSetRows> open = openResultSets.get();
+        if (open == null) return;
+
+        open.values().removeIf(rows -> {
+            if (rows.statement != statement) return false;
+            recordRows(rows);
+            return true;
+        });
+        if (open.isEmpty()) openResultSets.remove();
+    }
+
+    private static Statement statementOf(ResultSet resultSet) {
+
+        try {
+            return resultSet.getStatement();
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private void logAsync(Runnable message) {
+
+        try {
+            logExecutor.execute(message);
+        } catch (RejectedExecutionException e) {
+            droppedLogCounter.increment();
+        }
+    }
+
+    /**
+     * @return Tipo do comando (primeira palavra, em minúsculas: select, insert, update, delete...).
+     */
+    private static String statementType(String sql) {
+
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) end++;
+
+        return end > 0 ? trimmed.substring(0, end).toLowerCase(Locale.ROOT) : "other";
+    }
+
+    /**
+     * @return Formato do comando: espaços normalizados e listas de parâmetros reduzidas a {@code (?)}.
+     */
+    private static String shapeOf(String sql) {
+
+        String normalized = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(normalized).replaceAll("(?)");
+    }
+
+    private static String abbreviate(String sql) {
+
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    /** Linhas lidas de um ResultSet aberto e o Statement que o originou. */
+    private static final class ResultSetRows {
+
+        private final String repositoryMethod;
+        private final Statement statement;
+        private long count;
+
+        private ResultSetRows(String repositoryMethod, Statement statement) {
+            this.repositoryMethod = repositoryMethod;
+            this.statement = statement;
+        }
+    }
+
+    /** Execuções de um formato de comando durante a requisição. */
+    private static final class ShapeExecutions {
+
+        private final String repositoryMethod;
+        private int count;
+
+        private ShapeExecutions(String repositoryMethod) {
+            this.repositoryMethod = repositoryMethod;
+        }
+    }
+
+    /** Comandos executados pela requisição em andamento, agrupados por formato. */
+    private static final class RequestQueries {
+
+        private final HttpServletRequest request;
+        private final Map<String, ShapeExecutions> shapes = new HashMap<>();
+
+        private RequestQueries(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        private void count(String shape, String repositoryMethod) {
+            shapes.computeIfAbsent(shape, key -> new ShapeExecutions(repositoryMethod)).count++;
+        }
+
+        /** Método e rota mapeada (ex.: {@code GET /games/{id}}); {@code UNKNOWN} se não houver mapeamento. */
+        private String endpointForMetric() {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern != null ? request.getMethod() + " " + pattern : UNKNOWN_ENDPOINT;
+        }
+
+        /** Método e rota mapeada, ou o caminho requisitado quando não houver mapeamento. */
+        private String endpointForLog() {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        }
+    }
+}
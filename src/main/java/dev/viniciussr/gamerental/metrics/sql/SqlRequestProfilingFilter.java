@@ -0,0 +1,47 @@
+package dev.viniciussr.gamerental.metrics.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro que delimita, para o {@link SqlQueryProfiler}, os comandos SQL executados por cada requisição HTTP.
+ * <p>
+ * Executado antes da cadeia de segurança, de modo que os comandos da autenticação (JWT) também são contados.
+ * </p>
+ */
+public class SqlRequestProfilingFilter extends OncePerRequestFilter implements Ordered {
+
+    private final SqlQueryProfiler profiler;
+
+    public SqlRequestProfilingFilter(SqlQueryProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        profiler.beginRequest(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            profiler.endRequest();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+}
@@ -0,0 +1,58 @@
+package dev.viniciussr.gamerental.model;
+
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Entidade que representa um aluguel encerrado movido para o arquivo.
+ * <p>
+ * Mantém os mesmos dados de {@link Rental} (inclusive o ID original),
+ * acrescidos da data/hora do arquivamento.
+ * <p>
+ * Os registros são gravados pelo arquivamento via SQL e nunca alterados: a entidade é imutável,
+ * e o Hibernate não guarda snapshots nem verifica alterações das instâncias carregadas.
+ */
+@Entity
+@Immutable
+@Table(name = "tb_rental_archive")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedRental {
+
+    /** Identificador original do aluguel. */
+    @Id
+    @Column(name = "id_rental")
+    private Long idRental;
+
+    /** Referência ao jogo alugado. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id")
+    private Game game;
+
+    /** Referência ao usuário solicitante do aluguel. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    /** Data de início do aluguel. */
+    private LocalDate rentalDate;
+
+    /** Data de encerramento do aluguel. */
+    private LocalDate endDate;
+
+    /** Status final do aluguel (RETURNED ou CANCELLED). */
+    @Enumerated(EnumType.STRING)
+    private RentalStatus status;
+
+    /** Data/hora em que o aluguel foi arquivado. */
+    private LocalDateTime archivedAt;
+}
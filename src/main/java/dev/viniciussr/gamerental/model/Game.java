@@ -1,5 +1,6 @@
 package dev.viniciussr.gamerental.model;
 
+import dev.viniciussr.gamerental.cache.CacheRegions;
 import dev.viniciussr.gamerental.enums.GameGenres;
 import dev.viniciussr.gamerental.enums.Platforms;
 import jakarta.persistence.*;
@@ -7,13 +8,21 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
 /**
  * Entidade que representa um jogo disponível na loja.
+ * <p>
+ * Mantida no cache de segundo nível, junto com as plataformas ({@code READ_WRITE}): as alterações de
+ * estoque passam pela entidade e pelo controle de versão, atualizando o cache após o commit.
+ * </p>
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.GAME)
 @Table(name = "tb_game")
 @Getter
 @Setter
@@ -40,6 +49,7 @@ public class Game {
             name = "tb_game_platform",
             joinColumns = @JoinColumn(name = "game_id"))
     @Enumerated(EnumType.STRING)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.GAME_PLATFORMS)
     private Set<Platforms> platform;
 
     /** Quantidade de cópias do jogo disponíveis na loja. */
@@ -48,6 +58,10 @@ public class Game {
     /** Status de disponibilidade do jogo (true or false). */
     private boolean available;
 
+    /** Versão do registro (controle de concorrência otimista). */
+    @Version
+    private Long version;
+
     /**
      * Construtor para criação de um novo jogo.
      *
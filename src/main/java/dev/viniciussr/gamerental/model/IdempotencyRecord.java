@@ -0,0 +1,43 @@
+package dev.viniciussr.gamerental.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/** Entidade que representa uma chave de idempotência recebida pela API.
+ * <p>
+ * Guarda a resposta da primeira execução de uma operação, reproduzida nas repetições
+ * da mesma requisição pelo mesmo usuário. Enquanto a operação está em andamento, o status e o corpo são nulos.
+ */
+@Entity
+@Table(name = "tb_idempotency_key")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    /** Usuário autenticado e chave de idempotência enviada pelo cliente. */
+    @EmbeddedId
+    private IdempotencyRecordId id;
+
+    /** Operação executada (método e caminho). */
+    private String operation;
+
+    /** Hash SHA-256 da operação e do corpo da requisição original. */
+    private String requestHash;
+
+    /** Status HTTP da resposta original (nulo enquanto em andamento). */
+    private Integer statusCode;
+
+    /** Corpo JSON da resposta original. */
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    /** Data/hora de recebimento da requisição original. */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package dev.viniciussr.gamerental.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Chave composta das chaves de idempotência (usuário autenticado e chave enviada).
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecordId implements Serializable {
+
+    /** Usuário autenticado que enviou a requisição. */
+    private String principal;
+
+    /** Chave de idempotência enviada pelo cliente (header {@code Idempotency-Key}). */
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+}
@@ -28,12 +28,12 @@ public class Rental {
     private Long idRental;
 
     /** Referência ao jogo alugado. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id")
     private Game game;
 
     /** Referência ao usuário solicitante do aluguel. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -47,6 +47,10 @@ public class Rental {
     @Enumerated(EnumType.STRING)
     private RentalStatus status;
 
+    /** Versão do registro (controle de concorrência otimista). */
+    @Version
+    private Long version;
+
     /**
      * Construtor para criação de um novo aluguel.
      *
@@ -0,0 +1,41 @@
+package dev.viniciussr.gamerental.model;
+
+import dev.viniciussr.gamerental.enums.GameGenres;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entidade que representa os contadores diários de aluguéis por jogo e plano (rollup).
+ * <p>
+ * Mantida incrementalmente a cada criação, devolução e cancelamento de aluguel,
+ * permitindo consultas estatísticas sem percorrer a tabela de aluguéis.
+ * </p>
+ */
+@Entity
+@Table(name = "tb_rental_daily_stats")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalDailyStats {
+
+    /** Chave composta (dia, jogo e plano). */
+    @EmbeddedId
+    private RentalDailyStatsId id;
+
+    /** Gênero do jogo (desnormalizado para consultas por gênero). */
+    @Enumerated(EnumType.STRING)
+    private GameGenres genre;
+
+    /** Quantidade de aluguéis criados no dia. */
+    private Long rentalsCreated;
+
+    /** Quantidade de aluguéis devolvidos no dia. */
+    private Long rentalsReturned;
+
+    /** Quantidade de aluguéis cancelados no dia. */
+    private Long rentalsCancelled;
+}
@@ -0,0 +1,37 @@
+package dev.viniciussr.gamerental.model;
+
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Chave composta das estatísticas diárias de aluguéis (dia, jogo e plano).
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalDailyStatsId implements Serializable {
+
+    /** Dia a que as estatísticas se referem. */
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    /** ID do jogo alugado. */
+    @Column(name = "game_id")
+    private Long gameId;
+
+    /** Plano de assinatura dos usuários que alugaram o jogo. */
+    @Enumerated(EnumType.STRING)
+    private SubscriptionPlans plan;
+}
@@ -1,26 +1,48 @@
 package dev.viniciussr.gamerental.model;
 
+import dev.viniciussr.gamerental.cache.CacheRegions;
 import dev.viniciussr.gamerental.enums.SubscriptionPlans;
 import dev.viniciussr.gamerental.enums.UserRole;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.text.Normalizer;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 /** Entidade que representa um usuário cadastrado na loja.
  * <p>
  * Implementa a interface {@link UserDetailsService} do Spring Security,
  * usada para controle de autenticação e autorização.
+ * <p>
+ * Atualizações gravam apenas as colunas alteradas ({@link DynamicUpdate}), para não sobrescrever
+ * o contador de aluguéis ativos, mantido diretamente no banco.
+ * <p>
+ * Nome e e-mail possuem cópias normalizadas (ver {@link #normalizeForSearch(String)}),
+ * mantidas a cada gravação e indexadas para buscas por prefixo.
+ * <p>
+ * Mantida no cache de segundo nível ({@code READ_WRITE}) para as leituras por ID. A autenticação de cada
+ * requisição (busca por e-mail) não usa o cache, local a cada instância (ver
+ * {@link dev.viniciussr.gamerental.repository.UserRepositoryCustom#findByEmail(String)}).
  */
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER)
 @Table(name = "tb_user")
 @Getter
 @Setter
@@ -28,6 +50,9 @@ import java.util.List;
 @NoArgsConstructor
 public class User implements UserDetails {
 
+    /** Marcas combinantes (acentos) resultantes da decomposição NFD. */
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
     /** identificador único do usuário. */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,9 +62,18 @@ public class User implements UserDetails {
     /** Nome completo do usuário. */
     private String name;
 
-    /** Endereço de e-mail do usuário (login). */
+    /** Endereço de e-mail do usuário (login, natural-id). */
+    @NaturalId(mutable = true)
     private String email;
 
+    /** Nome normalizado para busca (minúsculas, sem acentos). */
+    @Setter(AccessLevel.NONE)
+    private String nameNormalized;
+
+    /** E-mail normalizado para busca (minúsculas, sem acentos). */
+    @Setter(AccessLevel.NONE)
+    private String emailNormalized;
+
     /** Senha do usuário (login). */
     private String password;
 
@@ -51,9 +85,13 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private SubscriptionPlans plan;
 
-    /** Quantidade de aluguéis ativos do usuário. */
+    /** Quantidade de aluguéis ativos do usuário (atualizada somente via {@code UserRepository}). */
     private Integer activeRentals;
 
+    /** Versão do registro (controle de concorrência otimista). */
+    @Version
+    private Long version;
+
     /**
      * Construtor para criação de um novo usuário.
      *
@@ -80,6 +118,32 @@ public class User implements UserDetails {
         this.activeRentals = activeRentals;
     }
 
+    /**
+     * Atualiza as colunas de busca normalizadas antes de cada gravação.
+     */
+    @PrePersist
+    @PreUpdate
+    void normalizeSearchFields() {
+        this.nameNormalized = normalizeForSearch(name);
+        this.emailNormalized = normalizeForSearch(email);
+    }
+
+    /**
+     * Normaliza um texto para busca: remove acentos e converte para minúsculas.
+     *
+     * @param value texto a ser normalizado.
+     * @return Texto normalizado ({@code null} se o texto for nulo).
+     */
+    public static String normalizeForSearch(String value) {
+
+        if (value == null) return null;
+
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("") // Remove os acentos
+                .toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Retorna as permissões (authorities) do usuário de acordo com sua role.
      * <p>
@@ -0,0 +1,63 @@
+package dev.viniciussr.gamerental.model;
+
+import dev.viniciussr.gamerental.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/** Entidade que representa a entrada de um usuário na fila de espera de um jogo.
+ * <p>
+ * A ordem da fila é a ordem de chegada (identificador crescente).
+ */
+@Entity
+@Table(name = "tb_waitlist")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitlistEntry {
+
+    /** Identificador único da entrada na fila. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_waitlist")
+    private Long idWaitlist;
+
+    /** Referência ao jogo aguardado. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id")
+    private Game game;
+
+    /** Referência ao usuário na fila. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    /** Status atual da entrada (WAITING, HOLDING, FULFILLED, EXPIRED ou CANCELLED). */
+    @Enumerated(EnumType.STRING)
+    private WaitlistStatus status;
+
+    /** Data/hora de entrada na fila. */
+    private LocalDateTime createdAt;
+
+    /** Data/hora de expiração da reserva (apenas para HOLDING). */
+    private LocalDateTime holdExpiresAt;
+
+    /**
+     * Construtor para criação de uma nova entrada na fila.
+     *
+     * @param game      referência ao jogo aguardado.
+     * @param user      referência ao usuário na fila.
+     * @param createdAt data/hora de entrada na fila.
+     */
+    public WaitlistEntry(Game game, User user, LocalDateTime createdAt) {
+        this.game = game;
+        this.user = user;
+        this.status = WaitlistStatus.WAITING;
+        this.createdAt = createdAt;
+    }
+}
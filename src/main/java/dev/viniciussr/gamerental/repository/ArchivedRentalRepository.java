@@ -0,0 +1,86 @@
+package dev.viniciussr.gamerental.repository;
+
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import dev.viniciussr.gamerental.model.ArchivedRental;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório responsável pelas operações de acesso a dados da entidade {@link ArchivedRental}.
+ * <p>
+ * Espelha as consultas de {@link RentalRepository} sobre o arquivo de aluguéis encerrados.
+ * </p>
+ */
+public interface ArchivedRentalRepository extends JpaRepository<ArchivedRental, Long> {
+
+    /**
+     * Lista os aluguéis arquivados de um jogo específico pelo ID do jogo.
+     *
+     * @param IdGame ID do jogo.
+     * @return Lista de aluguéis arquivados filtrada pelo jogo informado.
+     */
+    List<ArchivedRental> findByGame_IdGame(Long IdGame);
+
+    /**
+     * Lista os aluguéis arquivados de um usuário específico pelo ID do usuário.
+     *
+     * @param IdUser ID do usuário.
+     * @return Lista de aluguéis arquivados filtrada pelo usuário informado.
+     */
+    List<ArchivedRental> findByUser_IdUser(Long IdUser);
+
+    /**
+     * Lista os aluguéis arquivados realizados em uma data específica.
+     *
+     * @param rentalDate data do aluguel.
+     * @return Lista de aluguéis arquivados filtrada pela data de início.
+     */
+    List<ArchivedRental> findByRentalDate(LocalDate rentalDate);
+
+    /**
+     * Lista os aluguéis arquivados encerrados em uma data específica.
+     *
+     * @param endDate data de término do aluguel.
+     * @return Lista de aluguéis arquivados filtrada pela data de encerramento.
+     */
+    List<ArchivedRental> findByEndDate(LocalDate endDate);
+
+    /**
+     * Lista os aluguéis arquivados pelo status informado.
+     *
+     * @param status status do aluguel.
+     * @return Lista de aluguéis arquivados filtrada pelo status informado.
+     */
+    List<ArchivedRental> findByStatus(RentalStatus status);
+
+    /**
+     * Lista os aluguéis arquivados de um usuário específico pelo nome do usuário.
+     *
+     * @param userName nome do usuário.
+     * @return Lista de aluguéis arquivados filtrada pelo usuário informado.
+     */
+    List<ArchivedRental> findByUser_Name(String userName);
+
+    /**
+     * Lista os aluguéis arquivados de um jogo específico pelo título do jogo.
+     *
+     * @param gameTitle título do jogo.
+     * @return Lista de aluguéis arquivados filtrada pelo jogo informado.
+     */
+    List<ArchivedRental> findByGame_Title(String gameTitle);
+
+    /**
+     * Lista os aluguéis arquivados com os IDs informados (feed de alterações).
+     *
+     * @param ids IDs dos aluguéis.
+     * @return Lista dos aluguéis arquivados encontrados.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ArchivedRental> findByIdRentalIn(Collection<Long> ids);
+}
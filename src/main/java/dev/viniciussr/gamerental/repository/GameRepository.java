@@ -2,8 +2,13 @@ package dev.viniciussr.gamerental.repository;
 
 import dev.viniciussr.gamerental.enums.GameGenres;
 import dev.viniciussr.gamerental.model.Game;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -11,9 +16,24 @@ import java.util.List;
  * <p>
  * Estende {@link JpaRepository} para fornecer funcionalidades básicas de CRUD.
  * </p>
+ * <p>
+ * As consultas das listagens carregam as plataformas na mesma consulta ({@code @EntityGraph}),
+ * para que os DTOs sejam montados por completo dentro da transação do serviço. As buscas por ID
+ * ({@code findById}) usam o cache de segundo nível, inclusive para as plataformas, e a listagem por
+ * gênero usa o cache de consultas, invalidado a cada alteração de jogos (inclusive de estoque).
+ * </p>
  */
 public interface GameRepository extends JpaRepository<Game, Long> {
 
+    /**
+     * Lista todos os jogos, com as plataformas.
+     *
+     * @return Lista de todos os jogos.
+     */
+    @Override
+    @EntityGraph(attributePaths = "platform")
+    List<Game> findAll();
+
     /**
      * Lista jogos cujo título contenha o texto fornecido,
      * ignorando diferenças entre maiúsculas e minúsculas.
@@ -21,6 +41,8 @@ public interface GameRepository extends JpaRepository<Game, Long> {
      * @param title String a ser buscada no título do jogo.
      * @return Lista de jogos filtrada pelo título informado.
      */
+    @EntityGraph(attributePaths = "platform")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Game> findByTitleContainingIgnoreCase(String title);
 
     /**
@@ -29,6 +51,11 @@ public interface GameRepository extends JpaRepository<Game, Long> {
      * @param genre gênero do jogo a ser buscado.
      * @return Lista de jogos filtrada pelo gênero informado.
      */
+    @EntityGraph(attributePaths = "platform")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     List<Game> findByGenre(GameGenres genre);
 
     /**
@@ -36,5 +63,24 @@ public interface GameRepository extends JpaRepository<Game, Long> {
      *
      * @return Lista de jogos com disponibilidade igual a true.
      */
+    @EntityGraph(attributePaths = "platform")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Game> findByAvailableTrue();
+
+    /**
+     * Lista os jogos com os IDs informados, com as plataformas (feed de alterações).
+     *
+     * @param ids IDs dos jogos.
+     * @return Lista dos jogos encontrados.
+     */
+    @EntityGraph(attributePaths = "platform")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Game> findByIdGameIn(Collection<Long> ids);
+
+    /**
+     * Conta os jogos indisponíveis (sem cópias em estoque).
+     *
+     * @return Quantidade de jogos com disponibilidade igual a false.
+     */
+    long countByAvailableFalse();
 }
\ No newline at end of file
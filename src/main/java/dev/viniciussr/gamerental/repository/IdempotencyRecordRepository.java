@@ -0,0 +1,105 @@
+package dev.viniciussr.gamerental.repository;
+
+import dev.viniciussr.gamerental.model.IdempotencyRecord;
+import dev.viniciussr.gamerental.model.IdempotencyRecordId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositório responsável pelas operações de acesso a dados da entidade {@link IdempotencyRecord}.
+ * <p>
+ * Estende {@link JpaRepository} para fornecer funcionalidades básicas de CRUD.
+ * </p>
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+
+    /**
+     * Reserva uma chave de idempotência para uma operação em andamento.
+     * <p>
+     * Falha com violação de chave primária caso a chave já exista para o usuário.
+     * </p>
+     *
+     * @param principal   usuário autenticado.
+     * @param key         chave de idempotência.
+     * @param operation   operação executada.
+     * @param requestHash hash da requisição.
+     * @param createdAt   data/hora da requisição.
+     * @return Quantidade de registros inseridos.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO tb_idempotency_key (principal, idempotency_key, operation, request_hash, created_at)
+            VALUES (:principal, :key, :operation, :requestHash, :createdAt)
+            """, nativeQuery = true)
+    int reserve(
+            @Param("principal") String principal,
+            @Param("key") String key,
+            @Param("operation") String operation,
+            @Param("requestHash") String requestHash,
+            @Param("createdAt") LocalDateTime createdAt
+    );
+
+    /**
+     * Registra a resposta de uma operação concluída.
+     * <p>
+     * Executado na mesma transação da operação: a resposta e as alterações são confirmadas juntas.
+     * Apenas reservas ainda sem resposta são atualizadas.
+     * </p>
+     *
+     * @param id           usuário e chave de idempotência.
+     * @param statusCode   status HTTP da resposta.
+     * @param responseBody corpo JSON da resposta.
+     * @return Quantidade de registros atualizados (1 se a reserva estava pendente).
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update IdempotencyRecord r set r.statusCode = :statusCode, r.responseBody = :responseBody
+            where r.id = :id and r.statusCode is null
+            """)
+    int complete(
+            @Param("id") IdempotencyRecordId id,
+            @Param("statusCode") int statusCode,
+            @Param("responseBody") String responseBody
+    );
+
+    /**
+     * Libera a reserva de uma operação que falhou (nenhuma alteração confirmada).
+     *
+     * @param id usuário e chave de idempotência.
+     * @return Quantidade de registros removidos.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.statusCode is null")
+    int release(@Param("id") IdempotencyRecordId id);
+
+    /**
+     * Remove uma chave de idempotência, caso esteja expirada.
+     *
+     * @param id     usuário e chave de idempotência.
+     * @param before data/hora limite (exclusiva).
+     * @return Quantidade de registros removidos.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.createdAt < :before")
+    int deleteIfExpired(@Param("id") IdempotencyRecordId id, @Param("before") LocalDateTime before);
+
+    /**
+     * Remove as chaves de idempotência expiradas.
+     *
+     * @param before data/hora limite (exclusiva).
+     * @return Quantidade de registros removidos.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
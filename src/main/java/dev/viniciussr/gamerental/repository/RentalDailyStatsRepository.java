@@ -0,0 +1,63 @@
+package dev.viniciussr.gamerental.repository;
+
+import dev.viniciussr.gamerental.dto.DailyRentalStatsDto;
+import dev.viniciussr.gamerental.dto.GameRankingDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.model.RentalDailyStats;
+import dev.viniciussr.gamerental.model.RentalDailyStatsId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositório responsável pelas consultas às estatísticas diárias de aluguéis ({@link RentalDailyStats}).
+ * <p>
+ * Estende {@link JpaRepository} para fornecer funcionalidades básicas de CRUD.
+ * </p>
+ */
+public interface RentalDailyStatsRepository extends JpaRepository<RentalDailyStats, RentalDailyStatsId> {
+
+    /**
+     * Lista os jogos mais alugados em um período, em ordem decrescente de aluguéis.
+     *
+     * @param from     primeiro dia do período (inclusivo).
+     * @param to       último dia do período (inclusivo).
+     * @param pageable limite de jogos retornados.
+     * @return Lista de jogos com a quantidade de aluguéis criados no período.
+     */
+    @Query("""
+            select new dev.viniciussr.gamerental.dto.GameRankingDto(s.id.gameId, g.title, sum(s.rentalsCreated))
+            from RentalDailyStats s
+            left join Game g on g.idGame = s.id.gameId
+            where s.id.statDate between :from and :to
+            group by s.id.gameId, g.title
+            order by sum(s.rentalsCreated) desc
+            """)
+    List<GameRankingDto> findTopGames(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    /**
+     * Lista os totais diários de aluguéis de um gênero em um período.
+     *
+     * @param genre gênero dos jogos.
+     * @param from  primeiro dia do período (inclusivo).
+     * @param to    último dia do período (inclusivo).
+     * @return Série temporal com os totais de cada dia que possui aluguéis.
+     */
+    @Query("""
+            select new dev.viniciussr.gamerental.dto.DailyRentalStatsDto(
+                s.id.statDate, sum(s.rentalsCreated), sum(s.rentalsReturned), sum(s.rentalsCancelled))
+            from RentalDailyStats s
+            where s.genre = :genre and s.id.statDate between :from and :to
+            group by s.id.statDate
+            order by s.id.statDate
+            """)
+    List<DailyRentalStatsDto> findDailyStatsByGenre(
+            @Param("genre") GameGenres genre,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
@@ -2,10 +2,16 @@ package dev.viniciussr.gamerental.repository;
 
 import dev.viniciussr.gamerental.enums.RentalStatus;
 import dev.viniciussr.gamerental.model.Rental;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório responsável pelas operações de acesso a dados da entidade {@link Rental}.
@@ -15,12 +21,31 @@ import java.util.List;
  */
 public interface RentalRepository extends JpaRepository<Rental, Long> {
 
+    /**
+     * Busca um aluguel pelo ID, com o jogo e o usuário (alteração, devolução, renovação e cancelamento).
+     *
+     * @param idRental ID do aluguel.
+     * @return {@link Optional} contendo o aluguel, caso encontrado.
+     */
+    @EntityGraph(attributePaths = {"game", "user"})
+    Optional<Rental> findWithGameAndUserByIdRental(Long idRental);
+
+    /**
+     * Lista os aluguéis com os IDs informados (feed de alterações).
+     *
+     * @param ids IDs dos aluguéis.
+     * @return Lista dos aluguéis encontrados.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Rental> findByIdRentalIn(Collection<Long> ids);
+
     /**
      * Lista os aluguéis de um jogo específico pelo ID do jogo.
      *
      * @param IdGame ID do jogo.
      * @return Lista de aluguéis filtrada pelo jogo informado.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Rental> findByGame_IdGame(Long IdGame);
 
     /**
@@ -29,14 +54,24 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
      * @param IdUser ID do usuário.
      * @return Lista de aluguéis filtrada pelo usuário informado.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Rental> findByUser_IdUser(Long IdUser);
 
+    /**
+     * Conta os aluguéis com o status informado.
+     *
+     * @param status status do aluguel.
+     * @return Quantidade de aluguéis com o status informado.
+     */
+    long countByStatus(RentalStatus status);
+
     /**
      * Lista os aluguéis realizados em uma data específica.
      *
      * @param rentalDate data do aluguel.
      * @return Lista de aluguéis filtrada pela data de início.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Rental> findByRentalDate(LocalDate rentalDate);
 
     /**
@@ -45,6 +80,7 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
      * @param endDate data de término do aluguel.
      * @return Lista de aluguéis filtrada pela data de encerramento.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Rental> findByEndDate(LocalDate endDate);
 
     /**
@@ -61,6 +97,7 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
      * @param userName nome do usuário.
      * @return Lista de aluguéis filtrada pelo usuário informado.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Rental> findByUser_Name(String userName);
 
     /**
@@ -69,5 +106,6 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
      * @param gameTitle título do jogo.
      * @return Lista de aluguéis filtrada pelo jogo informado.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Rental> findByGame_Title(String gameTitle);
 }
\ No newline at end of file
@@ -3,36 +3,63 @@ package dev.viniciussr.gamerental.repository;
 import dev.viniciussr.gamerental.enums.SubscriptionPlans;
 import dev.viniciussr.gamerental.enums.UserRole;
 import dev.viniciussr.gamerental.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Repositório responsável pelas operações de acesso a dados da entidade {@link User}.
  * <p>
  * Estende {@link JpaRepository} para fornecer funcionalidades básicas de CRUD.
  * </p>
+ * <p>
+ * A busca por e-mail e as atualizações condicionais (contador de aluguéis ativos e hash da senha)
+ * ficam em {@link UserRepositoryCustom}, integradas ao cache de segundo nível. As listagens por plano
+ * e por role usam o cache de consultas, invalidado a cada alteração de usuários feita pelo Hibernate.
+ * </p>
  */
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    /** Projeção mínima (ID, nome e e-mail) usada para construir o índice de busca em memória. */
+    interface SearchEntry {
+        Long getIdUser();
+
+        String getName();
+
+        String getEmail();
+    }
 
     /**
-     * Lista usuários cujo nome contenha a string fornecida,
-     * ignorando diferenças entre maiúsculas e minúsculas.
+     * Lista ID, nome e e-mail de todos os usuários, para o índice de busca por trecho.
      *
-     * @param name String a ser buscada no nome do usuário.
-     * @return Lista de usuários filtrada pelo nome informado
+     * @return Lista de projeções {@link SearchEntry}.
      */
-    List<User> findByNameContainingIgnoreCase(String name);
+    @Query("select u.idUser as idUser, u.name as name, u.email as email from User u")
+    List<SearchEntry> findSearchEntries();
 
     /**
-     * Lista usuários cujo e-mail contenha a string fornecida,
-     * ignorando diferenças entre maiúsculas e minúsculas.
+     * Lista usuários cujo nome normalizado comece com o prefixo informado (consulta por índice).
      *
-     * @param email String a ser buscada no e-mail do usuário.
-     * @return Lista de usuários filtrada pelo e-mail informado.
+     * @param prefix prefixo já normalizado (minúsculas, sem acentos).
+     * @return Lista de usuários filtrada pelo prefixo do nome, em ordem de ID.
      */
-    List<User> findByEmailContainingIgnoreCase(String email);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<User> findByNameNormalizedStartingWithOrderByIdUser(String prefix);
+
+    /**
+     * Lista usuários cujo e-mail normalizado comece com o prefixo informado (consulta por índice).
+     *
+     * @param prefix prefixo já normalizado (minúsculas, sem acentos).
+     * @return Lista de usuários filtrada pelo prefixo do e-mail, em ordem de ID.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<User> findByEmailNormalizedStartingWithOrderByIdUser(String prefix);
 
     /**
      * Lista usuários pelo plano de assinatura fornecido.
@@ -40,6 +67,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param plan plano de Assinatura a ser buscado.
      * @return Lista de usuários filtrada pelo plano informado.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     List<User> findByPlan(SubscriptionPlans plan);
 
     /**
@@ -48,13 +79,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param role função (role) a ser buscada.
      * @return Lista de usuários filtrada pela função informada.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     List<User> findByRole(UserRole role);
 
     /**
-     * Busca um usuário pelo email fornecido.
+     * Lista, dentre os e-mails informados, os que já estão cadastrados.
+     *
+     * @param emails e-mails a serem verificados.
+     * @return Lista dos e-mails já cadastrados.
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Lista os IDs dos usuários com os e-mails informados (ex.: usuários cadastrados em lote via JDBC).
+     *
+     * @param emails e-mails dos usuários.
+     * @return Lista dos IDs encontrados.
+     */
+    @Query("select u.idUser from User u where u.email in :emails")
+    List<Long> findIdsByEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Lista os usuários com os IDs informados (feed de alterações).
+     *
+     * @param ids IDs dos usuários.
+     * @return Lista dos usuários encontrados.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<User> findByIdUserIn(Collection<Long> ids);
+
+    /**
+     * Lista os e-mails de todos os usuários, para o filtro de e-mails cadastrados.
+     *
+     * @return Lista de e-mails cadastrados.
+     */
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
+
+    /**
+     * Verifica se existe usuário com o e-mail fornecido.
      *
-     * @param email e-mail do usuário a ser buscado.
-     * @return {@link Optional} contendo o usuário, caso encontrado.
+     * @param email e-mail a ser verificado.
+     * @return {@code true} se o e-mail já estiver cadastrado.
      */
-    Optional<User> findByEmail(String email);
+    boolean existsByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package dev.viniciussr.gamerental.repository;
+
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.model.User;
+
+import java.util.Optional;
+
+/**
+ * Operações de {@link UserRepository} implementadas manualmente ({@link UserRepositoryCustomImpl}),
+ * para controlar o uso do cache de segundo nível.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Busca um usuário pelo email fornecido (login e autorização das requisições).
+     * <p>
+     * Sempre consultado no banco, sem ler nem gravar o cache de segundo nível: alterações de role e de senha e
+     * remoções feitas em qualquer instância valem a partir da próxima requisição.
+     * </p>
+     *
+     * @param email e-mail do usuário a ser buscado.
+     * @return {@link Optional} contendo o usuário, caso encontrado.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Incrementa o contador de aluguéis ativos do usuário, somente se o limite do plano não foi atingido.
+     * <p>
+     * Verificação e incremento são feitos em um único {@code UPDATE} condicional, garantindo
+     * o limite mesmo com aluguéis simultâneos para o mesmo usuário. O limite é o do plano gravado na linha
+     * no momento do {@code UPDATE} ({@link SubscriptionPlans#getMaxActiveRentals()}), mesmo que o plano
+     * tenha mudado desde a leitura do usuário.
+     * </p>
+     *
+     * @param idUser ID do usuário.
+     * @return Quantidade de registros atualizados (0 se o limite foi atingido).
+     */
+    int incrementActiveRentals(Long idUser);
+
+    /**
+     * Decrementa o contador de aluguéis ativos do usuário, sem torná-lo negativo.
+     *
+     * @param idUser ID do usuário.
+     * @return Quantidade de registros atualizados (0 se o contador já estava zerado).
+     */
+    int decrementActiveRentals(Long idUser);
+
+    /**
+     * Substitui o hash da senha do usuário, somente se o hash atual ainda for o informado
+     * (não sobrescreve uma troca de senha simultânea).
+     *
+     * @param idUser          ID do usuário.
+     * @param currentPassword hash atual da senha.
+     * @param newPassword     novo hash da senha.
+     * @return Quantidade de registros atualizados (0 se a senha foi alterada nesse meio tempo).
+     */
+    int updatePasswordHash(Long idUser, String currentPassword, String newPassword);
+
+    /**
+     * Invalida as consultas de usuários em cache (ex.: após cadastros inseridos via JDBC, fora do Hibernate).
+     */
+    void invalidateCachedQueries();
+}
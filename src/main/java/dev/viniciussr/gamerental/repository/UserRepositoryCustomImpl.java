@@ -0,0 +1,143 @@
+package dev.viniciussr.gamerental.repository;
+
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementação de {@link UserRepositoryCustom}.
+ * <p>
+ * A busca por e-mail, usada no login e na autorização de cada requisição, não passa pelo cache de segundo nível:
+ * o cache é local a cada instância e não recebe as alterações feitas pelas demais.
+ * </p>
+ * <p>
+ * As atualizações condicionais são executadas via JDBC: um {@code UPDATE} em JPQL faria o Hibernate
+ * descartar a região inteira de usuários do cache a cada aluguel. Em vez disso, apenas a entrada do
+ * usuário alterado é bloqueada até o fim da transação, como o Hibernate faz nas atualizações de entidade,
+ * e as consultas em cache (IDs por plano e por role) continuam válidas, pois essas colunas não mudam.
+ * </p>
+ */
+@Transactional(readOnly = true)
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    /** Limite do plano gravado na própria linha, e não do plano lido anteriormente (pode ter mudado desde então). */
+    private static final String INCREMENT_ACTIVE_RENTALS_SQL = """
+            UPDATE tb_user SET active_rentals = active_rentals + 1
+            WHERE id_user = ? AND active_rentals < %s
+            """.formatted(planLimitSql());
+
+    private static final String DECREMENT_ACTIVE_RENTALS_SQL = """
+            UPDATE tb_user SET active_rentals = active_rentals - 1
+            WHERE id_user = ? AND active_rentals > 0
+            """;
+
+    private static final String FIND_BY_EMAIL_JPQL = "SELECT u FROM User u WHERE u.email = :email";
+
+    private static final String UPDATE_PASSWORD_HASH_SQL = """
+            UPDATE tb_user SET password = ?
+            WHERE id_user = ? AND password = ?
+            """;
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserRepositoryCustomImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+
+        // Sempre do banco, sem ler nem gravar o cache: role, senha e remoções feitas em outra instância
+        // valem na próxima requisição, e não apenas após a expiração da entrada no cache local
+        return entityManager.createQuery(FIND_BY_EMAIL_JPQL, User.class)
+                .setParameter("email", email)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional
+    public int incrementActiveRentals(Long idUser) {
+
+        return update(idUser, INCREMENT_ACTIVE_RENTALS_SQL, idUser);
+    }
+
+    @Override
+    @Transactional
+    public int decrementActiveRentals(Long idUser) {
+
+        return update(idUser, DECREMENT_ACTIVE_RENTALS_SQL, idUser);
+    }
+
+    @Override
+    @Transactional
+    public int updatePasswordHash(Long idUser, String currentPassword, String newPassword) {
+
+        return update(idUser, UPDATE_PASSWORD_HASH_SQL, newPassword, idUser, currentPassword);
+    }
+
+    @Override
+    @Transactional
+    public void invalidateCachedQueries() {
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+
+        session.getFactory().getCache().getTimestampsCache()
+                .invalidate((String[]) persister.getQuerySpaces(), session);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Expressão SQL do limite de aluguéis ativos do plano da linha ({@code CASE} sobre a coluna {@code plan}),
+     * gerada a partir de {@link SubscriptionPlans}. Um plano desconhecido não admite aluguéis.
+     */
+    private static String planLimitSql() {
+
+        StringBuilder sql = new StringBuilder("CASE plan");
+        for (SubscriptionPlans plan : SubscriptionPlans.values()) {
+            sql.append(" WHEN '").append(plan.name()).append("' THEN ").append(plan.getMaxActiveRentals());
+        }
+        return sql.append(" ELSE 0 END").toString();
+    }
+
+    /**
+     * Executa um {@code UPDATE} na linha do usuário, bloqueando sua entrada no cache de segundo nível
+     * até o fim da transação.
+     * <p>
+     * Enquanto bloqueada, a entrada não é lida nem regravada por outras transações; após o commit,
+     * o usuário volta ao cache na próxima leitura, já com os valores gravados.
+     * </p>
+     */
+    private int update(Long idUser, String sql, Object... args) {
+
+        entityManager.flush(); // Grava alterações pendentes antes do UPDATE
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+
+        if (persister.canWriteToCache()) {
+            EntityDataAccess cache = persister.getCacheAccessStrategy();
+            Object key = cache.generateCacheKey(idUser, persister, session.getFactory(), session.getTenantIdentifier());
+            SoftLock lock = cache.lockItem(session, key, null);
+
+            session.getActionQueue().registerProcess((success, completed) -> cache.unlockItem(completed, key, lock));
+        }
+
+        return jdbcTemplate.update(sql, args);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.viniciussr.gamerental.repository;
+
+import dev.viniciussr.gamerental.enums.WaitlistStatus;
+import dev.viniciussr.gamerental.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório responsável pelas operações de acesso a dados da entidade {@link WaitlistEntry}.
+ * <p>
+ * Estende {@link JpaRepository} para fornecer funcionalidades básicas de CRUD.
+ * As transições de status são feitas com UPDATE condicionado ao status atual,
+ * de modo que apenas uma transação concorrente vence cada transição.
+ * </p>
+ */
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /** Projeção mínima (jogo e entrada) usada para carregar as filas em memória. */
+    interface QueuedEntry {
+        Long getGameId();
+
+        Long getIdWaitlist();
+    }
+
+    @Query("select w.game.idGame as gameId, w.idWaitlist as idWaitlist from WaitlistEntry w where w.status = :status")
+    List<QueuedEntry> findQueuedEntries(@Param("status") WaitlistStatus status);
+
+    Optional<WaitlistEntry> findFirstByGame_IdGameAndStatusOrderByIdWaitlist(Long idGame, WaitlistStatus status);
+
+    List<WaitlistEntry> findByGame_IdGameAndStatusInOrderByIdWaitlist(Long idGame, Collection<WaitlistStatus> statuses);
+
+    List<WaitlistEntry> findByStatusAndHoldExpiresAtBefore(WaitlistStatus status, LocalDateTime dateTime);
+
+    boolean existsByGame_IdGameAndUser_IdUserAndStatusIn(Long idGame, Long idUser, Collection<WaitlistStatus> statuses);
+
+    long countByStatus(WaitlistStatus status);
+
+    /**
+     * Reserva uma cópia para uma entrada que ainda aguarda na fila.
+     *
+     * @return Quantidade de registros atualizados (1 se a reserva foi efetuada).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update WaitlistEntry w set w.status = dev.viniciussr.gamerental.enums.WaitlistStatus.HOLDING,
+                w.holdExpiresAt = :expiresAt
+            where w.idWaitlist = :idWaitlist and w.status = dev.viniciussr.gamerental.enums.WaitlistStatus.WAITING
+            """)
+    int hold(@Param("idWaitlist") Long idWaitlist, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Converte em aluguel a reserva vigente de um usuário para um jogo.
+     *
+     * @return Quantidade de registros atualizados (1 se havia reserva vigente).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update WaitlistEntry w set w.status = dev.viniciussr.gamerental.enums.WaitlistStatus.FULFILLED
+            where w.game.idGame = :idGame and w.user.idUser = :idUser
+                and w.status = dev.viniciussr.gamerental.enums.WaitlistStatus.HOLDING and w.holdExpiresAt > :now
+            """)
+    int fulfillHold(@Param("idGame") Long idGame, @Param("idUser") Long idUser, @Param("now") LocalDateTime now);
+
+    /**
+     * Altera o status de uma entrada, condicionado ao status atual.
+     *
+     * @return Quantidade de registros atualizados (1 se a transição foi efetuada).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update WaitlistEntry w set w.status = :to where w.idWaitlist = :idWaitlist and w.status = :from")
+    int transition(
+            @Param("idWaitlist") Long idWaitlist,
+            @Param("from") WaitlistStatus from,
+            @Param("to") WaitlistStatus to
+    );
+}
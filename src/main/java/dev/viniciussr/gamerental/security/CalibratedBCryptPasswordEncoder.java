@@ -0,0 +1,132 @@
+package dev.viniciussr.gamerental.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Codificador BCrypt cujo custo (log2 das rodadas) é calibrado na inicialização
+ * para se aproximar de um tempo alvo de verificação no hardware atual.
+ * <p>
+ * Hashes com custo abaixo do configurado são sinalizados em {@link #upgradeEncoding(String)},
+ * para que sejam recriados no próximo login bem-sucedido. Hashes com custo acima são mantidos:
+ * cada nó calibra o próprio custo, e recriar em ambos os sentidos faria a senha alternar entre
+ * os custos de nós diferentes a cada login. Em implantações com vários nós, o custo deve ser
+ * fixado ({@code security.password.cost}) para que todos gravem o mesmo.
+ * Os tempos de codificação e verificação são publicados no timer {@code password.hash}.
+ * </p>
+ */
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+    /** Custo usado nas medições de calibração. */
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_SAMPLES = 5;
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int cost;
+    private final BCryptPasswordEncoder delegate;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    /**
+     * @param targetMs     tempo alvo de uma verificação, em milissegundos.
+     * @param fixedCost    custo fixo (ignora a calibração quando maior que zero).
+     * @param minCost      custo mínimo aceito (piso de segurança).
+     * @param maxCost      custo máximo aceito.
+     * @param meterRegistry registro de métricas.
+     */
+    public CalibratedBCryptPasswordEncoder(
+            long targetMs,
+            int fixedCost,
+            int minCost,
+            int maxCost,
+            MeterRegistry meterRegistry
+    ) {
+        this.cost = fixedCost > 0 ? fixedCost : calibrate(targetMs, minCost, maxCost);
+        this.delegate = new BCryptPasswordEncoder(cost);
+
+        this.encodeTimer = Timer.builder("password.hash")
+                .description("Duração da criptografia e verificação de senhas")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash")
+                .description("Duração da criptografia e verificação de senhas")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        Gauge.builder("password.bcrypt.cost", () -> cost)
+                .description("Custo BCrypt utilizado nas novas senhas")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    /**
+     * Indica se o hash foi gerado com custo abaixo do configurado (custos acima não são reduzidos).
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+
+        if (encodedPassword == null) return false;
+
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    /**
+     * @return Custo BCrypt utilizado nas novas senhas.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Mede o tempo de um hash com custo baixo e extrapola o custo mais próximo do alvo
+     * (cada incremento de custo dobra o tempo).
+     */
+    private static int calibrate(long targetMs, int minCost, int maxCost) {
+
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_COST);
+        probe.encode("calibration"); // Aquecimento
+
+        long[] samples = new long[PROBE_SAMPLES];
+        for (int i = 0; i < PROBE_SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double probeMs = samples[PROBE_SAMPLES / 2] / 1_000_000.0; // Mediana
+
+        int estimated = PROBE_COST + (int) Math.round(Math.log(targetMs / probeMs) / Math.log(2));
+        int calibrated = Math.clamp(estimated, minCost, maxCost);
+
+        log.info("Custo BCrypt calibrado: {} (custo {} = {} ms; alvo {} ms, estimado {} ms)",
+                calibrated, PROBE_COST, String.format("%.2f", probeMs), targetMs,
+                Math.round(probeMs * Math.pow(2, calibrated - PROBE_COST)));
+
+        return calibrated;
+    }
+}
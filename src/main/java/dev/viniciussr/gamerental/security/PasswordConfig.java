@@ -1,23 +1,45 @@
 package dev.viniciussr.gamerental.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 /**
  * Configuração de senha da API.
  */
 @Configuration
 public class PasswordConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
     /**
-     * Criptografa senhas utilizando o algoritmo BCrypt.
+     * Criptografa senhas utilizando o algoritmo BCrypt, com custo calibrado para o tempo alvo de verificação.
+     * <p>
+     * Novos hashes são gravados com o prefixo {@code {bcrypt}}; hashes antigos (sem prefixo ou com
+     * custo abaixo do configurado) continuam válidos e são recriados no próximo login bem-sucedido.
+     * </p>
      *
-     * @return PasswordEncoder configurado com BCrypt.
+     * @return PasswordEncoder delegante configurado com BCrypt calibrado.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password.target-ms:250}") long targetMs,
+            @Value("${security.password.cost:0}") int fixedCost,
+            @Value("${security.password.min-cost:10}") int minCost,
+            @Value("${security.password.max-cost:16}") int maxCost
+    ) {
+        CalibratedBCryptPasswordEncoder bcrypt =
+                new CalibratedBCryptPasswordEncoder(targetMs, fixedCost, minCost, maxCost, meterRegistry);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt); // Hashes legados, sem prefixo
+
+        return encoder;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,10 @@
 package dev.viniciussr.gamerental.security;
 
+import dev.viniciussr.gamerental.enums.ChangeEntity;
 import dev.viniciussr.gamerental.security.jwt.JwtTokenFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,11 +17,17 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Arrays;
+
 /**
  * Configuração de segurança da API.
  * <p>
  * Define regras de autenticação, autorização e política de sessão 'STATELESS'.
  * </p>
+ * <p>
+ * O Actuator é servido em uma porta interna ({@code management.server.port}), não exposta publicamente;
+ * a coleta de métricas pelo Prometheus dispensa autenticação apenas nessa porta.
+ * </p>
  */
 @Configuration
 @EnableWebSecurity
@@ -25,8 +35,15 @@ public class SecurityConfig {
 
     private final JwtTokenFilter jwtTokenFilter;
 
-    public SecurityConfig(JwtTokenFilter jwtTokenFilter) {
+    /** Porta interna do Actuator ({@code management.server.port}); -1 quando compartilha a porta da API. */
+    private final int managementPort;
+
+    public SecurityConfig(
+            JwtTokenFilter jwtTokenFilter,
+            @Value("${management.server.port:-1}") int managementPort
+    ) {
         this.jwtTokenFilter = jwtTokenFilter;
+        this.managementPort = managementPort;
     }
 
     /**
@@ -57,6 +74,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(
                         auth -> auth
 
+                                // Despachos assíncronos (respostas em streaming) já foram autorizados na requisição original
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                                 // Endpoints públicos: acesso livre para cadastro e login
                                 .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
                                 .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
@@ -79,6 +99,31 @@ public class SecurityConfig {
                                 .requestMatchers(HttpMethod.DELETE, "/rentals/**").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.GET, "/rentals/**").hasRole("ADMIN")
 
+                                // Controle de acesso para endpoints da fila de espera
+                                .requestMatchers("/waitlist/**").hasRole("ADMIN")
+
+                                // Controle de acesso para endpoints de estatísticas
+                                .requestMatchers("/statistics/**").hasRole("ADMIN")
+
+                                // Controle de acesso para o feed de alterações: apenas o catálogo de jogos ('entity=GAME')
+                                // para usuários; os demais tipos incluem dados de usuários e aluguéis
+                                .requestMatchers(request -> HttpMethod.GET.matches(request.getMethod())
+                                        && "/changes".equals(request.getRequestURI())
+                                        && requestsOnlyGameChanges(request)).hasAnyRole("ADMIN", "USER")
+                                .requestMatchers("/changes/**").hasRole("ADMIN")
+
+                                // Health check sem autenticação
+                                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+
+                                // Coleta de métricas (Prometheus) sem autenticação apenas na porta interna do Actuator
+                                .requestMatchers(request -> managementPort > 0
+                                        && request.getLocalPort() == managementPort
+                                        && HttpMethod.GET.matches(request.getMethod())
+                                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+
+                                // Demais endpoints do Actuator (métricas detalhadas): apenas administradores
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                                 // Permite acesso aos endpoints de documentação (Swagger/OpenAPI)
                                 .requestMatchers(
                                         "/swagger-ui/**",
@@ -97,6 +142,25 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * Verifica se a consulta ao feed de alterações se restringe aos jogos: todos os valores do parâmetro
+     * {@code entity} (repetido ou separado por vírgulas) são {@link ChangeEntity#GAME}. Sem o parâmetro,
+     * o feed inclui todos os tipos de registro.
+     *
+     * @param request Requisição HTTP.
+     * @return {@code true} se apenas alterações de jogos forem solicitadas.
+     */
+    private static boolean requestsOnlyGameChanges(HttpServletRequest request) {
+
+        String[] values = request.getParameterValues("entity");
+        if (values == null) return false;
+
+        return Arrays.stream(values)
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .allMatch(ChangeEntity.GAME.name()::equals);
+    }
+
     /**
      * Define o gerenciador de autenticação do Spring Security.
      *
@@ -0,0 +1,274 @@
+package dev.viniciussr.gamerental.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache das respostas do catálogo de jogos já serializadas em JSON (e comprimidas com gzip).
+ * <p>
+ * As respostas são guardadas por chave (endpoint e parâmetros) por até {@code catalog.response-cache.max-age}:
+ * a defasagem das listagens é limitada a esse tempo. Os aluguéis, devoluções e cancelamentos alteram o estoque
+ * dos jogos a todo momento e não descartam as respostas (o estoque em tempo real é enviado pelo
+ * {@link InventoryStream}, e a disponibilidade é sempre conferida no aluguel); as alterações do cadastro de jogos
+ * feitas nesta instância as descartam após o commit ({@link #clearAfterCommit()}). Uma resposta em cache é
+ * escrita diretamente na saída, sem nenhuma consulta ao banco nem nova serialização dos DTOs.
+ * </p>
+ * <p>
+ * A ETag de cada resposta é derivada do seu conteúdo (distinta na versão comprimida com gzip): clientes com a
+ * resposta atual recebem {@code 304 Not Modified}, também sem consulta ao banco.
+ * </p>
+ * <p>
+ * O número de respostas é limitado: com o cache cheio, as respostas expiradas são descartadas e, se
+ * ainda necessário, a menos usada recentemente. Uma resposta expirada é sempre substituída pela nova.
+ * Consultas de chave livre (ex.: busca por título) não devem ser guardadas: use {@link #respondUncached}.
+ * </p>
+ */
+@Component
+public class CatalogResponseCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxAgeNanos;
+    private final boolean gzip;
+    private final int gzipMinBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    /** Respostas em cache (ordem de acesso: a primeira é a menos usada recentemente). */
+    private final LinkedHashMap<String, CachedBody> bodies = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public CatalogResponseCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.response-cache.enabled:true}") boolean enabled,
+            @Value("${catalog.response-cache.max-entries:1000}") int maxEntries,
+            @Value("${catalog.response-cache.max-age:10s}") Duration maxAge,
+            @Value("${catalog.response-cache.gzip:true}") boolean gzip,
+            @Value("${catalog.response-cache.gzip-min-bytes:1024}") int gzipMinBytes
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.gzip = gzip;
+        this.gzipMinBytes = gzipMinBytes;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * Responde com o JSON em cache para a chave ou, na ausência, com o corpo carregado (guardando-o em cache).
+     *
+     * @param key            endpoint e parâmetros da requisição.
+     * @param acceptEncoding header {@code Accept-Encoding} enviado pelo cliente.
+     * @param ifNoneMatch    header {@code If-None-Match} enviado pelo cliente.
+     * @param loader         carrega o corpo da resposta (ex.: listagem de jogos do serviço).
+     * @return Resposta {@code 200 OK} com o JSON, comprimido quando o cliente aceita gzip,
+     *         ou {@code 304 Not Modified} se o cliente já tiver a resposta.
+     */
+    public ResponseEntity<byte[]> respond(String key, String acceptEncoding, String ifNoneMatch, Supplier<?> loader) {
+
+        CachedBody body = enabled ? get(key) : null;
+
+        if (body != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            body = render(loader.get());
+            if (enabled) put(key, body);
+        }
+
+        return toResponse(body, acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * Responde com o corpo carregado sem consultá-lo nem guardá-lo em cache.
+     * <p>
+     * Para consultas cujas chaves não são limitadas (ex.: busca por título informado pelo cliente),
+     * que apenas ocupariam o cache com respostas raramente repetidas.
+     * </p>
+     *
+     * @param acceptEncoding header {@code Accept-Encoding} enviado pelo cliente.
+     * @param ifNoneMatch    header {@code If-None-Match} enviado pelo cliente.
+     * @param loader         carrega o corpo da resposta.
+     * @return Resposta {@code 200 OK} com o JSON, comprimido quando o cliente aceita gzip,
+     *         ou {@code 304 Not Modified} se o cliente já tiver a resposta.
+     */
+    public ResponseEntity<byte[]> respondUncached(String acceptEncoding, String ifNoneMatch, Supplier<?> loader) {
+
+        return toResponse(render(loader.get()), acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * Descarta todas as respostas em cache.
+     */
+    public void clear() {
+
+        lock.lock();
+        try {
+            bodies.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Descarta todas as respostas em cache após o commit da transação corrente (ou imediatamente, fora de
+     * transação): uma resposta carregada antes do commit não permanece em cache com o cadastro anterior.
+     */
+    public void clearAfterCommit() {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clear();
+            }
+        });
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private ResponseEntity<byte[]> toResponse(CachedBody body, String acceptEncoding, String ifNoneMatch) {
+
+        boolean compressed = body.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        ETag etag = new ETag(compressed ? body.tag() + "-gzip" : body.tag(), false);
+
+        if (EntityTags.notModified(etag, ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag.formattedTag())
+                    .cacheControl(EntityTags.REVALIDATE)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        byte[] content = compressed ? body.gzip() : body.json();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(content.length)
+                .eTag(etag.formattedTag())
+                .cacheControl(EntityTags.REVALIDATE)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (compressed) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        return response.body(content);
+    }
+
+    private boolean isExpired(CachedBody body, long now) {
+
+        return now - body.createdAt() > maxAgeNanos;
+    }
+
+    /**
+     * @return Resposta em cache da chave, ou {@code null} se ausente ou expirada.
+     */
+    private CachedBody get(String key) {
+
+        lock.lock();
+        try {
+            CachedBody body = bodies.get(key);
+            return body != null && !isExpired(body, System.nanoTime()) ? body : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda a resposta, substituindo a anterior da mesma chave; com o cache cheio, descarta
+     * as expiradas e, se necessário, a menos usada recentemente.
+     */
+    private void put(String key, CachedBody body) {
+
+        lock.lock();
+        try {
+            if (!bodies.containsKey(key) && bodies.size() >= maxEntries) {
+                long now = System.nanoTime();
+                bodies.values().removeIf(cached -> isExpired(cached, now));
+
+                Iterator<String> leastRecentlyUsed = bodies.keySet().iterator();
+                while (bodies.size() >= maxEntries && leastRecentlyUsed.hasNext()) {
+                    leastRecentlyUsed.next();
+                    leastRecentlyUsed.remove();
+                }
+            }
+            if (maxEntries > 0) bodies.put(key, body);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CachedBody render(Object value) {
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta do catálogo", e);
+        }
+
+        byte[] compressed = gzip && json.length >= gzipMinBytes ? gzip(json) : null;
+        return new CachedBody(json, compressed, "c" + DigestUtils.md5DigestAsHex(json), System.nanoTime());
+    }
+
+    private static byte[] gzip(byte[] json) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(out, 8192)) {
+            gzipStream.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+
+        return Counter.builder("catalog.response.cache")
+                .description("Respostas do catálogo atendidas pelo cache (hit) ou serializadas novamente (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Corpo serializado de uma resposta.
+     *
+     * @param json      JSON da resposta.
+     * @param gzip      JSON comprimido com gzip ({@code null} se a compressão estiver desativada ou o JSON for pequeno).
+     * @param tag       valor da ETag, derivado do JSON (sufixo {@code -gzip} na versão comprimida).
+     * @param createdAt momento da serialização ({@link System#nanoTime()}).
+     */
+    private record CachedBody(byte[] json, byte[] gzip, String tag, long createdAt) {
+    }
+}
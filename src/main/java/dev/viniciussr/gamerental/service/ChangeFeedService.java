@@ -0,0 +1,299 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.dto.ChangeDto;
+import dev.viniciussr.gamerental.dto.ChangesPageDto;
+import dev.viniciussr.gamerental.dto.GameDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.dto.UserDto;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import dev.viniciussr.gamerental.repository.ArchivedRentalRepository;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.RentalRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serviço responsável pelo feed de alterações de jogos, usuários e aluguéis (sincronização incremental).
+ * <p>
+ * O cliente guarda a sequência da última alteração recebida e consulta apenas as alterações posteriores
+ * ({@code since}), em páginas limitadas: o custo da sincronização acompanha o volume de alterações, e não o
+ * tamanho do catálogo. A primeira sincronização ({@code since=0}) percorre todos os registros.
+ * </p>
+ * <p>
+ * Cada registro aparece uma única vez, com a sua última alteração e os dados atuais, carregados em uma consulta
+ * por tipo de registro. Registros removidos são retornados como tombstones, sem dados.
+ * </p>
+ * <p>
+ * As sequências são atribuídas na gravação das alterações, e não no commit ({@link ChangeLog}). A página termina
+ * na primeira alteração gravada há menos de {@code changes.feed.settle-time}: uma transação em andamento ainda pode
+ * confirmar uma sequência menor, que o cliente deixaria de receber ao informar a sequência seguinte em {@code since}.
+ * As alterações aparecem no feed com esse atraso.
+ * </p>
+ */
+@Service
+@Timed("service.method")
+public class ChangeFeedService {
+
+    /** Apenas a última alteração de cada registro; horário do banco para a acomodação. */
+    private static final String PAGE_SQL = """
+            SELECT c.entity_type, c.entity_id, c.sequence, c.deleted, c.changed_at, LOCALTIMESTAMP(6) AS now
+            FROM tb_change c
+            WHERE c.sequence > :since
+              AND NOT EXISTS (SELECT 1 FROM tb_change n
+                              WHERE n.entity_type = c.entity_type AND n.entity_id = c.entity_id AND n.sequence > c.sequence)
+            ORDER BY c.sequence
+            LIMIT :limit
+            """;
+
+    private static final String PAGE_BY_ENTITY_SQL = """
+            SELECT c.entity_type, c.entity_id, c.sequence, c.deleted, c.changed_at, LOCALTIMESTAMP(6) AS now
+            FROM tb_change c
+            WHERE c.entity_type IN (:entities) AND c.sequence > :since
+              AND NOT EXISTS (SELECT 1 FROM tb_change n
+                              WHERE n.entity_type = c.entity_type AND n.entity_id = c.entity_id AND n.sequence > c.sequence)
+            ORDER BY c.sequence
+            LIMIT :limit
+            """;
+
+    /** Bloqueia a compactação: uma instância por vez (as gravações do feed não usam esta linha). */
+    private static final String COMPACTION_LOCK_SQL = """
+            SELECT last_sequence FROM tb_change_compaction WHERE id = 1 FOR UPDATE
+            """;
+
+    private static final String COMPACTION_BATCH_SQL = """
+            SELECT entity_type, entity_id, sequence, deleted, changed_at, LOCALTIMESTAMP(6) AS now
+            FROM tb_change
+            WHERE sequence > :after
+            ORDER BY sequence
+            LIMIT :limit
+            """;
+
+    private static final String DELETE_PREVIOUS_SQL = """
+            DELETE FROM tb_change WHERE entity_type = :entity AND entity_id = :id AND sequence < :sequence
+            """;
+
+    private static final String COMPACTION_UPDATE_SQL = """
+            UPDATE tb_change_compaction SET last_sequence = :sequence WHERE id = 1
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final GameRepository gameRepository;
+    private final UserRepository userRepository;
+    private final RentalRepository rentalRepository;
+    private final ArchivedRentalRepository archivedRentalRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxPageSize;
+    private final Duration settleTime;
+    private final int compactionBatchSize;
+
+    public ChangeFeedService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            GameRepository gameRepository,
+            UserRepository userRepository,
+            RentalRepository rentalRepository,
+            ArchivedRentalRepository archivedRentalRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${changes.feed.max-page-size:1000}") int maxPageSize,
+            @Value("${changes.feed.settle-time:2s}") Duration settleTime,
+            @Value("${changes.feed.compaction-batch-size:1000}") int compactionBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gameRepository = gameRepository;
+        this.userRepository = userRepository;
+        this.rentalRepository = rentalRepository;
+        this.archivedRentalRepository = archivedRentalRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPageSize = maxPageSize;
+        this.settleTime = settleTime;
+        this.compactionBatchSize = compactionBatchSize;
+    }
+
+    /**
+     * Lista as alterações posteriores à sequência informada.
+     *
+     * @param since    sequência da última alteração já recebida ({@code 0} na primeira sincronização).
+     * @param limit    quantidade máxima de alterações (limitada a {@code changes.feed.max-page-size}).
+     * @param entities tipos de registro (vazio: todos).
+     * @return Página de alterações ({@link ChangesPageDto}), com a sequência para a próxima consulta.
+     */
+    @Transactional(readOnly = true)
+    public ChangesPageDto listChanges(long since, int limit, Set<ChangeEntity> entities) {
+
+        int size = Math.clamp(limit, 1, maxPageSize);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("limit", size + 1); // Uma alteração a mais indica que há próxima página
+
+        List<Change> changes;
+        if (entities.isEmpty()) {
+            changes = jdbcTemplate.query(PAGE_SQL, params, (rs, rowNum) -> mapChange(rs));
+        } else {
+            params.addValue("entities", entities.stream().map(Enum::name).toList());
+            changes = jdbcTemplate.query(PAGE_BY_ENTITY_SQL, params, (rs, rowNum) -> mapChange(rs));
+        }
+
+        int settled = settledPrefix(changes);
+        boolean hasMore = settled == changes.size() && changes.size() > size;
+        changes = changes.subList(0, Math.min(settled, size));
+
+        Map<ChangeEntity, Map<Long, Object>> data = loadData(changes);
+
+        List<ChangeDto> page = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            // Registro ausente: removido por uma alteração posterior, retornada adiante no feed
+            Object current = change.deleted() ? null : data.get(change.entity()).get(change.id());
+            page.add(new ChangeDto(change.sequence(), change.entity(), change.id(), current == null, current));
+        }
+
+        long next = changes.isEmpty() ? since : changes.getLast().sequence();
+        return new ChangesPageDto(page, next, hasMore);
+    }
+
+    /**
+     * Tarefa agendada para remover as alterações anteriores de cada registro, já ignoradas na leitura do feed.
+     * <p>
+     * Percorre, em lotes, as alterações acomodadas posteriores à última compactação. Executada por uma instância
+     * por vez (linha de {@code tb_change_compaction}); as gravações do feed não são bloqueadas.
+     * </p>
+     *
+     * @return Quantidade de alterações percorridas.
+     */
+    @Scheduled(fixedDelayString = "${changes.feed.compaction-interval-ms:60000}")
+    public int compactChanges() {
+
+        int total = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> compactBatch());
+            total += processed;
+        } while (processed == compactionBatchSize);
+
+        return total;
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Compacta o próximo lote: para cada alteração acomodada, remove as alterações anteriores do mesmo registro.
+     *
+     * @return Quantidade de alterações percorridas.
+     */
+    private int compactBatch() {
+
+        Long after = jdbcTemplate.getJdbcTemplate().queryForObject(COMPACTION_LOCK_SQL, Long.class);
+
+        List<Change> changes = jdbcTemplate.query(COMPACTION_BATCH_SQL,
+                new MapSqlParameterSource("after", after).addValue("limit", compactionBatchSize),
+                (rs, rowNum) -> mapChange(rs));
+
+        List<Change> settled = changes.subList(0, settledPrefix(changes));
+        if (settled.isEmpty()) return 0;
+
+        MapSqlParameterSource[] deletes = settled.stream()
+                .map(change -> new MapSqlParameterSource("entity", change.entity().name())
+                        .addValue("id", change.id())
+                        .addValue("sequence", change.sequence()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(DELETE_PREVIOUS_SQL, deletes);
+        jdbcTemplate.update(COMPACTION_UPDATE_SQL, new MapSqlParameterSource("sequence", settled.getLast().sequence()));
+
+        return settled.size();
+    }
+
+    /**
+     * @return Quantidade de alterações iniciais gravadas há mais de {@code changes.feed.settle-time}
+     * (a primeira alteração em acomodação e as seguintes ficam para a próxima consulta).
+     */
+    private int settledPrefix(List<Change> changes) {
+
+        for (int i = 0; i < changes.size(); i++) {
+            Change change = changes.get(i);
+            if (change.changedAt().isAfter(change.now().minus(settleTime))) return i;
+        }
+        return changes.size();
+    }
+
+    private static Change mapChange(ResultSet rs) throws SQLException {
+
+        return new Change(
+                ChangeEntity.valueOf(rs.getString("entity_type")),
+                rs.getLong("entity_id"),
+                rs.getLong("sequence"),
+                rs.getBoolean("deleted"),
+                rs.getTimestamp("changed_at").toLocalDateTime(),
+                rs.getTimestamp("now").toLocalDateTime()
+        );
+    }
+
+    /**
+     * Carrega os dados atuais dos registros alterados, em uma consulta por tipo de registro.
+     *
+     * @return DTOs dos registros encontrados, por tipo e ID.
+     */
+    private Map<ChangeEntity, Map<Long, Object>> loadData(List<Change> changes) {
+
+        Map<ChangeEntity, List<Long>> ids = new EnumMap<>(ChangeEntity.class);
+        for (ChangeEntity entity : ChangeEntity.values()) ids.put(entity, new ArrayList<>());
+        for (Change change : changes) {
+            if (!change.deleted()) ids.get(change.entity()).add(change.id());
+        }
+
+        Map<ChangeEntity, Map<Long, Object>> data = new EnumMap<>(ChangeEntity.class);
+        for (ChangeEntity entity : ChangeEntity.values()) data.put(entity, new HashMap<>());
+
+        List<Long> gameIds = ids.get(ChangeEntity.GAME);
+        if (!gameIds.isEmpty()) {
+            gameRepository.findByIdGameIn(gameIds)
+                    .forEach(game -> data.get(ChangeEntity.GAME).put(game.getIdGame(), new GameDto(game)));
+        }
+
+        List<Long> userIds = ids.get(ChangeEntity.USER);
+        if (!userIds.isEmpty()) {
+            userRepository.findByIdUserIn(userIds)
+                    .forEach(user -> data.get(ChangeEntity.USER).put(user.getIdUser(), new UserDto(user)));
+        }
+
+        List<Long> rentalIds = ids.get(ChangeEntity.RENTAL);
+        if (!rentalIds.isEmpty()) {
+            Map<Long, Object> rentals = data.get(ChangeEntity.RENTAL);
+            rentalRepository.findByIdRentalIn(rentalIds)
+                    .forEach(rental -> rentals.put(rental.getIdRental(), new RentalDto(rental)));
+
+            // Aluguéis encerrados já arquivados
+            List<Long> archived = rentalIds.stream().filter(id -> !rentals.containsKey(id)).toList();
+            if (!archived.isEmpty()) {
+                archivedRentalRepository.findByIdRentalIn(archived)
+                        .forEach(rental -> rentals.put(rental.getIdRental(), new RentalDto(rental)));
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Linha do feed de alterações, com o horário do banco na leitura.
+     */
+    private record Change(ChangeEntity entity, Long id, long sequence, boolean deleted,
+                          LocalDateTime changedAt, LocalDateTime now) {
+    }
+}
@@ -0,0 +1,173 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro das alterações de jogos, usuários e aluguéis no feed de alterações ({@code tb_change}).
+ * <p>
+ * As alterações de uma transação são acumuladas e gravadas imediatamente antes do commit, na mesma transação:
+ * o feed nunca inclui alterações desfeitas. Cada alteração é uma nova linha, com sequência {@code AUTO_INCREMENT}:
+ * nenhuma linha é compartilhada entre as transações, e escritores concorrentes (inclusive de outras instâncias)
+ * não aguardam uns aos outros.
+ * </p>
+ * <p>
+ * As sequências são atribuídas na gravação, e não no commit: uma transação pode confirmar a sequência N depois
+ * de outra ter confirmado N + 1. Por isso a leitura do feed ({@link ChangeFeedService}) e as versões
+ * ({@link ChangeVersions}) consideram apenas as alterações gravadas há mais de {@code changes.feed.settle-time},
+ * tempo em que toda transação que já gravou as suas alterações chegou ao commit. As alterações pendentes das
+ * entidades são gravadas antes, de modo que o intervalo entre a gravação e o commit fica restrito ao próprio commit.
+ * </p>
+ * <p>
+ * As alterações anteriores de cada registro são ignoradas na leitura e removidas periodicamente
+ * ({@link ChangeFeedService#compactChanges()}): o espaço ocupado acompanha o número de registros
+ * (inclusive removidos), e não o volume de alterações.
+ * </p>
+ */
+@Component
+public class ChangeLog {
+
+    /** Horário do banco: o mesmo relógio da leitura do feed, em todas as instâncias. */
+    private static final String INSERT_SQL = """
+            INSERT INTO tb_change (entity_type, entity_id, deleted, changed_at)
+            VALUES (?, ?, ?, LOCALTIMESTAMP(6))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChangeLog(JdbcTemplate jdbcTemplate, EntityManager entityManager, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Registra a criação ou alteração de um registro no commit da transação em andamento
+     * (ou em transação própria, fora de transação).
+     *
+     * @param entity tipo do registro.
+     * @param id     identificador do registro.
+     */
+    public void changed(ChangeEntity entity, Long id) {
+        record(entity, List.of(id), false);
+    }
+
+    /**
+     * Registra a criação ou alteração de vários registros do mesmo tipo (ex.: cadastro em lote).
+     *
+     * @param entity tipo dos registros.
+     * @param ids    identificadores dos registros.
+     */
+    public void changed(ChangeEntity entity, Collection<Long> ids) {
+        record(entity, ids, false);
+    }
+
+    /**
+     * Registra a remoção de um registro (tombstone).
+     *
+     * @param entity tipo do registro.
+     * @param id     identificador do registro.
+     */
+    public void deleted(ChangeEntity entity, Long id) {
+        record(entity, List.of(id), true);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private void record(ChangeEntity entity, Collection<Long> ids, boolean deleted) {
+
+        if (ids.isEmpty()) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> record(entity, ids, deleted));
+            return;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        for (Long id : ids) pending.changes.put(new ChangeKey(entity, id), deleted);
+    }
+
+    /**
+     * Grava as alterações da transação (sequências atribuídas pelo banco).
+     */
+    private void write(Map<ChangeKey, Boolean> changes) {
+
+        flush(); // Alterações gravadas o mais próximo possível do commit
+
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (Map.Entry<ChangeKey, Boolean> change : changes.entrySet()) {
+            rows.add(new Object[]{change.getKey().entity().name(), change.getKey().id(), change.getValue()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Grava as alterações pendentes das entidades. Exceções traduzidas como no commit
+     * (ex.: conflito de versão repetido pelo {@link OptimisticLockRetry}).
+     */
+    private void flush() {
+
+        if (!entityManager.isJoinedToTransaction()) return;
+
+        try {
+            entityManager.flush();
+        } catch (RuntimeException e) {
+            DataAccessException translated = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+    }
+
+    /**
+     * Registro alterado (tipo e identificador).
+     */
+    private record ChangeKey(ChangeEntity entity, Long id) {
+    }
+
+    /**
+     * Alterações pendentes da transação em andamento (a última de cada registro prevalece).
+     */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<ChangeKey, Boolean> changes = new LinkedHashMap<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ChangeLog.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ChangeLog.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLog.this);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Versões de jogos, usuários e aluguéis derivadas do feed de alterações ({@code tb_change}).
+ * <p>
+ * A versão de um tipo de registro é a maior sequência do feed para o tipo: muda a cada commit, nunca muda com
+ * transações desfeitas e é a mesma em todas as instâncias da aplicação.
+ * </p>
+ * <p>
+ * As sequências são atribuídas na gravação das alterações, e não no commit ({@link ChangeLog}): enquanto a última
+ * alteração de um tipo é mais recente que {@code changes.feed.settle-time}, uma transação em andamento ainda pode
+ * confirmar uma sequência menor, sem mudar a versão. Nesse intervalo a versão é considerada instável e não é
+ * informada (a resposta não leva ETag).
+ * </p>
+ * <p>
+ * A versão é lida na transação em andamento. Lida na mesma transação (e conexão) que a consulta dos dados,
+ * corresponde ao que a consulta enxerga, inclusive em uma réplica de leitura atrasada. Em transações somente
+ * leitura, cada versão é consultada uma única vez (ex.: pela ETag e pelo {@link CatalogResponseCache}).
+ * </p>
+ */
+@Component
+public class ChangeVersions {
+
+    private static final String VERSION_SQL = """
+            SELECT (SELECT MAX(sequence) FROM tb_change WHERE entity_type = ?),
+                   (SELECT MAX(changed_at) FROM tb_change WHERE entity_type = ?),
+                   LOCALTIMESTAMP(6)
+            """;
+
+    /** Versões de todos os tipos de registro em um único comando (mesmas colunas de {@link #VERSION_SQL}, por tipo). */
+    private static final String ALL_VERSIONS_SQL = allVersionsSql();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration settleTime;
+
+    public ChangeVersions(
+            JdbcTemplate jdbcTemplate,
+            @Value("${changes.feed.settle-time:2s}") Duration settleTime
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settleTime = settleTime;
+    }
+
+    /**
+     * @param entity tipo de registro.
+     * @return Versão atual do tipo de registro ({@code 0} se nenhuma alteração foi registrada), ou vazio se a
+     * última alteração ainda está em acomodação.
+     */
+    public OptionalLong current(ChangeEntity entity) {
+
+        Map<ChangeEntity, OptionalLong> read = readInTransaction();
+        OptionalLong version = read != null ? read.get(entity) : null;
+
+        if (version == null) {
+            version = jdbcTemplate.queryForObject(VERSION_SQL, (rs, rowNum) -> version(rs, 1),
+                    entity.name(), entity.name());
+            if (read != null) read.put(entity, version);
+        }
+        return version;
+    }
+
+    /**
+     * Versões de todos os tipos de registro, lidas em um único comando.
+     *
+     * @return Versão atual de cada tipo de registro (vazio enquanto a última alteração está em acomodação).
+     */
+    public Map<ChangeEntity, OptionalLong> all() {
+
+        Map<ChangeEntity, OptionalLong> versions = jdbcTemplate.queryForObject(ALL_VERSIONS_SQL, (rs, rowNum) -> {
+            Map<ChangeEntity, OptionalLong> row = new EnumMap<>(ChangeEntity.class);
+            for (ChangeEntity entity : ChangeEntity.values()) row.put(entity, version(rs, 2 * entity.ordinal() + 1));
+            return row;
+        });
+
+        Map<ChangeEntity, OptionalLong> read = readInTransaction();
+        if (read != null) read.putAll(versions);
+
+        return versions;
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static String allVersionsSql() {
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (ChangeEntity entity : ChangeEntity.values()) {
+            sql.append("(SELECT MAX(sequence) FROM tb_change WHERE entity_type = '").append(entity.name()).append("'), ")
+                    .append("(SELECT MAX(changed_at) FROM tb_change WHERE entity_type = '").append(entity.name()).append("'), ");
+        }
+        return sql.append("LOCALTIMESTAMP(6)").toString();
+    }
+
+    /**
+     * Lê a versão das colunas {@code column} (maior sequência) e {@code column + 1} (última alteração),
+     * comparando a última alteração com o horário do banco (última coluna).
+     */
+    private OptionalLong version(ResultSet rs, int column) throws SQLException {
+
+        long sequence = rs.getLong(column);
+        Timestamp lastChange = rs.getTimestamp(column + 1);
+        if (lastChange == null) return OptionalLong.of(0L);
+
+        LocalDateTime now = rs.getTimestamp(rs.getMetaData().getColumnCount()).toLocalDateTime();
+        boolean settled = !lastChange.toLocalDateTime().isAfter(now.minus(settleTime));
+        return settled ? OptionalLong.of(sequence) : OptionalLong.empty();
+    }
+
+    /**
+     * @return Versões já lidas pela transação somente leitura em andamento, ou {@code null} fora de uma
+     * transação somente leitura (em transações de escrita a versão pode mudar antes do commit).
+     */
+    @SuppressWarnings("unchecked")
+    private Map<ChangeEntity, OptionalLong> readInTransaction() {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+
+        Map<ChangeEntity, OptionalLong> read = (Map<ChangeEntity, OptionalLong>) TransactionSynchronizationManager.getResource(this);
+        if (read == null) {
+            Map<ChangeEntity, OptionalLong> versions = new EnumMap<>(ChangeEntity.class);
+            TransactionSynchronizationManager.bindResource(this, versions);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(ChangeVersions.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(ChangeVersions.this, versions);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeVersions.this);
+                }
+            });
+            read = versions;
+        }
+        return read;
+    }
+}
@@ -0,0 +1,291 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Filtro de Bloom (com contadores) dos e-mails cadastrados, consultado antes da criptografia da senha no cadastro.
+ * <p>
+ * Uma resposta negativa garante que o e-mail não está cadastrado; uma positiva exige a confirmação
+ * por consulta indexada. Os contadores de 4 bits permitem remover e-mails (exclusão ou alteração de usuários).
+ * A restrição UNIQUE de {@code tb_user.email} continua sendo a garantia final, de modo que uma divergência
+ * do filtro custa apenas processamento, nunca um cadastro duplicado.
+ * </p>
+ * <p>
+ * Inclusões e remoções feitas em uma transação são aplicadas somente após o commit: uma transação desfeita
+ * não altera o filtro (uma remoção desfeita deixaria os contadores abaixo do real, com falsos negativos).
+ * </p>
+ * <p>
+ * Carregado na inicialização e reconstruído periodicamente a partir do banco
+ * (cadastros feitos por outras instâncias da aplicação). As inclusões confirmadas durante a reconstrução
+ * são reaplicadas ao novo filtro; as remoções concorrentes são descartadas, o que deixa no máximo um
+ * falso positivo até a próxima reconstrução, nunca um falso negativo.
+ * </p>
+ */
+@Component
+public class EmailBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    private static final int COUNTERS_PER_INT = 8; // 8 contadores de 4 bits por int
+    private static final int COUNTER_MAX = 0xF;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final UserRepository userRepository;
+
+    private final int numCounters;
+    private final int numHashes;
+
+    private volatile AtomicIntegerArray counters;
+
+    /** Protege a troca do filtro na reconstrução e o registro das inclusões concorrentes. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Reconstruções iniciadas: remoções confirmadas durante uma reconstrução são descartadas. */
+    private long generation;
+
+    /** Inclusões confirmadas durante a reconstrução em andamento ({@code null} fora de uma reconstrução). */
+    private List<String> addedWhileRebuilding;
+
+    public EmailBloomFilter(
+            UserRepository userRepository,
+            @Value("${user.email-filter.expected-emails:1000000}") int expectedEmails,
+            @Value("${user.email-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+
+        // Dimensionamento ótimo: m = -n ln(p) / (ln 2)^2 e k = (m / n) ln 2
+        long m = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.numCounters = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - COUNTERS_PER_INT);
+        this.numHashes = Math.max(1, (int) Math.round((double) numCounters / expectedEmails * Math.log(2)));
+        this.counters = newCounters();
+    }
+
+    /**
+     * Carrega o filtro com os e-mails cadastrados.
+     * <p>
+     * As inclusões confirmadas durante a carga são reaplicadas ao novo filtro antes da troca
+     * (uma inclusão já presente na carga conta duas vezes: apenas um falso positivo a mais).
+     * </p>
+     */
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${user.email-filter.rebuild-interval-ms:600000}",
+            fixedDelayString = "${user.email-filter.rebuild-interval-ms:600000}"
+    )
+    public synchronized void rebuild() {
+
+        lock.lock();
+        try {
+            generation++;
+            addedWhileRebuilding = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        AtomicIntegerArray rebuilt = newCounters();
+        List<String> emails;
+        try {
+            emails = userRepository.findAllEmails();
+            emails.forEach(email -> apply(rebuilt, email, 1));
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                addedWhileRebuilding = null; // Mantém o filtro atual
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            addedWhileRebuilding.forEach(email -> apply(rebuilt, email, 1));
+            counters = rebuilt; // Substitui o filtro somente após a carga completa
+            addedWhileRebuilding = null;
+        } finally {
+            lock.unlock();
+        }
+
+        log.debug("Filtro de e-mails reconstruído: {} e-mails, {} contadores, {} hashes",
+                emails.size(), numCounters, numHashes);
+    }
+
+    /**
+     * Verifica se o e-mail pode estar cadastrado.
+     *
+     * @param email e-mail a ser verificado.
+     * @return {@code false} se o e-mail certamente não está cadastrado.
+     */
+    public boolean mightContain(String email) {
+
+        AtomicIntegerArray array = counters;
+        long hash = hash(email);
+        for (int i = 0; i < numHashes; i++) {
+            if (get(array, index(hash, i)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Inclui um e-mail no filtro, após o commit da transação em andamento (ou imediatamente, fora de transação).
+     *
+     * @param email e-mail cadastrado.
+     */
+    public void add(String email) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addNow(email);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addNow(email);
+            }
+        });
+    }
+
+    /**
+     * Remove um e-mail do filtro (deve ter sido incluído anteriormente), após o commit da transação
+     * em andamento (ou imediatamente, fora de transação).
+     *
+     * @param email e-mail removido.
+     */
+    public void remove(String email) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removeNow(email, currentGeneration());
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private long generationAtCommit;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                generationAtCommit = currentGeneration();
+            }
+
+            @Override
+            public void afterCommit() {
+                removeNow(email, generationAtCommit);
+            }
+        });
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private void addNow(String email) {
+
+        lock.lock();
+        try {
+            apply(counters, email, 1);
+            if (addedWhileRebuilding != null) addedWhileRebuilding.add(email);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove o e-mail, exceto se uma reconstrução começou desde o commit: a carga dessa reconstrução
+     * pode já não incluir o e-mail, e decrementar contadores de outros e-mails causaria falsos negativos.
+     */
+    private void removeNow(String email, long generationAtCommit) {
+
+        lock.lock();
+        try {
+            if (generation == generationAtCommit) apply(counters, email, -1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long currentGeneration() {
+
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(AtomicIntegerArray array, String email, int delta) {
+
+        long hash = hash(email);
+        for (int i = 0; i < numHashes; i++) {
+            update(array, index(hash, i), delta);
+        }
+    }
+
+    private AtomicIntegerArray newCounters() {
+        return new AtomicIntegerArray((numCounters + COUNTERS_PER_INT - 1) / COUNTERS_PER_INT);
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits do e-mail em minúsculas.
+     */
+    private static long hash(String email) {
+
+        String value = email.toLowerCase(Locale.ROOT);
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Posição do i-ésimo contador, por hashing duplo (Kirsch-Mitzenmacher) sobre as metades do hash.
+     */
+    private int index(long hash, int i) {
+
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + i * h2, numCounters);
+    }
+
+    private static int get(AtomicIntegerArray array, int index) {
+
+        int shift = (index % COUNTERS_PER_INT) * 4;
+        return (array.get(index / COUNTERS_PER_INT) >>> shift) & COUNTER_MAX;
+    }
+
+    /**
+     * Soma {@code delta} ao contador, sem ultrapassar os limites. Contadores saturados não são decrementados.
+     */
+    private static void update(AtomicIntegerArray array, int index, int delta) {
+
+        int slot = index / COUNTERS_PER_INT;
+        int shift = (index % COUNTERS_PER_INT) * 4;
+
+        while (true) {
+            int word = array.get(slot);
+            int counter = (word >>> shift) & COUNTER_MAX;
+
+            if (counter == COUNTER_MAX || (delta < 0 && counter == 0)) return;
+
+            int updated = (word & ~(COUNTER_MAX << shift)) | ((counter + delta) << shift);
+            if (array.compareAndSet(slot, word, updated)) return;
+        }
+    }
+}
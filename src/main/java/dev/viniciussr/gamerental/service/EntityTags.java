@@ -0,0 +1,125 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+/**
+ * ETags das consultas de jogos, usuários e aluguéis, derivadas das versões do feed de alterações
+ * ({@link ChangeVersions}), sem serializar a resposta.
+ * <p>
+ * Requisições com {@code If-None-Match} igual à ETag atual recebem {@code 304 Not Modified} sem executar a consulta.
+ * As respostas levam {@code Cache-Control: private, no-cache}: o cliente guarda a resposta e a revalida a cada uso.
+ * </p>
+ * <p>
+ * As versões vêm do banco e são as mesmas em todas as instâncias: o cliente atendido por outra instância
+ * revalida a resposta que já possui. A versão e o corpo são lidos na mesma transação somente leitura (e, com
+ * as réplicas habilitadas, no mesmo servidor), de modo que a ETag nunca é mais nova que o corpo enviado com ela,
+ * mesmo quando a réplica está atrasada.
+ * </p>
+ * <p>
+ * Enquanto a última alteração de um tipo de registro está em acomodação ({@link ChangeVersions}), as respostas
+ * não levam ETag: uma ETag calculada nesse intervalo poderia permanecer igual após o commit de outra alteração.
+ * </p>
+ * <p>
+ * As listagens do catálogo não usam a versão dos jogos, alterada a cada aluguel: o {@link CatalogResponseCache}
+ * deriva a ETag do conteúdo da resposta.
+ * </p>
+ */
+@Component
+public class EntityTags {
+
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final ChangeVersions changeVersions;
+
+    public EntityTags(ChangeVersions changeVersions) {
+        this.changeVersions = changeVersions;
+    }
+
+    /**
+     * @return ETag das consultas de jogos ({@code null} com a versão em acomodação).
+     */
+    public ETag games() {
+        return tag("g", changeVersions.current(ChangeEntity.GAME), "");
+    }
+
+    /**
+     * @return ETag das consultas de usuários ({@code null} com a versão em acomodação).
+     */
+    public ETag users() {
+        return tag("u", changeVersions.current(ChangeEntity.USER), "");
+    }
+
+    /**
+     * ETag das consultas de aluguéis. Inclui as versões de jogos e usuários, usadas nas buscas por título e por nome.
+     *
+     * @return ETag das consultas de aluguéis ({@code null} com alguma das versões em acomodação).
+     */
+    public ETag rentals() {
+
+        Map<ChangeEntity, OptionalLong> versions = changeVersions.all();
+        if (versions.values().stream().anyMatch(OptionalLong::isEmpty)) return null;
+
+        return new ETag("r" + versions.get(ChangeEntity.RENTAL).getAsLong()
+                + "." + versions.get(ChangeEntity.USER).getAsLong() + "." + versions.get(ChangeEntity.GAME).getAsLong(), false);
+    }
+
+    /**
+     * Responde {@code 304 Not Modified} se o cliente já tiver a versão atual ou, caso contrário,
+     * {@code 200 OK} com o corpo carregado (sem ETag, com a versão em acomodação).
+     *
+     * @param tag         lê a ETag atual da consulta (antes do carregamento do corpo, na mesma transação).
+     * @param ifNoneMatch header {@code If-None-Match} enviado pelo cliente.
+     * @param body        carrega o corpo da resposta.
+     * @return Resposta com a ETag.
+     */
+    @Transactional(readOnly = true)
+    public <T> ResponseEntity<T> respond(Supplier<ETag> tag, String ifNoneMatch, Supplier<T> body) {
+
+        ETag etag = tag.get();
+        if (etag == null) return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+        if (notModified(etag, ifNoneMatch)) return notModified(etag);
+
+        return ResponseEntity.ok()
+                .eTag(etag.formattedTag())
+                .cacheControl(REVALIDATE)
+                .body(body.get());
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static ETag tag(String prefix, OptionalLong version, String suffix) {
+
+        return version.isPresent() ? new ETag(prefix + version.getAsLong() + suffix, false) : null;
+    }
+
+    /**
+     * Compara as ETags do {@code If-None-Match} com a atual (comparação fraca, conforme a RFC 9110).
+     */
+    static boolean notModified(ETag etag, String ifNoneMatch) {
+
+        if (ifNoneMatch == null) return false;
+
+        for (ETag tag : ETag.parse(ifNoneMatch)) {
+            if (tag.compare(etag, false)) return true;
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(ETag etag) {
+
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag.formattedTag())
+                .cacheControl(REVALIDATE)
+                .build();
+    }
+}
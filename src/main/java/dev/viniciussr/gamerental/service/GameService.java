@@ -2,12 +2,15 @@ package dev.viniciussr.gamerental.service;
 
 import dev.viniciussr.gamerental.dto.GameDto;
 import dev.viniciussr.gamerental.dto.GameUpdateDto;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
 import dev.viniciussr.gamerental.enums.GameGenres;
 import dev.viniciussr.gamerental.exception.game.GameIsNotAvailableException;
 import dev.viniciussr.gamerental.exception.game.GameNotFoundException;
 import dev.viniciussr.gamerental.model.Game;
 import dev.viniciussr.gamerental.repository.GameRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,15 +18,31 @@ import java.util.List;
  * Serviço responsável por gerenciar operações relacionadas aos jogos da aplicação.
  * <p>
  * Inclui criação, atualização, exclusão, busca e regras de negócio.
+ * Toda alteração de jogos é publicada no stream de estoque ({@link InventoryStream}) após o commit e registrada
+ * no feed de alterações ({@link ChangeLog}) na mesma transação, o que também muda a versão dos jogos
+ * ({@link ChangeVersions}). As alterações do cadastro (criação, atualização e exclusão) descartam as respostas
+ * do catálogo em cache após o commit ({@link CatalogResponseCache}); as de estoque feitas pelos aluguéis não.
  * </p>
  */
 @Service
+@Timed("service.method")
 public class GameService {
 
     private final GameRepository gameRepository;
-
-    public GameService(GameRepository gameRepository) {
+    private final InventoryStream inventoryStream;
+    private final ChangeLog changeLog;
+    private final CatalogResponseCache catalogResponseCache;
+
+    public GameService(
+            GameRepository gameRepository,
+            InventoryStream inventoryStream,
+            ChangeLog changeLog,
+            CatalogResponseCache catalogResponseCache
+    ) {
         this.gameRepository = gameRepository;
+        this.inventoryStream = inventoryStream;
+        this.changeLog = changeLog;
+        this.catalogResponseCache = catalogResponseCache;
     }
 
     // ******************************
@@ -39,6 +58,7 @@ public class GameService {
      * @param dto objeto com os dados do jogo a ser criado.
      * @return DTO do jogo criado ({@link GameDto}).
      */
+    @Transactional
     public GameDto createGame(GameDto dto) {
         
         Game savedGame = new Game(
@@ -48,7 +68,11 @@ public class GameService {
                 dto.quantity(),
                 true // Disponível
         );
-        return new GameDto(gameRepository.save(savedGame));
+        Game created = gameRepository.save(savedGame);
+
+        changed(created);
+        catalogResponseCache.clearAfterCommit();
+        return new GameDto(created);
     }
 
     /**
@@ -62,6 +86,7 @@ public class GameService {
      * @return DTO do jogo atualizado ({@link GameDto}).
      * @throws GameNotFoundException se o jogo não for encontrado.
      */
+    @Transactional
     public GameDto updateGame(Long id, GameUpdateDto dto) {
 
         Game game = gameRepository.findById(id)
@@ -72,6 +97,8 @@ public class GameService {
         if (dto.platform() != null) game.setPlatform(dto.platform());
         if (dto.quantity() != null) game.setQuantity(dto.quantity());
 
+        changed(game);
+        catalogResponseCache.clearAfterCommit();
         return new GameDto(gameRepository.save(game));
     }
 
@@ -81,12 +108,16 @@ public class GameService {
      * @param id ID do jogo a ser deletado.
      * @throws GameNotFoundException se o jogo não for encontrado.
      */
+    @Transactional
     public void deleteGame(Long id) {
 
         Game game = gameRepository.findById(id)
                 .orElseThrow(() -> new GameNotFoundException("Jogo não encontrado no id: " + id));
 
         gameRepository.delete(game);
+        inventoryStream.publishDeletedAfterCommit(game);
+        changeLog.deleted(ChangeEntity.GAME, id);
+        catalogResponseCache.clearAfterCommit();
     }
 
     // ******************************
@@ -100,6 +131,7 @@ public class GameService {
      * @return DTO do jogo encontrado pelo ID ({@link GameDto}).
      * @throws GameNotFoundException caso o jogo não seja encontrado.
      */
+    @Transactional(readOnly = true)
     public GameDto findGameById(Long id) {
 
         return gameRepository.findById(id)
@@ -113,6 +145,7 @@ public class GameService {
      * @return Lista de todos os jogos ({@link GameDto}).
      * @throws GameNotFoundException se não houver jogos cadastrados.
      */
+    @Transactional(readOnly = true)
     public List<GameDto> listGames() {
 
         List<GameDto> games = gameRepository.findAll()
@@ -135,6 +168,7 @@ public class GameService {
      * @return Lista de jogos com o título informado ({@link GameDto}).
      * @throws GameNotFoundException se nenhum jogo for encontrado.
      */
+    @Transactional(readOnly = true)
     public List<GameDto> listGamesByTitle(String title) {
 
         List<GameDto> games = gameRepository
@@ -156,6 +190,7 @@ public class GameService {
      * @return Lista de jogos do gênero informado ({@link GameDto}).
      * @throws GameNotFoundException se nenhum jogo for encontrado.
      */
+    @Transactional(readOnly = true)
     public List<GameDto> listGamesByGenre(GameGenres genre) {
 
         List<GameDto> games = gameRepository.findByGenre(genre)
@@ -175,6 +210,7 @@ public class GameService {
      * @return Lista de todos os jogos disponíveis ({@link GameDto}).
      * @throws GameNotFoundException se não houver jogos disponíveis.
      */
+    @Transactional(readOnly = true)
     public List<GameDto> listAvailableGames() {
 
         List<GameDto> games = gameRepository.findByAvailableTrue()
@@ -208,7 +244,8 @@ public class GameService {
     /**
      * Atualiza a quantidade e a disponibilidade de um jogo.
      * <p>
-     * Utilizado nos métodos {@code createRental}, {@code returnRental} e {@code cancelRental}.
+     * Utilizado nos métodos {@code createRental}, {@code returnRental}, {@code cancelRental}
+     * e na liberação de cópias da fila de espera ({@code WaitlistService}).
      * </p>
      *
      * @param game jogo a ser atualizado.
@@ -225,5 +262,18 @@ public class GameService {
         game.setAvailable(game.getQuantity() > 0);
 
         gameRepository.save(game);
+        changed(game);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Registra a alteração do jogo: publicação do estoque após o commit e registro no feed de alterações
+     * (nova versão do catálogo).
+     */
+    private void changed(Game game) {
+
+        inventoryStream.publishAfterCommit(game);
+        changeLog.changed(ChangeEntity.GAME, game.getIdGame());
     }
 }
\ No newline at end of file
@@ -0,0 +1,388 @@
+package dev.viniciussr.gamerental.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotencyKeyReusedException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotentRequestInProgressException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotentRequestOutcomeUnknownException;
+import dev.viniciussr.gamerental.exception.idempotency.InvalidIdempotencyKeyException;
+import dev.viniciussr.gamerental.model.IdempotencyRecord;
+import dev.viniciussr.gamerental.model.IdempotencyRecordId;
+import dev.viniciussr.gamerental.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável por tornar idempotentes as operações que alteram o estado dos aluguéis.
+ * <p>
+ * A primeira execução de uma chave ({@code Idempotency-Key}) tem sua resposta registrada e reproduzida
+ * nas repetições da mesma requisição. As chaves pertencem ao usuário autenticado: a mesma chave enviada
+ * por outro usuário identifica outra requisição.
+ * </p>
+ * <p>
+ * A chave é reservada no banco ({@code tb_idempotency_key}) antes da execução, e a resposta é gravada
+ * na mesma transação da operação: ou ambas são confirmadas, ou nenhuma. Uma reserva sem resposta indica
+ * uma execução em andamento ou interrompida; ela nunca é assumida por outra execução. Passado o tempo
+ * de abandono ({@code stale-after}), as repetições recebem {@code 409} com resultado desconhecido.
+ * </p>
+ * <p>
+ * Requisições repetidas simultâneas no mesmo nó aguardam o resultado da execução em andamento.
+ * As respostas recentes ficam em um cache em memória de tamanho limitado. Falhas na execução
+ * desfazem a operação e liberam a reserva: a requisição pode ser repetida.
+ * </p>
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    /** Header de resposta que indica que a resposta foi reproduzida. */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    /** Tentativas de reserva (chave removida ou expirada entre a inserção e a leitura). */
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    /** Usuário das requisições sem autenticação. */
+    private static final String ANONYMOUS = "anonymous";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final OptimisticLockRetry lockRetry;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Duration ttl;
+    private final Duration staleAfter;
+
+    /** Respostas recentes, em ordem de acesso (LRU) e de tamanho limitado. */
+    private final Map<IdempotencyRecordId, StoredResponse> completed;
+
+    /** Execuções em andamento neste nó, compartilhadas com as requisições repetidas. */
+    private final ConcurrentHashMap<IdempotencyRecordId, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            OptimisticLockRetry lockRetry,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${rental.idempotency.ttl:24h}") Duration ttl,
+            @Value("${rental.idempotency.stale-after:1m}") Duration staleAfter,
+            @Value("${rental.idempotency.cache-size:10000}") int cacheSize
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.lockRetry = lockRetry;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.staleAfter = staleAfter;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IdempotencyRecordId, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Executa uma operação de forma idempotente.
+     * <p>
+     * Sem chave de idempotência, a operação é executada normalmente. Com chave, a operação é executada
+     * em uma transação que também grava a resposta; conflitos de versão repetem a transação inteira.
+     * </p>
+     *
+     * @param key       chave de idempotência enviada pelo cliente (opcional).
+     * @param operation operação executada (método e caminho).
+     * @param payload   corpo da requisição (opcional), usado para detectar reuso da chave.
+     * @param bodyType  tipo do corpo da resposta.
+     * @param action    operação a ser executada.
+     * @param <T>       tipo do corpo da resposta.
+     * @return Resposta da operação, original ou reproduzida.
+     * @throws InvalidIdempotencyKeyException           se a chave for inválida.
+     * @throws IdempotencyKeyReusedException            se a chave já tiver sido usada em outra requisição.
+     * @throws IdempotentRequestInProgressException     se a requisição original ainda estiver em andamento em outro nó.
+     * @throws IdempotentRequestOutcomeUnknownException se a requisição original tiver sido interrompida sem resposta.
+     */
+    public <T> ResponseEntity<T> execute(
+            String key,
+            String operation,
+            Object payload,
+            Class<T> bodyType,
+            Supplier<ResponseEntity<T>> action
+    ) {
+        if (key == null) return action.get();
+
+        validateKey(key);
+        IdempotencyRecordId id = new IdempotencyRecordId(currentPrincipal(), key);
+        String requestHash = hash(operation, payload);
+
+        StoredResponse cached = completed.get(id);
+        if (cached != null && !isExpired(cached.createdAt())) {
+            return replay(key, requestHash, cached, bodyType);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = inFlight.putIfAbsent(id, mine);
+        if (existing != null) {
+            return replay(key, requestHash, await(existing), bodyType);
+        }
+
+        try {
+            StoredResponse persisted = reserve(id, operation, requestHash);
+            if (persisted != null) {
+                mine.complete(persisted);
+                completed.put(id, persisted);
+                return replay(key, requestHash, persisted, bodyType);
+            }
+
+            Execution<T> execution;
+            try {
+                execution = lockRetry.execute("idempotentRequest", () -> executeAndRecord(id, requestHash, action));
+            } catch (IdempotentRequestOutcomeUnknownException e) {
+                throw e; // Reserva removida ou concluída por outra execução: a operação foi desfeita
+            } catch (TransactionSystemException e) {
+                // Falha na confirmação: a operação pode ter sido aplicada; a reserva é mantida (resultado desconhecido)
+                log.warn("Falha ao confirmar operação da chave de idempotência {}", key, e);
+                throw e;
+            } catch (RuntimeException e) {
+                idempotencyRecordRepository.release(id); // Operação desfeita: a requisição pode ser repetida
+                throw e;
+            }
+
+            mine.complete(execution.stored());
+            completed.put(id, execution.stored());
+            return execution.response();
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /**
+     * Tarefa agendada para remover as chaves de idempotência expiradas.
+     */
+    @Scheduled(fixedDelayString = "${rental.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+
+        LocalDateTime before = LocalDateTime.now().minus(ttl);
+
+        completed.values().removeIf(response -> response.createdAt().isBefore(before));
+        int removed = idempotencyRecordRepository.deleteExpired(before);
+
+        if (removed > 0) log.info("{} chaves de idempotência expiradas removidas", removed);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Executa a operação e grava a resposta na transação corrente.
+     *
+     * @throws IdempotentRequestOutcomeUnknownException se a reserva não estiver mais pendente
+     *                                                  (a operação é desfeita).
+     */
+    private <T> Execution<T> executeAndRecord(
+            IdempotencyRecordId id,
+            String requestHash,
+            Supplier<ResponseEntity<T>> action
+    ) {
+        ResponseEntity<T> response = action.get();
+
+        StoredResponse stored = new StoredResponse(
+                requestHash,
+                response.getStatusCode().value(),
+                toJson(response.getBody()),
+                LocalDateTime.now()
+        );
+        if (idempotencyRecordRepository.complete(id, stored.statusCode(), stored.body()) != 1) {
+            throw new IdempotentRequestOutcomeUnknownException(id.getIdempotencyKey());
+        }
+
+        return new Execution<>(response, stored);
+    }
+
+    /**
+     * Reserva a chave no banco de dados.
+     * <p>
+     * A leitura da chave existente é feita em transação de escrita, no primário,
+     * para não depender da defasagem das réplicas.
+     * </p>
+     *
+     * @return {@code null} se a chave foi reservada para esta execução;
+     * a resposta registrada, caso a operação já tenha sido concluída.
+     * @throws IdempotencyKeyReusedException            se a chave tiver sido usada em outra requisição.
+     * @throws IdempotentRequestInProgressException     se a operação ainda estiver em andamento.
+     * @throws IdempotentRequestOutcomeUnknownException se a operação tiver sido interrompida sem resposta.
+     */
+    private StoredResponse reserve(IdempotencyRecordId id, String operation, String requestHash) {
+
+        for (int attempt = 1; attempt <= MAX_RESERVE_ATTEMPTS; attempt++) {
+
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                idempotencyRecordRepository.reserve(id.getPrincipal(), id.getIdempotencyKey(), operation, requestHash, now);
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                // Chave já existente: operação concluída, em andamento, interrompida ou expirada
+            }
+
+            IdempotencyRecord record = transactionTemplate.execute(status -> idempotencyRecordRepository.findById(id).orElse(null));
+            if (record == null) continue; // Removida entre a inserção e a leitura
+
+            if (!record.getRequestHash().equals(requestHash)) throw new IdempotencyKeyReusedException(id.getIdempotencyKey());
+
+            if (isExpired(record.getCreatedAt())) {
+                idempotencyRecordRepository.deleteIfExpired(id, now.minus(ttl));
+                continue;
+            }
+
+            if (record.getStatusCode() != null) {
+                return new StoredResponse(record.getRequestHash(), record.getStatusCode(), record.getResponseBody(), record.getCreatedAt());
+            }
+
+            if (record.getCreatedAt().isBefore(now.minus(staleAfter))) {
+                throw new IdempotentRequestOutcomeUnknownException(id.getIdempotencyKey());
+            }
+
+            throw new IdempotentRequestInProgressException(id.getIdempotencyKey());
+        }
+
+        throw new IdempotentRequestInProgressException(id.getIdempotencyKey());
+    }
+
+    /**
+     * Aguarda a execução em andamento de uma requisição repetida.
+     */
+    private StoredResponse await(CompletableFuture<StoredResponse> future) {
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando requisição idempotente", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Reproduz uma resposta registrada, verificando se a requisição é a mesma da original.
+     */
+    private <T> ResponseEntity<T> replay(String key, String requestHash, StoredResponse stored, Class<T> bodyType) {
+
+        if (!stored.requestHash().equals(requestHash)) throw new IdempotencyKeyReusedException(key);
+
+        T body = null;
+        if (stored.body() != null && bodyType != Void.class) {
+            try {
+                body = objectMapper.readValue(stored.body(), bodyType);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Resposta registrada inválida para a chave " + key, e);
+            }
+        }
+
+        return ResponseEntity.status(stored.statusCode())
+                .header(REPLAYED_HEADER, "true")
+                .body(body);
+    }
+
+    private void validateKey(String key) {
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "A chave de idempotência deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+    }
+
+    private boolean isExpired(LocalDateTime createdAt) {
+        return createdAt.isBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private String toJson(Object body) {
+
+        if (body == null) return null;
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta idempotente", e);
+        }
+    }
+
+    /**
+     * Hash SHA-256 da operação e da forma canônica do corpo da requisição
+     * (JSON com os campos em ordem alfabética, em todos os níveis).
+     */
+    private String hash(String operation, Object payload) {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest((operation + "\n" + canonicalJson(payload)).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String canonicalJson(Object payload) {
+
+        if (payload == null) return "null";
+        try {
+            Object tree = objectMapper.convertValue(payload, Object.class); // Mapas, listas e valores simples
+            return objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsString(tree);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar requisição idempotente", e);
+        }
+    }
+
+    /**
+     * @return Nome do usuário autenticado, ou {@value #ANONYMOUS} em requisições sem autenticação.
+     */
+    private static String currentPrincipal() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Resposta registrada de uma operação concluída.
+     */
+    private record StoredResponse(String requestHash, int statusCode, String body, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Resposta de uma operação executada e o registro gravado na mesma transação.
+     */
+    private record Execution<T>(ResponseEntity<T> response, StoredResponse stored) {
+    }
+}
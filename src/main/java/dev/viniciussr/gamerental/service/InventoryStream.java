@@ -0,0 +1,447 @@
+package dev.viniciussr.gamerental.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.dto.InventoryEventDto;
+import dev.viniciussr.gamerental.model.Game;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stream (server-sent events) das alterações de estoque e disponibilidade dos jogos.
+ * <p>
+ * As alterações feitas pelo {@link GameService} são publicadas após o commit. Cada evento é serializado uma única vez
+ * no formato SSE ({@code id}, {@code event: inventory}, {@code data}) e os mesmos bytes são escritos em todas as
+ * conexões inscritas.
+ * </p>
+ * <p>
+ * Uma única thread distribui os eventos, registra as inscrições e agenda os heartbeats (comentários SSE), de modo que
+ * nenhuma conexão perde ou recebe eventos fora de ordem. Alterações concorrentes do mesmo jogo cujo commit chega
+ * fora de ordem são descartadas pela versão do jogo (prevalece a mais recente).
+ * </p>
+ * <p>
+ * A thread de distribuição nunca escreve nas conexões: cada conexão tem uma fila de envio limitada
+ * ({@code inventory.stream.outbox-size}), esvaziada por uma thread virtual própria. Uma conexão lenta, cuja fila
+ * enche, é encerrada e retoma o stream ao reconectar; as demais não são afetadas. A fila de tarefas da thread de
+ * distribuição também é limitada ({@code inventory.stream.queue-size}): alterações descartadas por falta de espaço
+ * são substituídas pelo evento {@code reset}.
+ * </p>
+ * <p>
+ * Os últimos eventos ficam em memória para a retomada pelo header {@code Last-Event-ID}. Um ID desconhecido (outra
+ * instância, reinício da aplicação ou evento já descartado) recebe o evento {@code reset}: o cliente deve recarregar
+ * a listagem de jogos disponíveis.
+ * </p>
+ * <p>
+ * Os eventos são publicados apenas na instância em que ocorreu o commit: com várias instâncias, cada conexão recebe
+ * somente as alterações feitas pela instância à qual está conectada. Clientes que precisam de todas as alterações,
+ * independentemente da instância, devem sincronizar pelo feed de alterações ({@code GET /changes}).
+ * </p>
+ */
+@Component
+public class InventoryStream {
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final byte[] retryFrame;
+
+    /** Identificador desta instância, prefixo dos IDs dos eventos. */
+    private final String instance = Long.toUnsignedString(new SecureRandom().nextLong(), 36);
+
+    private final int outboxSize;
+
+    /** Thread única de distribuição: os campos abaixo são acessados apenas por ela. */
+    private final ThreadPoolExecutor dispatcher;
+
+    private final Map<ResponseBodyEmitter, Subscriber> subscribers = new LinkedHashMap<>();
+    /** Últimos eventos já codificados no formato SSE, indexados pelo número de sequência. */
+    private final byte[][] replay;
+    private final Map<Long, Long> lastVersions = new HashMap<>();
+    private long sequence;
+
+    /** Alterações descartadas com a fila de distribuição cheia, ainda não substituídas pelo evento {@code reset}. */
+    private final AtomicBoolean eventsDropped = new AtomicBoolean();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter eventsCounter;
+    private final Counter deliveriesCounter;
+    private final Counter droppedEventsCounter;
+    private final Counter slowSubscribersCounter;
+
+    public InventoryStream(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.stream.timeout:30m}") Duration timeout,
+            @Value("${inventory.stream.retry:3s}") Duration retry,
+            @Value("${inventory.stream.replay-size:1000}") int replaySize,
+            @Value("${inventory.stream.queue-size:10000}") int queueSize,
+            @Value("${inventory.stream.outbox-size:100}") int outboxSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeout.toMillis();
+        this.retryFrame = ("retry: " + retry.toMillis() + "\n\n").getBytes(StandardCharsets.UTF_8);
+        this.replay = new byte[replaySize][];
+        this.outboxSize = outboxSize;
+
+        this.dispatcher = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-stream");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        Gauge.builder("inventory.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Conexões inscritas no stream de estoque")
+                .register(meterRegistry);
+        this.eventsCounter = Counter.builder("inventory.stream.events")
+                .description("Alterações de estoque publicadas no stream")
+                .register(meterRegistry);
+        this.deliveriesCounter = Counter.builder("inventory.stream.deliveries")
+                .description("Eventos de estoque entregues às filas de envio das conexões inscritas")
+                .register(meterRegistry);
+        this.droppedEventsCounter = Counter.builder("inventory.stream.dropped")
+                .description("Alterações de estoque descartadas com a fila de distribuição cheia")
+                .register(meterRegistry);
+        this.slowSubscribersCounter = Counter.builder("inventory.stream.slow")
+                .description("Conexões encerradas por não acompanharem o stream (fila de envio cheia)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inscreve uma nova conexão no stream.
+     *
+     * @param lastEventId header {@code Last-Event-ID} enviado na reconexão (opcional): os eventos posteriores
+     *                    são reenviados antes dos novos.
+     * @return Emitter da conexão (concluído após {@code inventory.stream.timeout}; o cliente reconecta).
+     */
+    public ResponseBodyEmitter subscribe(String lastEventId) {
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+
+        Runnable unsubscribe = () -> execute(() -> unsubscribe(emitter));
+        emitter.onCompletion(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        if (!execute(() -> register(emitter, lastEventId))) emitter.complete(); // Fila cheia: o cliente reconecta
+        return emitter;
+    }
+
+    /**
+     * Publica o estoque do jogo após o commit da transação em andamento (ou imediatamente, fora de transação).
+     *
+     * @param game jogo alterado (lido após o commit, já com a nova versão).
+     */
+    public void publishAfterCommit(Game game) {
+
+        afterCommit(() -> enqueue(
+                new Change(game.getIdGame(), game.getQuantity(), game.isAvailable(), game.getVersion(), false)));
+    }
+
+    /**
+     * Publica a remoção do jogo após o commit da transação em andamento (ou imediatamente, fora de transação).
+     *
+     * @param game jogo removido.
+     */
+    public void publishDeletedAfterCommit(Game game) {
+
+        Long idGame = game.getIdGame();
+        afterCommit(() -> enqueue(new Change(idGame, 0, false, Long.MAX_VALUE, true)));
+    }
+
+    /**
+     * Envia um heartbeat a todas as conexões, mantendo-as abertas em proxies e detectando clientes desconectados.
+     */
+    @Scheduled(fixedDelayString = "${inventory.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+
+        execute(() -> {
+            resetIfEventsDropped();
+            broadcast(HEARTBEAT);
+        });
+    }
+
+    /**
+     * Conclui as conexões no início do encerramento da aplicação, antes do graceful shutdown do servidor,
+     * que do contrário aguardaria as conexões abertas até o tempo limite.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+
+        execute(() -> {
+            subscribers.values().forEach(Subscriber::close);
+            subscribers.clear();
+            subscriberCount.set(0);
+        });
+        dispatcher.shutdown();
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static void afterCommit(Runnable action) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void enqueue(Change change) {
+
+        if (!execute(() -> dispatch(change)) && !dispatcher.isShutdown()) {
+            droppedEventsCounter.increment();
+            eventsDropped.set(true);
+        }
+    }
+
+    /**
+     * @return {@code false} se a tarefa foi recusada (fila de distribuição cheia ou aplicação em encerramento).
+     */
+    private boolean execute(Runnable task) {
+
+        try {
+            dispatcher.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Serializa a alteração, guarda-a para retomadas e a entrega a todas as conexões.
+     */
+    private void dispatch(Change change) {
+
+        resetIfEventsDropped();
+
+        Long lastVersion = lastVersions.get(change.idGame());
+        if (lastVersion != null && change.version() <= lastVersion) return; // Commit concorrente mais antigo
+
+        lastVersions.put(change.idGame(), change.version());
+
+        InventoryEventDto event = new InventoryEventDto(change.idGame(), change.quantity(), change.available(), change.deleted());
+        byte[] frame = encode(++sequence, "inventory", event);
+        replay[(int) (sequence % replay.length)] = frame;
+
+        eventsCounter.increment();
+        deliveriesCounter.increment(broadcast(frame));
+    }
+
+    /**
+     * Substitui as alterações descartadas com a fila cheia pelo evento {@code reset}, também guardado para as
+     * retomadas: nenhum cliente deixa de recarregar a listagem após a perda de eventos.
+     */
+    private void resetIfEventsDropped() {
+
+        if (!eventsDropped.getAndSet(false)) return;
+
+        lastVersions.clear();
+        byte[] frame = encode(++sequence, "reset", Map.of());
+        replay[(int) (sequence % replay.length)] = frame;
+        broadcast(frame);
+    }
+
+    /**
+     * Entrega os bytes às filas de envio de todas as conexões, removendo as encerradas e as lentas (fila cheia).
+     *
+     * @return Quantidade de conexões que receberam os bytes.
+     */
+    private int broadcast(byte[] bytes) {
+
+        int delivered = 0;
+        Iterator<Subscriber> iterator = subscribers.values().iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            if (subscriber.offer(bytes)) {
+                delivered++;
+            } else {
+                if (!subscriber.isClosed()) slowSubscribersCounter.increment();
+                subscriber.close();
+                iterator.remove();
+            }
+        }
+        subscriberCount.set(subscribers.size());
+        return delivered;
+    }
+
+    private void register(ResponseBodyEmitter emitter, String lastEventId) {
+
+        List<byte[]> initial = new ArrayList<>();
+        initial.add(retryFrame);
+        resume(initial, lastEventId);
+
+        Subscriber subscriber = new Subscriber(emitter, initial, outboxSize);
+        subscribers.put(emitter, subscriber);
+        subscriberCount.set(subscribers.size());
+        subscriber.start();
+    }
+
+    private void unsubscribe(ResponseBodyEmitter emitter) {
+
+        Subscriber subscriber = subscribers.remove(emitter);
+        if (subscriber != null) subscriber.close();
+        subscriberCount.set(subscribers.size());
+    }
+
+    /**
+     * Adiciona os eventos posteriores ao {@code Last-Event-ID} ou, se não estiverem mais disponíveis, o evento {@code reset}.
+     */
+    private void resume(List<byte[]> frames, String lastEventId) {
+
+        if (lastEventId == null) return;
+
+        long last = lastSequence(lastEventId);
+        if (last < 0 || last < sequence - replay.length) {
+            frames.add(encode(sequence, "reset", Map.of()));
+            return;
+        }
+
+        for (long next = last + 1; next <= sequence; next++) {
+            frames.add(replay[(int) (next % replay.length)]);
+        }
+    }
+
+    /**
+     * @return Número de sequência do ID informado, ou {@code -1} se o ID não for desta instância.
+     */
+    private long lastSequence(String lastEventId) {
+
+        int separator = lastEventId.lastIndexOf('.');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(instance)) return -1;
+
+        try {
+            long last = Long.parseLong(lastEventId.substring(separator + 1));
+            return last <= sequence ? last : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private byte[] encode(long eventSequence, String type, Object data) {
+
+        try {
+            return ("id: " + instance + "." + eventSequence + "\nevent: " + type
+                    + "\ndata: " + objectMapper.writeValueAsString(data) + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento de estoque", e);
+        }
+    }
+
+    private static boolean send(ResponseBodyEmitter emitter, byte[] bytes) {
+
+        try {
+            emitter.send(bytes, MediaType.TEXT_EVENT_STREAM);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false; // Conexão encerrada pelo cliente (ou emitter já concluído)
+        }
+    }
+
+    /**
+     * Conexão inscrita: fila de envio limitada, esvaziada por uma thread virtual própria.
+     * <p>
+     * Apenas a thread da conexão escreve no emitter (inclusive a conclusão): uma escrita bloqueada por um
+     * cliente lento nunca bloqueia a thread de distribuição.
+     * </p>
+     */
+    private final class Subscriber {
+
+        private final ResponseBodyEmitter emitter;
+        private final List<byte[]> initial;
+        private final BlockingQueue<byte[]> outbox;
+
+        private volatile boolean closed;
+        private Thread writer;
+
+        private Subscriber(ResponseBodyEmitter emitter, List<byte[]> initial, int outboxSize) {
+            this.emitter = emitter;
+            this.initial = initial;
+            this.outbox = new ArrayBlockingQueue<>(outboxSize);
+        }
+
+        private void start() {
+            writer = Thread.ofVirtual().name("inventory-stream-subscriber").start(this::write);
+        }
+
+        /**
+         * @return {@code false} se a conexão foi encerrada ou a fila de envio está cheia.
+         */
+        private boolean offer(byte[] bytes) {
+            return !closed && outbox.offer(bytes);
+        }
+
+        private boolean isClosed() {
+            return closed;
+        }
+
+        private void close() {
+
+            closed = true;
+            writer.interrupt();
+        }
+
+        /**
+         * Envia os eventos iniciais (retomada) e, em seguida, os da fila, até o encerramento da conexão.
+         */
+        private void write() {
+
+            try {
+                for (byte[] bytes : initial) {
+                    if (!send(emitter, bytes)) return;
+                }
+                while (!closed) {
+                    if (!send(emitter, outbox.take())) return;
+                }
+            } catch (InterruptedException e) {
+                // Conexão encerrada (cliente lento ou aplicação em encerramento)
+            } finally {
+                closed = true;
+                emitter.complete();
+                execute(() -> unsubscribe(emitter));
+            }
+        }
+    }
+
+    /**
+     * Alteração de estoque de um jogo, com a versão do jogo no commit.
+     */
+    private record Change(Long idGame, Integer quantity, boolean available, Long version, boolean deleted) {
+    }
+}
@@ -4,6 +4,7 @@ import dev.viniciussr.gamerental.dto.UserLoginDto;
 import dev.viniciussr.gamerental.exception.jwt.JwtGenerationException;
 import dev.viniciussr.gamerental.model.User;
 import dev.viniciussr.gamerental.security.jwt.JwtService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Service;
  * Serviço responsável por autenticar um usuário no sistema.
  */
 @Service
+@Timed("service.method")
 public class LoginService {
 
     private final AuthenticationManager authenticationManager;
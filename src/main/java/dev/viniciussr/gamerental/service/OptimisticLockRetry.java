@@ -0,0 +1,138 @@
+package dev.viniciussr.gamerental.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Executa operações em transação própria, repetindo-as em caso de conflito de versão
+ * ({@link ObjectOptimisticLockingFailureException}).
+ * <p>
+ * Cada tentativa relê as entidades em uma nova transação. Os conflitos são contabilizados
+ * nas métricas {@code optimistic.lock.conflicts} e {@code optimistic.lock.exhausted}
+ * (por operação).
+ * </p>
+ * <p>
+ * Chamado dentro de uma transação em andamento, a operação participa dela sem repetição:
+ * o conflito só é detectado na confirmação, e a repetição cabe a quem abriu a transação.
+ * Quando a transação foi aberta por outra operação deste componente (ex.: {@link IdempotencyService},
+ * que grava a resposta junto com a operação), a repetição é feita por ela. Quando foi aberta por
+ * outro chamador (ex.: método {@code @Transactional}), nada repete a operação: a chamada é
+ * registrada em log e na métrica {@code optimistic.lock.unretried}.
+ * </p>
+ */
+@Component
+public class OptimisticLockRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    /** Marca, como recurso da transação, as transações abertas por este componente (e repetidas em conflito). */
+    private static final Object RETRYING_TRANSACTION = new Object();
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public OptimisticLockRetry(
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${optimistic-lock.retry.max-attempts:3}") int maxAttempts,
+            @Value("${optimistic-lock.retry.backoff-ms:20}") long backoffMs
+    ) {
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    /**
+     * Executa a operação, repetindo-a em caso de conflito de versão.
+     *
+     * @param operation nome da operação (tag das métricas).
+     * @param action    operação a ser executada na transação.
+     * @param <T>       tipo do retorno da operação.
+     * @return Retorno da operação.
+     * @throws ObjectOptimisticLockingFailureException se o conflito persistir após todas as tentativas.
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (!TransactionSynchronizationManager.hasResource(RETRYING_TRANSACTION)) {
+                conflictCounter("optimistic.lock.unretried", operation).increment();
+                log.warn("{} executado em transação aberta pelo chamador: conflitos de versão não serão repetidos", operation);
+            }
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    TransactionSynchronizationManager.bindResource(RETRYING_TRANSACTION, operation);
+                    try {
+                        return action.get();
+                    } finally {
+                        TransactionSynchronizationManager.unbindResource(RETRYING_TRANSACTION);
+                    }
+                });
+            } catch (ObjectOptimisticLockingFailureException e) {
+                conflictCounter("optimistic.lock.conflicts", operation).increment();
+
+                if (attempt >= maxAttempts) {
+                    conflictCounter("optimistic.lock.exhausted", operation).increment();
+                    throw e;
+                }
+
+                log.debug("Conflito de versão em {} (tentativa {}/{}): {}", operation, attempt, maxAttempts, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Executa a operação sem retorno, repetindo-a em caso de conflito de versão.
+     *
+     * @param operation nome da operação (tag das métricas).
+     * @param action    operação a ser executada na transação.
+     */
+    public void run(String operation, Runnable action) {
+
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private Counter conflictCounter(String name, String operation) {
+
+        return Counter.builder(name)
+                .description("Conflitos de versão (optimistic locking)")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Aguarda um intervalo crescente e aleatório antes da próxima tentativa, espalhando as repetições concorrentes.
+     */
+    private void backoff(int attempt) {
+
+        long delay = backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.dto.RentalArchiveDto;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serviço responsável por arquivar aluguéis encerrados (RETURNED e CANCELLED).
+ * <p>
+ * Move para {@code tb_rental_archive} os aluguéis encerrados há mais tempo que a idade configurada,
+ * mantendo a tabela {@code tb_rental} proporcional aos aluguéis em andamento.
+ * Cada lote é movido em sua própria transação, de modo que uma execução interrompida
+ * é retomada naturalmente pela próxima.
+ * </p>
+ */
+@Service
+public class RentalArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalArchiveService.class);
+
+    private static final String SELECT_CHUNK_SQL = """
+            SELECT id_rental FROM tb_rental
+            WHERE status IN ('RETURNED', 'CANCELLED') AND end_date < :cutoff
+            ORDER BY id_rental
+            LIMIT :limit
+            """;
+
+    private static final String COPY_CHUNK_SQL = """
+            INSERT INTO tb_rental_archive (id_rental, game_id, user_id, rental_date, end_date, status, archived_at)
+            SELECT id_rental, game_id, user_id, rental_date, end_date, status, :archivedAt
+            FROM tb_rental
+            WHERE id_rental IN (:ids) AND status IN ('RETURNED', 'CANCELLED')
+            """;
+
+    private static final String DELETE_CHUNK_SQL = """
+            DELETE FROM tb_rental
+            WHERE id_rental IN (:ids) AND status IN ('RETURNED', 'CANCELLED')
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeLog changeLog;
+
+    private final int minAgeDays;
+    private final int batchSize;
+
+    private final Counter rowsMovedCounter;
+    private final Timer chunkTimer;
+    private final Timer runTimer;
+
+    /** Impede execuções simultâneas do arquivamento no mesmo nó. */
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public RentalArchiveService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ChangeLog changeLog,
+            MeterRegistry meterRegistry,
+            @Value("${rental.archive.min-age-days:90}") int minAgeDays,
+            @Value("${rental.archive.batch-size:1000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.changeLog = changeLog;
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+
+        this.rowsMovedCounter = Counter.builder("rental.archive.rows")
+                .description("Aluguéis encerrados movidos para o arquivo")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("rental.archive.chunk")
+                .description("Duração de cada lote do arquivamento")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("rental.archive.run")
+                .description("Duração de cada execução do arquivamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tarefa agendada para arquivar diariamente os aluguéis encerrados antigos.
+     */
+    @Scheduled(cron = "${rental.archive.cron:0 30 0 * * *}")
+    public void scheduledArchive() {
+
+        archiveClosedRentals();
+    }
+
+    /**
+     * Move para o arquivo, em lotes, os aluguéis encerrados há mais de {@code minAgeDays} dias.
+     * <p>
+     * Ignorado caso já exista uma execução em andamento.
+     * </p>
+     *
+     * @return Resumo da execução ({@link RentalArchiveDto}).
+     */
+    public RentalArchiveDto archiveClosedRentals() {
+
+        if (!running.compareAndSet(false, true)) {
+            log.info("Arquivamento de aluguéis já em execução; execução ignorada");
+            return new RentalArchiveDto(0, 0, 0, 0);
+        }
+
+        try {
+            LocalDate cutoff = LocalDate.now().minusDays(minAgeDays);
+            long start = System.nanoTime();
+            long rowsMoved = 0;
+            int chunks = 0;
+
+            int moved;
+            do {
+                moved = chunkTimer.record(() -> archiveChunk(cutoff));
+                rowsMoved += moved;
+                if (moved > 0) chunks++;
+            } while (moved == batchSize);
+
+            long elapsedNanos = System.nanoTime() - start;
+            runTimer.record(Duration.ofNanos(elapsedNanos));
+
+            long elapsedMs = elapsedNanos / 1_000_000;
+            double rowsPerSec = elapsedNanos > 0 ? rowsMoved * 1_000_000_000.0 / elapsedNanos : 0;
+
+            log.info("Arquivamento de aluguéis concluído: {} aluguéis em {} lotes ({} ms, {} aluguéis/s)",
+                    rowsMoved, chunks, elapsedMs, String.format("%.1f", rowsPerSec));
+
+            return new RentalArchiveDto(rowsMoved, chunks, elapsedMs, rowsPerSec);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Move um lote de aluguéis encerrados para o arquivo em uma única transação.
+     *
+     * @param cutoff data de encerramento limite (exclusiva).
+     * @return Quantidade de aluguéis movidos no lote.
+     */
+    private int archiveChunk(LocalDate cutoff) {
+
+        Integer moved = transactionTemplate.execute(status -> {
+
+            List<Long> ids = jdbcTemplate.queryForList(
+                    SELECT_CHUNK_SQL,
+                    new MapSqlParameterSource()
+                            .addValue("cutoff", Date.valueOf(cutoff))
+                            .addValue("limit", batchSize),
+                    Long.class
+            );
+
+            if (ids.isEmpty()) return 0;
+
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+
+            jdbcTemplate.update(COPY_CHUNK_SQL, params);
+            changeLog.changed(ChangeEntity.RENTAL, ids); // Listagens mudam (arquivados apenas sob demanda): nova versão dos aluguéis
+            return jdbcTemplate.update(DELETE_CHUNK_SQL, params);
+        });
+
+        int rowsMoved = moved != null ? moved : 0;
+        rowsMovedCounter.increment(rowsMoved);
+
+        return rowsMoved;
+    }
+}
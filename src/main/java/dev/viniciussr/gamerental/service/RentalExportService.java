@@ -0,0 +1,190 @@
+package dev.viniciussr.gamerental.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.enums.ExportFormat;
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import dev.viniciussr.gamerental.exception.rental.InvalidDateRangeException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serviço responsável pela exportação de aluguéis em formatos de arquivo (CSV e NDJSON).
+ * <p>
+ * Os registros são lidos do banco por cursor e escritos diretamente na saída, linha a linha,
+ * sem acumular a listagem completa em memória. Os aluguéis da tabela principal são seguidos
+ * pelos aluguéis arquivados, cada origem ordenada pelo ID.
+ * </p>
+ * <p>
+ * O {@code fetchSize} é definido apenas nas consultas da exportação ({@code rental.export.fetch-size}).
+ * No MySQL, o valor {@link Integer#MIN_VALUE} faz o driver transmitir as linhas uma a uma, em vez de
+ * carregar o resultado inteiro; enquanto o resultado está aberto a conexão não executa outros comandos,
+ * por isso a consulta dos aluguéis arquivados só é aberta após o fechamento da primeira.
+ * </p>
+ */
+@Service
+public class RentalExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "idRental,gameId,userId,rentalDate,endDate,status\n";
+
+    /** Aluguéis da tabela principal seguidos dos arquivados; filtros nulos são ignorados. */
+    private static final List<String> EXPORT_QUERIES = List.of(exportQuery("Rental"), exportQuery("ArchivedRental"));
+
+    private final EntityManager entityManager;
+    private final ObjectWriter ndjsonWriter;
+    private final int fetchSize;
+
+    public RentalExportService(
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${rental.export.fetch-size:-2147483648}") int fetchSize
+    ) {
+        this.entityManager = entityManager;
+        this.ndjsonWriter = objectMapper.writerFor(RentalDto.class);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Valida os filtros de data da exportação.
+     * <p>
+     * Deve ser chamado antes do início da escrita da resposta, para que o erro
+     * ainda possa ser retornado ao cliente como {@code 400 Bad Request}.
+     * </p>
+     *
+     * @param from data de início mínima (opcional).
+     * @param to   data de início máxima (opcional).
+     * @throws InvalidDateRangeException se a data inicial for posterior à data final.
+     */
+    public void validateFilters(LocalDate from, LocalDate to) {
+
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidDateRangeException("Data inicial (" + from + ") posterior à data final (" + to + ")");
+        }
+    }
+
+    /**
+     * Exporta os aluguéis filtrados para a saída informada.
+     * <p>
+     * A saída não é fechada ao final; apenas o buffer é descarregado.
+     * </p>
+     *
+     * @param format formato de exportação.
+     * @param from   data de início mínima (opcional).
+     * @param to     data de início máxima (opcional).
+     * @param status status do aluguel (opcional).
+     * @param out    saída onde os registros serão escritos.
+     * @return Quantidade de aluguéis exportados.
+     * @throws IOException se ocorrer erro de escrita na saída.
+     */
+    @Transactional(readOnly = true)
+    public long exportRentals(
+            ExportFormat format,
+            LocalDate from,
+            LocalDate to,
+            RentalStatus status,
+            OutputStream out
+    ) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count = 0;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        for (String query : EXPORT_QUERIES) {
+            try (Stream<RentalDto> rentals = streamRentals(query, from, to, status)) {
+
+                Iterator<RentalDto> iterator = rentals.iterator();
+
+                while (iterator.hasNext()) {
+                    RentalDto rental = iterator.next();
+
+                    switch (format) {
+                        case CSV -> writeCsvLine(writer, rental);
+                        case NDJSON -> writer.write(ndjsonWriter.writeValueAsString(rental));
+                    }
+                    writer.write('\n');
+                    count++;
+                }
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Percorre os aluguéis de uma consulta de exportação através de um cursor somente-leitura (forward-only).
+     * <p>
+     * Os registros são projetados diretamente em {@link RentalDto}, sem entidades gerenciadas.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * </p>
+     */
+    private Stream<RentalDto> streamRentals(String query, LocalDate from, LocalDate to, RentalStatus status) {
+
+        return entityManager.createQuery(query, RentalDto.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("status", status)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static String exportQuery(String entity) {
+
+        return """
+                select new dev.viniciussr.gamerental.dto.RentalDto(
+                    r.idRental, r.game.idGame, r.user.idUser, r.rentalDate, r.endDate, r.status)
+                from %s r
+                where (:from is null or r.rentalDate >= :from)
+                  and (:to is null or r.rentalDate <= :to)
+                  and (:status is null or r.status = :status)
+                order by r.idRental
+                """.formatted(entity);
+    }
+
+    /**
+     * Escreve um aluguel como linha CSV (sem quebra de linha).
+     * <p>
+     * Todos os campos são numéricos, datas ISO ou enums, dispensando escape.
+     * </p>
+     *
+     * @param writer destino da escrita.
+     * @param rental aluguel a ser escrito.
+     * @throws IOException se ocorrer erro de escrita.
+     */
+    private void writeCsvLine(Writer writer, RentalDto rental) throws IOException {
+
+        writer.write(String.valueOf(rental.idRental()));
+        writer.write(',');
+        writer.write(String.valueOf(rental.gameId()));
+        writer.write(',');
+        writer.write(String.valueOf(rental.userId()));
+        writer.write(',');
+        writer.write(String.valueOf(rental.rentalDate()));
+        writer.write(',');
+        if (rental.endDate() != null) writer.write(rental.endDate().toString());
+        writer.write(',');
+        writer.write(rental.status().name());
+    }
+}
@@ -2,6 +2,7 @@ package dev.viniciussr.gamerental.service;
 
 import dev.viniciussr.gamerental.dto.RentalDto;
 import dev.viniciussr.gamerental.dto.RentalUpdateDto;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
 import dev.viniciussr.gamerental.enums.RentalStatus;
 import dev.viniciussr.gamerental.exception.game.GameIsNotAvailableException;
 import dev.viniciussr.gamerental.exception.game.GameNotFoundException;
@@ -9,46 +10,87 @@ import dev.viniciussr.gamerental.exception.rental.PlanLimitExceededException;
 import dev.viniciussr.gamerental.exception.rental.RentalAlreadyClosedException;
 import dev.viniciussr.gamerental.exception.rental.RentalNotFoundException;
 import dev.viniciussr.gamerental.exception.user.UserNotFoundException;
+import dev.viniciussr.gamerental.model.ArchivedRental;
 import dev.viniciussr.gamerental.model.Game;
 import dev.viniciussr.gamerental.model.Rental;
 import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.ArchivedRentalRepository;
 import dev.viniciussr.gamerental.repository.GameRepository;
 import dev.viniciussr.gamerental.repository.RentalRepository;
 import dev.viniciussr.gamerental.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável por gerenciar operações relacionadas aos aluguéis da aplicação.
  * <p>
  * Inclui criação, atualização, exclusão, busca e regras de negócio.
+ * As buscas consultam também o arquivo de aluguéis encerrados ({@link ArchivedRental}).
+ * </p>
+ * <p>
+ * As operações do ciclo de vida do aluguel (criação, atualização, devolução, renovação e cancelamento)
+ * executam em transação própria e são repetidas em caso de conflito de versão ({@link OptimisticLockRetry}).
  * </p>
  */
 @Service
+@Timed("service.method")
 public class RentalService {
 
     private final RentalRepository rentalRepository;
+    private final ArchivedRentalRepository archivedRentalRepository;
     private final GameRepository gameRepository;
     private final UserRepository userRepository;
 
     private final UserService userService;
     private final GameService gameService;
+    private final RentalStatisticsService statisticsService;
+    private final WaitlistService waitlistService;
+    private final OptimisticLockRetry lockRetry;
+    private final ChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter lateRentalsCounter;
 
     public RentalService(
             RentalRepository rentalRepository,
+            ArchivedRentalRepository archivedRentalRepository,
             GameRepository gameRepository,
             UserRepository userRepository,
             UserService userService,
-            GameService gameService
+            GameService gameService,
+            RentalStatisticsService statisticsService,
+            WaitlistService waitlistService,
+            OptimisticLockRetry lockRetry,
+            ChangeLog changeLog,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
     ) {
         this.rentalRepository = rentalRepository;
+        this.archivedRentalRepository = archivedRentalRepository;
         this.gameRepository = gameRepository;
         this.userRepository = userRepository;
         this.userService = userService;
         this.gameService = gameService;
+        this.statisticsService = statisticsService;
+        this.waitlistService = waitlistService;
+        this.lockRetry = lockRetry;
+        this.changeLog = changeLog;
+        this.transactionTemplate = transactionTemplate;
+
+        this.lateRentalsCounter = Counter.builder("rental.late.marked")
+                .description("Aluguéis marcados como atrasados pela verificação diária")
+                .register(meterRegistry);
     }
 
     // ******************************
@@ -61,6 +103,9 @@ public class RentalService {
      * Aluguel é criado a partir dos IDs de jogo e usuário informados,
      * com data de início como 'hoje', data prevista de devolução em 15 dias e status ATIVO.
      * Aplica validações de disponibilidade do jogo e limite de aluguéis do usuário.
+     * Caso o usuário tenha uma reserva vigente na fila de espera do jogo, o aluguel utiliza a cópia reservada.
+     * Executado em uma única transação: qualquer falha desfaz a reserva de vaga e a baixa no estoque.
+     * Repetido em caso de conflito de versão (ex.: aluguéis simultâneos do mesmo jogo).
      * </p>
      *
      * @param dto objeto com os dados do aluguel a ser criado.
@@ -72,29 +117,37 @@ public class RentalService {
      */
     public RentalDto createRental(RentalDto dto) {
 
-        Game game = gameRepository.findById(dto.gameId())
-                .orElseThrow(() -> new GameNotFoundException("Jogo não encontrado no id: " + dto.gameId()));
+        return lockRetry.execute("createRental", () -> {
 
-        User user = userRepository.findById(dto.userId())
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado no id: " + dto.userId()));
+            Game game = gameRepository.findById(dto.gameId())
+                    .orElseThrow(() -> new GameNotFoundException("Jogo não encontrado no id: " + dto.gameId()));
 
-        gameService.validateIfGameIsAvailable(game); // Valida se o jogo está disponível para aluguel
-        userService.validateUserRentalLimit(user); // Valida se o limite de aluguéis ativos do usuário foi excedido
+            User user = userRepository.findById(dto.userId())
+                    .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado no id: " + dto.userId()));
 
-        LocalDate today = LocalDate.now();
+            boolean heldCopy = waitlistService.consumeHold(game, user); // Consome reserva da fila de espera, se houver
 
-        Rental rental = new Rental(
-                game,
-                user,
-                today, // Data de início: hoje (data atual)
-                today.plusDays(15), // Data prevista para devolução: 15 dias a partir de 'hoje'
-                RentalStatus.ACTIVE // Ativo
-        );
+            if (!heldCopy) gameService.validateIfGameIsAvailable(game); // Valida se o jogo está disponível para aluguel
+            userService.reserveRentalSlot(user); // Reserva vaga no limite de aluguéis ativos do plano do usuário (+1)
+
+            LocalDate today = LocalDate.now();
 
-        gameService.updateGameQuantityAndAvailability(game, -1); // Atualiza quantidade do jogo na loja (-1)
-        userService.updateUserActiveRentalsCount(user, 1); // Atualiza contagem de aluguéis ativos do usuário (+1)
+            Rental rental = new Rental(
+                    game,
+                    user,
+                    today, // Data de início: hoje (data atual)
+                    today.plusDays(15), // Data prevista para devolução: 15 dias a partir de 'hoje'
+                    RentalStatus.ACTIVE // Ativo
+            );
 
-        return new RentalDto(rentalRepository.save(rental));
+            if (!heldCopy) gameService.updateGameQuantityAndAvailability(game, -1); // Atualiza quantidade do jogo na loja (-1)
+
+            Rental savedRental = rentalRepository.save(rental);
+            statisticsService.recordRentalCreated(savedRental); // Contabiliza o aluguel nas estatísticas diárias
+            changeLog.changed(ChangeEntity.RENTAL, savedRental.getIdRental());
+
+            return new RentalDto(savedRental);
+        });
     }
 
     /**
@@ -114,29 +167,32 @@ public class RentalService {
      */
     public RentalDto updateRental(Long id, RentalUpdateDto dto) {
 
-        Rental rental = rentalRepository.findById(id)
-                .orElseThrow(() -> new RentalNotFoundException("Aluguel não encontrado no id: " + id));
+        return lockRetry.execute("updateRental", () -> {
 
-        // Verifica se o aluguel a ser atualizado já foi encerrado
-        if (rental.getStatus() == RentalStatus.RETURNED || rental.getStatus() == RentalStatus.CANCELLED ) {
-            throw new RentalAlreadyClosedException("Não é possível alterar um aluguel já encerrado.");
-        }
+            Rental rental = findHotRental(id);
 
-        if (dto.gameId() != null) {
-            Game game = gameRepository.findById(dto.gameId())
-                    .orElseThrow(() -> new GameNotFoundException("Jogo não encontrado no id: " + dto.gameId()));
+            // Verifica se o aluguel a ser atualizado já foi encerrado
+            if (rental.getStatus() == RentalStatus.RETURNED || rental.getStatus() == RentalStatus.CANCELLED ) {
+                throw new RentalAlreadyClosedException("Não é possível alterar um aluguel já encerrado.");
+            }
 
-            rental.setGame(game);
-        }
+            if (dto.gameId() != null) {
+                Game game = gameRepository.findById(dto.gameId())
+                        .orElseThrow(() -> new GameNotFoundException("Jogo não encontrado no id: " + dto.gameId()));
 
-        if (dto.userId() != null) {
-            User user = userRepository.findById(dto.userId())
-                    .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado no id: " + dto.userId()));
+                rental.setGame(game);
+            }
 
-            rental.setUser(user);
-        }
+            if (dto.userId() != null) {
+                User user = userRepository.findById(dto.userId())
+                        .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado no id: " + dto.userId()));
+
+                rental.setUser(user);
+            }
 
-        return new RentalDto(rentalRepository.save(rental));
+            changeLog.changed(ChangeEntity.RENTAL, id);
+            return new RentalDto(rentalRepository.save(rental));
+        });
     }
 
     /**
@@ -145,13 +201,21 @@ public class RentalService {
      * @param id ID do aluguel a ser deletado.
      * @throws RentalNotFoundException se o aluguel não for encontrado.
      */
+    @Transactional
     public void deleteRental(Long id) {
 
+        // Aluguel arquivado: remove diretamente do arquivo
+        if (!rentalRepository.existsById(id)) {
+            ArchivedRental archivedRental = archivedRentalRepository.findById(id)
+                    .orElseThrow(() -> new RentalNotFoundException("Aluguel não encontrado no id: " + id));
 
-        Rental deletedRental = rentalRepository.findById(id)
-                .orElseThrow(() -> new RentalNotFoundException("Aluguel não encontrado no id: " + id));
+            archivedRentalRepository.delete(archivedRental);
+            changeLog.deleted(ChangeEntity.RENTAL, id);
+            return;
+        }
 
-        rentalRepository.delete(deletedRental);
+        rentalRepository.deleteById(id);
+        changeLog.deleted(ChangeEntity.RENTAL, id);
     }
 
     // ******************************
@@ -165,25 +229,30 @@ public class RentalService {
      * @return DTO do aluguel encontrado pelo ID ({@link RentalDto}).
      * @throws RentalNotFoundException se o aluguel não for encontrado.
      */
+    @Transactional(readOnly = true)
     public RentalDto findRentalById(Long id) {
 
         return rentalRepository.findById(id)
                 .map(RentalDto::new)
+                .or(() -> archivedRentalRepository.findById(id).map(RentalDto::new)) // Consulta o arquivo
                 .orElseThrow(() -> new RentalNotFoundException("Aluguel não encontrado no id: " + id));
     }
 
     /**
      * Lista todos os aluguéis cadastrados.
      *
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados na busca.
      * @return Lista de todos os aluguéis {@link RentalDto}.
      * @throws RentalNotFoundException se não houver aluguéis cadastrados.
      */
-    public List<RentalDto> listRentals() {
+    @Transactional(readOnly = true)
+    public List<RentalDto> listRentals(boolean includeArchived) {
 
-        List<RentalDto> rentals = rentalRepository.findAll()
-                .stream()
-                .map(RentalDto::new)
-                .toList();
+        List<RentalDto> rentals = withArchived(
+                rentalRepository.findAll(),
+                includeArchived,
+                archivedRentalRepository::findAll
+        );
         if (rentals.isEmpty()) {
             throw new RentalNotFoundException("Nenhum aluguel cadastrado no momento");
         }
@@ -194,16 +263,19 @@ public class RentalService {
     /**
      * Lista aluguéis pelo ID do jogo.
      *
-     * @param idGame ID do jogo.
+     * @param idGame          ID do jogo.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados na busca.
      * @return Lista de aluguéis pelo ID do jogo informado ({@link RentalDto}).
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
-    public List<RentalDto> listRentalsByGameId(Long idGame) {
+    @Transactional(readOnly = true)
+    public List<RentalDto> listRentalsByGameId(Long idGame, boolean includeArchived) {
 
-        List<RentalDto> rentals = rentalRepository.findByGame_IdGame(idGame)
-                .stream()
-                .map(RentalDto::new)
-                .toList();
+        List<RentalDto> rentals = withArchived(
+                rentalRepository.findByGame_IdGame(idGame),
+                includeArchived,
+                () -> archivedRentalRepository.findByGame_IdGame(idGame)
+        );
         if (rentals.isEmpty()) {
             throw new RentalNotFoundException("Nenhum aluguel encontrado para o jogo no id: " + idGame);
         }
@@ -213,16 +285,19 @@ public class RentalService {
     /**
      * Lista aluguéis pelo ID do usuário.
      *
-     * @param idUser ID do usuário.
+     * @param idUser          ID do usuário.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados na busca.
      * @return Lista de aluguéis pelo ID do usuário informado ({@link RentalDto}).
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
-    public List<RentalDto> listRentalsByUserId(Long idUser) {
+    @Transactional(readOnly = true)
+    public List<RentalDto> listRentalsByUserId(Long idUser, boolean includeArchived) {
 
-        List<RentalDto> rentals = rentalRepository.findByUser_IdUser(idUser)
-                .stream()
-                .map(RentalDto::new)
-                .toList();
+        List<RentalDto> rentals = withArchived(
+                rentalRepository.findByUser_IdUser(idUser),
+                includeArchived,
+                () -> archivedRentalRepository.findByUser_IdUser(idUser)
+        );
         if (rentals.isEmpty()) {
             throw new RentalNotFoundException("Nenhum aluguel encontrado para o usuário no id: " + idUser);
         }
@@ -232,16 +307,19 @@ public class RentalService {
     /**
      * Lista aluguéis pela data de início.
      *
-     * @param rentalDate data de início do aluguel.
+     * @param rentalDate      data de início do aluguel.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados na busca.
      * @return Lista de aluguéis pela data de início informada ({@link RentalDto}).
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
-    public List<RentalDto> listRentalsByRentalDate(LocalDate rentalDate) {
+    @Transactional(readOnly = true)
+    public List<RentalDto> listRentalsByRentalDate(LocalDate rentalDate, boolean includeArchived) {
 
-        List<RentalDto> rentals = rentalRepository.findByRentalDate(rentalDate)
-                .stream()
-                .map(RentalDto::new)
-                .toList();
+        List<RentalDto> rentals = withArchived(
+                rentalRepository.findByRentalDate(rentalDate),
+                includeArchived,
+                () -> archivedRentalRepository.findByRentalDate(rentalDate)
+        );
         if (rentals.isEmpty()) {
             throw new RentalNotFoundException("Nenhum aluguel encontrado na seguinte data: " + rentalDate);
         }
@@ -251,16 +329,19 @@ public class RentalService {
     /**
      * Lista aluguéis pela data de encerramento prevista.
      *
-     * @param endDate data de encerramento do aluguel.
+     * @param endDate         data de encerramento do aluguel.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados na busca.
      * @return Lista de aluguéis pela data de encerramento informada ({@link RentalDto}).
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
-    public List<RentalDto> listRentalsByEndDate(LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public List<RentalDto> listRentalsByEndDate(LocalDate endDate, boolean includeArchived) {
 
-        List<RentalDto> rentals = rentalRepository.findByEndDate(endDate)
-                .stream()
-                .map(RentalDto::new)
-                .toList();
+        List<RentalDto> rentals = withArchived(
+                rentalRepository.findByEndDate(endDate),
+                includeArchived,
+                () -> archivedRentalRepository.findByEndDate(endDate)
+        );
         if (rentals.isEmpty()) {
             throw new RentalNotFoundException("Nenhum aluguel encontrado na seguinte data: " + endDate);
         }
@@ -270,16 +351,19 @@ public class RentalService {
     /**
      * Lista aluguéis pelo seu status.
      *
-     * @param rentalStatus status do alguel.
+     * @param rentalStatus    status do alguel.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados na busca.
      * @return Lista de aluguéis pelo status informado ({@link RentalDto}).
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
-    public List<RentalDto> listRentalsByStatus(RentalStatus rentalStatus) {
+    @Transactional(readOnly = true)
+    public List<RentalDto> listRentalsByStatus(RentalStatus rentalStatus, boolean includeArchived) {
 
-        List<RentalDto> rentals = rentalRepository.findByStatus(rentalStatus)
-                .stream()
-                .map(RentalDto::new)
-                .toList();
+        List<RentalDto> rentals = withArchived(
+                rentalRepository.findByStatus(rentalStatus),
+                includeArchived && isClosed(rentalStatus),
+                () -> archivedRentalRepository.findByStatus(rentalStatus)
+        );
         if (rentals.isEmpty()) {
             throw new RentalNotFoundException("Nenhum aluguel encontrado com o status: " + rentalStatus.name());
         }
@@ -289,16 +373,19 @@ public class RentalService {
     /**
      * Lista aluguéis pelo nome de usuário (username).
      *
-     * @param userName nome de usuário.
+     * @param userName        nome de usuário.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados na busca.
      * @return Lista de aluguéis pelo username informado ({@link RentalDto}).
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
-    public List<RentalDto> listRentalsByUserName(String userName) {
+    @Transactional(readOnly = true)
+    public List<RentalDto> listRentalsByUserName(String userName, boolean includeArchived) {
 
-        List<RentalDto> rentals =  rentalRepository.findByUser_Name(userName)
-                .stream()
-                .map(RentalDto::new)
-                .toList();
+        List<RentalDto> rentals = withArchived(
+                rentalRepository.findByUser_Name(userName),
+                includeArchived,
+                () -> archivedRentalRepository.findByUser_Name(userName)
+        );
         if (rentals.isEmpty()) {
             throw new RentalNotFoundException("Nenhum aluguel encontrado para o usuário: " + userName);
         }
@@ -308,16 +395,19 @@ public class RentalService {
     /**
      * Lista aluguéis pelo título do jogo.
      *
-     * @param gameTitle título do jogo.
+     * @param gameTitle       título do jogo.
+     * @param includeArchived {@code true} para incluir os aluguéis arquivados na busca.
      * @return Lista de aluguéis pelo título informado ({@link RentalDto}).
      * @throws RentalNotFoundException se nenhum aluguel for encontrado.
      */
-    public List<RentalDto> listRentalsByGameTitle(String gameTitle) {
+    @Transactional(readOnly = true)
+    public List<RentalDto> listRentalsByGameTitle(String gameTitle, boolean includeArchived) {
 
-        List<RentalDto> rentals =   rentalRepository.findByGame_Title(gameTitle)
-                .stream()
-                .map(RentalDto::new)
-                .toList();
+        List<RentalDto> rentals = withArchived(
+                rentalRepository.findByGame_Title(gameTitle),
+                includeArchived,
+                () -> archivedRentalRepository.findByGame_Title(gameTitle)
+        );
         if (rentals.isEmpty()) {
             throw new RentalNotFoundException("Nenhum aluguel encontrado para o jogo: " + gameTitle);
         }
@@ -328,6 +418,62 @@ public class RentalService {
     // LÓGICA DE NEGÓCIO
     // ******************************
 
+    /**
+     * Busca um aluguel na tabela principal (aluguéis não arquivados).
+     * <p>
+     * Aluguéis arquivados estão necessariamente encerrados e não podem ser alterados.
+     * </p>
+     *
+     * @param id ID do aluguel.
+     * @return Entidade {@link Rental} encontrada.
+     * @throws RentalNotFoundException      se o aluguel não for encontrado.
+     * @throws RentalAlreadyClosedException se o aluguel estiver arquivado.
+     */
+    private Rental findHotRental(Long id) {
+
+        return rentalRepository.findWithGameAndUserByIdRental(id)
+                .orElseThrow(() -> archivedRentalRepository.existsById(id)
+                        ? new RentalAlreadyClosedException("Este aluguel já está encerrado e arquivado. id: " + id)
+                        : new RentalNotFoundException("Aluguel não encontrado no id: " + id));
+    }
+
+    /**
+     * Combina aluguéis da tabela principal com aluguéis arquivados, quando solicitados.
+     * <p>
+     * O arquivo só é consultado com {@code includeArchived}: as listagens usuais não pagam
+     * a leitura de {@code tb_rental_archive}, que cresce indefinidamente.
+     * </p>
+     *
+     * @param rentals         aluguéis da tabela principal.
+     * @param includeArchived {@code true} para consultar também o arquivo.
+     * @param archived        consulta dos aluguéis arquivados.
+     * @return Lista de DTOs com os aluguéis das origens consultadas ({@link RentalDto}).
+     */
+    private List<RentalDto> withArchived(
+            List<Rental> rentals,
+            boolean includeArchived,
+            Supplier<List<ArchivedRental>> archived
+    ) {
+        if (!includeArchived) {
+            return rentals.stream().map(RentalDto::new).toList();
+        }
+
+        return Stream.concat(
+                rentals.stream().map(RentalDto::new),
+                archived.get().stream().map(RentalDto::new)
+        ).toList();
+    }
+
+    /**
+     * Verifica se o status corresponde a um aluguel encerrado (passível de arquivamento).
+     *
+     * @param status status do aluguel.
+     * @return {@code true} para RETURNED ou CANCELLED.
+     */
+    private boolean isClosed(RentalStatus status) {
+        return status == RentalStatus.RETURNED || status == RentalStatus.CANCELLED;
+    }
+
     /**
      * Obtém um aluguel ativo (status {@link RentalStatus#ACTIVE}) pelo ID.
      * <p>
@@ -341,8 +487,7 @@ public class RentalService {
      */
     private Rental getActiveRental(Long id) {
 
-        Rental rental = rentalRepository.findById(id)
-                .orElseThrow(() -> new RentalNotFoundException("Aluguel não encontrado no id: " + id));
+        Rental rental = findHotRental(id);
 
         if (rental.getStatus() != RentalStatus.ACTIVE) {
             throw new RentalAlreadyClosedException("Este aluguel já está encerrado. id: " + rental.getIdRental());
@@ -355,7 +500,8 @@ public class RentalService {
      * Realiza a devolução de um aluguel.
      * <p>
      * Define status como {@link RentalStatus#RETURNED}, data de encerramento como 'hoje'
-     * e atualiza quantidade do jogo e contador de aluguéis ativos do usuário.
+     * e atualiza contador de aluguéis ativos do usuário. A cópia liberada é reservada ao primeiro
+     * da fila de espera do jogo ou, sem fila, volta ao estoque.
      * </p>
      *
      * @param id ID do aluguel.
@@ -364,15 +510,20 @@ public class RentalService {
      */
     public void returnRental(Long id) {
 
-        Rental rental = getActiveRental(id); // Verifica se o aluguel está ativo
+        lockRetry.run("returnRental", () -> {
+
+            Rental rental = getActiveRental(id); // Verifica se o aluguel está ativo
 
-        rental.setStatus(RentalStatus.RETURNED); // Define status do aluguel como 'RETURNED' (devolvido)
-        rental.setEndDate(LocalDate.now()); // Define data de encerramento como 'hoje' (data atual)
+            rental.setStatus(RentalStatus.RETURNED); // Define status do aluguel como 'RETURNED' (devolvido)
+            rental.setEndDate(LocalDate.now()); // Define data de encerramento como 'hoje' (data atual)
 
-        gameService.updateGameQuantityAndAvailability(rental.getGame(), 1); // Atualiza quantidade do jogo
-        userService.updateUserActiveRentalsCount(rental.getUser(), -1); // Atualiza contador de aluguéis ativos
+            waitlistService.releaseCopy(rental.getGame()); // Reserva a cópia ao próximo da fila ou devolve ao estoque
+            userService.releaseRentalSlot(rental.getUser()); // Libera vaga de aluguel ativo do usuário (-1)
 
-        rentalRepository.save(rental);
+            rentalRepository.save(rental);
+            statisticsService.recordRentalReturned(rental); // Contabiliza a devolução nas estatísticas diárias
+            changeLog.changed(ChangeEntity.RENTAL, id);
+        });
     }
 
     /**
@@ -384,17 +535,22 @@ public class RentalService {
      */
     public void renewRental(Long id) {
 
-        Rental rental = getActiveRental(id); // Verifica se o aluguel está ativo
-        rental.setEndDate(rental.getEndDate().plusDays(7)); // Acrescenta 7 dias à data de devolução
+        lockRetry.run("renewRental", () -> {
 
-        rentalRepository.save(rental);
+            Rental rental = getActiveRental(id); // Verifica se o aluguel está ativo
+            rental.setEndDate(rental.getEndDate().plusDays(7)); // Acrescenta 7 dias à data de devolução
+
+            rentalRepository.save(rental);
+            changeLog.changed(ChangeEntity.RENTAL, id);
+        });
     }
 
     /**
      * Cancela um aluguel ativo.
      * <p>
      * Define status como {@link RentalStatus#CANCELLED}, data de encerramento como 'hoje'
-     * e atualiza quantidade do jogo e contador de aluguéis ativos do usuário.
+     * e atualiza contador de aluguéis ativos do usuário. A cópia liberada é reservada ao primeiro
+     * da fila de espera do jogo ou, sem fila, volta ao estoque.
      * </p>
      *
      * @param id ID do aluguel.
@@ -403,20 +559,28 @@ public class RentalService {
      */
     public void cancelRental(Long id) {
 
-        Rental rental = getActiveRental(id); // Verifica se o aluguel está ativo
+        lockRetry.run("cancelRental", () -> {
+
+            Rental rental = getActiveRental(id); // Verifica se o aluguel está ativo
 
-        rental.setStatus(RentalStatus.CANCELLED); // Define status do aluguel como 'CANCELLED' (cancelado)
-        rental.setEndDate(LocalDate.now()); // Define data de encerramento como 'hoje' (data atual)
+            rental.setStatus(RentalStatus.CANCELLED); // Define status do aluguel como 'CANCELLED' (cancelado)
+            rental.setEndDate(LocalDate.now()); // Define data de encerramento como 'hoje' (data atual)
 
-        gameService.updateGameQuantityAndAvailability(rental.getGame(), 1); // Atualiza quantidade do jogo
-        userService.updateUserActiveRentalsCount(rental.getUser(), -1); // Atualiza contador de aluguéis ativos
+            waitlistService.releaseCopy(rental.getGame()); // Reserva a cópia ao próximo da fila ou devolve ao estoque
+            userService.releaseRentalSlot(rental.getUser()); // Libera vaga de aluguel ativo do usuário (-1)
 
-        rentalRepository.save(rental);
+            rentalRepository.save(rental);
+            statisticsService.recordRentalCancelled(rental); // Contabiliza o cancelamento nas estatísticas diárias
+            changeLog.changed(ChangeEntity.RENTAL, id);
+        });
     }
 
     /**
      * Marca como atrasados ({@link RentalStatus#LATE}) todos os aluguéis ativos
      * cuja data de início seja superior a 15 dias da data atual.
+     * <p>
+     * Cada aluguel é gravado em uma transação própria, junto com o seu registro no feed de alterações.
+     * </p>
      */
     public void markRentalsLate() {
 
@@ -426,7 +590,15 @@ public class RentalService {
             if (rental.getRentalDate().plusDays(15).isBefore(LocalDate.now())) {
                 rental.setStatus(RentalStatus.LATE);
 
-                rentalRepository.save(rental);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        rentalRepository.save(rental);
+                        changeLog.changed(ChangeEntity.RENTAL, rental.getIdRental());
+                    });
+                    lateRentalsCounter.increment();
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    // Aluguel alterado simultaneamente (ex.: devolvido); reavaliado na próxima execução
+                }
             }
         }
     }
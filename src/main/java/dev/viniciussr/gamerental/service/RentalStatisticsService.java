@@ -0,0 +1,418 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.dto.DailyRentalStatsDto;
+import dev.viniciussr.gamerental.dto.GameRankingDto;
+import dev.viniciussr.gamerental.dto.StatisticsBackfillDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.exception.rental.InvalidDateRangeException;
+import dev.viniciussr.gamerental.model.Rental;
+import dev.viniciussr.gamerental.repository.RentalDailyStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Serviço responsável pelas estatísticas de aluguéis (rollup diário por jogo, gênero e plano).
+ * <p>
+ * Cada evento de aluguel é gravado em {@code tb_rental_stats_delta} na mesma transação do aluguel: um evento
+ * confirmado nunca se perde (nem em uma queda da aplicação) e um evento desfeito nunca é contado. Os eventos
+ * são somados periodicamente, em lotes, à tabela {@code tb_rental_daily_stats}, de onde são respondidas as
+ * consultas estatísticas, sem disputar as linhas do rollup nas transações dos aluguéis.
+ * </p>
+ */
+@Service
+public class RentalStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalStatisticsService.class);
+
+    private static final int MAX_TOP_GAMES = 100;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO tb_rental_daily_stats
+                (stat_date, game_id, genre, plan, rentals_created, rentals_returned, rentals_cancelled)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                genre = VALUES(genre),
+                rentals_created = rentals_created + VALUES(rentals_created),
+                rentals_returned = rentals_returned + VALUES(rentals_returned),
+                rentals_cancelled = rentals_cancelled + VALUES(rentals_cancelled)
+            """;
+
+    private static final String INSERT_DELTA_SQL = """
+            INSERT INTO tb_rental_stats_delta
+                (stat_date, game_id, genre, plan, rentals_created, rentals_returned, rentals_cancelled)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /** Lote de eventos bloqueado até o fim da transação: instâncias concorrentes nunca somam o mesmo evento. */
+    private static final String SELECT_DELTAS_SQL = """
+            SELECT id, stat_date, game_id, genre, plan, rentals_created, rentals_returned, rentals_cancelled
+            FROM tb_rental_stats_delta
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE
+            """;
+
+    private static final String DELETE_DELTA_SQL = "DELETE FROM tb_rental_stats_delta WHERE id = ?";
+
+    private static final String DELETE_DELTAS_RANGE_SQL =
+            "DELETE FROM tb_rental_stats_delta WHERE stat_date BETWEEN ? AND ?";
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM tb_rental_daily_stats WHERE stat_date BETWEEN ? AND ?";
+
+    private static final String REBUILD_CREATED_SQL = """
+            INSERT INTO tb_rental_daily_stats
+                (stat_date, game_id, genre, plan, rentals_created, rentals_returned, rentals_cancelled)
+            SELECT r.rental_date, r.game_id, g.genre, u.plan, COUNT(*), 0, 0
+            FROM (
+                SELECT game_id, user_id, rental_date, end_date, status FROM tb_rental
+                UNION ALL
+                SELECT game_id, user_id, rental_date, end_date, status FROM tb_rental_archive
+            ) r
+            JOIN tb_game g ON g.id_game = r.game_id
+            JOIN tb_user u ON u.id_user = r.user_id
+            WHERE r.rental_date BETWEEN ? AND ?
+            GROUP BY r.rental_date, r.game_id, g.genre, u.plan
+            """;
+
+    private static final String REBUILD_CLOSED_SQL = """
+            INSERT INTO tb_rental_daily_stats
+                (stat_date, game_id, genre, plan, rentals_created, rentals_returned, rentals_cancelled)
+            SELECT r.end_date, r.game_id, g.genre, u.plan, 0,
+                   SUM(CASE WHEN r.status = 'RETURNED' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN r.status = 'CANCELLED' THEN 1 ELSE 0 END)
+            FROM (
+                SELECT game_id, user_id, rental_date, end_date, status FROM tb_rental
+                UNION ALL
+                SELECT game_id, user_id, rental_date, end_date, status FROM tb_rental_archive
+            ) r
+            JOIN tb_game g ON g.id_game = r.game_id
+            JOIN tb_user u ON u.id_user = r.user_id
+            WHERE r.status IN ('RETURNED', 'CANCELLED') AND r.end_date BETWEEN ? AND ?
+            GROUP BY r.end_date, r.game_id, g.genre, u.plan
+            ON DUPLICATE KEY UPDATE
+                rentals_returned = VALUES(rentals_returned),
+                rentals_cancelled = VALUES(rentals_cancelled)
+            """;
+
+    private final RentalDailyStatsRepository statsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int foldBatchSize;
+    private final int backfillChunkDays;
+    private final int backfillThreads;
+    private final boolean virtualThreads;
+
+    public RentalStatisticsService(
+            RentalDailyStatsRepository statsRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${rental.statistics.fold-batch-size:1000}") int foldBatchSize,
+            @Value("${rental.statistics.backfill.chunk-days:7}") int backfillChunkDays,
+            @Value("${rental.statistics.backfill.threads:4}") int backfillThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.statsRepository = statsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.foldBatchSize = foldBatchSize;
+        this.backfillChunkDays = backfillChunkDays;
+        this.backfillThreads = backfillThreads;
+        this.virtualThreads = virtualThreads;
+    }
+
+    // ******************************
+    // REGISTRO DE EVENTOS
+    // ******************************
+
+    /**
+     * Registra a criação de um aluguel (contabilizado na data de início).
+     *
+     * @param rental aluguel criado.
+     */
+    public void recordRentalCreated(Rental rental) {
+        record(rental, rental.getRentalDate(), new StatDelta(1, 0, 0));
+    }
+
+    /**
+     * Registra a devolução de um aluguel (contabilizada na data de encerramento).
+     *
+     * @param rental aluguel devolvido.
+     */
+    public void recordRentalReturned(Rental rental) {
+        record(rental, rental.getEndDate(), new StatDelta(0, 1, 0));
+    }
+
+    /**
+     * Registra o cancelamento de um aluguel (contabilizado na data de encerramento).
+     *
+     * @param rental aluguel cancelado.
+     */
+    public void recordRentalCancelled(Rental rental) {
+        record(rental, rental.getEndDate(), new StatDelta(0, 0, 1));
+    }
+
+    /**
+     * Grava o evento em {@code tb_rental_stats_delta}, na transação em andamento (ou em transação própria,
+     * fora de transação): o evento só é contabilizado se a operação do aluguel for confirmada.
+     *
+     * @param rental aluguel do evento.
+     * @param date   dia em que o evento é contabilizado.
+     * @param delta  incremento dos contadores.
+     */
+    private void record(Rental rental, LocalDate date, StatDelta delta) {
+
+        jdbcTemplate.update(INSERT_DELTA_SQL,
+                Date.valueOf(date),
+                rental.getGame().getIdGame(),
+                rental.getGame().getGenre().name(),
+                rental.getUser().getPlan().name(),
+                delta.created(),
+                delta.returned(),
+                delta.cancelled());
+    }
+
+    /**
+     * Soma às estatísticas diárias os eventos gravados e os remove, em lotes de
+     * {@code rental.statistics.fold-batch-size} eventos, cada lote em uma transação.
+     * <p>
+     * Soma e remoção de um lote são confirmadas juntas: uma falha desfaz ambas, e o lote é somado na próxima
+     * execução. Eventos de transações ainda não confirmadas não são lidos e ficam para a próxima execução.
+     * </p>
+     *
+     * @return Quantidade de eventos somados.
+     */
+    @Scheduled(fixedDelayString = "${rental.statistics.fold-interval-ms:10000}")
+    public int foldDeltas() {
+
+        int folded = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> foldBatch());
+            if (batch == null || batch == 0) break;
+
+            folded += batch;
+            if (batch < foldBatchSize) break;
+        }
+        return folded;
+    }
+
+    /**
+     * Soma um lote de eventos às estatísticas diárias e remove os eventos somados.
+     *
+     * @return Quantidade de eventos somados.
+     */
+    private int foldBatch() {
+
+        List<Long> ids = new ArrayList<>();
+        Map<StatKey, StatDelta> totals = new HashMap<>();
+
+        jdbcTemplate.query(SELECT_DELTAS_SQL, rs -> {
+            ids.add(rs.getLong("id"));
+            StatKey key = new StatKey(
+                    rs.getDate("stat_date").toLocalDate(),
+                    rs.getLong("game_id"),
+                    GameGenres.valueOf(rs.getString("genre")),
+                    SubscriptionPlans.valueOf(rs.getString("plan"))
+            );
+            StatDelta delta = new StatDelta(
+                    rs.getLong("rentals_created"),
+                    rs.getLong("rentals_returned"),
+                    rs.getLong("rentals_cancelled")
+            );
+            totals.merge(key, delta, StatDelta::plus);
+        }, foldBatchSize);
+
+        if (ids.isEmpty()) return 0;
+
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((key, delta) -> rows.add(new Object[]{
+                Date.valueOf(key.date()),
+                key.gameId(),
+                key.genre().name(),
+                key.plan().name(),
+                delta.created(),
+                delta.returned(),
+                delta.cancelled()
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+
+        jdbcTemplate.batchUpdate(DELETE_DELTA_SQL, ids.stream().map(id -> new Object[]{id}).toList());
+
+        log.debug("Estatísticas de aluguéis: {} eventos somados em {} linhas", ids.size(), rows.size());
+        return ids.size();
+    }
+
+    // ******************************
+    // CONSULTAS
+    // ******************************
+
+    /**
+     * Lista os jogos mais alugados em um período.
+     *
+     * @param from  primeiro dia do período.
+     * @param to    último dia do período.
+     * @param limit quantidade máxima de jogos (limitada a 100).
+     * @return Ranking de jogos ({@link GameRankingDto}).
+     * @throws InvalidDateRangeException se a data inicial for posterior à data final.
+     */
+    @Transactional(readOnly = true)
+    public List<GameRankingDto> listTopGames(LocalDate from, LocalDate to, int limit) {
+
+        validateRange(from, to);
+
+        int size = Math.clamp(limit, 1, MAX_TOP_GAMES);
+        return statsRepository.findTopGames(from, to, PageRequest.of(0, size));
+    }
+
+    /**
+     * Lista a série temporal diária de aluguéis de um gênero.
+     *
+     * @param genre gênero dos jogos.
+     * @param from  primeiro dia do período.
+     * @param to    último dia do período.
+     * @return Totais diários ({@link DailyRentalStatsDto}).
+     * @throws InvalidDateRangeException se a data inicial for posterior à data final.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyRentalStatsDto> listDailyStatsByGenre(GameGenres genre, LocalDate from, LocalDate to) {
+
+        validateRange(from, to);
+
+        return statsRepository.findDailyStatsByGenre(genre, from, to);
+    }
+
+    // ******************************
+    // RECONSTRUÇÃO (BACKFILL)
+    // ******************************
+
+    /**
+     * Reconstrói as estatísticas a partir do histórico de aluguéis (inclusive os arquivados).
+     * <p>
+     * O período é dividido em blocos de dias processados em paralelo; cada bloco substitui,
+     * em uma única transação, as estatísticas dos seus dias. Como os eventos do dia corrente
+     * continuam sendo acumulados incrementalmente, o período deve terminar antes de hoje.
+     * </p>
+     * <p>
+     * Os eventos ainda não somados dos dias reconstruídos são descartados na mesma transação,
+     * pois já estão contabilizados nos aluguéis e seriam somados duas vezes.
+     * </p>
+     *
+     * @param from primeiro dia a reconstruir.
+     * @param to   último dia a reconstruir (anterior a hoje).
+     * @return Resumo da execução ({@link StatisticsBackfillDto}).
+     * @throws InvalidDateRangeException se o período for inválido ou incluir o dia corrente.
+     */
+    public StatisticsBackfillDto rebuildStatistics(LocalDate from, LocalDate to) {
+
+        validateRange(from, to);
+
+        if (!to.isBefore(LocalDate.now())) {
+            throw new InvalidDateRangeException("A reconstrução deve terminar antes do dia atual: " + to);
+        }
+
+        long start = System.nanoTime();
+        List<Future<?>> chunks = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(backfillThreads, backfillThreadFactory())) {
+
+            for (LocalDate chunkStart = from; !chunkStart.isAfter(to); chunkStart = chunkStart.plusDays(backfillChunkDays)) {
+
+                LocalDate chunkEnd = chunkStart.plusDays(backfillChunkDays - 1L);
+                LocalDate first = chunkStart;
+                LocalDate last = chunkEnd.isAfter(to) ? to : chunkEnd;
+
+                chunks.add(executor.submit(() -> rebuildChunk(first, last)));
+            }
+
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução das estatísticas interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na reconstrução das estatísticas", e.getCause());
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Estatísticas de aluguéis reconstruídas de {} a {} ({} blocos, {} ms)", from, to, chunks.size(), elapsedMs);
+
+        return new StatisticsBackfillDto(from, to, chunks.size(), elapsedMs);
+    }
+
+    /**
+     * Reconstrói as estatísticas de um bloco de dias em uma única transação.
+     *
+     * @param from primeiro dia do bloco.
+     * @param to   último dia do bloco.
+     */
+    private void rebuildChunk(LocalDate from, LocalDate to) {
+
+        Date first = Date.valueOf(from);
+        Date last = Date.valueOf(to);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_DELTAS_RANGE_SQL, first, last);
+            jdbcTemplate.update(DELETE_RANGE_SQL, first, last);
+            jdbcTemplate.update(REBUILD_CREATED_SQL, first, last);
+            jdbcTemplate.update(REBUILD_CLOSED_SQL, first, last);
+        });
+    }
+
+    /**
+     * Fábrica das threads da reconstrução: virtuais no modo de threads virtuais. O paralelismo continua
+     * limitado a {@code backfillThreads} blocos simultâneos, para não saturar o banco.
+     */
+    private ThreadFactory backfillThreadFactory() {
+
+        return virtualThreads
+                ? Thread.ofVirtual().name("statistics-backfill-", 0).factory()
+                : Thread.ofPlatform().name("statistics-backfill-", 0).factory();
+    }
+
+    /**
+     * Valida um período de consulta.
+     *
+     * @param from primeiro dia do período.
+     * @param to   último dia do período.
+     * @throws InvalidDateRangeException se a data inicial for posterior à data final.
+     */
+    private void validateRange(LocalDate from, LocalDate to) {
+
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException("Data inicial (" + from + ") posterior à data final (" + to + ")");
+        }
+    }
+
+    /** Chave de agregação dos eventos de um lote (linha de {@code tb_rental_daily_stats}). */
+    private record StatKey(LocalDate date, Long gameId, GameGenres genre, SubscriptionPlans plan) {}
+
+    /** Incremento dos contadores de aluguéis criados, devolvidos e cancelados. */
+    private record StatDelta(long created, long returned, long cancelled) {
+
+        StatDelta plus(StatDelta other) {
+            return new StatDelta(created + other.created, returned + other.returned, cancelled + other.cancelled);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.dto.UserBulkFailureDto;
+import dev.viniciussr.gamerental.dto.UserBulkResultDto;
+import dev.viniciussr.gamerental.dto.UserRegisterDto;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.exception.user.BulkImportTooLargeException;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Serviço responsável pelo cadastro de usuários em lote (importação de contas de lojas parceiras).
+ * <p>
+ * Cada linha é validada individualmente; e-mails repetidos no lote ou já cadastrados são rejeitados
+ * antes de qualquer criptografia. As senhas são criptografadas em paralelo em um {@link ForkJoinPool}
+ * dimensionado pelos núcleos disponíveis e os usuários são inseridos em lotes via JDBC.
+ * As linhas rejeitadas são informadas no resultado, sem interromper as demais.
+ * </p>
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO tb_user (name, name_normalized, email, email_normalized, password, role, plan, active_rentals, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0)
+            """;
+
+    /** Quantidade máxima de e-mails por consulta de existência. */
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final UserSearchIndex userSearchIndex;
+    private final EmailBloomFilter emailFilter;
+    private final ChangeLog changeLog;
+
+    private final int batchSize;
+    private final int maxRows;
+
+    /** Pool dedicado à criptografia das senhas, para não disputar o pool comum da JVM. */
+    private final ForkJoinPool hashingPool;
+
+    public UserProvisioningService(
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            Validator validator,
+            UserSearchIndex userSearchIndex,
+            EmailBloomFilter emailFilter,
+            ChangeLog changeLog,
+            @Value("${user.bulk.batch-size:500}") int batchSize,
+            @Value("${user.bulk.max-rows:50000}") int maxRows,
+            @Value("${user.bulk.parallelism:0}") int parallelism
+    ) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.userSearchIndex = userSearchIndex;
+        this.emailFilter = emailFilter;
+        this.changeLog = changeLog;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.hashingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Cadastra usuários em lote.
+     * <p>
+     * Usuários são criados com senha criptografada, role 'USER' e sem aluguéis ativos.
+     * </p>
+     *
+     * @param dtos lista de usuários a serem cadastrados.
+     * @return Resumo do cadastro, com as linhas rejeitadas ({@link UserBulkResultDto}).
+     * @throws BulkImportTooLargeException se o lote exceder a quantidade máxima de linhas.
+     */
+    public UserBulkResultDto createUsers(List<UserRegisterDto> dtos) {
+
+        if (dtos.size() > maxRows) {
+            throw new BulkImportTooLargeException(dtos.size(), maxRows);
+        }
+
+        long start = System.nanoTime();
+        List<UserBulkFailureDto> failures = new ArrayList<>();
+
+        // 1. Validação e deduplicação dos e-mails em memória
+        List<Integer> accepted = new ArrayList<>();
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            UserRegisterDto dto = dtos.get(i);
+
+            String violations = validate(dto);
+            if (violations != null) {
+                failures.add(new UserBulkFailureDto(i, dto != null ? dto.email() : null, violations));
+                continue;
+            }
+
+            Integer firstRow = firstRowByEmail.putIfAbsent(dto.email().toLowerCase(Locale.ROOT), i);
+            if (firstRow != null) {
+                failures.add(new UserBulkFailureDto(i, dto.email(), "E-mail repetido no lote (linha " + firstRow + ")"));
+                continue;
+            }
+            accepted.add(i);
+        }
+
+        // 2. E-mails já cadastrados (consulta em blocos, antes de criptografar)
+        Set<String> existing = findExistingEmails(accepted.stream().map(i -> dtos.get(i).email()).toList());
+        accepted.removeIf(i -> {
+            if (!existing.contains(dtos.get(i).email().toLowerCase(Locale.ROOT))) return false;
+            failures.add(new UserBulkFailureDto(i, dtos.get(i).email(), "Usuário já cadastrado"));
+            return true;
+        });
+
+        // 3. Criptografia das senhas em paralelo
+        String[] hashes = hashPasswords(accepted.stream().map(i -> dtos.get(i).password()).toList());
+
+        // 4. Inserção em lotes
+        int created = 0;
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, accepted.size());
+            created += insertBatch(dtos, accepted.subList(from, to), hashes, from, failures);
+        }
+
+        if (created > 0) {
+            userSearchIndex.rebuild(); // Inclui os novos usuários no índice de busca
+            emailFilter.rebuild(); // Inclui os novos e-mails no filtro de e-mails cadastrados
+            userRepository.invalidateCachedQueries(); // Listagens por plano e por role em cache passam a incluí-los
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        failures.sort(Comparator.comparingInt(UserBulkFailureDto::index));
+
+        log.info("Cadastro em lote: {} de {} usuários cadastrados em {} ms ({} threads de criptografia)",
+                created, dtos.size(), elapsedMs, hashingPool.getParallelism());
+
+        return new UserBulkResultDto(dtos.size(), created, failures, elapsedMs);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Valida uma linha com as restrições de {@link UserRegisterDto}.
+     *
+     * @return Mensagem com as violações, ou {@code null} se a linha for válida.
+     */
+    private String validate(UserRegisterDto dto) {
+
+        if (dto == null) return "Linha vazia";
+
+        Set<ConstraintViolation<UserRegisterDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) return null;
+
+        return violations.stream()
+                .map(violation -> "[" + violation.getPropertyPath() + "] : " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Set<String> findExistingEmails(List<String> emails) {
+
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, emails.size()));
+            userRepository.findExistingEmails(chunk).forEach(email -> existing.add(email.toLowerCase(Locale.ROOT)));
+        }
+        return existing;
+    }
+
+    /**
+     * Criptografa as senhas em paralelo no pool dedicado.
+     *
+     * @return Hashes na mesma ordem das senhas informadas.
+     */
+    private String[] hashPasswords(List<String> passwords) {
+
+        String[] hashes = new String[passwords.size()];
+
+        hashingPool.submit(() -> IntStream.range(0, passwords.size())
+                .parallel()
+                .forEach(i -> hashes[i] = passwordEncoder.encode(passwords.get(i)))
+        ).join();
+
+        return hashes;
+    }
+
+    /**
+     * Insere um lote de usuários em uma única transação. Em caso de falha, insere as linhas
+     * individualmente para identificar as rejeitadas. Os usuários inseridos são registrados no feed de alterações.
+     *
+     * @param rows       índices (na requisição) das linhas do lote.
+     * @param hashOffset posição do primeiro hash do lote.
+     * @return Quantidade de usuários inseridos.
+     */
+    private int insertBatch(
+            List<UserRegisterDto> dtos,
+            List<Integer> rows,
+            String[] hashes,
+            int hashOffset,
+            List<UserBulkFailureDto> failures
+    ) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (int j = 0; j < rows.size(); j++) {
+            args.add(toInsertArgs(dtos.get(rows.get(j)), hashes[hashOffset + j]));
+        }
+
+        List<String> emails = rows.stream().map(row -> dtos.get(row).email()).toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, args);
+                changeLog.changed(ChangeEntity.USER, userRepository.findIdsByEmails(emails));
+            });
+            return rows.size();
+        } catch (DataAccessException e) {
+            log.debug("Falha no lote de cadastro de usuários; inserindo individualmente: {}", e.getMessage());
+        }
+
+        List<String> inserted = new ArrayList<>();
+        for (int j = 0; j < rows.size(); j++) {
+            UserRegisterDto dto = dtos.get(rows.get(j));
+            try {
+                jdbcTemplate.update(INSERT_USER_SQL, args.get(j));
+                inserted.add(dto.email());
+            } catch (DuplicateKeyException e) {
+                failures.add(new UserBulkFailureDto(rows.get(j), dto.email(), "Usuário já cadastrado"));
+            } catch (DataAccessException e) {
+                failures.add(new UserBulkFailureDto(rows.get(j), dto.email(), "Falha ao gravar usuário"));
+            }
+        }
+
+        if (!inserted.isEmpty()) changeLog.changed(ChangeEntity.USER, userRepository.findIdsByEmails(inserted));
+        return inserted.size();
+    }
+
+    private Object[] toInsertArgs(UserRegisterDto dto, String passwordHash) {
+
+        return new Object[]{
+                dto.name(),
+                User.normalizeForSearch(dto.name()),
+                dto.email(),
+                User.normalizeForSearch(dto.email()),
+                passwordHash,
+                UserRole.USER.name(), // Role padrão 'USER'
+                dto.plan().name()
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória de trigramas sobre nome e e-mail dos usuários, para buscas por trecho
+ * ({@code contains}) sem varredura completa de {@code tb_user}.
+ * <p>
+ * Os textos são normalizados com {@link User#normalizeForSearch(String)}. Consultas com três ou mais
+ * caracteres intersectam as listas de IDs de cada trigrama; consultas menores percorrem os textos em memória.
+ * Os candidatos são sempre conferidos contra o texto completo, portanto não há falsos positivos.
+ * </p>
+ * <p>
+ * Mantido em sincronia pelo {@link UserService}, com as inclusões e remoções feitas em uma transação aplicadas
+ * somente após o commit (uma transação desfeita não altera o índice), e reconstruído periodicamente a partir do
+ * banco (alterações feitas por outras instâncias da aplicação).
+ * </p>
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int GRAM = 3;
+
+    private final UserRepository userRepository;
+
+    private volatile Field names = new Field();
+    private volatile Field emails = new Field();
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Constrói o índice a partir dos usuários cadastrados.
+     */
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${user.search.rebuild-interval-ms:300000}",
+            fixedDelayString = "${user.search.rebuild-interval-ms:300000}"
+    )
+    public synchronized void rebuild() {
+
+        Field newNames = new Field();
+        Field newEmails = new Field();
+
+        List<UserRepository.SearchEntry> entries = userRepository.findSearchEntries();
+        for (UserRepository.SearchEntry entry : entries) {
+            newNames.put(entry.getIdUser(), User.normalizeForSearch(entry.getName()));
+            newEmails.put(entry.getIdUser(), User.normalizeForSearch(entry.getEmail()));
+        }
+
+        names = newNames;
+        emails = newEmails;
+
+        log.debug("Índice de busca de usuários reconstruído: {} usuários", entries.size());
+    }
+
+    /**
+     * Inclui ou atualiza um usuário no índice, após o commit da transação corrente
+     * (ou imediatamente, fora de transação).
+     *
+     * @param user usuário gravado.
+     */
+    public void index(User user) {
+
+        Long idUser = user.getIdUser();
+        String name = User.normalizeForSearch(user.getName());
+        String email = User.normalizeForSearch(user.getEmail());
+
+        afterCommit(() -> indexNow(idUser, name, email));
+    }
+
+    /**
+     * Remove um usuário do índice, após o commit da transação corrente (ou imediatamente, fora de transação).
+     *
+     * @param idUser ID do usuário removido.
+     */
+    public void remove(Long idUser) {
+        afterCommit(() -> removeNow(idUser));
+    }
+
+    /**
+     * Busca usuários cujo nome contenha o trecho informado (ignora maiúsculas/minúsculas e acentos).
+     *
+     * @param query trecho do nome.
+     * @return IDs dos usuários encontrados, em ordem crescente.
+     */
+    public List<Long> searchByName(String query) {
+        return names.search(User.normalizeForSearch(query));
+    }
+
+    /**
+     * Busca usuários cujo e-mail contenha o trecho informado (ignora maiúsculas/minúsculas e acentos).
+     *
+     * @param query trecho do e-mail.
+     * @return IDs dos usuários encontrados, em ordem crescente.
+     */
+    public List<Long> searchByEmail(String query) {
+        return emails.search(User.normalizeForSearch(query));
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private synchronized void indexNow(Long idUser, String name, String email) {
+
+        names.put(idUser, name);
+        emails.put(idUser, email);
+    }
+
+    private synchronized void removeNow(Long idUser) {
+
+        names.remove(idUser);
+        emails.remove(idUser);
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente (ou imediatamente, fora de transação).
+     */
+    private static void afterCommit(Runnable action) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Índice de um campo: texto normalizado por ID e IDs por trigrama.
+     */
+    private static final class Field {
+
+        private final Map<Long, String> values = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        synchronized void put(Long id, String value) {
+
+            remove(id);
+            if (value == null) return;
+
+            values.put(id, value);
+            for (String gram : grams(value)) {
+                postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        synchronized void remove(Long id) {
+
+            String previous = values.remove(id);
+            if (previous == null) return;
+
+            for (String gram : grams(previous)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) continue;
+                ids.remove(id);
+                if (ids.isEmpty()) postings.remove(gram);
+            }
+        }
+
+        List<Long> search(String query) {
+
+            if (query == null) return List.of();
+            if (query.isEmpty()) return new ArrayList<>(new TreeSet<>(values.keySet())); // Todo texto contém o vazio
+
+            Set<Long> result = new TreeSet<>();
+
+            if (query.length() < GRAM) {
+                // Consulta curta: sem trigramas, percorre os textos em memória
+                values.forEach((id, value) -> {
+                    if (value.contains(query)) result.add(id);
+                });
+                return new ArrayList<>(result);
+            }
+
+            // Intersecção a partir da menor lista de IDs
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) return List.of();
+                lists.add(ids);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            for (Long id : lists.getFirst()) {
+                if (!containsInAll(lists, id)) continue;
+
+                String value = values.get(id);
+                if (value != null && value.contains(query)) result.add(id); // Confere o texto completo
+            }
+            return new ArrayList<>(result);
+        }
+
+        private static boolean containsInAll(List<Set<Long>> lists, Long id) {
+
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) return false;
+            }
+            return true;
+        }
+
+        private static Set<String> grams(String value) {
+
+            if (value.length() < GRAM) return Collections.emptySet();
+
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                grams.add(value.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+    }
+}
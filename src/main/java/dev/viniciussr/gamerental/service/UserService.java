@@ -3,46 +3,85 @@ package dev.viniciussr.gamerental.service;
 import dev.viniciussr.gamerental.dto.UserDto;
 import dev.viniciussr.gamerental.dto.UserRegisterDto;
 import dev.viniciussr.gamerental.dto.UserUpdateDto;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
 import dev.viniciussr.gamerental.enums.SubscriptionPlans;
 import dev.viniciussr.gamerental.enums.UserRole;
 import dev.viniciussr.gamerental.exception.rental.PlanLimitExceededException;
+import dev.viniciussr.gamerental.exception.user.UserAlreadyExistsException;
 import dev.viniciussr.gamerental.exception.user.UserNotFoundException;
 import dev.viniciussr.gamerental.model.User;
 import dev.viniciussr.gamerental.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Serviço responsável por gerenciar operações relacionadas aos usuários da aplicação.
  * <p>
  * Inclui criação, atualização, exclusão, busca e regras de negócio.
  * </p>
+ * <p>
+ * Implementa {@link UserDetailsPasswordService} para que o Spring Security recrie, após um login bem-sucedido,
+ * hashes de senha gerados com parâmetros diferentes dos atuais (ex.: custo BCrypt recalibrado).
+ * </p>
  */
 @Service
-public class UserService implements UserDetailsService {
+@Timed("service.method")
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final UserSearchIndex userSearchIndex;
+    private final EmailBloomFilter emailFilter;
+    private final ChangeLog changeLog;
+
+    private final Counter rehashCounter;
+
+    public UserService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            UserSearchIndex userSearchIndex,
+            EmailBloomFilter emailFilter,
+            ChangeLog changeLog,
+            MeterRegistry meterRegistry
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userSearchIndex = userSearchIndex;
+        this.emailFilter = emailFilter;
+        this.changeLog = changeLog;
+
+        this.rehashCounter = Counter.builder("password.rehash")
+                .description("Hashes de senha recriados após login")
+                .register(meterRegistry);
     }
 
     /**
      * Cria um novo usuário no sistema.
      * Usuário é criado por padrão com senha criptografada, role 'USER' e sem aluguéis ativos.
+     * O e-mail é verificado antes da criptografia da senha.
      *
      * @param dto objeto com os dados do usuário a ser criado.
      * @return DTO do usuário criado ({@link UserDto}).
+     * @throws UserAlreadyExistsException se o e-mail já estiver cadastrado.
      */
+    @Transactional
     public UserDto createUser(UserRegisterDto dto) {
 
+        validateEmailIsAvailable(dto.email()); // Falha rápido, sem criptografar a senha
+
         // Criptografa a senha
         String encryptedPassword = passwordEncoder.encode(dto.password());
 
@@ -54,7 +93,13 @@ public class UserService implements UserDetailsService {
                 dto.plan(),
                 0 // Zero aluguéis ativos
         );
-        return new UserDto(userRepository.save(user));
+
+        User savedUser = saveWithUniqueEmail(user);
+        userSearchIndex.index(savedUser); // Inclui o usuário no índice de busca (após o commit)
+        emailFilter.add(savedUser.getEmail()); // Inclui o e-mail no filtro de e-mails cadastrados (após o commit)
+        changeLog.changed(ChangeEntity.USER, savedUser.getIdUser());
+
+        return new UserDto(savedUser);
     }
 
     /**
@@ -66,20 +111,36 @@ public class UserService implements UserDetailsService {
      * @param id  ID do usuário a ser atualizado.
      * @param dto DTO com os dados de atualização.
      * @return DTO do usuário atualizado ({@link UserDto}).
-     * @throws UserNotFoundException se o usuário não for encontrado.
+     * @throws UserNotFoundException      se o usuário não for encontrado.
+     * @throws UserAlreadyExistsException se o novo e-mail já estiver cadastrado.
      */
+    @Transactional
     public UserDto updateUser(Long id, UserUpdateDto dto) {
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado no id: " + id));
 
+        String previousEmail = user.getEmail();
+        boolean emailChanged = dto.email() != null && !dto.email().equalsIgnoreCase(previousEmail);
+
+        if (emailChanged) validateEmailIsAvailable(dto.email());
+
         if (dto.name()     != null) user.setName(dto.name());
         if (dto.email()    != null) user.setEmail(dto.email());
         if (dto.password() != null) user.setPassword(passwordEncoder.encode(dto.password()));
         if (dto.role()     != null) user.setRole(dto.role());
         if (dto.plan()     != null) user.setPlan(dto.plan());
 
-        return new UserDto(userRepository.save(user));
+        User savedUser = saveWithUniqueEmail(user); // Grava antes de atualizar as estruturas em memória
+        userSearchIndex.index(savedUser); // Atualiza o usuário no índice de busca (após o commit)
+
+        if (emailChanged) {
+            emailFilter.remove(previousEmail); // Atualiza o filtro de e-mails cadastrados (após o commit)
+            emailFilter.add(savedUser.getEmail());
+        }
+
+        changeLog.changed(ChangeEntity.USER, savedUser.getIdUser());
+        return new UserDto(savedUser);
     }
 
     /**
@@ -88,12 +149,17 @@ public class UserService implements UserDetailsService {
      * @param id ID do usuário a ser deletado.
      * @throws UserNotFoundException se o usuário não for encontrado.
      */
+    @Transactional
     public void deleteUser(Long id) {
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado no id: " + id));
 
         userRepository.delete(user);
+        userRepository.flush(); // Remove antes de atualizar as estruturas em memória
+        userSearchIndex.remove(id); // Remove o usuário do índice de busca (após o commit)
+        emailFilter.remove(user.getEmail()); // Remove o e-mail do filtro de e-mails cadastrados (após o commit)
+        changeLog.deleted(ChangeEntity.USER, id);
     }
 
     // ******************************
@@ -107,6 +173,7 @@ public class UserService implements UserDetailsService {
      * @return DTO do usuário encontrado pelo ID ({@link UserDto}).
      * @throws UserNotFoundException se o usuário não for encontrado.
      */
+    @Transactional(readOnly = true)
     public UserDto findUserById(Long id) {
 
         return userRepository.findById(id)
@@ -121,6 +188,7 @@ public class UserService implements UserDetailsService {
      * @return Lista de todos os usuários {@link UserDto}.
      * @throws UserNotFoundException se não houver usuários cadastrados.
      */
+    @Transactional(readOnly = true)
     public List<UserDto> listUsers() {
 
         List<UserDto> users = userRepository.findAll()
@@ -135,18 +203,23 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Lista usuários cujo nome contenha a String informada
-     * (ignora maiúsculas/minúsculas).
+     * Lista usuários cujo nome contenha a String informada (ignora maiúsculas/minúsculas).
+     * <p>
+     * Os IDs candidatos são obtidos do índice de trigramas em memória ({@link UserSearchIndex}), que também
+     * ignora acentos, seguidos de uma busca por chave primária; o nome atual de cada candidato é conferido com
+     * a mesma comparação da consulta {@code LIKE} anterior ao índice, mantendo os mesmos resultados.
+     * </p>
      *
      * @param name nome parcial ou completo do usuário.
      * @return Lista de usuários com o nome informado ({@link UserDto}).
      * @throws UserNotFoundException se nenhum usuário for encontrado.
      */
+    @Transactional(readOnly = true)
     public List<UserDto> listUsersByName(String name) {
 
-        List<UserDto> users = userRepository
-                .findByNameContainingIgnoreCase(name) // Busca ocorrências parciais e ignora maiúsculas/minúsculas
+        List<UserDto> users = findAllByIdInOrder(userSearchIndex.searchByName(name)) // Busca ocorrências parciais
                 .stream()
+                .filter(user -> containsIgnoreCase(user.getName(), name)) // Confere o valor atual
                 .map(UserDto::new)
                 .toList();
         if (users.isEmpty()) {
@@ -156,17 +229,23 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Lista todos os usuários pelo endereço de e-mail.
+     * Lista todos os usuários cujo e-mail contenha a String informada (ignora maiúsculas/minúsculas).
+     * <p>
+     * Os IDs candidatos são obtidos do índice de trigramas em memória ({@link UserSearchIndex}),
+     * seguidos de uma busca por chave primária e da conferência do e-mail atual, como em
+     * {@link #listUsersByName(String)}.
+     * </p>
      *
      * @param email endereço de e-mail do usuário.
      * @return Lista de usuários pelo e-mail informado ({@link UserDto}).
      * @throws UserNotFoundException se nenhum usuário for encontrado.
      */
+    @Transactional(readOnly = true)
     public List<UserDto> listUsersByEmail(String email) {
 
-        List<UserDto> users = userRepository
-                .findByEmailContainingIgnoreCase(email)
+        List<UserDto> users = findAllByIdInOrder(userSearchIndex.searchByEmail(email))
                 .stream()
+                .filter(user -> containsIgnoreCase(user.getEmail(), email)) // Confere o valor atual
                 .map(UserDto::new)
                 .toList();
         if (users.isEmpty()) {
@@ -175,6 +254,50 @@ public class UserService implements UserDetailsService {
         return users;
     }
 
+    /**
+     * Lista usuários cujo nome comece com o prefixo informado
+     * (ignora maiúsculas/minúsculas e acentos), por meio do índice da coluna normalizada.
+     *
+     * @param prefix início do nome do usuário.
+     * @return Lista de usuários com o prefixo de nome informado ({@link UserDto}).
+     * @throws UserNotFoundException se nenhum usuário for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDto> listUsersByNamePrefix(String prefix) {
+
+        List<UserDto> users = userRepository
+                .findByNameNormalizedStartingWithOrderByIdUser(User.normalizeForSearch(prefix))
+                .stream()
+                .map(UserDto::new)
+                .toList();
+        if (users.isEmpty()) {
+            throw new UserNotFoundException("Nenhum Usuário encontrado com o Nome iniciado por: " + prefix);
+        }
+        return users;
+    }
+
+    /**
+     * Lista usuários cujo e-mail comece com o prefixo informado
+     * (ignora maiúsculas/minúsculas e acentos), por meio do índice da coluna normalizada.
+     *
+     * @param prefix início do e-mail do usuário.
+     * @return Lista de usuários com o prefixo de e-mail informado ({@link UserDto}).
+     * @throws UserNotFoundException se nenhum usuário for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDto> listUsersByEmailPrefix(String prefix) {
+
+        List<UserDto> users = userRepository
+                .findByEmailNormalizedStartingWithOrderByIdUser(User.normalizeForSearch(prefix))
+                .stream()
+                .map(UserDto::new)
+                .toList();
+        if (users.isEmpty()) {
+            throw new UserNotFoundException("Nenhum Usuário encontrado com o Email iniciado por: " + prefix);
+        }
+        return users;
+    }
+
     /**
      * Lista todos os usuários pela role fornecida.
      *
@@ -182,6 +305,7 @@ public class UserService implements UserDetailsService {
      * @return Lista de usuários pela role informado ({@link UserDto}).
      * @throws UserNotFoundException se nenhum usuário for encontrado.
      */
+    @Transactional(readOnly = true)
     public List<UserDto> listUsersByRole(UserRole role) {
 
         List<UserDto> users = userRepository.findByRole(role)
@@ -201,6 +325,7 @@ public class UserService implements UserDetailsService {
      * @return Lista de usuários pelo plano informado ({@link UserDto}).
      * @throws UserNotFoundException se nenhum usuário for encontrado.
      */
+    @Transactional(readOnly = true)
     public List<UserDto> listUsersByPlan(SubscriptionPlans plan) {
 
         List<UserDto> users = userRepository.findByPlan(plan)
@@ -218,40 +343,100 @@ public class UserService implements UserDetailsService {
     // ******************************
 
     /**
-     * Valida se o usuário atingiu o limite de aluguéis ativos permitido pelo seu plano.
+     * Verifica se o e-mail está disponível para cadastro.
+     * <p>
+     * Consulta primeiro o filtro de e-mails cadastrados ({@link EmailBloomFilter}): uma resposta negativa
+     * dispensa o acesso ao banco; uma positiva é confirmada por consulta indexada. Um e-mail ainda ausente
+     * do filtro (ex.: cadastrado por outra instância desde a última reconstrução) é recusado na gravação
+     * ({@link #saveWithUniqueEmail(User)}).
+     * </p>
      *
-     * @param user usuário a ser verificado.
-     * @throws PlanLimitExceededException se o limite do plano for excedido.
+     * @param email e-mail a ser verificado.
+     * @throws UserAlreadyExistsException se o e-mail já estiver cadastrado.
      */
-    void validateUserRentalLimit(User user) {
+    void validateEmailIsAvailable(String email) {
 
-        int maxRentals = switch (user.getPlan()) { // Busca o plano do usuário
-            case NOOB -> 1;   // Permite 1 (um) aluguel por vez
-            case PRO -> 3;    // Permite 3 (três) aluguéis por vez
-            case LEGEND -> 5; // Permite 5 (cinco) aluguéis por vez
-        };
+        if (!emailFilter.mightContain(email)) return; // Certamente não cadastrado
 
-        // Verifica se nº de aluguéis ativos é maior ou iguail ao limite
-        if (user.getActiveRentals() >= maxRentals) {
-            throw new PlanLimitExceededException(user);
+        if (userRepository.existsByEmail(email)) {
+            throw new UserAlreadyExistsException(email);
         }
     }
 
     /**
-     * Atualiza o contador de aluguéis ativos do usuário.
+     * Reserva uma vaga de aluguel ativo para o usuário, respeitando o limite do seu plano.
      * <p>
-     * Utilizado tanto para incrementar quanto para decrementar o número de aluguéis ativos.
+     * O limite é obtido de {@link SubscriptionPlans#getMaxActiveRentals()} para o plano gravado no banco,
+     * e não o do usuário informado (lido antes, possivelmente do cache), e a verificação ocorre junto com
+     * o incremento, em um único {@code UPDATE} condicional no banco.
      * </p>
      *
-     * @param user usuário a ser atualizado.
-     * @param x    Valor a ser adicionado (1 para novo aluguel, -1 para devolução)
+     * @param user usuário que está realizando o aluguel.
+     * @throws PlanLimitExceededException se o limite do plano já foi atingido.
      */
-    void updateUserActiveRentalsCount(User user, int x) {
+    void reserveRentalSlot(User user) {
 
-        // Novo aluguel (x = 1); Devolução (x = -1)
-        user.setActiveRentals(user.getActiveRentals() + x);
+        int updated = userRepository.incrementActiveRentals(user.getIdUser());
 
-        userRepository.save(user);
+        // Nenhum registro atualizado: nº de aluguéis ativos já é igual ao limite do plano
+        if (updated == 0) {
+            throw new PlanLimitExceededException(user);
+        }
+        changeLog.changed(ChangeEntity.USER, user.getIdUser());
+    }
+
+    /**
+     * Libera uma vaga de aluguel ativo do usuário (devolução ou cancelamento).
+     *
+     * @param user usuário que encerrou o aluguel.
+     */
+    void releaseRentalSlot(User user) {
+
+        userRepository.decrementActiveRentals(user.getIdUser());
+        changeLog.changed(ChangeEntity.USER, user.getIdUser());
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Grava o usuário imediatamente, convertendo a violação da restrição UNIQUE de {@code tb_user.email}
+     * (única restrição de unicidade da tabela) em {@link UserAlreadyExistsException}.
+     *
+     * @param user usuário a ser gravado.
+     * @return Usuário gravado.
+     * @throws UserAlreadyExistsException se o e-mail já estiver cadastrado.
+     */
+    private User saveWithUniqueEmail(User user) {
+
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new UserAlreadyExistsException(user.getEmail());
+        }
+    }
+
+    /**
+     * Verifica se o texto contém o trecho, ignorando maiúsculas/minúsculas, como a consulta anterior ao índice
+     * de busca ({@code UPPER(texto) LIKE UPPER('%trecho%')}, com os curingas do trecho escapados).
+     */
+    private static boolean containsIgnoreCase(String value, String part) {
+        return value != null && value.toUpperCase(Locale.ROOT).contains(part.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Busca usuários pelos IDs (chave primária), preservando a ordem dos IDs informados.
+     *
+     * @param ids IDs dos usuários, em ordem crescente.
+     * @return Lista de usuários encontrados.
+     */
+    private List<User> findAllByIdInOrder(List<Long> ids) {
+
+        if (ids.isEmpty()) return List.of();
+
+        return userRepository.findAllById(ids)
+                .stream()
+                .sorted(Comparator.comparing(User::getIdUser))
+                .toList();
     }
 
     // ******************************
@@ -270,4 +455,28 @@ public class UserService implements UserDetailsService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Grava o novo hash da senha de um usuário autenticado (atualização transparente do hash).
+     * <p>
+     * Chamado pelo Spring Security após um login bem-sucedido quando
+     * {@link PasswordEncoder#upgradeEncoding(String)} indica que o hash atual está desatualizado.
+     * </p>
+     *
+     * @param user        usuário autenticado.
+     * @param newPassword novo hash da senha.
+     * @return Usuário com o novo hash da senha.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        User authenticated = (User) user;
+
+        int updated = userRepository.updatePasswordHash(authenticated.getIdUser(), authenticated.getPassword(), newPassword);
+        if (updated == 1) {
+            authenticated.setPassword(newPassword);
+            rehashCounter.increment();
+        }
+        return authenticated;
+    }
+}
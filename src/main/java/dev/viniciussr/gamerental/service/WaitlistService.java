@@ -0,0 +1,334 @@
+package dev.viniciussr.gamerental.service;
+
+import dev.viniciussr.gamerental.dto.WaitlistDto;
+import dev.viniciussr.gamerental.enums.WaitlistStatus;
+import dev.viniciussr.gamerental.exception.game.GameNotFoundException;
+import dev.viniciussr.gamerental.exception.user.UserNotFoundException;
+import dev.viniciussr.gamerental.exception.waitlist.AlreadyOnWaitlistException;
+import dev.viniciussr.gamerental.exception.waitlist.GameIsAvailableException;
+import dev.viniciussr.gamerental.exception.waitlist.WaitlistEntryNotFoundException;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.model.WaitlistEntry;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.repository.WaitlistEntryRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Serviço responsável pela fila de espera (FIFO) de jogos indisponíveis.
+ * <p>
+ * Quando uma devolução ou cancelamento libera uma cópia, o primeiro da fila recebe uma reserva
+ * com prazo ({@link WaitlistStatus#HOLDING}) em vez de a cópia voltar ao estoque; o aluguel
+ * criado pelo usuário dentro do prazo consome a reserva. Reservas expiradas passam ao próximo da fila.
+ * </p>
+ * <p>
+ * As filas de cada jogo são mantidas em memória (identificadores em ordem crescente) e
+ * atualizadas somente após o commit; a tabela {@code tb_waitlist} é a referência durável
+ * e a consulta ao banco só ocorre quando a fila em memória está vazia.
+ * </p>
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private static final Set<WaitlistStatus> OPEN_STATUSES = EnumSet.of(WaitlistStatus.WAITING, WaitlistStatus.HOLDING);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final GameRepository gameRepository;
+    private final UserRepository userRepository;
+
+    private final GameService gameService;
+    private final OptimisticLockRetry lockRetry;
+
+    private final Duration holdDuration;
+
+    /** Filas em memória: ID do jogo -> IDs das entradas aguardando, em ordem de chegada. */
+    private final ConcurrentHashMap<Long, ConcurrentSkipListSet<Long>> queues = new ConcurrentHashMap<>();
+
+    public WaitlistService(
+            WaitlistEntryRepository waitlistEntryRepository,
+            GameRepository gameRepository,
+            UserRepository userRepository,
+            GameService gameService,
+            OptimisticLockRetry lockRetry,
+            @Value("${rental.waitlist.hold-duration:2h}") Duration holdDuration
+    ) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.gameRepository = gameRepository;
+        this.userRepository = userRepository;
+        this.gameService = gameService;
+        this.lockRetry = lockRetry;
+        this.holdDuration = holdDuration;
+    }
+
+    /**
+     * Carrega em memória as filas persistidas.
+     */
+    @PostConstruct
+    void loadQueues() {
+
+        List<WaitlistEntryRepository.QueuedEntry> entries = waitlistEntryRepository.findQueuedEntries(WaitlistStatus.WAITING);
+        entries.forEach(entry -> queueOf(entry.getGameId()).add(entry.getIdWaitlist()));
+
+        log.info("Filas de espera carregadas: {} entradas em {} jogos", entries.size(), queues.size());
+    }
+
+    // ******************************
+    // OPERAÇÕES DA FILA
+    // ******************************
+
+    /**
+     * Inclui um usuário no fim da fila de espera de um jogo indisponível.
+     *
+     * @param dto objeto com os IDs do jogo e do usuário.
+     * @return DTO da entrada criada, com a posição na fila ({@link WaitlistDto}).
+     * @throws GameNotFoundException       se o jogo não for encontrado.
+     * @throws UserNotFoundException       se o usuário não for encontrado.
+     * @throws GameIsAvailableException    se o jogo tiver cópias disponíveis.
+     * @throws AlreadyOnWaitlistException  se o usuário já estiver na fila do jogo.
+     */
+    @Transactional
+    public WaitlistDto joinWaitlist(WaitlistDto dto) {
+
+        Game game = gameRepository.findById(dto.gameId())
+                .orElseThrow(() -> new GameNotFoundException("Jogo não encontrado no id: " + dto.gameId()));
+
+        User user = userRepository.findById(dto.userId())
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado no id: " + dto.userId()));
+
+        if (game.getQuantity() > 0) {
+            throw new GameIsAvailableException(game.getTitle() + " possui cópias disponíveis para aluguel.");
+        }
+
+        if (waitlistEntryRepository.existsByGame_IdGameAndUser_IdUserAndStatusIn(
+                game.getIdGame(), user.getIdUser(), OPEN_STATUSES)) {
+            throw new AlreadyOnWaitlistException("Usuário já está na fila de espera do jogo: " + game.getTitle());
+        }
+
+        WaitlistEntry entry = saveOpenEntry(new WaitlistEntry(game, user, LocalDateTime.now()));
+        afterCommit(() -> queueOf(game.getIdGame()).add(entry.getIdWaitlist()));
+
+        return new WaitlistDto(entry, queueOf(game.getIdGame()).size() + 1);
+    }
+
+    /**
+     * Remove um usuário da fila de espera.
+     * <p>
+     * Caso a entrada já tenha uma reserva, a cópia passa ao próximo da fila.
+     * </p>
+     *
+     * @param id ID da entrada na fila.
+     * @throws WaitlistEntryNotFoundException se a entrada não for encontrada ou já estiver encerrada.
+     */
+    @Transactional
+    public void leaveWaitlist(Long id) {
+
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new WaitlistEntryNotFoundException("Entrada na fila de espera não encontrada no id: " + id));
+
+        Long gameId = entry.getGame().getIdGame();
+
+        if (waitlistEntryRepository.transition(id, WaitlistStatus.WAITING, WaitlistStatus.CANCELLED) == 1) {
+            afterCommit(() -> removeFromQueue(gameId, id));
+            return;
+        }
+
+        if (waitlistEntryRepository.transition(id, WaitlistStatus.HOLDING, WaitlistStatus.CANCELLED) == 1) {
+            releaseCopy(entry.getGame()); // Passa a cópia reservada ao próximo da fila
+            return;
+        }
+
+        throw new WaitlistEntryNotFoundException("Entrada na fila de espera já encerrada. id: " + id);
+    }
+
+    /**
+     * Busca uma entrada da fila de espera pelo seu ID.
+     *
+     * @param id ID da entrada na fila.
+     * @return DTO da entrada, com a posição na fila quando aguardando ({@link WaitlistDto}).
+     * @throws WaitlistEntryNotFoundException se a entrada não for encontrada.
+     */
+    @Transactional(readOnly = true)
+    public WaitlistDto findWaitlistEntryById(Long id) {
+
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new WaitlistEntryNotFoundException("Entrada na fila de espera não encontrada no id: " + id));
+
+        return new WaitlistDto(entry, positionOf(entry));
+    }
+
+    /**
+     * Lista as entradas em aberto (aguardando ou com reserva) da fila de um jogo, em ordem de chegada.
+     *
+     * @param idGame ID do jogo.
+     * @return Lista de entradas em aberto da fila ({@link WaitlistDto}).
+     * @throws WaitlistEntryNotFoundException se a fila estiver vazia.
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistDto> listWaitlistByGameId(Long idGame) {
+
+        List<WaitlistDto> entries = waitlistEntryRepository
+                .findByGame_IdGameAndStatusInOrderByIdWaitlist(idGame, OPEN_STATUSES)
+                .stream()
+                .map(entry -> new WaitlistDto(entry, positionOf(entry)))
+                .toList();
+
+        if (entries.isEmpty()) {
+            throw new WaitlistEntryNotFoundException("Nenhum usuário na fila de espera do jogo no id: " + idGame);
+        }
+        return entries;
+    }
+
+    // ******************************
+    // LÓGICA DE NEGÓCIO
+    // ******************************
+
+    /**
+     * Libera uma cópia do jogo (devolução, cancelamento ou reserva encerrada).
+     * <p>
+     * A cópia é reservada para o primeiro da fila; sem fila, volta ao estoque.
+     * Deve ser chamado dentro da transação que libera a cópia.
+     * </p>
+     *
+     * @param game jogo cuja cópia foi liberada (entidade gerenciada pela transação).
+     */
+    void releaseCopy(Game game) {
+
+        if (!holdForNextInLine(game.getIdGame())) {
+            gameService.updateGameQuantityAndAvailability(game, 1); // Sem fila: cópia volta ao estoque
+        }
+    }
+
+    /**
+     * Consome a reserva vigente do usuário para o jogo, se houver.
+     *
+     * @param game jogo a ser alugado.
+     * @param user usuário solicitante.
+     * @return {@code true} se o aluguel utiliza uma cópia reservada na fila de espera.
+     */
+    boolean consumeHold(Game game, User user) {
+
+        return waitlistEntryRepository.fulfillHold(game.getIdGame(), user.getIdUser(), LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Tarefa agendada para encerrar as reservas expiradas, passando a cópia ao próximo da fila.
+     */
+    @Scheduled(fixedDelayString = "${rental.waitlist.expire-interval-ms:30000}")
+    public void expireHolds() {
+
+        List<WaitlistEntry> expired = waitlistEntryRepository
+                .findByStatusAndHoldExpiresAtBefore(WaitlistStatus.HOLDING, LocalDateTime.now());
+
+        for (WaitlistEntry entry : expired) {
+            lockRetry.run("expireHold", () -> {
+                if (waitlistEntryRepository.transition(
+                        entry.getIdWaitlist(), WaitlistStatus.HOLDING, WaitlistStatus.EXPIRED) == 1) {
+                    gameRepository.findById(entry.getGame().getIdGame()).ifPresent(this::releaseCopy);
+                }
+            });
+        }
+
+        if (!expired.isEmpty()) log.info("{} reservas da fila de espera expiradas", expired.size());
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Reserva a cópia liberada para o primeiro da fila que ainda estiver aguardando.
+     *
+     * @return {@code true} se alguma entrada recebeu a reserva.
+     */
+    private boolean holdForNextInLine(Long gameId) {
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(holdDuration);
+
+        ConcurrentSkipListSet<Long> queue = queues.get(gameId);
+        if (queue != null) {
+            for (Long entryId : queue) {
+                if (waitlistEntryRepository.hold(entryId, expiresAt) == 1) {
+                    afterCommit(() -> removeFromQueue(gameId, entryId));
+                    return true;
+                }
+                removeFromQueue(gameId, entryId); // Entrada já encerrada (ex.: por outra instância)
+            }
+        }
+
+        // Fila em memória vazia: verifica entradas incluídas por outras instâncias
+        return waitlistEntryRepository.findFirstByGame_IdGameAndStatusOrderByIdWaitlist(gameId, WaitlistStatus.WAITING)
+                .map(entry -> waitlistEntryRepository.hold(entry.getIdWaitlist(), expiresAt) == 1)
+                .orElse(false);
+    }
+
+    /**
+     * Grava a nova entrada em aberto da fila.
+     * <p>
+     * A verificação prévia de entrada em aberto não impede inclusões simultâneas do mesmo usuário; a restrição
+     * única de entrada em aberto por jogo e usuário ({@code uk_waitlist_open_entry}) rejeita a segunda inclusão.
+     * </p>
+     *
+     * @throws AlreadyOnWaitlistException se o usuário já tiver entrada em aberto na fila do jogo.
+     */
+    private WaitlistEntry saveOpenEntry(WaitlistEntry entry) {
+
+        try {
+            return waitlistEntryRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyOnWaitlistException("Usuário já está na fila de espera do jogo: " + entry.getGame().getTitle());
+        }
+    }
+
+    private Integer positionOf(WaitlistEntry entry) {
+
+        if (entry.getStatus() != WaitlistStatus.WAITING) return null;
+
+        ConcurrentSkipListSet<Long> queue = queues.get(entry.getGame().getIdGame());
+        return queue != null ? queue.headSet(entry.getIdWaitlist()).size() + 1 : 1;
+    }
+
+    private ConcurrentSkipListSet<Long> queueOf(Long gameId) {
+        return queues.computeIfAbsent(gameId, id -> new ConcurrentSkipListSet<>());
+    }
+
+    private void removeFromQueue(Long gameId, Long entryId) {
+
+        ConcurrentSkipListSet<Long> queue = queues.get(gameId);
+        if (queue != null) queue.remove(entryId);
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente (ou imediatamente, fora de transação).
+     */
+    private void afterCommit(Runnable action) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
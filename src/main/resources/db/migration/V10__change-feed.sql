@@ -0,0 +1,39 @@
+-- Feed de alterações (sincronização incremental): última alteração de cada jogo, usuário e aluguel
+-- A sequência é global e crescente; remoções ficam registradas como 'deleted' (tombstone)
+CREATE TABLE tb_change (
+    entity_type VARCHAR(10) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    sequence BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (entity_type, entity_id),
+    UNIQUE KEY uk_change_sequence (sequence)
+);
+
+-- Leitura do feed filtrada por tipo de registro
+CREATE INDEX idx_change_type_sequence ON tb_change (entity_type, sequence);
+
+-- Última sequência atribuída; a linha é bloqueada por cada transação até o commit (sequência na ordem dos commits)
+CREATE TABLE tb_change_sequence (
+    id TINYINT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+-- Registros existentes: incluídos no feed a partir da sequência 1 (sincronização inicial com since=0)
+INSERT INTO tb_change (entity_type, entity_id, sequence, deleted, changed_at)
+SELECT 'GAME', id_game, ROW_NUMBER() OVER (ORDER BY id_game), FALSE, CURRENT_TIMESTAMP(6)
+FROM tb_game;
+
+INSERT INTO tb_change (entity_type, entity_id, sequence, deleted, changed_at)
+SELECT 'USER', id_user, (SELECT COUNT(*) FROM tb_game) + ROW_NUMBER() OVER (ORDER BY id_user), FALSE, CURRENT_TIMESTAMP(6)
+FROM tb_user;
+
+INSERT INTO tb_change (entity_type, entity_id, sequence, deleted, changed_at)
+SELECT 'RENTAL', r.id_rental, (SELECT COUNT(*) FROM tb_change) + ROW_NUMBER() OVER (ORDER BY r.id_rental), FALSE, CURRENT_TIMESTAMP(6)
+FROM (
+    SELECT id_rental FROM tb_rental
+    UNION ALL
+    SELECT id_rental FROM tb_rental_archive
+) r;
+
+INSERT INTO tb_change_sequence (id, last_sequence) SELECT 1, COUNT(*) FROM tb_change;
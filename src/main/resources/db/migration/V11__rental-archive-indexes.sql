@@ -0,0 +1,5 @@
+-- Índices das consultas ao arquivo de aluguéis (listagens com include-archived=true)
+-- As buscas por jogo e usuário já usam os índices das chaves estrangeiras
+CREATE INDEX idx_rental_archive_status_end_date ON tb_rental_archive (status, end_date);
+CREATE INDEX idx_rental_archive_rental_date ON tb_rental_archive (rental_date);
+CREATE INDEX idx_rental_archive_end_date ON tb_rental_archive (end_date);
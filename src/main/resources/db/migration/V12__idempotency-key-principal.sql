@@ -0,0 +1,5 @@
+-- Chaves de idempotência por usuário: a mesma chave enviada por usuários diferentes identifica requisições distintas
+-- Registros anteriores ficam sem usuário (nunca reproduzidos) até expirarem
+ALTER TABLE tb_idempotency_key ADD COLUMN principal VARCHAR(100) NOT NULL DEFAULT '';
+ALTER TABLE tb_idempotency_key DROP PRIMARY KEY;
+ALTER TABLE tb_idempotency_key ADD PRIMARY KEY (principal, idempotency_key);
@@ -0,0 +1,36 @@
+-- Feed de alterações sem bloqueio global: cada alteração é uma nova linha com sequência AUTO_INCREMENT
+-- As transações não aguardam umas às outras; a leitura do feed ignora as linhas mais recentes que o tempo de
+-- acomodação (changes.feed.settle-time), cujas sequências podem ainda ser precedidas por commits em andamento
+CREATE TABLE tb_change_log (
+    sequence BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(10) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    changed_at DATETIME(6) NOT NULL
+);
+
+-- Sequências mantidas: clientes já sincronizados continuam a partir da última sequência recebida
+INSERT INTO tb_change_log (sequence, entity_type, entity_id, deleted, changed_at)
+SELECT sequence, entity_type, entity_id, deleted, changed_at FROM tb_change ORDER BY sequence;
+
+DROP TABLE tb_change;
+DROP TABLE tb_change_sequence;
+
+ALTER TABLE tb_change_log RENAME TO tb_change;
+
+-- Leitura do feed e versão (maior sequência) por tipo de registro
+CREATE INDEX idx_change_type_sequence ON tb_change (entity_type, sequence);
+
+-- Última alteração de cada registro (alterações anteriores são ignoradas na leitura e removidas na compactação)
+CREATE INDEX idx_change_entity ON tb_change (entity_type, entity_id, sequence);
+
+-- Alteração mais recente por tipo de registro (versão ainda em acomodação)
+CREATE INDEX idx_change_type_changed_at ON tb_change (entity_type, changed_at);
+
+-- Última sequência já compactada (alterações anteriores de cada registro removidas)
+CREATE TABLE tb_change_compaction (
+    id TINYINT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+INSERT INTO tb_change_compaction (id, last_sequence) SELECT 1, COALESCE(MAX(sequence), 0) FROM tb_change;
@@ -0,0 +1,15 @@
+-- Eventos de aluguel ainda não somados às estatísticas diárias, gravados na mesma transação do aluguel
+-- Somados em lote a tb_rental_daily_stats e removidos periodicamente (nenhum evento confirmado se perde em uma queda)
+CREATE TABLE tb_rental_stats_delta (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    stat_date DATE NOT NULL,
+    game_id BIGINT NOT NULL,
+    genre VARCHAR(30) NOT NULL,
+    plan ENUM('NOOB', 'PRO', 'LEGEND') NOT NULL,
+    rentals_created INT NOT NULL,
+    rentals_returned INT NOT NULL,
+    rentals_cancelled INT NOT NULL
+);
+
+-- Descarte dos eventos dos dias reconstruídos a partir do histórico
+CREATE INDEX idx_rental_stats_delta_date ON tb_rental_stats_delta (stat_date);
@@ -0,0 +1,19 @@
+-- Encerra entradas em aberto duplicadas (mesmo jogo e usuário) anteriores à restrição:
+-- mantém a reserva ou, sem reserva, a entrada mais antiga
+UPDATE tb_waitlist SET status = 'CANCELLED'
+WHERE status = 'WAITING' AND id_waitlist IN (
+    SELECT id FROM (
+        SELECT w.id_waitlist AS id
+        FROM tb_waitlist w
+        JOIN tb_waitlist o ON o.game_id = w.game_id AND o.user_id = w.user_id AND o.id_waitlist <> w.id_waitlist
+        WHERE w.status = 'WAITING'
+          AND (o.status = 'HOLDING' OR (o.status = 'WAITING' AND o.id_waitlist < w.id_waitlist))
+    ) duplicated
+);
+
+-- Marca das entradas em aberto (WAITING ou HOLDING): 1 em aberto, NULL encerrada
+ALTER TABLE tb_waitlist ADD COLUMN open_entry TINYINT
+    GENERATED ALWAYS AS (CASE WHEN status IN ('WAITING', 'HOLDING') THEN 1 END);
+
+-- No máximo uma entrada em aberto por jogo e usuário (entradas encerradas, com NULL, não se repetem na restrição)
+CREATE UNIQUE INDEX uk_waitlist_open_entry ON tb_waitlist (game_id, user_id, open_entry);
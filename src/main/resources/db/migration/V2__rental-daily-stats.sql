@@ -0,0 +1,13 @@
+-- Criação da tabela de estatísticas diárias de aluguéis (rollup por dia, jogo e plano)
+CREATE TABLE tb_rental_daily_stats (
+    stat_date DATE NOT NULL,
+    game_id BIGINT NOT NULL,
+    genre VARCHAR(30) NOT NULL,
+    plan ENUM('NOOB', 'PRO', 'LEGEND') NOT NULL,
+    rentals_created BIGINT NOT NULL DEFAULT 0,
+    rentals_returned BIGINT NOT NULL DEFAULT 0,
+    rentals_cancelled BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_date, game_id, plan)
+);
+
+CREATE INDEX idx_rental_daily_stats_genre ON tb_rental_daily_stats (genre, stat_date);
@@ -0,0 +1,15 @@
+-- Criação da tabela de arquivo de aluguéis encerrados (RETURNED e CANCELLED)
+CREATE TABLE tb_rental_archive (
+    id_rental BIGINT PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    rental_date DATE NOT NULL,
+    end_date DATE,
+    status ENUM('ACTIVE', 'RETURNED', 'LATE', 'CANCELLED') NOT NULL,
+    archived_at DATETIME NOT NULL,
+    FOREIGN KEY (game_id) REFERENCES tb_game(id_game),
+    FOREIGN KEY (user_id) REFERENCES tb_user(id_user)
+);
+
+-- Índice de apoio ao arquivamento (seleção de aluguéis encerrados por data de encerramento)
+CREATE INDEX idx_rental_status_end_date ON tb_rental (status, end_date);
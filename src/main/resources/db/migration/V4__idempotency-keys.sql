@@ -0,0 +1,11 @@
+-- Criação da tabela de chaves de idempotência (respostas de operações já executadas)
+CREATE TABLE tb_idempotency_key (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    operation VARCHAR(100) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status_code INT,
+    response_body TEXT,
+    created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_idempotency_key_created_at ON tb_idempotency_key (created_at);
@@ -0,0 +1,15 @@
+-- Criação da tabela de fila de espera por jogos indisponíveis
+CREATE TABLE tb_waitlist (
+    id_waitlist BIGINT AUTO_INCREMENT PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status ENUM('WAITING', 'HOLDING', 'FULFILLED', 'EXPIRED', 'CANCELLED') NOT NULL,
+    created_at DATETIME NOT NULL,
+    hold_expires_at DATETIME,
+    FOREIGN KEY (game_id) REFERENCES tb_game(id_game) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES tb_user(id_user) ON DELETE CASCADE
+);
+
+-- Ordem de chegada por jogo e expiração das reservas
+CREATE INDEX idx_waitlist_game_status ON tb_waitlist (game_id, status, id_waitlist);
+CREATE INDEX idx_waitlist_status_hold ON tb_waitlist (status, hold_expires_at);
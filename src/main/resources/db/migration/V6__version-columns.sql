@@ -0,0 +1,4 @@
+-- Colunas de versão para controle de concorrência otimista (@Version)
+ALTER TABLE tb_game ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_user ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_rental ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Colunas normalizadas (minúsculas, sem acentos) para busca de usuários por prefixo via índice
+ALTER TABLE tb_user ADD COLUMN name_normalized VARCHAR(100);
+ALTER TABLE tb_user ADD COLUMN email_normalized VARCHAR(50);
+
+-- Preenchimento dos registros existentes (a collation accent-insensitive cobre os acentos)
+UPDATE tb_user SET name_normalized = LOWER(name), email_normalized = LOWER(email);
+
+CREATE INDEX idx_user_name_normalized ON tb_user (name_normalized);
+CREATE INDEX idx_user_email_normalized ON tb_user (email_normalized);
@@ -0,0 +1,2 @@
+-- Amplia a coluna de senha para comportar hashes BCrypt com prefixo do algoritmo ({bcrypt}$2a$...)
+ALTER TABLE tb_user MODIFY password VARCHAR(100) NOT NULL;
@@ -0,0 +1,7 @@
+-- Batimento gravado periodicamente no primário: a defasagem de cada réplica é a idade do valor que ela enxerga
+CREATE TABLE tb_replica_heartbeat (
+    id TINYINT PRIMARY KEY,
+    beat_at DATETIME(6) NOT NULL
+);
+
+INSERT INTO tb_replica_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(6));
@@ -0,0 +1,180 @@
+package dev.viniciussr.gamerental.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.dto.GameDto;
+import dev.viniciussr.gamerental.dto.GameUpdateDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.security.jwt.JwtService;
+import dev.viniciussr.gamerental.service.CatalogResponseCache;
+import dev.viniciussr.gamerental.service.GameService;
+import dev.viniciussr.gamerental.service.RentalService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Taxa de acerto do cache das listagens do catálogo ({@link CatalogResponseCache}) com aluguéis e devoluções
+ * entre as consultas, medida pelo contador {@code catalog.response.cache}.
+ * <p>
+ * O estoque alterado pelos aluguéis não descarta as respostas: a defasagem fica limitada ao {@code max-age}
+ * (reduzido para o teste). As alterações do cadastro de jogos aparecem na consulta seguinte.
+ * </p>
+ */
+@SpringBootTest(properties = "catalog.response-cache.max-age=1s")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogResponseCacheHitRateTest {
+
+    private static final int ROUNDS = 100;
+    private static final double MIN_HIT_RATE = 0.9;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Game> games;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental_stats_delta");
+        jdbcTemplate.update("DELETE FROM tb_rental_daily_stats");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        catalogResponseCache.clear();
+
+        games = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            games.add(gameRepository.save(new Game("Jogo " + i, GameGenres.ROGUELIKE, EnumSet.of(Platforms.PC), 2, true)));
+        }
+        user = userRepository.save(new User("Jogador", "jogador@gamerental.dev", "hash", UserRole.USER, SubscriptionPlans.LEGEND, 0));
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void rentalsBetweenListingsKeepResponsesCached() throws Exception {
+
+        double hits = count("hit");
+        double misses = count("miss");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Game game = games.get(round % games.size());
+            Long rental = rentalService.createRental(new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null)).idRental();
+
+            list("/games");
+            list("/games/available");
+
+            rentalService.returnRental(rental);
+        }
+
+        double roundHits = count("hit") - hits;
+        double roundMisses = count("miss") - misses;
+        double hitRate = roundHits / (roundHits + roundMisses);
+
+        assertThat(roundHits + roundMisses).isEqualTo(2 * ROUNDS);
+        assertThat(hitRate).as("taxa de acerto (%.0f acertos, %.0f falhas)", roundHits, roundMisses)
+                .isGreaterThanOrEqualTo(MIN_HIT_RATE);
+    }
+
+    @Test
+    void inventoryIsStaleAtMostMaxAge() throws Exception {
+
+        Game game = games.getFirst();
+        list("/games");
+
+        rentalService.createRental(new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null));
+        Thread.sleep(1100);
+
+        assertThat(quantityOf(game, list("/games"))).isEqualTo(1);
+    }
+
+    @Test
+    void catalogChangeIsListedImmediately() throws Exception {
+
+        Game game = games.getFirst();
+        list("/games");
+
+        gameService.updateGame(game.getIdGame(), new GameUpdateDto("Jogo renomeado", null, null, null));
+
+        assertThat(list("/games")).extracting(GameDto::title).contains("Jogo renomeado");
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private List<GameDto> list(String path) throws Exception {
+
+        byte[] body = mockMvc.perform(get(path).header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getContentAsByteArray();
+        return List.of(objectMapper.readValue(body, GameDto[].class));
+    }
+
+    private static int quantityOf(Game game, List<GameDto> listed) {
+
+        return listed.stream().filter(dto -> dto.idGame().equals(game.getIdGame())).findFirst().orElseThrow().quantity();
+    }
+
+    private double count(String result) {
+
+        Counter counter = meterRegistry.find("catalog.response.cache").tag("result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
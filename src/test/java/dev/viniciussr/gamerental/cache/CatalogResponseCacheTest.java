@@ -0,0 +1,146 @@
+package dev.viniciussr.gamerental.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.service.CatalogResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache das respostas do catálogo: limite de respostas com descarte das expiradas e das menos usadas,
+ * substituição de respostas expiradas com o cache cheio, respostas fora do cache e ETags derivadas do conteúdo.
+ */
+class CatalogResponseCacheTest {
+
+    private static final int MAX_ENTRIES = 2;
+
+    /** Cargas do corpo das respostas (consultas ao serviço). */
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CatalogResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+
+        cache = cache(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void cachedResponseIsNotLoadedAgain() {
+
+        respond("games");
+        respond("games");
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void leastRecentlyUsedResponseIsEvictedWhenFull() {
+
+        respond("games");
+        respond("games/available");
+        respond("games"); // "games/available" passa a ser a menos usada
+        respond("games?genre=RPG");
+
+        loads.set(0);
+        respond("games");
+        respond("games?genre=RPG");
+        assertThat(loads).hasValue(0);
+
+        respond("games/available");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void expiredResponsesAreReplacedWhenFull() throws InterruptedException {
+
+        cache = cache(Duration.ofMillis(20));
+
+        respond("games");
+        respond("games/available");
+        Thread.sleep(40);
+
+        respond("games"); // Expirada: substituída mesmo com o cache cheio
+        respond("games?genre=RPG"); // Ocupa o lugar da outra resposta expirada
+
+        loads.set(0);
+        respond("games");
+        respond("games?genre=RPG");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void uncachedResponsesAreAlwaysLoaded() {
+
+        cache.respondUncached(null, null, load());
+        cache.respondUncached(null, null, load());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void etagFollowsContentAndAnswersNotModified() {
+
+        AtomicReference<Object> content = new AtomicReference<>("resposta");
+        ResponseEntity<byte[]> first = cache.respond("games", null, null, content::get);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        assertThat(cache.respond("games", null, etag, content::get).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // Mesmo conteúdo recarregado (ex.: após o descarte): mesma ETag
+        cache.clear();
+        assertThat(cache.respond("games", null, etag, content::get).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        cache.clear();
+        content.set("alterada");
+        ResponseEntity<byte[]> changed = cache.respond("games", null, etag, content::get);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void gzipResponseHasItsOwnEtag() {
+
+        cache = new CatalogResponseCache(new ObjectMapper(), new SimpleMeterRegistry(),
+                true, MAX_ENTRIES, Duration.ofMinutes(1), true, 0);
+
+        String plain = cache.respond("games", null, null, load()).getHeaders().getETag();
+        ResponseEntity<byte[]> gzip = cache.respond("games", "gzip, deflate", plain, load());
+
+        assertThat(gzip.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(gzip.getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getETag()).isNotEqualTo(plain);
+        assertThat(loads).hasValue(1);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private CatalogResponseCache cache(Duration maxAge) {
+
+        return new CatalogResponseCache(new ObjectMapper(), new SimpleMeterRegistry(),
+                true, MAX_ENTRIES, maxAge, true, 1024);
+    }
+
+    private void respond(String key) {
+
+        cache.respond(key, null, null, load());
+    }
+
+    private Supplier<Object> load() {
+
+        return () -> {
+            loads.incrementAndGet();
+            return "resposta";
+        };
+    }
+}
@@ -0,0 +1,245 @@
+package dev.viniciussr.gamerental.cache;
+
+import dev.viniciussr.gamerental.dto.GameDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.dto.UserUpdateDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.exception.game.GameIsNotAvailableException;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.service.GameService;
+import dev.viniciussr.gamerental.service.RentalService;
+import dev.viniciussr.gamerental.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache de segundo nível: leituras servidas pelo cache e consistência com as gravações
+ * (estoque dos jogos e contador de aluguéis ativos). A busca de usuários por e-mail não usa o cache.
+ * <p>
+ * As tentativas em conflitos de versão são ampliadas, para que os aluguéis simultâneos terminem
+ * todos em sucesso ou em jogo indisponível.
+ * </p>
+ */
+@SpringBootTest(properties = "optimistic-lock.retry.max-attempts=100")
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final int COPIES = 5;
+    private static final int RENTERS = 12;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental_stats_delta");
+        jdbcTemplate.update("DELETE FROM tb_rental_daily_stats");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("DELETE FROM tb_user");
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void lookupsByIdAreServedFromCache() {
+
+        Game game = gameRepository.save(newGame("Hades", 3));
+        User user = userRepository.save(newUser("maria@gamerental.dev"));
+
+        gameService.findGameById(game.getIdGame()); // Carrega jogo e plataformas no cache
+        userRepository.findById(user.getIdUser()); // Carrega o usuário no cache
+        statistics.clear();
+
+        GameDto cached = gameService.findGameById(game.getIdGame());
+        assertThat(userRepository.findById(user.getIdUser())).isPresent();
+
+        assertThat(cached.platform()).containsExactly(Platforms.PC);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.GAME).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.GAME_PLATFORMS).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.USER).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lookupByEmailBypassesCache() {
+
+        User user = userRepository.save(newUser("carla@gamerental.dev"));
+        userRepository.findById(user.getIdUser()); // Usuário no cache
+        statistics.clear();
+
+        assertThat(userRepository.findByEmail(user.getEmail())).isPresent();
+
+        // Consultado no banco, sem ler nem regravar a entrada do cache
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.USER).getHitCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.USER).getPutCount()).isZero();
+    }
+
+    @Test
+    void rentalUpdatesInventoryAndActiveRentalsInCache() {
+
+        Game game = gameRepository.save(newGame("Celeste", 1));
+        User user = userRepository.save(newUser("joao@gamerental.dev"));
+
+        // Jogo e usuário no cache antes do aluguel
+        gameRepository.findById(game.getIdGame());
+        userRepository.findById(user.getIdUser());
+
+        RentalDto rental = rentalService.createRental(new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null));
+
+        assertThat(gameRepository.findById(game.getIdGame()).orElseThrow())
+                .extracting(Game::getQuantity, Game::isAvailable)
+                .containsExactly(0, false);
+        assertThat(userRepository.findById(user.getIdUser()).orElseThrow().getActiveRentals()).isEqualTo(1);
+
+        rentalService.returnRental(rental.idRental());
+
+        assertThat(gameRepository.findById(game.getIdGame()).orElseThrow())
+                .extracting(Game::getQuantity, Game::isAvailable)
+                .containsExactly(1, true);
+        assertThat(userRepository.findById(user.getIdUser()).orElseThrow().getActiveRentals()).isZero();
+    }
+
+    @Test
+    void emailChangeIsSeenByLookupByEmail() {
+
+        User user = userRepository.save(newUser("ana@gamerental.dev"));
+        assertThat(userRepository.findByEmail("ana@gamerental.dev")).isPresent();
+
+        userService.updateUser(user.getIdUser(), new UserUpdateDto(null, "ana.souza@gamerental.dev", null, null, null));
+
+        assertThat(userRepository.findByEmail("ana@gamerental.dev")).isEmpty();
+        assertThat(userRepository.findByEmail("ana.souza@gamerental.dev"))
+                .map(User::getIdUser)
+                .contains(user.getIdUser());
+    }
+
+    @Test
+    void concurrentRentalsKeepInventoryExact() throws Exception {
+
+        Game game = gameRepository.save(newGame("Elden Ring", COPIES));
+        List<User> renters = new ArrayList<>();
+        for (int i = 0; i < RENTERS; i++) {
+            renters.add(userRepository.save(newUser("jogador" + i + "@gamerental.dev")));
+        }
+        gameRepository.findById(game.getIdGame()); // Jogo no cache antes dos aluguéis
+
+        AtomicInteger rented = new AtomicInteger();
+        AtomicInteger unavailable = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(RENTERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (User renter : renters) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        rentalService.createRental(new RentalDto(null, game.getIdGame(), renter.getIdUser(), null, null, null));
+                        rented.incrementAndGet();
+                    } catch (GameIsNotAvailableException e) {
+                        unavailable.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Game cached = gameRepository.findById(game.getIdGame()).orElseThrow();
+        Integer stored = jdbcTemplate.queryForObject(
+                "SELECT quantity FROM tb_game WHERE id_game = ?", Integer.class, game.getIdGame());
+
+        assertThat(rented.get()).isEqualTo(COPIES);
+        assertThat(unavailable.get()).isEqualTo(RENTERS - COPIES);
+        assertThat(stored).isZero();
+        assertThat(cached.getQuantity()).isEqualTo(stored);
+        assertThat(cached.isAvailable()).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(active_rentals) FROM tb_user", Integer.class)).isEqualTo(COPIES);
+    }
+
+    @Test
+    void cachedGenreQueryIsInvalidatedByWrites() {
+
+        gameRepository.save(newGame("Dead Cells", 2));
+
+        assertThat(gameService.listGamesByGenre(GameGenres.ROGUELIKE)).hasSize(1);
+        assertThat(gameService.listGamesByGenre(GameGenres.ROGUELIKE)).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        gameService.createGame(new GameDto(null, "Hades", GameGenres.ROGUELIKE, Set.of(Platforms.PC), 1, true));
+
+        assertThat(gameService.listGamesByGenre(GameGenres.ROGUELIKE))
+                .extracting(GameDto::title)
+                .containsExactlyInAnyOrder("Dead Cells", "Hades");
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static Game newGame(String title, int quantity) {
+
+        return new Game(title, GameGenres.ROGUELIKE, EnumSet.of(Platforms.PC), quantity, quantity > 0);
+    }
+
+    private static User newUser(String email) {
+
+        return new User("Jogador", email, "hash", UserRole.USER, SubscriptionPlans.LEGEND, 0);
+    }
+}
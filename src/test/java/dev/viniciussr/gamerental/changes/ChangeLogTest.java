@@ -0,0 +1,169 @@
+package dev.viniciussr.gamerental.changes;
+
+import dev.viniciussr.gamerental.dto.ChangeDto;
+import dev.viniciussr.gamerental.dto.ChangesPageDto;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import dev.viniciussr.gamerental.service.ChangeFeedService;
+import dev.viniciussr.gamerental.service.ChangeLog;
+import dev.viniciussr.gamerental.service.ChangeVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Feed de alterações sem bloqueio entre escritores: transações concorrentes gravam as suas alterações sem aguardar
+ * umas às outras, e as alterações em acomodação ({@code changes.feed.settle-time}) não aparecem no feed nem nas
+ * versões, de modo que um commit com sequência menor, confirmado depois, nunca é pulado.
+ * <p>
+ * A passagem do tempo é simulada recuando o {@code changed_at} das alterações gravadas.
+ * </p>
+ */
+@SpringBootTest(properties = "changes.feed.settle-time=1m")
+@ActiveProfiles("test")
+class ChangeLogTest {
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_change");
+        jdbcTemplate.update("UPDATE tb_change_compaction SET last_sequence = 0 WHERE id = 1");
+    }
+
+    @Test
+    void writersDoNotWaitForEachOtherAndLateCommitsAreNotSkipped() throws Exception {
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Primeira transação: grava a alteração (menor sequência) e aguarda antes do commit
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            changeLog.changed(ChangeEntity.GAME, 1L);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    written.countDown();
+                    await(release);
+                }
+            });
+        }));
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Segunda transação: confirmada sem aguardar a primeira, com sequência maior
+        CompletableFuture<Void> fast = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> changeLog.changed(ChangeEntity.GAME, 2L)));
+        fast.get(5, TimeUnit.SECONDS);
+        assertThat(slow).isNotDone();
+
+        // Alteração confirmada, porém em acomodação: fora do feed e da versão
+        assertThat(ids(changeFeedService.listChanges(0, 100, Set.of()))).isEmpty();
+        assertThat(changeVersions.current(ChangeEntity.GAME)).isEmpty();
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+
+        // Após a acomodação, as duas alterações aparecem, na ordem das sequências
+        settleAll();
+        ChangesPageDto page = changeFeedService.listChanges(0, 100, Set.of());
+        assertThat(ids(page)).containsExactly(1L, 2L);
+        assertThat(changeVersions.current(ChangeEntity.GAME)).hasValue(page.next());
+    }
+
+    @Test
+    void pageStopsAtFirstUnsettledChange() {
+
+        changeLog.changed(ChangeEntity.USER, 1L);
+        settleAll();
+        changeLog.changed(ChangeEntity.USER, 2L);
+        changeLog.changed(ChangeEntity.USER, 3L);
+        jdbcTemplate.update("UPDATE tb_change SET changed_at = DATEADD('MINUTE', -2, changed_at) WHERE entity_id = 3");
+
+        ChangesPageDto page = changeFeedService.listChanges(0, 100, Set.of());
+
+        assertThat(ids(page)).containsExactly(1L);
+        assertThat(page.hasMore()).isFalse();
+        assertThat(ids(changeFeedService.listChanges(page.next(), 100, Set.of()))).isEmpty();
+    }
+
+    @Test
+    void compactionKeepsOnlyTheLastChangeOfEachRecord() {
+
+        changeLog.changed(ChangeEntity.GAME, 1L);
+        changeLog.changed(ChangeEntity.GAME, 2L);
+        changeLog.deleted(ChangeEntity.GAME, 1L);
+        changeLog.changed(ChangeEntity.GAME, 2L);
+        settleAll();
+        changeLog.changed(ChangeEntity.GAME, 2L); // Em acomodação: mantém as anteriores até a próxima compactação
+
+        List<Long> before = ids(changeFeedService.listChanges(0, 100, Set.of()));
+        assertThat(before).containsExactly(1L);
+
+        assertThat(changeFeedService.compactChanges()).isEqualTo(4);
+
+        assertThat(ids(changeFeedService.listChanges(0, 100, Set.of()))).isEqualTo(before);
+        assertThat(rows()).isEqualTo(3); // Tombstone do jogo 1, última acomodada e nova alteração do jogo 2
+
+        settleAll();
+        assertThat(changeFeedService.compactChanges()).isEqualTo(1);
+        assertThat(rows()).isEqualTo(2);
+        assertThat(ids(changeFeedService.listChanges(0, 100, Set.of()))).containsExactly(1L, 2L);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Simula a passagem do tempo de acomodação para todas as alterações gravadas.
+     */
+    private void settleAll() {
+
+        jdbcTemplate.update("UPDATE tb_change SET changed_at = DATEADD('MINUTE', -2, changed_at)");
+    }
+
+    private int rows() {
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_change", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static List<Long> ids(ChangesPageDto page) {
+
+        return page.changes().stream().map(ChangeDto::id).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package dev.viniciussr.gamerental.datasource;
+
+import dev.viniciussr.gamerental.dto.GameDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.service.GameService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roteamento entre primário e réplica de leitura, com dois bancos H2 distintos.
+ * <p>
+ * Cada banco recebe um jogo diferente, de modo que o título retornado indica qual deles atendeu a leitura.
+ * A replicação é simulada gravando o batimento diretamente na réplica.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:db_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.max-lag=5s",
+        "datasource.replicas.read-your-writes-window=1m",
+        "datasource.replicas.lag-check-interval=1h",
+        "datasource.replicas.nodes[0].name=replica1",
+        "datasource.replicas.nodes[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "datasource.replicas.nodes[0].username=sa",
+        "datasource.replicas.nodes[0].password="
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:db_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String PRIMARY_GAME = "Jogo do Primário";
+    private static final String REPLICA_GAME = "Jogo da Réplica";
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ReplicaPools replicaPools;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration").load().migrate();
+
+        primary = new JdbcTemplate(replicaPools.primary());
+        replica = new JdbcTemplate(replicaDataSource);
+
+        resetGames(primary, PRIMARY_GAME);
+        resetGames(replica, REPLICA_GAME);
+        secondLevelCache().evictAllRegions();
+
+        replicateHeartbeat(LocalDateTime.now());
+        replicaLagMonitor.checkReplicas();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadFromReplica() {
+
+        authenticateAs("leitor@gamerental.dev");
+
+        assertThat(titles(gameService.listGames())).containsExactly(REPLICA_GAME);
+        assertThat(titles(gameService.listAvailableGames())).containsExactly(REPLICA_GAME);
+    }
+
+    @Test
+    void repositoryReadsOutsideReadOnlyServiceMethodsUsePrimary() {
+
+        assertThat(gameRepository.findAll()).extracting(Game::getTitle).containsExactly(PRIMARY_GAME);
+    }
+
+    @Test
+    void writesGoToPrimary() {
+
+        authenticateAs("escritor@gamerental.dev");
+
+        gameService.createGame(newGame("Hollow Knight"));
+
+        assertThat(countGames(primary)).isEqualTo(2);
+        assertThat(countGames(replica)).isEqualTo(1);
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimaryWithinWindow() {
+
+        authenticateAs("admin@gamerental.dev");
+        gameService.createGame(newGame("Celeste"));
+
+        assertThat(titles(gameService.listGames())).containsExactlyInAnyOrder(PRIMARY_GAME, "Celeste");
+
+        // Outro usuário não gravou nada: continua lendo da réplica
+        authenticateAs("maria@gamerental.dev");
+        assertThat(titles(gameService.listGames())).containsExactly(REPLICA_GAME);
+    }
+
+    @Test
+    void replicaReadsAreNotStoredInSecondLevelCache() {
+
+        authenticateAs("leitor@gamerental.dev");
+        Long replicaGameId = replica.queryForObject("SELECT id_game FROM tb_game", Long.class);
+        Long primaryGameId = primary.queryForObject("SELECT id_game FROM tb_game", Long.class);
+
+        assertThat(gameService.findGameById(replicaGameId).title()).isEqualTo(REPLICA_GAME);
+        assertThat(secondLevelCache().containsEntity(Game.class, replicaGameId)).isFalse();
+
+        // Leituras no primário continuam gravando no cache
+        gameRepository.findById(primaryGameId);
+        assertThat(secondLevelCache().containsEntity(Game.class, primaryGameId)).isTrue();
+    }
+
+    @Test
+    void laggingReplicaIsRemovedFromRouting() {
+
+        replicateHeartbeat(LocalDateTime.now().minusMinutes(1));
+        replicaLagMonitor.checkReplicas();
+
+        assertThat(replicaPools.replicas().getFirst().isHealthy()).isFalse();
+        assertThat(titles(gameService.listGames())).containsExactly(PRIMARY_GAME);
+
+        replicateHeartbeat(LocalDateTime.now());
+        replicaLagMonitor.checkReplicas();
+
+        assertThat(replicaPools.replicas().getFirst().isHealthy()).isTrue();
+        assertThat(titles(gameService.listGames())).containsExactly(REPLICA_GAME);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private Cache secondLevelCache() {
+
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    private static void resetGames(JdbcTemplate jdbcTemplate, String title) {
+
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("INSERT INTO tb_game (title, genre, quantity, available) VALUES (?, 'RPG', 1, TRUE)", title);
+    }
+
+    /**
+     * Simula a chegada do batimento do primário à réplica.
+     */
+    private void replicateHeartbeat(LocalDateTime beatAt) {
+
+        replica.update("UPDATE tb_replica_heartbeat SET beat_at = ? WHERE id = 1", Timestamp.valueOf(beatAt));
+    }
+
+    private static int countGames(JdbcTemplate jdbcTemplate) {
+
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_game", Integer.class);
+    }
+
+    private static void authenticateAs(String username) {
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    private static GameDto newGame(String title) {
+
+        return new GameDto(null, title, GameGenres.METROIDVANIA, Set.of(Platforms.PC), 3, true);
+    }
+
+    private static List<String> titles(List<GameDto> games) {
+
+        return games.stream().map(GameDto::title).toList();
+    }
+}
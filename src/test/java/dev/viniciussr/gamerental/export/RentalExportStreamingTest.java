@@ -0,0 +1,272 @@
+package dev.viniciussr.gamerental.export;
+
+import dev.viniciussr.gamerental.enums.ExportFormat;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.RentalRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.service.RentalExportService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exportação de aluguéis em streaming: as linhas são escritas à medida que o cursor é lido,
+ * e o {@code fetchSize} é aplicado apenas às consultas da exportação.
+ * <p>
+ * O DataSource é envolvido por um proxy do teste que conta as linhas lidas dos ResultSets
+ * e registra o {@code fetchSize} de cada comando.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:db_export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "rental.export.fetch-size=" + RentalExportStreamingTest.FETCH_SIZE
+})
+@ActiveProfiles("test")
+@Import(RentalExportStreamingTest.ResultSetProbeConfig.class)
+class RentalExportStreamingTest {
+
+    static final int FETCH_SIZE = 250;
+
+    private static final int RENTALS = 5000;
+    private static final int ARCHIVED_RENTALS = 1000;
+
+    /** Linhas lidas de todos os ResultSets. */
+    private static final AtomicLong rowsRead = new AtomicLong();
+
+    /** Comandos executados, com o fetchSize do statement. */
+    private static final List<Execution> executions = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class ResultSetProbeConfig {
+
+        @Bean
+        static BeanPostProcessor resultSetProbePostProcessor() {
+
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                    if (!(bean instanceof DataSource dataSource)) return bean;
+
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .methodListener(new RowCounter())
+                            .listener(new FetchSizeRecorder())
+                            .proxyResultSet()
+                            .build();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private RentalExportService rentalExportService;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_rental_archive");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("DELETE FROM tb_user");
+
+        User user = userRepository.save(new User("Jogador", "jogador@gamerental.dev", "hash", UserRole.USER, SubscriptionPlans.LEGEND, 0));
+        Game game = gameRepository.save(new Game("Celeste", GameGenres.PLATFORMER, EnumSet.of(Platforms.PC), 1, true));
+
+        LocalDate start = LocalDate.now().minusYears(1);
+
+        List<Object[]> rentals = new ArrayList<>(RENTALS);
+        for (int i = 0; i < RENTALS; i++) {
+            rentals.add(new Object[]{game.getIdGame(), user.getIdUser(), Date.valueOf(start.plusDays(i % 365)), "RETURNED"});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO tb_rental (game_id, user_id, rental_date, end_date, status)
+                VALUES (?, ?, ?, NULL, ?)
+                """, rentals);
+
+        List<Object[]> archived = new ArrayList<>(ARCHIVED_RENTALS);
+        for (int i = 0; i < ARCHIVED_RENTALS; i++) {
+            archived.add(new Object[]{1_000_000L + i, game.getIdGame(), user.getIdUser(), Date.valueOf(start), Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO tb_rental_archive (id_rental, game_id, user_id, rental_date, end_date, status, archived_at)
+                VALUES (?, ?, ?, ?, NULL, 'RETURNED', ?)
+                """, archived);
+
+        rowsRead.set(0);
+        executions.clear();
+    }
+
+    @Test
+    void rowsAreWrittenWhileTheCursorIsRead() throws IOException {
+
+        FirstWriteProbe out = new FirstWriteProbe();
+
+        long exported = rentalExportService.exportRentals(ExportFormat.CSV, null, null, null, out);
+
+        assertThat(exported).isEqualTo(RENTALS + ARCHIVED_RENTALS);
+        assertThat(out.lines()).isEqualTo(RENTALS + ARCHIVED_RENTALS + 1); // Cabeçalho
+
+        // Primeira escrita na saída (buffer de 64 KB cheio) com uma fração das linhas lidas do banco
+        assertThat(out.rowsReadAtFirstWrite).isPositive().isLessThan(RENTALS / 2);
+    }
+
+    @Test
+    void disconnectedClientStopsTheExport() {
+
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Cliente desconectado");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Cliente desconectado");
+            }
+        };
+
+        assertThatThrownBy(() -> rentalExportService.exportRentals(ExportFormat.NDJSON, null, null, null, disconnected))
+                .isInstanceOf(IOException.class);
+
+        // Aluguéis arquivados nunca consultados e a tabela principal lida apenas até a primeira escrita
+        assertThat(rowsRead.get()).isLessThan(RENTALS / 2);
+        assertThat(executions).noneMatch(execution -> execution.sql().contains("tb_rental_archive"));
+    }
+
+    @Test
+    void fetchSizeIsSetOnlyOnExportQueries() throws IOException {
+
+        rentalExportService.exportRentals(ExportFormat.CSV, null, null, null, OutputStream.nullOutputStream());
+
+        assertThat(executions).hasSize(2);
+        assertThat(executions).allMatch(execution -> execution.fetchSize() == FETCH_SIZE);
+
+        executions.clear();
+        rentalRepository.findByStatus(RentalStatus.ACTIVE);
+
+        assertThat(executions).isNotEmpty().noneMatch(execution -> execution.fetchSize() == FETCH_SIZE);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Comando executado e o {@code fetchSize} do statement.
+     */
+    private record Execution(String sql, int fetchSize) {
+    }
+
+    /**
+     * Conta as linhas lidas ({@code next() == true}) de todos os ResultSets.
+     */
+    private static final class RowCounter implements MethodExecutionListener {
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+
+            if (executionContext.getTarget() instanceof ResultSet
+                    && executionContext.getMethod().getName().equals("next")
+                    && Boolean.TRUE.equals(executionContext.getResult())) {
+                rowsRead.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Registra as consultas executadas com o {@code fetchSize} do statement.
+     */
+    private static final class FetchSizeRecorder implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+            String sql = queryInfoList.isEmpty() ? "" : queryInfoList.getFirst().getQuery();
+            if (!sql.stripLeading().toLowerCase().startsWith("select")) return;
+
+            try {
+                executions.add(new Execution(sql, execInfo.getStatement().getFetchSize()));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Saída que registra quantas linhas já haviam sido lidas do banco na primeira escrita.
+     */
+    private static final class FirstWriteProbe extends ByteArrayOutputStream {
+
+        private long rowsReadAtFirstWrite = -1;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+
+            if (rowsReadAtFirstWrite < 0) rowsReadAtFirstWrite = rowsRead.get();
+            super.write(b, off, len);
+        }
+
+        private long lines() {
+
+            return toString().lines().count();
+        }
+    }
+}
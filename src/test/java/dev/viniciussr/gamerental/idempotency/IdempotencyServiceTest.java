@@ -0,0 +1,306 @@
+package dev.viniciussr.gamerental.idempotency;
+
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotencyKeyReusedException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotentRequestInProgressException;
+import dev.viniciussr.gamerental.exception.idempotency.IdempotentRequestOutcomeUnknownException;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Requisições idempotentes: reprodução de respostas, chaves por usuário, execuções simultâneas
+ * e reservas interrompidas, que nunca são executadas novamente.
+ * <p>
+ * Reservas e respostas de "outros nós" são gravadas diretamente em {@code tb_idempotency_key}.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyServiceTest {
+
+    private static final String OPERATION = "POST /games";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Execuções da operação. */
+    private final AtomicInteger executions = new AtomicInteger();
+
+    /** Última chave gerada por {@link #uniqueKey()}. */
+    private String lastKey;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_idempotency_key");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game WHERE title LIKE 'Idempotente%'");
+        authenticate("maria@gamerental.dev");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedRequestReplaysTheFirstResponse() {
+
+        ResponseEntity<String> first = execute(uniqueKey(), payload("Celeste", 5), createGame("Idempotente 1"));
+        ResponseEntity<String> second = execute(lastKey, payload("Celeste", 5), createGame("Idempotente 1"));
+
+        assertThat(executions).hasValue(1);
+        assertThat(games("Idempotente 1")).isEqualTo(1);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void responseCompletedOnAnotherNodeIsReplayed() {
+
+        String key = uniqueKey();
+        insertRecord(key, LocalDateTime.now(), 201, "\"jogo 42\""); // Cache local vazio: resposta lida do banco
+
+        ResponseEntity<String> replayed = execute(key, payload("Celeste", 5), createGame("Idempotente 2"));
+
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getBody()).isEqualTo("jogo 42");
+        assertThat(executions).hasValue(0);
+        assertThat(games("Idempotente 2")).isZero();
+    }
+
+    @Test
+    void payloadIsComparedInCanonicalForm() {
+
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("title", "Celeste");
+        ordered.put("quantity", 5);
+
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("quantity", 5);
+        reversed.put("title", "Celeste");
+
+        execute(uniqueKey(), ordered, createGame("Idempotente 3"));
+        ResponseEntity<String> replayed = execute(lastKey, reversed, createGame("Idempotente 3"));
+
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+
+        assertThatThrownBy(() -> execute(lastKey, payload("Celeste", 6), createGame("Idempotente 3")))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void keysAreScopedToTheAuthenticatedUser() {
+
+        String key = uniqueKey();
+        execute(key, payload("Celeste", 5), createGame("Idempotente 4"));
+
+        authenticate("joao@gamerental.dev");
+        ResponseEntity<String> other = execute(key, payload("Celeste", 5), createGame("Idempotente 4"));
+
+        assertThat(other.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(executions).hasValue(2);
+        assertThat(games("Idempotente 4")).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentDuplicatesOnTheSameNodeRunOnce() throws Exception {
+
+        String key = uniqueKey();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Supplier<ResponseEntity<String>> slow = () -> {
+            started.countDown();
+            await(release);
+            return createGame("Idempotente 5").get();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<String>> first = executor.submit(() -> executeAs("maria@gamerental.dev", key, slow));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<ResponseEntity<String>> duplicate = executor.submit(() -> executeAs("maria@gamerental.dev", key, slow));
+            Thread.sleep(100); // Duplicata aguardando a execução em andamento
+            release.countDown();
+
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(first.get(5, TimeUnit.SECONDS).getBody());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(games("Idempotente 5")).isEqualTo(1);
+    }
+
+    @Test
+    void requestInProgressOnAnotherNodeIsRejected() {
+
+        String key = uniqueKey();
+        insertRecord(key, LocalDateTime.now(), null, null);
+
+        assertThatThrownBy(() -> execute(key, payload("Celeste", 5), createGame("Idempotente 6")))
+                .isInstanceOf(IdempotentRequestInProgressException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void abandonedReservationIsNeverTakenOver() {
+
+        String key = uniqueKey();
+        insertRecord(key, LocalDateTime.now().minusMinutes(5), null, null); // Além do tempo de abandono (1 minuto)
+
+        assertThatThrownBy(() -> execute(key, payload("Celeste", 5), createGame("Idempotente 7")))
+                .isInstanceOf(IdempotentRequestOutcomeUnknownException.class);
+        assertThat(executions).hasValue(0);
+        assertThat(games("Idempotente 7")).isZero();
+    }
+
+    @Test
+    void failedOperationReleasesTheKey() {
+
+        String key = uniqueKey();
+
+        assertThatThrownBy(() -> execute(key, payload("Celeste", 5), () -> {
+            createGame("Idempotente 8").get();
+            throw new IllegalStateException("falha após a gravação");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(games("Idempotente 8")).isZero(); // Desfeito com a transação
+
+        execute(key, payload("Celeste", 5), createGame("Idempotente 8"));
+
+        assertThat(executions).hasValue(2);
+        assertThat(games("Idempotente 8")).isEqualTo(1);
+    }
+
+    @Test
+    void responseIsRecordedInTheSameTransactionAsTheOperation() {
+
+        String key = uniqueKey();
+
+        // Reserva removida durante a execução (ex.: expurgo): a resposta não pode ser gravada
+        assertThatThrownBy(() -> execute(key, payload("Celeste", 5), () -> {
+            ResponseEntity<String> response = createGame("Idempotente 9").get();
+            jdbcTemplate.update("DELETE FROM tb_idempotency_key WHERE idempotency_key = ?", key);
+            return response;
+        })).isInstanceOf(IdempotentRequestOutcomeUnknownException.class);
+
+        assertThat(games("Idempotente 9")).isZero();
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private String uniqueKey() {
+
+        lastKey = "chave-" + System.nanoTime();
+        return lastKey;
+    }
+
+    private ResponseEntity<String> execute(String key, Object payload, Supplier<ResponseEntity<String>> action) {
+
+        return idempotencyService.execute(key, OPERATION, payload, String.class, action);
+    }
+
+    private ResponseEntity<String> executeAs(String principal, String key, Supplier<ResponseEntity<String>> action) {
+
+        authenticate(principal);
+        try {
+            return execute(key, payload("Celeste", 5), action);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Operação que grava um jogo e responde {@code 201 Created} com o ID gerado.
+     */
+    private Supplier<ResponseEntity<String>> createGame(String title) {
+
+        return () -> {
+            executions.incrementAndGet();
+            Game game = gameRepository.save(new Game(title, GameGenres.PLATFORMER, EnumSet.of(Platforms.PC), 1, true));
+            return ResponseEntity.status(HttpStatus.CREATED).body("jogo " + game.getIdGame());
+        };
+    }
+
+    private static Map<String, Object> payload(String title, int quantity) {
+        return Map.of("title", title, "quantity", quantity);
+    }
+
+    /**
+     * Grava a chave como se a mesma requisição tivesse sido recebida por outro nó
+     * (resposta nula enquanto em andamento).
+     */
+    private void insertRecord(String key, LocalDateTime createdAt, Integer statusCode, String responseBody) {
+
+        // Requisição de referência, apenas para obter o usuário e o hash da mesma requisição
+        String reference = "referencia-" + key;
+        execute(reference, payload("Celeste", 5), () -> ResponseEntity.ok("referencia"));
+
+        jdbcTemplate.update("""
+                INSERT INTO tb_idempotency_key (principal, idempotency_key, operation, request_hash, status_code, response_body, created_at)
+                SELECT principal, ?, operation, request_hash, ?, ?, ?
+                FROM tb_idempotency_key WHERE idempotency_key = ?
+                """, key, statusCode, responseBody, Timestamp.valueOf(createdAt), reference);
+    }
+
+    private int games(String title) {
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_game WHERE title = ?", Integer.class, title);
+        return count != null ? count : 0;
+    }
+
+    private static void authenticate(String principal) {
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package dev.viniciussr.gamerental.loadtest;
+
+import dev.viniciussr.gamerental.GameRentalApiApplication;
+import dev.viniciussr.gamerental.enums.ChangeEntity;
+import dev.viniciussr.gamerental.service.ChangeLog;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga do feed de alterações: vazão de commits com escritores concorrentes.
+ * <p>
+ * Cada transação registra alterações pelo {@link ChangeLog}, em novas linhas com sequência {@code AUTO_INCREMENT}.
+ * O tempo entre a gravação e o commit é simulado atrasando a gravação em {@code loadtest.change-log.commit-latency},
+ * com as linhas já gravadas: como nenhuma linha é compartilhada entre as transações, a vazão cresce com o número de
+ * escritores e supera o limite de um commit por {@code commit-latency} de um bloqueio único.
+ * </p>
+ * <p>
+ * Registra a vazão e os percentis de latência de cada quantidade de escritores em
+ * {@code target/loadtest/change-log-report.txt}.
+ * </p>
+ * <p>
+ * Fora da execução padrão dos testes (tag {@code load}); executado com
+ * {@code mvn -Ploadtest test -Dtest=ChangeLogLoadTest}.
+ * </p>
+ */
+@Tag("load")
+class ChangeLogLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogLoadTest.class);
+
+    private static final Path REPORT_PATH = Path.of("target", "loadtest", "change-log-report.txt");
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:change_log;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000";
+
+    /** IDs fora da faixa dos registros existentes (as alterações não exigem o registro). */
+    private static final long FIRST_ENTITY_ID = 1_000_000_000L;
+
+    @Test
+    void concurrentWritersAreNotSerialized() throws Exception {
+
+        SlowCommit slowCommit = new SlowCommit();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GameRentalApiApplication.class)
+                .profiles("test", "loadtest")
+                .initializers(ctx -> {
+                    slowCommit.latency = ctx.getEnvironment()
+                            .getRequiredProperty("loadtest.change-log.commit-latency", Duration.class);
+                    ctx.getBeanFactory().registerSingleton("slowCommit", slowCommit);
+                })
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + H2_URL,
+                        "--spring.datasource.hikari.maximum-pool-size=${loadtest.change-log.pool-size}",
+                        "--sql.profiling.enabled=true"
+                )) {
+
+            Environment env = context.getEnvironment();
+            int[] writerCounts = env.getRequiredProperty("loadtest.change-log.writers", int[].class);
+            int changesPerTransaction = env.getRequiredProperty("loadtest.change-log.changes-per-transaction", Integer.class);
+            Duration warmup = env.getRequiredProperty("loadtest.change-log.warmup", Duration.class);
+            Duration duration = env.getRequiredProperty("loadtest.change-log.duration", Duration.class);
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Load load = new Load(context.getBean(ChangeLog.class), context.getBean(TransactionTemplate.class),
+                    changesPerTransaction, new AtomicLong(FIRST_ENTITY_ID));
+
+            double ceiling = 1000.0 / slowCommit.latency.toMillis();
+            StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                    "gravação até o commit: %d ms (limite com bloqueio único: %.1f commits/s); alterações por commit: %d%n",
+                    slowCommit.latency.toMillis(), ceiling, changesPerTransaction));
+
+            double highestThroughput = 0;
+            for (int writers : writerCounts) {
+
+                LatencyRecorder recorder = new LatencyRecorder();
+                log.info("{} escritores: aquecimento", writers);
+                load.runFor(writers, warmup, recorder);
+                recorder.reset();
+
+                long rowsBefore = recordedChanges(jdbcTemplate);
+                log.info("{} escritores: medição", writers);
+                long start = System.nanoTime();
+                load.runFor(writers, duration, recorder);
+                double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+                long commits = recorder.totalRequests();
+                assertTrue(commits > 0, "Nenhuma transação concluída");
+                assertEquals(commits * changesPerTransaction, recordedChanges(jdbcTemplate) - rowsBefore,
+                        "Alterações gravadas diferentes das confirmadas");
+
+                highestThroughput = Math.max(highestThroughput, commits / elapsedSeconds);
+                report.append(System.lineSeparator()).append(writers).append(" escritores").append(System.lineSeparator())
+                        .append(recorder.report(elapsedSeconds));
+            }
+
+            Files.createDirectories(REPORT_PATH.getParent());
+            Files.writeString(REPORT_PATH, report);
+            log.info("Resultado do feed de alterações:\n{}", report);
+
+            // Escritores concorrentes não aguardam uns aos outros: a vazão supera o limite de um bloqueio único
+            assertTrue(highestThroughput > ceiling * 2, String.format(Locale.ROOT,
+                    "Vazão de %.1f commits/s não supera o limite de um bloqueio único (%.1f)", highestThroughput, ceiling));
+        }
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static long recordedChanges(JdbcTemplate jdbcTemplate) {
+
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_change WHERE entity_id >= ?", Long.class, FIRST_ENTITY_ID);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Escritores concorrentes, cada um em sua própria thread virtual, registrando alterações de registros distintos.
+     */
+    private record Load(ChangeLog changeLog, TransactionTemplate transactionTemplate, int changesPerTransaction,
+                        AtomicLong nextEntityId) {
+
+        void runFor(int writers, Duration interval, LatencyRecorder recorder) throws Exception {
+
+            long deadline = System.nanoTime() + interval.toNanos();
+            String operation = "commit (" + writers + " escritores)";
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < writers; i++) {
+                    futures.add(executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            long first = nextEntityId.getAndAdd(changesPerTransaction);
+                            List<Long> ids = LongStream.range(first, first + changesPerTransaction).boxed().toList();
+
+                            long start = System.nanoTime();
+                            transactionTemplate.executeWithoutResult(status -> changeLog.changed(ChangeEntity.USER, ids));
+                            recorder.record(operation, System.nanoTime() - start, 200);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) future.get();
+            }
+        }
+    }
+
+    /**
+     * Simula o tempo entre a gravação das alterações e o commit (rede, fsync do banco):
+     * atrasa a gravação após a execução, com as linhas já gravadas (e bloqueadas até o commit).
+     */
+    private static final class SlowCommit implements QueryExecutionListener {
+
+        private volatile Duration latency = Duration.ZERO;
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+            if (latency.isZero() || queryInfoList.isEmpty()) return;
+            if (!queryInfoList.getFirst().getQuery().stripLeading().startsWith("INSERT INTO tb_change")) return;
+
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package dev.viniciussr.gamerental.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.GameRentalApiApplication;
+import dev.viniciussr.gamerental.dto.GameUpdateDto;
+import dev.viniciussr.gamerental.service.GameService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga do stream de estoque ({@code GET /games/stream}) com milhares de conexões em uma única instância.
+ * <p>
+ * Inscreve {@code loadtest.sse.subscribers} clientes, publica {@code loadtest.sse.events} alterações de estoque
+ * pelo {@link GameService} e verifica que todos os clientes recebem todos os eventos, na ordem. Em seguida,
+ * {@code loadtest.sse.resumed} clientes reconectam com o {@code Last-Event-ID} do evento do meio e devem receber
+ * exatamente os eventos posteriores.
+ * </p>
+ * <p>
+ * Registra a latência entre a publicação e a entrega de cada evento, a latência da retomada e os bytes alocados
+ * pela thread de distribuição por evento e por entrega em {@code target/loadtest/inventory-stream-report.txt}.
+ * </p>
+ * <p>
+ * Fora da execução padrão dos testes (tag {@code load}); executado com
+ * {@code mvn -Ploadtest test -Dtest=InventoryStreamLoadTest}.
+ * </p>
+ */
+@Tag("load")
+class InventoryStreamLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryStreamLoadTest.class);
+
+    private static final Path REPORT_PATH = Path.of("target", "loadtest", "inventory-stream-report.txt");
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:sse;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Clientes HTTP das inscrições: cada um lê todas as suas conexões em uma única thread seletora. */
+    private final HttpClient[] clients = new HttpClient[Runtime.getRuntime().availableProcessors()];
+
+    {
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+        }
+    }
+
+    @Test
+    void thousandsOfSubscribersReceiveEveryEventInOrder() throws Exception {
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GameRentalApiApplication.class)
+                .profiles("test", "loadtest")
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.max-connections=${loadtest.sse.max-connections}",
+                        "--spring.threads.virtual.enabled=true",
+                        "--spring.datasource.url=" + H2_URL
+                )) {
+
+            Environment env = context.getEnvironment();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            int subscribers = env.getRequiredProperty("loadtest.sse.subscribers", Integer.class);
+            int batch = env.getRequiredProperty("loadtest.sse.connect-batch", Integer.class);
+            int events = env.getRequiredProperty("loadtest.sse.events", Integer.class);
+            int resumed = env.getRequiredProperty("loadtest.sse.resumed", Integer.class);
+            Duration interval = env.getRequiredProperty("loadtest.sse.event-interval", Duration.class);
+
+            LoadTestDataGenerator generator = new LoadTestDataGenerator(context.getBean(JdbcTemplate.class),
+                    new LoadTestDataGenerator.Scale(
+                            env.getRequiredProperty("loadtest.seed", Long.class),
+                            env.getRequiredProperty("loadtest.sse.data.users", Integer.class),
+                            env.getRequiredProperty("loadtest.sse.data.games", Integer.class),
+                            env.getRequiredProperty("loadtest.sse.data.rentals", Integer.class)));
+            generator.generateIfEmpty(context.getBean(PasswordEncoder.class).encode(LoadTestDataGenerator.PASSWORD));
+            long gameId = generator.firstGameId();
+            String token = login(port);
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            GameService gameService = context.getBean(GameService.class);
+            LatencyRecorder recorder = new LatencyRecorder();
+            AtomicLongArray publishedAt = new AtomicLongArray(events);
+
+            List<Subscriber> connected = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+                // Inscrições em lotes, até todas registradas no stream
+                CountDownLatch received = new CountDownLatch(subscribers);
+                log.info("Inscrevendo {} clientes", subscribers);
+                for (int start = 0; start < subscribers; start += batch) {
+                    List<Future<Subscriber>> futures = new ArrayList<>();
+                    for (int i = start; i < Math.min(start + batch, subscribers); i++) {
+                        futures.add(executor.submit(() -> subscribe(port, token, null, 0, events, publishedAt, recorder, received)));
+                    }
+                    for (Future<Subscriber> future : futures) connected.add(future.get());
+                }
+                awaitSubscribers(meterRegistry, subscribers);
+
+                // Publicação: quantidade i + 1 no evento i
+                Thread dispatcher = dispatcherThread();
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                long allocatedBefore = threads.getThreadAllocatedBytes(dispatcher.threadId());
+                double deliveriesBefore = deliveries(meterRegistry);
+
+                log.info("Publicando {} eventos para {} clientes", events, subscribers);
+                long start = System.nanoTime();
+                for (int i = 0; i < events; i++) {
+                    publishedAt.set(i, System.nanoTime());
+                    gameService.updateGame(gameId, new GameUpdateDto(null, null, null, i + 1));
+                    Thread.sleep(interval);
+                }
+                assertTrue(received.await(2, TimeUnit.MINUTES), "Eventos não entregues a todos os clientes");
+                double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+                long allocated = threads.getThreadAllocatedBytes(dispatcher.threadId()) - allocatedBefore;
+                double deliveries = deliveries(meterRegistry) - deliveriesBefore;
+
+                for (Subscriber subscriber : connected) {
+                    assertEquals(null, subscriber.failure.get(), "Evento fora de ordem");
+                }
+                assertEquals((double) subscribers * events, deliveries, "Entregas registradas");
+
+                // Retomada: eventos posteriores ao evento do meio
+                int resumeFrom = events / 2;
+                String lastEventId = connected.getFirst().ids[resumeFrom - 1];
+                CountDownLatch replayed = new CountDownLatch(resumed);
+                LatencyRecorder resumeRecorder = new LatencyRecorder();
+
+                log.info("Reconectando {} clientes a partir do evento {}", resumed, lastEventId);
+                List<Future<Subscriber>> futures = new ArrayList<>();
+                for (int i = 0; i < resumed; i++) {
+                    futures.add(executor.submit(() -> subscribe(port, token, lastEventId, resumeFrom, events, null, resumeRecorder, replayed)));
+                }
+                for (Future<Subscriber> future : futures) connected.add(future.get());
+                assertTrue(replayed.await(1, TimeUnit.MINUTES), "Eventos não reenviados na retomada");
+                for (Subscriber subscriber : connected) {
+                    assertEquals(null, subscriber.failure.get(), "Evento fora de ordem na retomada");
+                }
+
+                String report = recorder.report(elapsedSeconds) + resumeRecorder.report(elapsedSeconds) + String.format(Locale.ROOT,
+                        "clientes: %d; eventos: %d; intervalo entre eventos: %d ms; entregas: %.0f%n"
+                                + "alocação da thread de distribuição: %d bytes por evento, %.1f bytes por entrega%n"
+                                + "clientes retomados: %d (a partir do evento %d)%n",
+                        subscribers, events, interval.toMillis(), deliveries,
+                        allocated / events, allocated / deliveries, resumed, resumeFrom);
+
+                Files.createDirectories(REPORT_PATH.getParent());
+                Files.writeString(REPORT_PATH, report);
+                log.info("Resultado do stream de estoque:\n{}", report);
+            } finally {
+                connected.forEach(subscriber -> subscriber.lines.close());
+            }
+        }
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private String login(int port) throws IOException, InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("email", LoadTestDataGenerator.ADMIN_EMAIL, "password", LoadTestDataGenerator.PASSWORD))))
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    /**
+     * Abre a conexão e inicia a leitura dos eventos em uma thread virtual.
+     *
+     * @param first       índice do primeiro evento esperado.
+     * @param publishedAt instantes de publicação dos eventos ({@code null}: latência medida desde a conexão).
+     */
+    private Subscriber subscribe(int port, String token, String lastEventId, int first, int events,
+                                 AtomicLongArray publishedAt, LatencyRecorder recorder, CountDownLatch done)
+            throws IOException, InterruptedException {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/games/stream"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) request.header("Last-Event-ID", lastEventId);
+
+        long connectedAt = System.nanoTime();
+        HttpClient client = clients[(int) (Thread.currentThread().threadId() % clients.length)];
+        HttpResponse<Stream<String>> response = client.send(request.GET().build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode(), "Inscrição no stream");
+
+        Subscriber subscriber = new Subscriber(response.body(), first, events, connectedAt, publishedAt, recorder, done);
+        Thread.ofVirtual().start(subscriber::read);
+        return subscriber;
+    }
+
+    private static void awaitSubscribers(MeterRegistry meterRegistry, int subscribers) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (meterRegistry.get("inventory.stream.subscribers").gauge().value() < subscribers) {
+            assertTrue(System.nanoTime() < deadline, "Inscrições não registradas");
+            Thread.sleep(50);
+        }
+    }
+
+    private static double deliveries(MeterRegistry meterRegistry) {
+
+        return meterRegistry.get("inventory.stream.deliveries").counter().count();
+    }
+
+    private static Thread dispatcherThread() {
+
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("inventory-stream"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Cliente inscrito: confere a ordem dos eventos (quantidade {@code i + 1} no evento {@code i})
+     * e registra a latência de cada entrega.
+     */
+    private final class Subscriber {
+
+        private final Stream<String> lines;
+        private final int events;
+        private final long connectedAt;
+        private final AtomicLongArray publishedAt;
+        private final LatencyRecorder recorder;
+        private final CountDownLatch done;
+
+        /** IDs dos eventos recebidos, pelo índice do evento. */
+        private final String[] ids;
+        private final AtomicReference<String> failure = new AtomicReference<>();
+        private int next;
+
+        Subscriber(Stream<String> lines, int first, int events, long connectedAt,
+                   AtomicLongArray publishedAt, LatencyRecorder recorder, CountDownLatch done) {
+            this.lines = lines;
+            this.next = first;
+            this.events = events;
+            this.connectedAt = connectedAt;
+            this.publishedAt = publishedAt;
+            this.recorder = recorder;
+            this.done = done;
+            this.ids = new String[events];
+        }
+
+        void read() {
+
+            String[] id = new String[1];
+            try {
+                lines.forEach(line -> {
+                    if (line.startsWith("id: ")) {
+                        id[0] = line.substring(4);
+                    } else if (line.startsWith("data: ")) {
+                        received(id[0], line.substring(6));
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Conexão encerrada ao final do teste
+            }
+        }
+
+        private void received(String id, String data) {
+
+            long now = System.nanoTime();
+            try {
+                int quantity = objectMapper.readTree(data).get("quantity").asInt();
+                if (quantity != next + 1) {
+                    failure.compareAndSet(null, "esperado evento " + (next + 1) + ", recebido " + quantity);
+                    return;
+                }
+            } catch (IOException e) {
+                failure.compareAndSet(null, e.getMessage());
+                return;
+            }
+
+            ids[next] = id;
+            if (publishedAt != null) {
+                recorder.record("SSE inventory", now - publishedAt.get(next), 200);
+            }
+            if (++next == events) {
+                if (publishedAt == null) recorder.record("SSE resume", now - connectedAt, 200);
+                done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev.viniciussr.gamerental.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Registra as latências das requisições do teste de carga, agrupadas por endpoint.
+ * <p>
+ * Guarda todas as amostras (em nanossegundos) para calcular percentis exatos ao final;
+ * respostas fora da faixa 2xx são contadas como erro, mas também entram nos percentis.
+ * </p>
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentSkipListMap<>();
+
+    /**
+     * Registra uma requisição concluída.
+     *
+     * @param endpoint     método e rota (ex.: {@code GET /games/{id}}).
+     * @param elapsedNanos duração da requisição.
+     * @param statusCode   status HTTP da resposta ({@code 0} em falhas de conexão).
+     */
+    void record(String endpoint, long elapsedNanos, int statusCode) {
+
+        samplesByEndpoint.computeIfAbsent(endpoint, key -> new Samples())
+                .add(elapsedNanos, statusCode < 200 || statusCode >= 300);
+    }
+
+    /**
+     * Descarta as amostras registradas (fim do aquecimento).
+     */
+    void reset() {
+
+        samplesByEndpoint.clear();
+    }
+
+    /**
+     * @return Quantidade total de requisições registradas.
+     */
+    long totalRequests() {
+
+        return samplesByEndpoint.values().stream().mapToLong(Samples::count).sum();
+    }
+
+    /**
+     * Monta o relatório de vazão e percentis de latência por endpoint.
+     *
+     * @param elapsedSeconds duração da medição.
+     * @return Relatório em texto, uma linha por endpoint.
+     */
+    String report(double elapsedSeconds) {
+
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%-26s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        long totalRequests = 0;
+        for (Map.Entry<String, Samples> entry : samplesByEndpoint.entrySet()) {
+
+            long[] sorted = entry.getValue().sorted();
+            long errors = entry.getValue().errors();
+            totalRequests += sorted.length;
+
+            report.append(String.format(Locale.ROOT,
+                    "%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, errors, sorted.length / elapsedSeconds,
+                    percentileMs(sorted, 50), percentileMs(sorted, 90), percentileMs(sorted, 99),
+                    percentileMs(sorted, 99.9), percentileMs(sorted, 100)));
+        }
+
+        report.append(String.format(Locale.ROOT, "total: %d requisições em %.1f s (%.1f req/s)%n",
+                totalRequests, elapsedSeconds, totalRequests / elapsedSeconds));
+
+        return report.toString();
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Percentil pelo método do posto mais próximo, em milissegundos.
+     */
+    private static double percentileMs(long[] sorted, double percentile) {
+
+        if (sorted.length == 0) return 0;
+
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    /**
+     * Amostras de um endpoint.
+     */
+    private static final class Samples {
+
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+
+        synchronized void add(long elapsedNanos, boolean error) {
+            latencies.add(elapsedNanos);
+            if (error) errors++;
+        }
+
+        synchronized long count() {
+            return latencies.size();
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sorted() {
+            long[] values = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(values);
+            return values;
+        }
+    }
+}
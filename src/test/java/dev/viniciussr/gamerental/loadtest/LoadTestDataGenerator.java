@@ -0,0 +1,299 @@
+package dev.viniciussr.gamerental.loadtest;
+
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador determinístico de dados sintéticos para o teste de carga.
+ * <p>
+ * Cria usuários, jogos (com plataformas) e o histórico de aluguéis com distribuição assimétrica:
+ * poucos jogos e usuários concentram a maior parte dos aluguéis (Zipf), os planos seguem a
+ * proporção 60% NOOB / 30% PRO / 10% LEGEND e os aluguéis recentes ficam ativos enquanto
+ * houver vaga no plano e cópia disponível. Estoque dos jogos e aluguéis ativos dos usuários
+ * são ajustados ao final, mantendo os dados consistentes com as regras da API.
+ * </p>
+ * <p>
+ * A mesma semente e escala produzem sempre os mesmos dados. Todos os usuários compartilham a
+ * senha {@link #PASSWORD} (o hash é calculado uma única vez); o primeiro usuário é o administrador
+ * {@link #ADMIN_EMAIL}.
+ * </p>
+ */
+class LoadTestDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+    static final String ADMIN_EMAIL = "admin@loadtest.dev";
+    static final String PASSWORD = "loadtest123";
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int RENTAL_DAYS = 15;
+    private static final int HISTORY_DAYS = 730;
+    private static final double MAX_RENTED_SHARE = 0.6;
+
+    private static final String[] FIRST_NAMES = {
+            "Ana", "João", "Maria", "José", "Lúcia", "Antônio", "Júlia", "Márcio", "Letícia", "André",
+            "Beatriz", "Caio", "Débora", "Fábio", "Gabriela", "Heitor", "Inês", "Otávio", "Sônia", "Vinícius"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Silva", "Souza", "Conceição", "Araújo", "Gonçalves", "Pereira", "Simões", "Brandão", "Lima", "Assunção"
+    };
+
+    private static final String[] TITLE_WORDS = {
+            "Shadow", "Legend", "Dragon", "Galaxy", "Knight", "Quest", "Racer", "Empire", "Storm", "Dungeon",
+            "Hunter", "Chronicles", "Arena", "Frontier", "Odyssey", "Rebellion"
+    };
+
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO tb_user (name, name_normalized, email, email_normalized, password, role, plan, active_rentals, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0)
+            """;
+
+    private static final String INSERT_GAME_SQL = """
+            INSERT INTO tb_game (title, genre, quantity, available, version)
+            VALUES (?, ?, ?, TRUE, 0)
+            """;
+
+    private static final String INSERT_PLATFORM_SQL = """
+            INSERT INTO tb_game_platform (game_id, platform) VALUES (?, ?)
+            """;
+
+    private static final String INSERT_RENTAL_SQL = """
+            INSERT INTO tb_rental (game_id, user_id, rental_date, end_date, status, version)
+            VALUES (?, ?, ?, ?, ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Scale scale;
+
+    /**
+     * Escala e semente dos dados gerados.
+     *
+     * @param seed    semente do gerador de números aleatórios.
+     * @param users   quantidade de usuários (incluindo o administrador).
+     * @param games   quantidade de jogos.
+     * @param rentals quantidade de aluguéis no histórico.
+     */
+    record Scale(long seed, int users, int games, int rentals) {
+    }
+
+    LoadTestDataGenerator(JdbcTemplate jdbcTemplate, Scale scale) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scale = scale;
+    }
+
+    /**
+     * Gera os dados caso o banco ainda não possua usuários (banco em arquivo é reaproveitado entre execuções).
+     *
+     * @param passwordHash hash de {@link #PASSWORD}, compartilhado por todos os usuários.
+     * @return {@code true} se os dados foram gerados; {@code false} se já existiam.
+     */
+    boolean generateIfEmpty(String passwordHash) {
+
+        Long existingUsers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_user", Long.class);
+        if (existingUsers != null && existingUsers > 0) {
+            log.info("Dados do teste de carga já existentes ({} usuários); geração ignorada", existingUsers);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(scale.seed());
+
+        SubscriptionPlans[] plans = insertUsers(random, passwordHash);
+        int[] copies = insertGames(random);
+        insertRentals(random, plans, copies);
+
+        log.info("Dados do teste de carga gerados em {} s: {} usuários, {} jogos, {} aluguéis",
+                (System.nanoTime() - start) / 1_000_000_000, scale.users(), scale.games(), scale.rentals());
+        return true;
+    }
+
+    /**
+     * @return ID do primeiro usuário gerado (o administrador).
+     */
+    long firstUserId() {
+
+        return jdbcTemplate.queryForObject("SELECT MIN(id_user) FROM tb_user", Long.class);
+    }
+
+    /**
+     * @return ID do primeiro jogo gerado.
+     */
+    long firstGameId() {
+
+        return jdbcTemplate.queryForObject("SELECT MIN(id_game) FROM tb_game", Long.class);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Insere os usuários (o primeiro é o administrador).
+     *
+     * @return Plano de cada usuário, por posição.
+     */
+    private SubscriptionPlans[] insertUsers(SplittableRandom random, String passwordHash) {
+
+        SubscriptionPlans[] plans = new SubscriptionPlans[scale.users()];
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < scale.users(); i++) {
+
+            boolean admin = i == 0;
+            double roll = random.nextDouble();
+            plans[i] = admin ? SubscriptionPlans.LEGEND
+                    : roll < 0.6 ? SubscriptionPlans.NOOB
+                    : roll < 0.9 ? SubscriptionPlans.PRO
+                    : SubscriptionPlans.LEGEND;
+
+            String name = admin ? "Administrador"
+                    : FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String email = admin ? ADMIN_EMAIL : "user" + i + "@loadtest.dev";
+
+            batch.add(new Object[]{
+                    name, User.normalizeForSearch(name), email, User.normalizeForSearch(email), passwordHash,
+                    admin ? "ADMIN" : "USER", plans[i].name()
+            });
+            flushIfFull(INSERT_USER_SQL, batch);
+        }
+        flush(INSERT_USER_SQL, batch);
+
+        log.info("{} usuários inseridos", scale.users());
+        return plans;
+    }
+
+    /**
+     * Insere os jogos e suas plataformas; jogos mais populares (menor posição) possuem mais cópias.
+     *
+     * @return Quantidade de cópias de cada jogo, por posição.
+     */
+    private int[] insertGames(SplittableRandom random) {
+
+        GameGenres[] genres = GameGenres.values();
+        Platforms[] platforms = Platforms.values();
+        ZipfSampler genreSampler = new ZipfSampler(genres.length, 0.8);
+
+        int[] copies = new int[scale.games()];
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < scale.games(); i++) {
+
+            copies[i] = 1 + random.nextInt(3) + (int) (20 / Math.sqrt(i + 1));
+
+            String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                    + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + (i + 1);
+
+            batch.add(new Object[]{title, genres[genreSampler.sample(random)].name(), copies[i]});
+            flushIfFull(INSERT_GAME_SQL, batch);
+        }
+        flush(INSERT_GAME_SQL, batch);
+
+        long firstGameId = firstGameId();
+        for (int i = 0; i < scale.games(); i++) {
+
+            int first = random.nextInt(platforms.length);
+            int count = 1 + random.nextInt(3);
+            for (int p = 0; p < count; p++) {
+                batch.add(new Object[]{firstGameId + i, platforms[(first + p) % platforms.length].name()});
+                flushIfFull(INSERT_PLATFORM_SQL, batch);
+            }
+        }
+        flush(INSERT_PLATFORM_SQL, batch);
+
+        log.info("{} jogos inseridos", scale.games());
+        return copies;
+    }
+
+    /**
+     * Insere o histórico de aluguéis e ajusta o estoque dos jogos e os aluguéis ativos dos usuários.
+     */
+    private void insertRentals(SplittableRandom random, SubscriptionPlans[] plans, int[] copies) {
+
+        ZipfSampler userSampler = new ZipfSampler(scale.users() - 1, 0.9); // O administrador não aluga
+        ZipfSampler gameSampler = new ZipfSampler(scale.games(), 1.1);
+
+        long firstUserId = firstUserId();
+        long firstGameId = firstGameId();
+        LocalDate today = LocalDate.now();
+
+        int[] activeByUser = new int[scale.users()];
+        int[] rentedByGame = new int[scale.games()];
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < scale.rentals(); i++) {
+
+            int user = 1 + userSampler.sample(random);
+            int game = gameSampler.sample(random);
+
+            // Aluguéis mais recentes são mais frequentes
+            int daysAgo = (int) (HISTORY_DAYS * Math.pow(random.nextDouble(), 2));
+            LocalDate rentalDate = today.minusDays(daysAgo);
+            LocalDate endDate = rentalDate.plusDays(RENTAL_DAYS);
+
+            // Mantém parte do estoque livre, para que os jogos populares continuem alugáveis durante a carga
+            boolean hasSlot = activeByUser[user] < plans[user].getMaxActiveRentals()
+                    && rentedByGame[game] < copies[game] * MAX_RENTED_SHARE;
+
+            String status;
+            if (daysAgo <= RENTAL_DAYS && hasSlot && random.nextDouble() < 0.5) {
+                status = "ACTIVE";
+            } else if (daysAgo <= 2 * RENTAL_DAYS && hasSlot && random.nextDouble() < 0.2) {
+                status = "LATE";
+            } else {
+                status = random.nextDouble() < 0.03 ? "CANCELLED" : "RETURNED";
+                if (endDate.isAfter(today)) endDate = today;
+            }
+
+            if (status.equals("ACTIVE") || status.equals("LATE")) {
+                activeByUser[user]++;
+                rentedByGame[game]++;
+            }
+
+            batch.add(new Object[]{
+                    firstGameId + game, firstUserId + user, Date.valueOf(rentalDate), Date.valueOf(endDate), status
+            });
+            flushIfFull(INSERT_RENTAL_SQL, batch);
+
+            if ((i + 1) % 500_000 == 0) log.info("{} aluguéis inseridos", i + 1);
+        }
+        flush(INSERT_RENTAL_SQL, batch);
+
+        for (int user = 0; user < activeByUser.length; user++) {
+            if (activeByUser[user] == 0) continue;
+            batch.add(new Object[]{activeByUser[user], firstUserId + user});
+            flushIfFull("UPDATE tb_user SET active_rentals = ? WHERE id_user = ?", batch);
+        }
+        flush("UPDATE tb_user SET active_rentals = ? WHERE id_user = ?", batch);
+
+        for (int game = 0; game < rentedByGame.length; game++) {
+            if (rentedByGame[game] == 0) continue;
+            int quantity = copies[game] - rentedByGame[game];
+            batch.add(new Object[]{quantity, quantity > 0, firstGameId + game});
+            flushIfFull("UPDATE tb_game SET quantity = ?, available = ? WHERE id_game = ?", batch);
+        }
+        flush("UPDATE tb_game SET quantity = ?, available = ? WHERE id_game = ?", batch);
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+
+        if (batch.size() >= BATCH_SIZE) flush(sql, batch);
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+
+        if (batch.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+    }
+}
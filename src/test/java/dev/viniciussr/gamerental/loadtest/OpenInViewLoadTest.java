@@ -0,0 +1,331 @@
+package dev.viniciussr.gamerental.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import dev.viniciussr.gamerental.GameRentalApiApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga comparando o uso do pool de conexões com open-in-view ligado e desligado.
+ * <p>
+ * Sobe a aplicação duas vezes ({@code spring.jpa.open-in-view=true} e {@code false}), cada uma sobre seu
+ * próprio banco H2 em memória e com o mesmo pool (pequeno) de conexões. Clientes lentos listam os jogos
+ * ({@code GET /games}) lendo a resposta aos poucos e, com o buffer de envio do servidor fixo, a escrita da
+ * resposta bloqueia a thread da requisição; ao mesmo tempo, clientes rápidos consultam jogos por ID ({@code GET /games/{id}}).
+ * </p>
+ * <p>
+ * Com open-in-view, a conexão obtida na consulta fica presa à requisição até o fim da escrita da resposta:
+ * o número de respostas lentas em andamento fica limitado ao tamanho do pool, e os demais clientes esperam
+ * por uma conexão. Sem open-in-view, a conexão volta ao pool ao fim da transação do serviço.
+ * </p>
+ * <p>
+ * Registra, para cada modo, a vazão e os percentis de latência, o pico de respostas lentas em andamento,
+ * o pico de conexões ativas e de threads aguardando conexão, e o tempo de uso de cada conexão em
+ * {@code target/loadtest/open-in-view-report.txt}.
+ * </p>
+ * <p>
+ * Fora da execução padrão dos testes (tag {@code load}); executado com
+ * {@code mvn -Ploadtest test -Dtest=OpenInViewLoadTest}.
+ * </p>
+ */
+@Tag("load")
+class OpenInViewLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenInViewLoadTest.class);
+
+    private static final Path REPORT_PATH = Path.of("target", "loadtest", "open-in-view-report.txt");
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void openInViewOnVersusOff() throws Exception {
+
+        String on = runMode(true);
+        String off = runMode(false);
+
+        String report = "open-in-view ligado" + System.lineSeparator() + on
+                + System.lineSeparator()
+                + "open-in-view desligado" + System.lineSeparator() + off;
+
+        Files.createDirectories(REPORT_PATH.getParent());
+        Files.writeString(REPORT_PATH, report);
+        log.info("Resultado da comparação de open-in-view:\n{}", report);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Sobe a aplicação no modo informado, executa o aquecimento e a medição, e retorna o relatório do modo.
+     */
+    private String runMode(boolean openInView) throws Exception {
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GameRentalApiApplication.class)
+                .profiles("test", "loadtest")
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("smallSendBuffer", smallSendBuffer(
+                        ctx.getEnvironment().getRequiredProperty("loadtest.osiv.server-send-buffer-bytes"))))
+                .run(
+                        "--server.port=0",
+                        "--spring.jpa.open-in-view=" + openInView,
+                        "--spring.datasource.url=" + H2_URL.formatted(openInView ? "osiv_on" : "osiv_off"),
+                        "--spring.datasource.hikari.maximum-pool-size=${loadtest.osiv.pool-size}",
+                        "--spring.datasource.hikari.connection-timeout=${loadtest.osiv.connection-timeout-ms}"
+                )) {
+
+            Environment env = context.getEnvironment();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            int games = env.getRequiredProperty("loadtest.osiv.data.games", Integer.class);
+            int slowClients = env.getRequiredProperty("loadtest.osiv.slow-clients", Integer.class);
+            int fastClients = env.getRequiredProperty("loadtest.osiv.fast-clients", Integer.class);
+
+            LoadTestDataGenerator generator = new LoadTestDataGenerator(context.getBean(JdbcTemplate.class),
+                    new LoadTestDataGenerator.Scale(
+                            env.getRequiredProperty("loadtest.seed", Long.class),
+                            env.getRequiredProperty("loadtest.osiv.data.users", Integer.class),
+                            games,
+                            env.getRequiredProperty("loadtest.osiv.data.rentals", Integer.class)));
+            generator.generateIfEmpty(context.getBean(PasswordEncoder.class).encode(LoadTestDataGenerator.PASSWORD));
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            Load load = new Load(port, login(port), generator.firstGameId(), games,
+                    env.getRequiredProperty("loadtest.osiv.slow-client.chunk-bytes", Integer.class),
+                    env.getRequiredProperty("loadtest.osiv.slow-client.chunk-delay", Duration.class),
+                    recorder, new AtomicInteger(), new AtomicInteger());
+
+            HikariPoolMXBean pool = context.getBean(DataSource.class).unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            String mode = openInView ? "open-in-view ligado" : "open-in-view desligado";
+
+            log.info("Modo {}: aquecimento com {} clientes lentos e {} rápidos", mode, slowClients, fastClients);
+            load.runFor(slowClients, fastClients, env.getRequiredProperty("loadtest.osiv.warmup", Duration.class), null);
+            recorder.reset();
+            load.peakSlowInProgress().set(0);
+            Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+            long usageCountBefore = usage != null ? usage.count() : 0;
+            double usageTotalBefore = usage != null ? usage.totalTime(TimeUnit.MILLISECONDS) : 0;
+
+            log.info("Modo {}: medição com {} clientes lentos e {} rápidos", mode, slowClients, fastClients);
+            PoolSampler sampler = new PoolSampler(pool);
+            long start = System.nanoTime();
+            load.runFor(slowClients, fastClients, env.getRequiredProperty("loadtest.osiv.duration", Duration.class), sampler);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertTrue(recorder.totalRequests() > 0, "Nenhuma requisição concluída");
+
+            long usageCount = usage != null ? usage.count() - usageCountBefore : 0;
+            double usageMeanMs = usageCount > 0 ? (usage.totalTime(TimeUnit.MILLISECONDS) - usageTotalBefore) / usageCount : 0;
+
+            return recorder.report(elapsedSeconds) + String.format(Locale.ROOT,
+                    "pool de conexões: %s; timeout para obter conexão: %s ms; clientes lentos: %d; clientes rápidos: %d%n"
+                            + "pico de respostas lentas em andamento: %d; pico de conexões ativas: %d; "
+                            + "pico de threads aguardando conexão: %d%n"
+                            + "uso médio de cada conexão obtida do pool: %.1f ms (%d empréstimos)%n",
+                    env.getProperty("spring.datasource.hikari.maximum-pool-size"),
+                    env.getProperty("spring.datasource.hikari.connection-timeout"), slowClients, fastClients,
+                    load.peakSlowInProgress().get(), sampler.peakActive.get(), sampler.peakPending.get(),
+                    usageMeanMs, usageCount);
+        }
+    }
+
+    /**
+     * Fixa o buffer de envio dos sockets do Tomcat, desativando o ajuste automático do sistema operacional:
+     * assim a resposta não cabe inteira no buffer e a escrita acompanha a leitura do cliente lento.
+     */
+    private static WebServerFactoryCustomizer<TomcatServletWebServerFactory> smallSendBuffer(String bytes) {
+
+        return factory -> factory.addConnectorCustomizers(connector -> connector.setProperty("socket.txBufSize", bytes));
+    }
+
+    private String login(int port) throws IOException, InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("email", LoadTestDataGenerator.ADMIN_EMAIL, "password", LoadTestDataGenerator.PASSWORD))))
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    /**
+     * Clientes lentos (listagem lida aos poucos) e rápidos (consulta por ID), cada um em sua própria thread virtual.
+     */
+    private record Load(
+            int port,
+            String token,
+            long firstGameId,
+            int games,
+            int chunkBytes,
+            Duration chunkDelay,
+            LatencyRecorder recorder,
+            AtomicInteger slowInProgress,
+            AtomicInteger peakSlowInProgress
+    ) {
+
+        void runFor(int slowClients, int fastClients, Duration interval, PoolSampler sampler) throws Exception {
+
+            long deadline = System.nanoTime() + interval.toNanos();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+                if (sampler != null) {
+                    executor.submit(() -> {
+                        sampler.sampleUntil(deadline);
+                        return null;
+                    });
+                }
+
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < slowClients; i++) {
+                    futures.add(executor.submit(() -> {
+                        while (System.nanoTime() < deadline) slowListGames();
+                        return null;
+                    }));
+                }
+                for (int i = 0; i < fastClients; i++) {
+                    SplittableRandom random = new SplittableRandom(i + 1L);
+                    futures.add(executor.submit(() -> {
+                        while (System.nanoTime() < deadline) findGame(client, firstGameId + random.nextInt(games));
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) future.get();
+            }
+        }
+
+        /**
+         * Lista os jogos por um socket com buffer de recepção pequeno, lendo a resposta em blocos espaçados.
+         */
+        private void slowListGames() throws InterruptedException {
+
+            long start = System.nanoTime();
+            int status = 0;
+            boolean started = false;
+
+            try (Socket socket = new Socket()) {
+
+                socket.setReceiveBufferSize(chunkBytes);
+                socket.connect(new InetSocketAddress("localhost", port), 5_000);
+                socket.setSoTimeout(60_000);
+
+                OutputStream out = socket.getOutputStream();
+                out.write(("GET /games HTTP/1.1\r\nHost: localhost\r\nAuthorization: Bearer " + token
+                        + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+
+                InputStream in = socket.getInputStream();
+                byte[] buffer = new byte[chunkBytes];
+                int read = in.readNBytes(buffer, 0, 12);
+                if (read == 12) status = Integer.parseInt(new String(buffer, 9, 3, StandardCharsets.US_ASCII));
+
+                // Listagem em andamento: a requisição já passou pela consulta ao banco
+                if (status == 200) {
+                    started = true;
+                    peakSlowInProgress.accumulateAndGet(slowInProgress.incrementAndGet(), Math::max);
+                }
+
+                while (in.read(buffer) >= 0) Thread.sleep(chunkDelay);
+            } catch (IOException | NumberFormatException e) {
+                status = 0;
+            } finally {
+                if (started) slowInProgress.decrementAndGet();
+            }
+            recorder.record("GET /games (lento)", System.nanoTime() - start, status);
+        }
+
+        private void findGame(HttpClient client, long gameId) throws InterruptedException {
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/games/" + gameId))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            }
+            recorder.record("GET /games/{id}", System.nanoTime() - start, status);
+        }
+    }
+
+    /**
+     * Amostra periodicamente as conexões ativas e as threads aguardando conexão no pool.
+     */
+    private static final class PoolSampler {
+
+        private final HikariPoolMXBean pool;
+
+        private final AtomicInteger peakActive = new AtomicInteger();
+        private final AtomicInteger peakPending = new AtomicInteger();
+
+        private PoolSampler(HikariPoolMXBean pool) {
+            this.pool = pool;
+        }
+
+        void sampleUntil(long deadline) throws InterruptedException {
+
+            while (System.nanoTime() < deadline) {
+                peakActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                peakPending.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                Thread.sleep(5);
+            }
+        }
+    }
+}
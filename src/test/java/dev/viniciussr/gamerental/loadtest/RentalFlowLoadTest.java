@@ -0,0 +1,246 @@
+package dev.viniciussr.gamerental.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.service.EmailBloomFilter;
+import dev.viniciussr.gamerental.service.UserSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga de ponta a ponta do fluxo login → consulta de jogos → aluguel → devolução.
+ * <p>
+ * Sobe a aplicação completa (controllers, segurança, serviços e migrações do Flyway) sobre um banco
+ * H2 em arquivo no modo MySQL, populado pelo {@link LoadTestDataGenerator}, e dispara requisições
+ * HTTP reais com usuários virtuais concorrentes. Ao final, registra a vazão e os percentis de latência
+ * de cada endpoint no log e em {@code target/loadtest/report.txt}.
+ * </p>
+ * <p>
+ * Fora da execução padrão dos testes (tag {@code load}); executado com {@code mvn -Ploadtest test}.
+ * Escala e duração são definidas em {@code application-loadtest.properties} e podem ser sobrescritas
+ * na linha de comando (ex.: {@code -Dloadtest.data.users=100000}).
+ * </p>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+class RentalFlowLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalFlowLoadTest.class);
+
+    private static final Path REPORT_PATH = Path.of("target", "loadtest", "report.txt");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+
+    @Value("${loadtest.data.users}")
+    private int users;
+
+    @Value("${loadtest.data.games}")
+    private int games;
+
+    @Value("${loadtest.data.rentals}")
+    private int rentals;
+
+    @Value("${loadtest.virtual-users}")
+    private int virtualUsers;
+
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration}")
+    private Duration duration;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    private long firstUserId;
+    private long firstGameId;
+    private ZipfSampler gameSampler;
+
+    @Test
+    void rentalFlow() throws Exception {
+
+        LoadTestDataGenerator generator = new LoadTestDataGenerator(
+                jdbcTemplate, new LoadTestDataGenerator.Scale(seed, users, games, rentals));
+
+        if (generator.generateIfEmpty(passwordEncoder.encode(LoadTestDataGenerator.PASSWORD))) {
+            // Estruturas em memória carregadas na inicialização, antes da geração dos dados
+            userSearchIndex.rebuild();
+            emailFilter.rebuild();
+        }
+
+        firstUserId = generator.firstUserId();
+        firstGameId = generator.firstGameId();
+        gameSampler = new ZipfSampler(games, 1.1);
+
+        String adminToken = login(LoadTestDataGenerator.ADMIN_EMAIL);
+
+        log.info("Aquecimento: {} usuários virtuais por {}", virtualUsers, warmup);
+        runFor(warmup, adminToken);
+        recorder.reset();
+
+        log.info("Medição: {} usuários virtuais por {}", virtualUsers, duration);
+        long start = System.nanoTime();
+        runFor(duration, adminToken);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        String report = recorder.report(elapsedSeconds);
+        Files.createDirectories(REPORT_PATH.getParent());
+        Files.writeString(REPORT_PATH, report);
+        log.info("Resultado do teste de carga:\n{}", report);
+
+        assertTrue(recorder.totalRequests() > 0, "Nenhuma requisição concluída");
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Executa o fluxo com todos os usuários virtuais até o fim do intervalo.
+     */
+    private void runFor(Duration interval, String adminToken) throws Exception {
+
+        long deadline = System.nanoTime() + interval.toNanos();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(virtualUsers)) {
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < virtualUsers; i++) {
+                SplittableRandom random = new SplittableRandom(seed + i + 1);
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) rentalFlowIteration(random, adminToken);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        }
+    }
+
+    /**
+     * Uma iteração do fluxo: o usuário faz login e consulta jogos; o administrador registra o
+     * aluguel do jogo escolhido e, em seguida, a devolução (aluguéis são restritos a ADMIN).
+     * <p>
+     * Os usuários são sorteados de forma uniforme (a assimetria de uso já está no histórico gerado);
+     * os jogos seguem a mesma distribuição de popularidade do histórico.
+     * </p>
+     */
+    private void rentalFlowIteration(SplittableRandom random, String adminToken) throws IOException, InterruptedException {
+
+        long userId = firstUserId + 1 + random.nextInt(users - 1);
+        String userToken = login("user" + (userId - firstUserId) + "@loadtest.dev");
+        if (userToken == null) return;
+
+        long gameId = firstGameId + gameSampler.sample(random);
+        send("GET /games/{id}", get("/games/" + gameId, userToken));
+
+        GameGenres genre = GameGenres.values()[random.nextInt(GameGenres.values().length)];
+        send("GET /games?genre", get("/games?genre=" + genre, userToken));
+
+        HttpResponse<String> rental = send("POST /rentals", post("/rentals",
+                objectMapper.writeValueAsString(Map.of("gameId", gameId, "userId", userId)), adminToken));
+
+        if (rental.statusCode() == 201) {
+            long rentalId = objectMapper.readTree(rental.body()).get("idRental").asLong();
+            send("PUT /rentals/return/{id}", request("/rentals/return/" + rentalId, adminToken)
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build());
+        }
+    }
+
+    /**
+     * Faz login e retorna o token JWT ({@code null} se o login falhar).
+     */
+    private String login(String email) throws IOException, InterruptedException {
+
+        HttpResponse<String> response = send("POST /auth/login", post("/auth/login",
+                objectMapper.writeValueAsString(Map.of("email", email, "password", LoadTestDataGenerator.PASSWORD)), null));
+
+        if (response.statusCode() != 200) return null;
+
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("token").asText();
+    }
+
+    /**
+     * Envia a requisição e registra sua latência no endpoint informado.
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+        return response;
+    }
+
+    private HttpRequest get(String path, String token) {
+
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+}
@@ -0,0 +1,256 @@
+package dev.viniciussr.gamerental.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.GameRentalApiApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga comparando threads de plataforma e threads virtuais com um banco lento.
+ * <p>
+ * Sobe a aplicação duas vezes ({@code spring.threads.virtual.enabled=false} e {@code true}), cada uma
+ * sobre seu próprio banco H2 em memória, e simula a latência de rede/banco atrasando cada comando SQL
+ * em {@code loadtest.slow-db.latency}. Os clientes concorrentes consultam {@code GET /games/{id}}; o pool
+ * de conexões é maior que o limite de threads do Tomcat, de modo que, com threads de plataforma, o
+ * limite de concorrência é o pool de threads e, com threads virtuais, o pool de conexões.
+ * </p>
+ * <p>
+ * Registra a vazão, os percentis de latência, o pico de comandos SQL simultâneos, o pico de threads de
+ * plataforma da JVM e os eventos de pinning de cada modo em {@code target/loadtest/virtual-threads-report.txt}.
+ * </p>
+ * <p>
+ * Fora da execução padrão dos testes (tag {@code load}); executado com
+ * {@code mvn -Ploadtest test -Dtest=VirtualThreadsLoadTest}.
+ * </p>
+ */
+@Tag("load")
+class VirtualThreadsLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsLoadTest.class);
+
+    private static final Path REPORT_PATH = Path.of("target", "loadtest", "virtual-threads-report.txt");
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+
+        String platform = runMode(false);
+        String virtual = runMode(true);
+
+        String report = "threads de plataforma" + System.lineSeparator() + platform
+                + System.lineSeparator()
+                + "threads virtuais" + System.lineSeparator() + virtual;
+
+        Files.createDirectories(REPORT_PATH.getParent());
+        Files.writeString(REPORT_PATH, report);
+        log.info("Resultado da comparação de threads:\n{}", report);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Sobe a aplicação no modo informado, executa o aquecimento e a medição, e retorna o relatório do modo.
+     */
+    private String runMode(boolean virtualThreads) throws Exception {
+
+        SlowDatabase slowDatabase = new SlowDatabase();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GameRentalApiApplication.class)
+                .profiles("test", "loadtest")
+                .initializers(ctx -> {
+                    slowDatabase.latency = ctx.getEnvironment().getRequiredProperty("loadtest.slow-db.latency", Duration.class);
+                    ctx.getBeanFactory().registerSingleton("slowDatabase", slowDatabase);
+                })
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=${loadtest.slow-db.tomcat-threads}",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=" + H2_URL.formatted(virtualThreads ? "vt_virtual" : "vt_platform"),
+                        "--spring.datasource.hikari.maximum-pool-size=${loadtest.slow-db.pool-size}",
+                        "--sql.profiling.enabled=true"
+                )) {
+
+            Environment env = context.getEnvironment();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            int clients = env.getRequiredProperty("loadtest.slow-db.clients", Integer.class);
+            int games = env.getRequiredProperty("loadtest.slow-db.data.games", Integer.class);
+
+            // Dados gerados sem a latência simulada
+            slowDatabase.enabled = false;
+            LoadTestDataGenerator generator = new LoadTestDataGenerator(context.getBean(JdbcTemplate.class),
+                    new LoadTestDataGenerator.Scale(
+                            env.getRequiredProperty("loadtest.seed", Long.class),
+                            env.getRequiredProperty("loadtest.slow-db.data.users", Integer.class),
+                            games,
+                            env.getRequiredProperty("loadtest.slow-db.data.rentals", Integer.class)));
+            generator.generateIfEmpty(context.getBean(PasswordEncoder.class).encode(LoadTestDataGenerator.PASSWORD));
+            long firstGameId = generator.firstGameId();
+            String token = login(port);
+            slowDatabase.enabled = true;
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            Load load = new Load(port, token, firstGameId, games, recorder);
+
+            log.info("Modo {}: aquecimento com {} clientes", virtualThreads ? "virtual" : "plataforma", clients);
+            load.runFor(clients, env.getRequiredProperty("loadtest.slow-db.warmup", Duration.class));
+            recorder.reset();
+            slowDatabase.peakConcurrent.set(0);
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+
+            log.info("Modo {}: medição com {} clientes", virtualThreads ? "virtual" : "plataforma", clients);
+            long start = System.nanoTime();
+            load.runFor(clients, env.getRequiredProperty("loadtest.slow-db.duration", Duration.class));
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertTrue(recorder.totalRequests() > 0, "Nenhuma requisição concluída");
+
+            return recorder.report(elapsedSeconds) + String.format(Locale.ROOT,
+                    "latência simulada por comando SQL: %d ms; clientes: %d; threads do Tomcat: %s; pool de conexões: %s%n"
+                            + "pico de comandos SQL simultâneos: %d; pico de threads de plataforma: %d; pinning: %d eventos%n",
+                    slowDatabase.latency.toMillis(), clients, env.getProperty("server.tomcat.threads.max"),
+                    env.getProperty("spring.datasource.hikari.maximum-pool-size"),
+                    slowDatabase.peakConcurrent.get(), threads.getPeakThreadCount(),
+                    pinnedEvents(context.getBean(MeterRegistry.class)));
+        }
+    }
+
+    private String login(int port) throws IOException, InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("email", LoadTestDataGenerator.ADMIN_EMAIL, "password", LoadTestDataGenerator.PASSWORD))))
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private static long pinnedEvents(MeterRegistry meterRegistry) {
+
+        return meterRegistry.find("jvm.threads.virtual.pinned").timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    /**
+     * Clientes concorrentes consultando jogos aleatórios, cada um em sua própria thread virtual.
+     */
+    private record Load(int port, String token, long firstGameId, int games, LatencyRecorder recorder) {
+
+        void runFor(int clients, Duration interval) throws Exception {
+
+            long deadline = System.nanoTime() + interval.toNanos();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < clients; i++) {
+                    SplittableRandom random = new SplittableRandom(i + 1L);
+                    futures.add(executor.submit(() -> {
+                        while (System.nanoTime() < deadline) findGame(client, firstGameId + random.nextInt(games));
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) future.get();
+            }
+        }
+
+        private void findGame(HttpClient client, long gameId) throws InterruptedException {
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/games/" + gameId))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            }
+            recorder.record("GET /games/{id}", System.nanoTime() - start, status);
+        }
+    }
+
+    /**
+     * Simula um banco lento: atrasa cada comando SQL, com a conexão ocupada, e mede a concorrência no banco.
+     */
+    private static final class SlowDatabase implements QueryExecutionListener {
+
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger peakConcurrent = new AtomicInteger();
+
+        private volatile Duration latency = Duration.ZERO;
+        private volatile boolean enabled;
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+            if (!enabled || latency.isZero()) return;
+
+            peakConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    }
+}
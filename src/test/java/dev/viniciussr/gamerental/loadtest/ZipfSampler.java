@@ -0,0 +1,46 @@
+package dev.viniciussr.gamerental.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Amostrador de uma distribuição de Zipf sobre os postos {@code 0..n-1}.
+ * <p>
+ * O posto {@code k} é sorteado com probabilidade proporcional a {@code 1 / (k + 1)^s}:
+ * poucos itens concentram a maior parte dos acessos (jogos populares, usuários frequentes).
+ * A função de distribuição acumulada é pré-calculada e o sorteio é feito por busca binária.
+ * </p>
+ */
+class ZipfSampler {
+
+    private final double[] cdf;
+
+    /**
+     * @param n        quantidade de itens.
+     * @param exponent expoente {@code s} da distribuição (quanto maior, mais concentrada).
+     */
+    ZipfSampler(int n, double exponent) {
+
+        cdf = new double[n];
+
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) cdf[k] /= sum;
+    }
+
+    /**
+     * Sorteia um posto.
+     *
+     * @param random gerador de números aleatórios (determinístico pela semente).
+     * @return Posto sorteado, entre {@code 0} e {@code n-1}.
+     */
+    int sample(SplittableRandom random) {
+
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        if (index < 0) index = -index - 1;
+        return Math.min(index, cdf.length - 1);
+    }
+}
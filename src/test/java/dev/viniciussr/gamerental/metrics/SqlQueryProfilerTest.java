@@ -0,0 +1,113 @@
+package dev.viniciussr.gamerental.metrics;
+
+import dev.viniciussr.gamerental.metrics.sql.SqlProfilingConfig;
+import dev.viniciussr.gamerental.metrics.sql.SqlQueryProfiler;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contagem de linhas do perfil de SQL: ResultSets com proxy apenas quando amostrados, e registro
+ * das linhas quando o ResultSet ou o seu Statement é fechado.
+ */
+class SqlQueryProfilerTest {
+
+    private JdbcDataSource dataSource;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sql_profiler;DB_CLOSE_DELAY=-1");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void resultSetsAreNotProxiedWhenSamplingIsDisabled() throws SQLException {
+
+        DataSource profiled = profiled(0.0);
+
+        try (Connection connection = profiled.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT X FROM SYSTEM_RANGE(1, 3)")) {
+
+            assertThat(Proxy.isProxyClass(resultSet.getClass())).isFalse();
+            while (resultSet.next()) ;
+        }
+
+        assertThat(meterRegistry.find("sql.rows").summary()).isNull();
+    }
+
+    @Test
+    void sampledRowsAreRecordedWhenTheResultSetIsExhausted() throws SQLException {
+
+        DataSource profiled = profiled(1.0);
+
+        try (Connection connection = profiled.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT X FROM SYSTEM_RANGE(1, 3)")) {
+
+            assertThat(Proxy.isProxyClass(resultSet.getClass())).isTrue();
+            while (resultSet.next()) ;
+        }
+
+        assertThat(rows().count()).isEqualTo(1);
+        assertThat(rows().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void rowsAreRecordedWhenTheStatementIsClosed() throws SQLException {
+
+        DataSource profiled = profiled(1.0);
+
+        try (Connection connection = profiled.getConnection();
+             Statement statement = connection.createStatement()) {
+
+            // ResultSet lido parcialmente e nunca fechado explicitamente
+            ResultSet resultSet = statement.executeQuery("SELECT X FROM SYSTEM_RANGE(1, 5)");
+            resultSet.next();
+            resultSet.next();
+        }
+
+        assertThat(rows().count()).isEqualTo(1);
+        assertThat(rows().totalAmount()).isEqualTo(2);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private DataSource profiled(double rowSampleRate) {
+
+        SqlQueryProfiler profiler = new SqlQueryProfiler(meterRegistry, Duration.ofSeconds(1), 10, rowSampleRate, 10);
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("sqlQueryProfiler", profiler);
+
+        Object proxied = SqlProfilingConfig.sqlProfilingDataSourcePostProcessor(
+                beanFactory.getBeanProvider(SqlQueryProfiler.class),
+                beanFactory.getBeanProvider(QueryExecutionListener.class)
+        ).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(proxied).isInstanceOf(DataSource.class);
+        return (DataSource) proxied;
+    }
+
+    private DistributionSummary rows() {
+
+        return meterRegistry.get("sql.rows").summary();
+    }
+}
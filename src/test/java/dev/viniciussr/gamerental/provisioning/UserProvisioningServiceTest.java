@@ -0,0 +1,240 @@
+package dev.viniciussr.gamerental.provisioning;
+
+import dev.viniciussr.gamerental.dto.UserBulkFailureDto;
+import dev.viniciussr.gamerental.dto.UserBulkResultDto;
+import dev.viniciussr.gamerental.dto.UserRegisterDto;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.exception.user.BulkImportTooLargeException;
+import dev.viniciussr.gamerental.service.UserProvisioningService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cadastro de usuários em lote: limite de linhas, linhas rejeitadas sem interromper as demais
+ * e inserção linha a linha quando um lote falha.
+ * <p>
+ * O {@link PasswordEncoder} é envolvido por um proxy do teste que permite simular um cadastro
+ * concorrente durante a criptografia (entre a verificação dos e-mails e a inserção).
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "user.bulk.max-rows=" + UserProvisioningServiceTest.MAX_ROWS,
+        "user.bulk.batch-size=3"
+})
+@ActiveProfiles("test")
+@Import(UserProvisioningServiceTest.EncoderProbeConfig.class)
+class UserProvisioningServiceTest {
+
+    static final int MAX_ROWS = 10;
+
+    /** Ação executada ao criptografar a senha {@link #CONCURRENT_PASSWORD}. */
+    private static final AtomicReference<Runnable> onConcurrentPassword = new AtomicReference<>(() -> {});
+
+    private static final String CONCURRENT_PASSWORD = "concorrente";
+
+    @TestConfiguration
+    static class EncoderProbeConfig {
+
+        @Bean
+        static BeanPostProcessor encoderProbePostProcessor() {
+
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                    if (!(bean instanceof PasswordEncoder encoder)) return bean;
+
+                    return new PasswordEncoder() {
+                        @Override
+                        public String encode(CharSequence rawPassword) {
+
+                            if (CONCURRENT_PASSWORD.contentEquals(rawPassword)) onConcurrentPassword.get().run();
+                            return encoder.encode(rawPassword);
+                        }
+
+                        @Override
+                        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                            return encoder.matches(rawPassword, encodedPassword);
+                        }
+
+                        @Override
+                        public boolean upgradeEncoding(String encodedPassword) {
+                            return encoder.upgradeEncoding(encodedPassword);
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental_archive");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        jdbcTemplate.update("DELETE FROM tb_change");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        insertUser("Cadastrada", "cadastrada@gamerental.dev");
+    }
+
+    @AfterEach
+    void tearDown() {
+        onConcurrentPassword.set(() -> {});
+    }
+
+    @Test
+    void batchOverMaxRowsIsRejected() {
+
+        List<UserRegisterDto> dtos = IntStream.rangeClosed(1, MAX_ROWS + 1)
+                .mapToObj(i -> user("usuario" + i + "@gamerental.dev"))
+                .toList();
+
+        assertThatThrownBy(() -> userProvisioningService.createUsers(dtos))
+                .isInstanceOf(BulkImportTooLargeException.class);
+
+        assertThat(users()).isEqualTo(1);
+    }
+
+    @Test
+    void batchAtMaxRowsIsAccepted() {
+
+        List<UserRegisterDto> dtos = IntStream.rangeClosed(1, MAX_ROWS)
+                .mapToObj(i -> user("usuario" + i + "@gamerental.dev"))
+                .toList();
+
+        UserBulkResultDto result = userProvisioningService.createUsers(dtos);
+
+        assertThat(result.created()).isEqualTo(MAX_ROWS);
+        assertThat(result.failures()).isEmpty();
+        assertThat(users()).isEqualTo(MAX_ROWS + 1);
+        assertThat(changes()).isEqualTo(MAX_ROWS);
+    }
+
+    @Test
+    void rejectedRowsDoNotStopTheOthers() {
+
+        List<UserRegisterDto> dtos = new ArrayList<>();
+        dtos.add(user("ana@gamerental.dev"));
+        dtos.add(new UserRegisterDto("Sem e-mail", "invalido", "123456", SubscriptionPlans.NOOB));
+        dtos.add(user("ANA@gamerental.dev"));
+        dtos.add(user("cadastrada@gamerental.dev"));
+        dtos.add(null);
+        dtos.add(user("bruno@gamerental.dev"));
+
+        UserBulkResultDto result = userProvisioningService.createUsers(dtos);
+
+        assertThat(result.requested()).isEqualTo(6);
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.failures()).extracting(UserBulkFailureDto::index).containsExactly(1, 2, 3, 4);
+        assertThat(result.failures().get(1).reason()).isEqualTo("E-mail repetido no lote (linha 0)");
+        assertThat(result.failures().get(2).reason()).isEqualTo("Usuário já cadastrado");
+        assertThat(result.failures().get(3).reason()).isEqualTo("Linha vazia");
+
+        assertThat(emails()).containsExactlyInAnyOrder(
+                "cadastrada@gamerental.dev", "ana@gamerental.dev", "bruno@gamerental.dev");
+    }
+
+    @Test
+    void failedBatchFallsBackToRowByRowInserts() {
+
+        // E-mail válido, porém maior que a coluna: o lote (3 linhas) falha e as linhas são inseridas individualmente
+        String tooLong = "a".repeat(60) + "@gamerental.dev";
+
+        UserBulkResultDto result = userProvisioningService.createUsers(List.of(
+                user("ana@gamerental.dev"),
+                user(tooLong),
+                user("bruno@gamerental.dev"),
+                user("carla@gamerental.dev")
+        ));
+
+        assertThat(result.created()).isEqualTo(3);
+        assertThat(result.failures()).containsExactly(new UserBulkFailureDto(1, tooLong, "Falha ao gravar usuário"));
+
+        assertThat(emails()).containsExactlyInAnyOrder(
+                "cadastrada@gamerental.dev", "ana@gamerental.dev", "bruno@gamerental.dev", "carla@gamerental.dev");
+        assertThat(changes()).isEqualTo(3); // Linhas do lote com falha também entram no feed de alterações
+    }
+
+    @Test
+    void concurrentRegistrationIsReportedAsDuplicate() {
+
+        // Cadastro concorrente do mesmo e-mail após a verificação de existência, durante a criptografia
+        onConcurrentPassword.set(() -> insertUser("Concorrente", "bruno@gamerental.dev"));
+
+        UserBulkResultDto result = userProvisioningService.createUsers(List.of(
+                user("ana@gamerental.dev"),
+                new UserRegisterDto("Bruno", "bruno@gamerental.dev", CONCURRENT_PASSWORD, SubscriptionPlans.PRO)
+        ));
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failures()).containsExactly(
+                new UserBulkFailureDto(1, "bruno@gamerental.dev", "Usuário já cadastrado"));
+
+        assertThat(emails()).containsExactlyInAnyOrder(
+                "cadastrada@gamerental.dev", "ana@gamerental.dev", "bruno@gamerental.dev");
+        assertThat(changes()).isEqualTo(1);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static UserRegisterDto user(String email) {
+        return new UserRegisterDto("Usuário", email, "123456", SubscriptionPlans.NOOB);
+    }
+
+    private void insertUser(String name, String email) {
+
+        jdbcTemplate.update("""
+                INSERT INTO tb_user (name, name_normalized, email, email_normalized, password, role, plan, active_rentals, version)
+                VALUES (?, ?, ?, ?, 'hash', 'USER', 'NOOB', 0, 0)
+                """, name, name.toLowerCase(), email, email.toLowerCase());
+    }
+
+    private int users() {
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_user", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private List<String> emails() {
+
+        return jdbcTemplate.queryForList("SELECT email FROM tb_user", String.class);
+    }
+
+    private int changes() {
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_change WHERE entity_type = 'USER'", Integer.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,35 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import dev.viniciussr.gamerental.dto.UserLoginDto;
+import dev.viniciussr.gamerental.dto.UserRegisterDto;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import org.junit.jupiter.api.Test;
+
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.atMost;
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.exactly;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL dos endpoints de {@code AuthController}.
+ */
+class AuthControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void register() throws Exception {
+
+        UserRegisterDto dto = new UserRegisterDto("Ana Lúcia", "ana@gamerental.dev", PASSWORD, SubscriptionPlans.PRO);
+
+        perform("register", atMost(3), withJson(post("/auth/register"), dto))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void login() throws Exception {
+
+        UserLoginDto dto = new UserLoginDto(renter.getEmail(), PASSWORD);
+
+        perform("login", exactly(1), withJson(post("/auth/login"), dto))
+                .andExpect(status().isOk());
+    }
+}
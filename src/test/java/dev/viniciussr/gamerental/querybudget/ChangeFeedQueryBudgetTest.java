@@ -0,0 +1,161 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.viniciussr.gamerental.dto.GameUpdateDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.dto.UserUpdateDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.atMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Feed de alterações ({@code GET /changes?since=}): apenas as alterações posteriores à sequência informada,
+ * tombstones para remoções e uma consulta por tipo de registro, independentemente do tamanho da página.
+ */
+class ChangeFeedQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void listChangesReturnsOnlyChangesAfterSince() throws Exception {
+
+        updateGame("Elden Ring: Nightreign");
+        mockMvc.perform(withJson(asAdmin(patch("/users/{id}", renter.getIdUser())),
+                        new UserUpdateDto("Maria da Conceição", null, null, null, null)))
+                .andExpect(status().isOk());
+
+        JsonNode page = changes("listChanges", atMost(4), asAdmin(get("/changes")));
+        assertThat(summary(page)).containsExactly(
+                "GAME:" + rentedGame.getIdGame(),
+                "USER:" + renter.getIdUser()
+        );
+        assertThat(page.at("/changes/0/data/title").asText()).isEqualTo("Elden Ring: Nightreign");
+        assertThat(page.at("/changes/1/data/name").asText()).isEqualTo("Maria da Conceição");
+        assertThat(page.get("hasMore").asBoolean()).isFalse();
+
+        // Alterações do mesmo registro: apenas a última permanece, com nova sequência
+        updateGame("Elden Ring");
+
+        JsonNode delta = changes("listChanges (delta)", atMost(3),
+                asAdmin(get("/changes").param("since", page.get("next").asText())));
+        assertThat(summary(delta)).containsExactly("GAME:" + rentedGame.getIdGame());
+        assertThat(delta.at("/changes/0/data/title").asText()).isEqualTo("Elden Ring");
+
+        JsonNode full = changes("listChanges (completo)", atMost(4), asAdmin(get("/changes")));
+        assertThat(summary(full)).containsExactly(
+                "USER:" + renter.getIdUser(),
+                "GAME:" + rentedGame.getIdGame()
+        );
+
+        // Sem alterações posteriores: a sequência é mantida
+        JsonNode empty = changes("listChanges (vazio)", atMost(2),
+                asAdmin(get("/changes").param("since", delta.get("next").asText())));
+        assertThat(empty.get("changes")).isEmpty();
+        assertThat(empty.get("next").asLong()).isEqualTo(delta.get("next").asLong());
+    }
+
+    @Test
+    void deletionIsReturnedAsTombstone() throws Exception {
+
+        mockMvc.perform(asAdmin(delete("/games/{id}", freeGame.getIdGame())))
+                .andExpect(status().isNoContent());
+
+        JsonNode page = changes("listChanges", atMost(2), asAdmin(get("/changes")));
+        assertThat(summary(page)).containsExactly("GAME:" + freeGame.getIdGame());
+        assertThat(page.at("/changes/0/deleted").asBoolean()).isTrue();
+        assertThat(page.at("/changes/0/data").isNull()).isTrue();
+    }
+
+    @Test
+    void pagesAreBoundedByLimit() throws Exception {
+
+        rentFreeGame(); // Aluguel, usuário e jogo
+
+        JsonNode first = changes("listChanges (página 1)", atMost(5), asAdmin(get("/changes").param("limit", "2")));
+        assertThat(first.get("changes")).hasSize(2);
+        assertThat(first.get("hasMore").asBoolean()).isTrue();
+
+        JsonNode second = changes("listChanges (página 2)", atMost(4),
+                asAdmin(get("/changes").param("limit", "2").param("since", first.get("next").asText())));
+        assertThat(second.get("changes")).hasSize(1);
+        assertThat(second.get("hasMore").asBoolean()).isFalse();
+
+        List<String> all = new ArrayList<>(summary(first));
+        all.addAll(summary(second));
+        assertThat(all).containsExactlyInAnyOrder(
+                "GAME:" + freeGame.getIdGame(),
+                "USER:" + newcomer.getIdUser(),
+                "RENTAL:" + rentalId(second, first)
+        );
+    }
+
+    @Test
+    void listChangesFiltersByEntity() throws Exception {
+
+        rentFreeGame();
+
+        JsonNode page = changes("listChanges (aluguéis)", atMost(3), asAdmin(get("/changes").param("entity", "RENTAL")));
+        assertThat(page.get("changes")).hasSize(1);
+        assertThat(page.at("/changes/0/entity").asText()).isEqualTo("RENTAL");
+        assertThat(page.at("/changes/0/data/userId").asLong()).isEqualTo(newcomer.getIdUser());
+    }
+
+    @Test
+    void failedWriteIsNotRecorded() throws Exception {
+
+        // Jogo sem estoque: transação desfeita, nenhuma alteração no feed
+        RentalDto dto = new RentalDto(null, unavailableGame.getIdGame(), newcomer.getIdUser(), null, null, null);
+        mockMvc.perform(withJson(asAdmin(post("/rentals")), dto))
+                .andExpect(status().isConflict());
+
+        JsonNode page = changes("listChanges", atMost(2), asAdmin(get("/changes")));
+        assertThat(page.get("changes")).isEmpty();
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private void updateGame(String title) throws Exception {
+
+        mockMvc.perform(withJson(asAdmin(patch("/games/{id}", rentedGame.getIdGame())), new GameUpdateDto(title, null, null, null)))
+                .andExpect(status().isOk());
+    }
+
+    private void rentFreeGame() throws Exception {
+
+        RentalDto dto = new RentalDto(null, freeGame.getIdGame(), newcomer.getIdUser(), null, null, null);
+        mockMvc.perform(withJson(asAdmin(post("/rentals")), dto))
+                .andExpect(status().isCreated());
+    }
+
+    private JsonNode changes(String operation, QueryBudget budget, MockHttpServletRequestBuilder request) throws Exception {
+
+        ResultActions result = perform(operation, budget, request).andExpect(status().isOk());
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+
+    /**
+     * Alterações da página no formato {@code TIPO:ID}, na ordem do feed.
+     */
+    private static List<String> summary(JsonNode page) {
+
+        List<String> changes = new ArrayList<>();
+        page.get("changes").forEach(change -> changes.add(change.get("entity").asText() + ":" + change.get("id").asLong()));
+        return changes;
+    }
+
+    private static long rentalId(JsonNode... pages) {
+
+        for (JsonNode page : pages) {
+            for (JsonNode change : page.get("changes")) {
+                if (change.get("entity").asText().equals("RENTAL")) return change.get("id").asLong();
+            }
+        }
+        throw new AssertionError("aluguel ausente do feed");
+    }
+}
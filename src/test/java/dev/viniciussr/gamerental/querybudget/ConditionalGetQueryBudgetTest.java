@@ -0,0 +1,141 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import dev.viniciussr.gamerental.dto.GameUpdateDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.dto.UserUpdateDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.atMost;
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.exactly;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requisições condicionais ({@code If-None-Match}) dos endpoints de consulta de jogos, usuários e aluguéis:
+ * {@code 304 Not Modified} com dois comandos SQL (usuário autenticado e leitura da versão) enquanto nada muda
+ * e nova ETag após as alterações. As listagens do catálogo em cache levam a ETag do conteúdo e respondem
+ * {@code 304 Not Modified} apenas com a consulta do usuário autenticado.
+ */
+class ConditionalGetQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void gameByIdIsRevalidatedUntilGameChanges() throws Exception {
+
+        String etag = etag(perform("findGameById", atMost(4), as(renter, get("/games/{id}", rentedGame.getIdGame()))));
+
+        perform("findGameById (304)", exactly(2), ifNoneMatch(as(renter, get("/games/{id}", rentedGame.getIdGame())), etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        GameUpdateDto dto = new GameUpdateDto(null, null, null, 5);
+        perform("updateGame", atMost(4), withJson(asAdmin(patch("/games/{id}", rentedGame.getIdGame())), dto))
+                .andExpect(status().isOk());
+
+        String updated = etag(perform("findGameById (após alteração)", atMost(4),
+                ifNoneMatch(as(renter, get("/games/{id}", rentedGame.getIdGame())), etag)));
+
+        assertThat(updated).isNotEqualTo(etag);
+    }
+
+    @Test
+    void catalogTagsDependOnEncoding() throws Exception {
+
+        String plain = etag(perform("listGames", exactly(2), as(renter, get("/games"))));
+        String gzip = etag(perform("listGames (gzip)", exactly(1),
+                as(renter, get("/games")).header(HttpHeaders.ACCEPT_ENCODING, "gzip")));
+
+        assertThat(gzip).isNotEqualTo(plain);
+
+        perform("listGames (304)", exactly(1), ifNoneMatch(as(renter, get("/games")), plain))
+                .andExpect(status().isNotModified());
+        perform("listGames (gzip, etag sem gzip)", exactly(1),
+                ifNoneMatch(as(renter, get("/games")).header(HttpHeaders.ACCEPT_ENCODING, "gzip"), plain))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void usersAreRevalidatedUntilUserChanges() throws Exception {
+
+        String etag = etag(perform("listUsers", atMost(3), asAdmin(get("/users"))));
+
+        perform("listUsers (304)", exactly(2), ifNoneMatch(asAdmin(get("/users")), "\"outra\", " + etag))
+                .andExpect(status().isNotModified());
+
+        UserUpdateDto dto = new UserUpdateDto("Maria da Conceição", null, null, null, null);
+        perform("updateUser", atMost(3), withJson(asAdmin(patch("/users/{id}", renter.getIdUser())), dto))
+                .andExpect(status().isOk());
+
+        perform("listUsers (após alteração)", atMost(3), ifNoneMatch(asAdmin(get("/users")), etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rentalWritesChangeRentalAndUserTags() throws Exception {
+
+        String rentals = etag(perform("listRentals", atMost(5), asAdmin(get("/rentals"))));
+        String user = etag(perform("findUserById", atMost(3), asAdmin(get("/users/{id}", newcomer.getIdUser()))));
+
+        perform("listRentals (304)", exactly(2), ifNoneMatch(asAdmin(get("/rentals")), rentals))
+                .andExpect(status().isNotModified());
+
+        RentalDto dto = new RentalDto(null, freeGame.getIdGame(), newcomer.getIdUser(), null, null, null);
+        perform("createRental", atMost(8), withJson(asAdmin(post("/rentals")), dto))
+                .andExpect(status().isCreated());
+
+        // Novo aluguel e aluguéis ativos do usuário
+        perform("listRentals (após aluguel)", atMost(5), ifNoneMatch(asAdmin(get("/rentals")), rentals))
+                .andExpect(status().isOk());
+        perform("findUserById (após aluguel)", atMost(3), ifNoneMatch(asAdmin(get("/users/{id}", newcomer.getIdUser())), user))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void failedWriteKeepsTag() throws Exception {
+
+        String etag = etag(perform("listRentals", atMost(5), asAdmin(get("/rentals"))));
+
+        // Jogo sem estoque: transação desfeita, versão inalterada
+        RentalDto dto = new RentalDto(null, unavailableGame.getIdGame(), newcomer.getIdUser(), null, null, null);
+        mockMvc.perform(withJson(asAdmin(post("/rentals")), dto))
+                .andExpect(status().isConflict());
+
+        perform("listRentals (304)", exactly(2), ifNoneMatch(asAdmin(get("/rentals")), etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void changeCommittedByAnotherNodeChangesTag() throws Exception {
+
+        String etag = etag(perform("findGameById", atMost(4), as(renter, get("/games/{id}", rentedGame.getIdGame()))));
+
+        // Alteração registrada no feed por outra instância: nenhum estado em memória desta instância muda
+        jdbcTemplate.update("""
+                INSERT INTO tb_change (entity_type, entity_id, deleted, changed_at)
+                VALUES ('GAME', ?, FALSE, LOCALTIMESTAMP(6))
+                """, rentedGame.getIdGame());
+
+        String updated = etag(perform("findGameById (após alteração em outro nó)", atMost(4),
+                ifNoneMatch(as(renter, get("/games/{id}", rentedGame.getIdGame())), etag)));
+
+        assertThat(updated).isNotEqualTo(etag);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static MockHttpServletRequestBuilder ifNoneMatch(MockHttpServletRequestBuilder request, String etag) {
+
+        return request.header(HttpHeaders.IF_NONE_MATCH, etag);
+    }
+
+    private static String etag(ResultActions result) throws Exception {
+
+        String etag = result.andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+        return etag;
+    }
+}
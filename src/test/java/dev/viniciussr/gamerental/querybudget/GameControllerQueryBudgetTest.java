@@ -0,0 +1,129 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import dev.viniciussr.gamerental.dto.GameDto;
+import dev.viniciussr.gamerental.dto.GameUpdateDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.atMost;
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.exactly;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL dos endpoints de {@code GameController}.
+ */
+class GameControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void createGame() throws Exception {
+
+        GameDto dto = new GameDto(null, "Hollow Knight", GameGenres.METROIDVANIA, Set.of(Platforms.PC, Platforms.NINTENDO), 3, true);
+
+        perform("createGame", atMost(6), withJson(asAdmin(post("/games")), dto))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void updateGame() throws Exception {
+
+        GameUpdateDto dto = new GameUpdateDto("Elden Ring: Nightreign", null, null, 5);
+
+        perform("updateGame", atMost(6), withJson(asAdmin(patch("/games/{id}", rentedGame.getIdGame())), dto))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deleteGame() throws Exception {
+
+        perform("deleteGame", atMost(6), asAdmin(delete("/games/{id}", freeGame.getIdGame())))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void findGameById() throws Exception {
+
+        // Cache frio: usuário autenticado, jogo e plataformas
+        perform("findGameById", exactly(4), as(renter, get("/games/{id}", rentedGame.getIdGame())))
+                .andExpect(status().isOk());
+
+        // Cache de segundo nível: jogo e plataformas sem consulta ao banco (usuário autenticado sempre consultado)
+        perform("findGameById (cache)", exactly(2), as(renter, get("/games/{id}", rentedGame.getIdGame())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listGames() throws Exception {
+
+        perform("listGames", exactly(2), as(renter, get("/games")))
+                .andExpect(status().isOk());
+
+        // Resposta já serializada: apenas o usuário autenticado, até expirar ou até a próxima alteração do cadastro
+        perform("listGames (cache)", exactly(1), as(renter, get("/games")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listGamesAfterUpdate() throws Exception {
+
+        perform("listGames", exactly(2), as(renter, get("/games")))
+                .andExpect(status().isOk());
+
+        GameUpdateDto dto = new GameUpdateDto("Elden Ring: Nightreign", null, null, null);
+        perform("updateGame", atMost(4), withJson(asAdmin(patch("/games/{id}", rentedGame.getIdGame())), dto))
+                .andExpect(status().isOk());
+
+        // Alteração do cadastro descarta a resposta em cache
+        perform("listGames (após alteração)", exactly(2), as(renter, get("/games")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.idGame == %d)].title", rentedGame.getIdGame()).value("Elden Ring: Nightreign"));
+    }
+
+    @Test
+    void listGamesGzip() throws Exception {
+
+        perform("listGames", exactly(2), as(renter, get("/games")))
+                .andExpect(status().isOk());
+
+        // Mesma resposta em cache, na versão comprimida
+        byte[] body = perform("listGames (gzip)", exactly(1), as(renter, get("/games")).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream json = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(objectMapper.readValue(json, GameDto[].class)).hasSize(4);
+        }
+    }
+
+    @Test
+    void listGamesByTitle() throws Exception {
+
+        perform("listGamesByTitle", exactly(2), as(renter, get("/games").param("title", "ring")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listGamesByGenre() throws Exception {
+
+        perform("listGamesByGenre", exactly(2), as(renter, get("/games").param("genre", GameGenres.SOULSLIKE.name())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listAvailableGames() throws Exception {
+
+        perform("listAvailableGames", exactly(2), as(renter, get("/games/available")))
+                .andExpect(status().isOk());
+    }
+}
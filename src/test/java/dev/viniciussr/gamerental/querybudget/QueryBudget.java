@@ -0,0 +1,52 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+/**
+ * Orçamento de comandos SQL de uma operação (requisição HTTP ou chamada de serviço).
+ *
+ * @param statements quantidade de comandos permitida.
+ * @param exact      {@code true} se a quantidade deve ser exatamente igual ao orçamento.
+ */
+record QueryBudget(int statements, boolean exact) {
+
+    /**
+     * @return Orçamento que aceita até {@code statements} comandos.
+     */
+    static QueryBudget atMost(int statements) {
+
+        return new QueryBudget(statements, false);
+    }
+
+    /**
+     * @return Orçamento que exige exatamente {@code statements} comandos.
+     */
+    static QueryBudget exactly(int statements) {
+
+        return new QueryBudget(statements, true);
+    }
+
+    /**
+     * Verifica os comandos executados pela operação contra o orçamento.
+     *
+     * @param operation  nome da operação (usado na mensagem de falha).
+     * @param executed   comandos executados pela operação.
+     * @throws AssertionFailedError se o orçamento não for respeitado.
+     */
+    void verify(String operation, List<String> executed) {
+
+        boolean withinBudget = exact ? executed.size() == statements : executed.size() <= statements;
+        if (withinBudget) return;
+
+        StringBuilder message = new StringBuilder()
+                .append(operation).append(": ").append(executed.size()).append(" comandos SQL, orçamento ")
+                .append(exact ? "= " : "<= ").append(statements);
+        for (int i = 0; i < executed.size(); i++) {
+            message.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(executed.get(i));
+        }
+
+        throw new AssertionFailedError(message.toString(), (exact ? "= " : "<= ") + statements, executed.size());
+    }
+}
@@ -0,0 +1,247 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.Rental;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.RentalRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.security.jwt.JwtService;
+import dev.viniciussr.gamerental.service.CatalogResponseCache;
+import dev.viniciussr.gamerental.service.EmailBloomFilter;
+import dev.viniciussr.gamerental.service.UserSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Base dos testes de orçamento de comandos SQL por endpoint.
+ * <p>
+ * Antes de cada teste, recria um conjunto pequeno e fixo de dados (usuários, jogos e aluguéis) no banco H2
+ * do perfil {@code test}. Cada requisição executada por {@link #perform(String, QueryBudget, MockHttpServletRequestBuilder)}
+ * tem seus comandos SQL contados pelo {@link StatementCounter} e verificados contra o orçamento declarado,
+ * incluindo a consulta do usuário autenticado feita pelo filtro JWT (sempre no banco, fora do cache). Nas gravações, o orçamento inclui o
+ * comando do feed de alterações (registro das alterações em lote, com as sequências atribuídas pelo banco).
+ * </p>
+ * <p>
+ * O cache de segundo nível é esvaziado antes dos dados serem recriados; as entidades gravadas no preparo
+ * entram no cache, como após o cadastro pela API.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryBudgetTestSupport.StatementCounterConfig.class)
+abstract class QueryBudgetTestSupport {
+
+    protected static final String PASSWORD = "senha1234";
+
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+    }
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    /** Administrador (LEGEND), sem aluguéis. */
+    protected User admin;
+
+    /** Usuário PRO com um aluguel ativo e um devolvido. */
+    protected User renter;
+
+    /** Usuário NOOB sem aluguéis. */
+    protected User newcomer;
+
+    /** Jogo disponível com um aluguel ativo. */
+    protected Game rentedGame;
+
+    /** Jogo sem cópias em estoque. */
+    protected Game unavailableGame;
+
+    /** Jogo disponível com um aluguel devolvido. */
+    protected Game returnedGame;
+
+    /** Jogo disponível sem aluguéis. */
+    protected Game freeGame;
+
+    protected Rental activeRental;
+    protected Rental returnedRental;
+
+    protected String adminToken;
+
+    @BeforeEach
+    void seedData() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_idempotency_key");
+        jdbcTemplate.update("DELETE FROM tb_rental_archive");
+        jdbcTemplate.update("DELETE FROM tb_rental_stats_delta");
+        jdbcTemplate.update("DELETE FROM tb_rental_daily_stats");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        jdbcTemplate.update("DELETE FROM tb_change"); // Dados gravados pelos repositórios não entram no feed
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions(); // Remoções via JDBC não passam pelo cache
+        catalogResponseCache.clear(); // Jogos gravados pelo repositório não descartam as respostas em cache
+
+        String password = passwordEncoder.encode(PASSWORD);
+        admin = userRepository.save(new User("Administrador", "admin@gamerental.dev", password, UserRole.ADMIN, SubscriptionPlans.LEGEND, 0));
+        renter = userRepository.save(new User("Maria Conceição", "maria@gamerental.dev", password, UserRole.USER, SubscriptionPlans.PRO, 1));
+        newcomer = userRepository.save(new User("João Souza", "joao@gamerental.dev", password, UserRole.USER, SubscriptionPlans.NOOB, 0));
+
+        rentedGame = gameRepository.save(new Game("Elden Ring", GameGenres.SOULSLIKE, EnumSet.of(Platforms.PC, Platforms.PLAYSTATION), 2, true));
+        unavailableGame = gameRepository.save(new Game("Hades", GameGenres.ROGUELIKE, EnumSet.of(Platforms.PC), 0, false));
+        returnedGame = gameRepository.save(new Game("Celeste", GameGenres.PLATFORMER, EnumSet.of(Platforms.NINTENDO), 2, true));
+        freeGame = gameRepository.save(new Game("Tetris", GameGenres.PUZZLE, EnumSet.of(Platforms.MOBILE), 1, true));
+
+        LocalDate today = LocalDate.now();
+        activeRental = rentalRepository.save(new Rental(rentedGame, renter, today.minusDays(3), today.plusDays(12), RentalStatus.ACTIVE));
+        returnedRental = rentalRepository.save(new Rental(returnedGame, renter, today.minusDays(40), today.minusDays(25), RentalStatus.RETURNED));
+
+        // Estruturas em memória carregadas a partir do banco
+        userSearchIndex.rebuild();
+        emailFilter.rebuild();
+
+        adminToken = jwtService.generateToken(admin);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Executa a requisição contando os comandos SQL e verificando o orçamento.
+     *
+     * @param operation nome da operação (usado na mensagem de falha).
+     * @param budget    orçamento de comandos SQL.
+     * @param request   requisição a ser executada.
+     * @return Resultado da requisição, para as verificações de resposta.
+     */
+    protected ResultActions perform(String operation, QueryBudget budget, MockHttpServletRequestBuilder request) throws Exception {
+
+        ResultActions result;
+        List<String> statements;
+
+        statementCounter.start();
+        try {
+            result = mockMvc.perform(request);
+        } finally {
+            statements = statementCounter.stop();
+        }
+
+        budget.verify(operation, statements);
+        return result;
+    }
+
+    /**
+     * Executa uma chamada (ex.: método de serviço) contando os comandos SQL e verificando o orçamento.
+     *
+     * @param operation nome da operação (usado na mensagem de falha).
+     * @param budget    orçamento de comandos SQL.
+     * @param call      chamada a ser executada.
+     * @return Retorno da chamada.
+     */
+    protected <T> T call(String operation, QueryBudget budget, Supplier<T> call) {
+
+        T result;
+        List<String> statements;
+
+        statementCounter.start();
+        try {
+            result = call.get();
+        } finally {
+            statements = statementCounter.stop();
+        }
+
+        budget.verify(operation, statements);
+        return result;
+    }
+
+    /**
+     * Adiciona o token do administrador à requisição.
+     */
+    protected MockHttpServletRequestBuilder asAdmin(MockHttpServletRequestBuilder request) {
+
+        return request.header("Authorization", "Bearer " + adminToken);
+    }
+
+    /**
+     * Adiciona o token do usuário informado à requisição.
+     */
+    protected MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+
+        return request.header("Authorization", "Bearer " + jwtService.generateToken(user));
+    }
+
+    /**
+     * Define o corpo JSON da requisição.
+     */
+    protected MockHttpServletRequestBuilder withJson(MockHttpServletRequestBuilder request, Object body) throws Exception {
+
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+}
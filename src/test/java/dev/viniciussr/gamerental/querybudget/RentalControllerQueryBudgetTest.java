@@ -0,0 +1,183 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.dto.RentalUpdateDto;
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.atMost;
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.exactly;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL dos endpoints de {@code RentalController}.
+ * <p>
+ * A exportação ({@code GET /rentals/export}) fica de fora: o corpo é gerado em streaming,
+ * em outra thread, após o retorno do controller.
+ * </p>
+ * <p>
+ * As listagens só consultam {@code tb_rental_archive} com {@code include-archived=true}.
+ * </p>
+ */
+class RentalControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void createRental() throws Exception {
+
+        RentalDto dto = new RentalDto(null, freeGame.getIdGame(), newcomer.getIdUser(), null, null, null);
+
+        perform("createRental", atMost(9), withJson(asAdmin(post("/rentals")), dto))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void updateRental() throws Exception {
+
+        RentalUpdateDto dto = new RentalUpdateDto(freeGame.getIdGame(), null);
+
+        perform("updateRental", atMost(6), withJson(asAdmin(patch("/rentals/{id}", activeRental.getIdRental())), dto))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deleteRental() throws Exception {
+
+        perform("deleteRental", atMost(6), asAdmin(delete("/rentals/{id}", returnedRental.getIdRental())))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void returnRental() throws Exception {
+
+        perform("returnRental", atMost(8), asAdmin(put("/rentals/return/{id}", activeRental.getIdRental())))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void renewRental() throws Exception {
+
+        perform("renewRental", atMost(5), asAdmin(put("/rentals/renew/{id}", activeRental.getIdRental())))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void cancelRental() throws Exception {
+
+        perform("cancelRental", atMost(8), asAdmin(put("/rentals/cancel/{id}", activeRental.getIdRental())))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void archiveClosedRentals() throws Exception {
+
+        perform("archiveClosedRentals", atMost(2), asAdmin(post("/rentals/archive")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void findRentalById() throws Exception {
+
+        perform("findRentalById", exactly(3), asAdmin(get("/rentals/{id}", activeRental.getIdRental())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listRentals() throws Exception {
+
+        archiveRental(LocalDate.now().minusDays(200));
+
+        perform("listRentals", exactly(3), asAdmin(get("/rentals")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void listRentalsByGameId() throws Exception {
+
+        perform("listRentalsByGameId", exactly(3), asAdmin(get("/rentals/game-id/{id}", rentedGame.getIdGame())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listRentalsByUserId() throws Exception {
+
+        perform("listRentalsByUserId", exactly(3), asAdmin(get("/rentals/user-id/{id}", renter.getIdUser())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listRentalsByRentalDate() throws Exception {
+
+        perform("listRentalsByRentalDate", exactly(3),
+                asAdmin(get("/rentals").param("rental-date", activeRental.getRentalDate().toString())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listRentalsByEndDate() throws Exception {
+
+        perform("listRentalsByEndDate", exactly(3),
+                asAdmin(get("/rentals").param("end-date", returnedRental.getEndDate().toString())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listRentalsByStatus() throws Exception {
+
+        perform("listRentalsByStatus", exactly(3), asAdmin(get("/rentals").param("status", RentalStatus.ACTIVE.name())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listRentalsByUserName() throws Exception {
+
+        perform("listRentalsByUserName", exactly(3), asAdmin(get("/rentals").param("username", renter.getName())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listRentalsByGameTitle() throws Exception {
+
+        perform("listRentalsByGameTitle", exactly(3), asAdmin(get("/rentals").param("title", rentedGame.getTitle())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listRentalsIncludingArchived() throws Exception {
+
+        archiveRental(LocalDate.now().minusDays(200));
+
+        perform("listRentals (com arquivo)", exactly(4), asAdmin(get("/rentals").param("include-archived", "true")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void listRentalsByStatusIncludingArchived() throws Exception {
+
+        archiveRental(LocalDate.now().minusDays(200));
+
+        perform("listRentalsByStatus (com arquivo)", exactly(4),
+                asAdmin(get("/rentals").param("status", RentalStatus.RETURNED.name()).param("include-archived", "true")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private void archiveRental(LocalDate rentalDate) {
+
+        jdbcTemplate.update("""
+                INSERT INTO tb_rental_archive (id_rental, game_id, user_id, rental_date, end_date, status, archived_at)
+                VALUES (?, ?, ?, ?, ?, 'RETURNED', ?)
+                """, 1_000_000L, returnedGame.getIdGame(), renter.getIdUser(), Date.valueOf(rentalDate),
+                Date.valueOf(rentalDate.plusDays(15)), Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,25 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import dev.viniciussr.gamerental.service.RentalService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.atMost;
+
+/**
+ * Orçamento de comandos SQL das rotinas de {@code RentalService} sem endpoint próprio.
+ */
+class RentalServiceQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Test
+    void markRentalsLate() {
+
+        call("markRentalsLate", atMost(3), () -> {
+            rentalService.markRentalsLate();
+            return null;
+        });
+    }
+}
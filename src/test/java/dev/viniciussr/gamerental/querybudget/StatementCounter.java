@@ -0,0 +1,55 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ouvinte do datasource-proxy que registra os comandos SQL executados pela thread atual
+ * entre {@link #start()} e {@link #stop()}.
+ * <p>
+ * Cada execução (ida ao banco) conta como um comando; um lote JDBC conta uma única vez.
+ * Comandos de outras threads (tarefas agendadas, por exemplo) não são registrados.
+ * </p>
+ */
+class StatementCounter implements QueryExecutionListener {
+
+    private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+    /**
+     * Inicia o registro dos comandos da thread atual.
+     */
+    void start() {
+
+        statements.set(new ArrayList<>());
+    }
+
+    /**
+     * Encerra o registro e retorna os comandos executados desde {@link #start()}.
+     *
+     * @return Comandos executados, em ordem.
+     */
+    List<String> stop() {
+
+        List<String> recorded = statements.get();
+        statements.remove();
+        return recorded != null ? recorded : List.of();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        List<String> recorded = statements.get();
+        if (recorded == null || queryInfoList.isEmpty()) return;
+
+        String sql = queryInfoList.getFirst().getQuery();
+        recorded.add(execInfo.isBatch() ? sql + " [lote: " + execInfo.getBatchSize() + "]" : sql);
+    }
+}
@@ -0,0 +1,114 @@
+package dev.viniciussr.gamerental.querybudget;
+
+import dev.viniciussr.gamerental.dto.UserRegisterDto;
+import dev.viniciussr.gamerental.dto.UserUpdateDto;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.atMost;
+import static dev.viniciussr.gamerental.querybudget.QueryBudget.exactly;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL dos endpoints de {@code UserController}.
+ */
+class UserControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void createUser() throws Exception {
+
+        UserRegisterDto dto = new UserRegisterDto("Ana Lúcia", "ana@gamerental.dev", PASSWORD, SubscriptionPlans.PRO);
+
+        perform("createUser", atMost(4), withJson(asAdmin(post("/users")), dto))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void createUsers() throws Exception {
+
+        List<UserRegisterDto> dtos = List.of(
+                new UserRegisterDto("Ana Lúcia", "ana@gamerental.dev", PASSWORD, SubscriptionPlans.PRO),
+                new UserRegisterDto("Caio Lima", "caio@gamerental.dev", PASSWORD, SubscriptionPlans.NOOB),
+                new UserRegisterDto("Débora Simões", "debora@gamerental.dev", PASSWORD, SubscriptionPlans.LEGEND)
+        );
+
+        perform("createUsers", atMost(8), withJson(asAdmin(post("/users/bulk")), dtos))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateUser() throws Exception {
+
+        UserUpdateDto dto = new UserUpdateDto("Maria da Conceição", null, null, null, SubscriptionPlans.LEGEND);
+
+        perform("updateUser", atMost(5), withJson(asAdmin(patch("/users/{id}", renter.getIdUser())), dto))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deleteUser() throws Exception {
+
+        perform("deleteUser", atMost(5), asAdmin(delete("/users/{id}", newcomer.getIdUser())))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void findUserById() throws Exception {
+
+        perform("findUserById", exactly(3), asAdmin(get("/users/{id}", renter.getIdUser())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listUsers() throws Exception {
+
+        perform("listUsers", exactly(3), asAdmin(get("/users")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listUsersByName() throws Exception {
+
+        perform("listUsersByName", exactly(3), asAdmin(get("/users").param("name", "conceição")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listUsersByEmail() throws Exception {
+
+        perform("listUsersByEmail", exactly(3), asAdmin(get("/users").param("email", "gamerental")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listUsersByNamePrefix() throws Exception {
+
+        perform("listUsersByNamePrefix", exactly(3), asAdmin(get("/users").param("name-prefix", "mar")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listUsersByEmailPrefix() throws Exception {
+
+        perform("listUsersByEmailPrefix", exactly(3), asAdmin(get("/users").param("email-prefix", "jo")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listUsersByRole() throws Exception {
+
+        perform("listUsersByRole", exactly(3), asAdmin(get("/users").param("role", UserRole.USER.name())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listUsersByPlan() throws Exception {
+
+        perform("listUsersByPlan", exactly(3), asAdmin(get("/users").param("plan", SubscriptionPlans.PRO.name())))
+                .andExpect(status().isOk());
+    }
+}
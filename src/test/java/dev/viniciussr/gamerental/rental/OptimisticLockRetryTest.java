@@ -0,0 +1,156 @@
+package dev.viniciussr.gamerental.rental;
+
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.service.OptimisticLockRetry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Repetição das operações em conflito de versão ({@link OptimisticLockRetry}): quantidade de tentativas,
+ * intervalo entre elas e métricas de conflitos.
+ * <p>
+ * O conflito é forçado lançando {@link ObjectOptimisticLockingFailureException} nas primeiras tentativas.
+ * O intervalo entre as tentativas fica entre {@code backoff * tentativa} e {@code backoff * (tentativa + 1)},
+ * com uma folga para a abertura e o rollback das transações.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OptimisticLockRetryTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_MS = 50;
+    private static final long SLACK_MS = 100;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetry lockRetry;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        lockRetry = new OptimisticLockRetry(transactionTemplate, meterRegistry, MAX_ATTEMPTS, BACKOFF_MS);
+    }
+
+    @Test
+    void conflictsAreRetriedWithGrowingBackoffUntilSuccess() {
+
+        ConflictingAction action = new ConflictingAction(MAX_ATTEMPTS - 1);
+
+        assertThat(lockRetry.execute("createRental", action)).isEqualTo("ok");
+
+        assertThat(action.attempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(action.transactional).isTrue();
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            assertThat(action.intervalBefore(attempt + 1))
+                    .isBetween(BACKOFF_MS * attempt, BACKOFF_MS * (attempt + 1) + SLACK_MS);
+        }
+        assertThat(count("optimistic.lock.conflicts", "createRental")).isEqualTo(MAX_ATTEMPTS - 1);
+        assertThat(count("optimistic.lock.exhausted", "createRental")).isZero();
+    }
+
+    @Test
+    void conflictIsRethrownAfterLastAttempt() {
+
+        ConflictingAction action = new ConflictingAction(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> lockRetry.execute("returnRental", action))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(action.attempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(count("optimistic.lock.conflicts", "returnRental")).isEqualTo(MAX_ATTEMPTS);
+        assertThat(count("optimistic.lock.exhausted", "returnRental")).isEqualTo(1);
+    }
+
+    @Test
+    void operationInCallerTransactionIsNotRetried() {
+
+        ConflictingAction action = new ConflictingAction(1);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                lockRetry.execute("renewRental", action)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(action.attempts()).isEqualTo(1);
+        assertThat(count("optimistic.lock.unretried", "renewRental")).isEqualTo(1);
+        assertThat(count("optimistic.lock.conflicts", "renewRental")).isZero();
+    }
+
+    @Test
+    void operationInRetryingTransactionIsRetriedByOuterOperation() {
+
+        ConflictingAction inner = new ConflictingAction(1);
+
+        assertThat(lockRetry.execute("idempotentRequest", () -> lockRetry.execute("createRental", inner))).isEqualTo("ok");
+
+        assertThat(inner.attempts()).isEqualTo(2);
+        assertThat(count("optimistic.lock.unretried", "createRental")).isZero();
+        assertThat(count("optimistic.lock.conflicts", "idempotentRequest")).isEqualTo(1);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private double count(String name, String operation) {
+
+        Counter counter = meterRegistry.find(name).tag("operation", operation).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    /**
+     * Operação em conflito de versão nas primeiras {@code conflicts} tentativas, registrando o início de cada uma.
+     */
+    private static final class ConflictingAction implements Supplier<String> {
+
+        private final int conflicts;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final List<Long> startedAt = new ArrayList<>();
+        private boolean transactional = true;
+
+        ConflictingAction(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @Override
+        public String get() {
+
+            startedAt.add(System.nanoTime());
+            transactional &= TransactionSynchronizationManager.isActualTransactionActive();
+
+            if (attempts.incrementAndGet() <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Game.class, 1L);
+            }
+            return "ok";
+        }
+
+        int attempts() {
+            return attempts.get();
+        }
+
+        /**
+         * Intervalo, em milissegundos, entre o início da tentativa anterior e o da tentativa informada (a partir de 2).
+         */
+        long intervalBefore(int attempt) {
+            return TimeUnit.NANOSECONDS.toMillis(startedAt.get(attempt - 1) - startedAt.get(attempt - 2));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.viniciussr.gamerental.rental;
+
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.exception.rental.PlanLimitExceededException;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.service.RentalService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vagas de aluguel ativo do plano de assinatura: o limite vale com aluguéis simultâneos do mesmo usuário,
+ * devoluções simultâneas não perdem contagens e o limite é o do plano gravado no banco, mesmo que o
+ * usuário em cache ainda tenha o plano anterior.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RentalSlotTest {
+
+    private static final int ATTEMPTS = 12;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental_stats_delta");
+        jdbcTemplate.update("DELETE FROM tb_rental_daily_stats");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void parallelRentalsReserveExactlyThePlanLimit() throws Exception {
+
+        User user = userRepository.save(newUser("paralelo@gamerental.dev", SubscriptionPlans.LEGEND));
+        List<Game> games = newGames(ATTEMPTS);
+
+        AtomicInteger rented = new AtomicInteger();
+        AtomicInteger limited = new AtomicInteger();
+        runConcurrently(games.stream().<Callable<Void>>map(game -> () -> {
+            try {
+                rentalService.createRental(newRental(game, user));
+                rented.incrementAndGet();
+            } catch (PlanLimitExceededException e) {
+                limited.incrementAndGet();
+            }
+            return null;
+        }).toList());
+
+        int limit = SubscriptionPlans.LEGEND.getMaxActiveRentals();
+        assertThat(rented.get()).isEqualTo(limit);
+        assertThat(limited.get()).isEqualTo(ATTEMPTS - limit);
+        assertThat(activeRentalsCounter(user)).isEqualTo(limit);
+        assertThat(activeRentalRows(user)).isEqualTo(limit);
+    }
+
+    @Test
+    void concurrentReturnsAndRentalsLoseNoCounts() throws Exception {
+
+        User user = userRepository.save(newUser("devolucoes@gamerental.dev", SubscriptionPlans.LEGEND));
+        List<Game> games = newGames(ATTEMPTS);
+
+        List<Long> rentals = new ArrayList<>();
+        for (Game game : games.subList(0, SubscriptionPlans.LEGEND.getMaxActiveRentals())) {
+            rentals.add(rentalService.createRental(newRental(game, user)).idRental());
+        }
+
+        // Devoluções de todos os aluguéis junto com novos aluguéis nos demais jogos
+        List<Callable<Void>> tasks = new ArrayList<>();
+        rentals.forEach(id -> tasks.add(() -> {
+            rentalService.returnRental(id);
+            return null;
+        }));
+        games.subList(rentals.size(), games.size()).forEach(game -> tasks.add(() -> {
+            try {
+                rentalService.createRental(newRental(game, user));
+            } catch (PlanLimitExceededException e) {
+                // Limite atingido antes das devoluções: esperado em parte das tentativas
+            }
+            return null;
+        }));
+        runConcurrently(tasks);
+
+        assertThat(activeRentalsCounter(user)).isEqualTo(activeRentalRows(user));
+        assertThat(activeRentalsCounter(user)).isBetween(0, SubscriptionPlans.LEGEND.getMaxActiveRentals());
+    }
+
+    @Test
+    void limitFollowsPlanChangedSinceUserWasRead() {
+
+        User downgraded = userRepository.save(newUser("rebaixado@gamerental.dev", SubscriptionPlans.PRO));
+        User upgraded = userRepository.save(newUser("promovido@gamerental.dev", SubscriptionPlans.NOOB));
+        List<Game> games = newGames(4);
+
+        // Usuários em cache com o plano anterior; plano alterado por outra instância
+        userRepository.findById(downgraded.getIdUser());
+        userRepository.findById(upgraded.getIdUser());
+        changePlanOnAnotherInstance(downgraded, SubscriptionPlans.NOOB);
+        changePlanOnAnotherInstance(upgraded, SubscriptionPlans.PRO);
+
+        rentalService.createRental(newRental(games.get(0), downgraded));
+        assertThatThrownBy(() -> rentalService.createRental(newRental(games.get(1), downgraded)))
+                .isInstanceOf(PlanLimitExceededException.class);
+
+        rentalService.createRental(newRental(games.get(2), upgraded));
+        rentalService.createRental(newRental(games.get(3), upgraded));
+        assertThat(activeRentalsCounter(upgraded)).isEqualTo(2);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void changePlanOnAnotherInstance(User user, SubscriptionPlans plan) {
+
+        jdbcTemplate.update("UPDATE tb_user SET plan = ? WHERE id_user = ?", plan.name(), user.getIdUser());
+    }
+
+    private int activeRentalsCounter(User user) {
+
+        return jdbcTemplate.queryForObject(
+                "SELECT active_rentals FROM tb_user WHERE id_user = ?", Integer.class, user.getIdUser());
+    }
+
+    private int activeRentalRows(User user) {
+
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_rental WHERE user_id = ? AND status = 'ACTIVE'", Integer.class, user.getIdUser());
+    }
+
+    private List<Game> newGames(int count) {
+
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            games.add(gameRepository.save(
+                    new Game("Jogo " + i, GameGenres.ROGUELIKE, EnumSet.of(Platforms.PC), 1, true)));
+        }
+        return games;
+    }
+
+    private static RentalDto newRental(Game game, User user) {
+
+        return new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null);
+    }
+
+    private static User newUser(String email, SubscriptionPlans plan) {
+
+        return new User("Jogador", email, "hash", UserRole.USER, plan, 0);
+    }
+}
@@ -0,0 +1,64 @@
+package dev.viniciussr.gamerental.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Acesso ao Actuator: a coleta de métricas do Prometheus dispensa autenticação apenas
+ * na porta interna ({@code management.server.port}).
+ */
+@SpringBootTest(properties = "management.server.port=" + ActuatorSecurityTest.MANAGEMENT_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActuatorSecurityTest {
+
+    static final int MANAGEMENT_PORT = 8081;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusRequiresAuthenticationOnTheApiPort() throws Exception {
+
+        int status = mockMvc.perform(get("/actuator/prometheus").with(localPort(8080)))
+                .andReturn().getResponse().getStatus();
+
+        assertThat(status).isIn(401, 403);
+    }
+
+    @Test
+    void prometheusIsOpenOnTheManagementPort() throws Exception {
+
+        int status = mockMvc.perform(get("/actuator/prometheus").with(localPort(MANAGEMENT_PORT)))
+                .andReturn().getResponse().getStatus();
+
+        assertThat(status).isNotIn(401, 403);
+    }
+
+    @Test
+    void otherActuatorEndpointsRequireAuthenticationOnTheManagementPort() throws Exception {
+
+        int status = mockMvc.perform(get("/actuator/metrics").with(localPort(MANAGEMENT_PORT)))
+                .andReturn().getResponse().getStatus();
+
+        assertThat(status).isIn(401, 403);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static RequestPostProcessor localPort(int port) {
+
+        return request -> {
+            request.setLocalPort(port);
+            return request;
+        };
+    }
+}
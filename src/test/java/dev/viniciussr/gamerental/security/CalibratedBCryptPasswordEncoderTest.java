@@ -0,0 +1,50 @@
+package dev.viniciussr.gamerental.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recriação de hashes BCrypt: apenas hashes com custo abaixo do configurado são recriados,
+ * para que nós com custos diferentes não alternem o hash de uma senha a cada login.
+ */
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    void onlyHashesBelowTheConfiguredCostAreUpgraded() {
+
+        CalibratedBCryptPasswordEncoder encoder = encoder(6);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("segredo"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("segredo"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("segredo"))).isFalse();
+    }
+
+    @Test
+    void nodesWithDifferentCostsDoNotAlternateTheHash() {
+
+        CalibratedBCryptPasswordEncoder lowerCostNode = encoder(5);
+        CalibratedBCryptPasswordEncoder higherCostNode = encoder(6);
+
+        String hash = lowerCostNode.encode("segredo");
+        assertThat(higherCostNode.upgradeEncoding(hash)).isTrue();
+
+        String upgraded = higherCostNode.encode("segredo");
+        assertThat(lowerCostNode.upgradeEncoding(upgraded)).isFalse();
+        assertThat(lowerCostNode.matches("segredo", upgraded)).isTrue();
+    }
+
+    @Test
+    void fixedCostSkipsCalibration() {
+
+        assertThat(encoder(7).getCost()).isEqualTo(7);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static CalibratedBCryptPasswordEncoder encoder(int fixedCost) {
+        return new CalibratedBCryptPasswordEncoder(250, fixedCost, 4, 16, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,101 @@
+package dev.viniciussr.gamerental.security;
+
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.security.jwt.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Autorização do feed de alterações ({@code GET /changes}): usuários consultam apenas as alterações do
+ * catálogo de jogos; as de usuários e aluguéis (ou sem filtro de tipo) são restritas a administradores.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeFeedAuthorizationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_user");
+
+        userToken = token(new User("Jogador", "jogador@gamerental.dev", "hash", UserRole.USER, SubscriptionPlans.NOOB, 0));
+        adminToken = token(new User("Admin", "admin@gamerental.dev", "hash", UserRole.ADMIN, SubscriptionPlans.NOOB, 0));
+    }
+
+    @Test
+    void userReadsGameChanges() throws Exception {
+
+        assertThat(status(userToken, get("/changes").param("entity", "GAME"))).isEqualTo(200);
+        assertThat(status(userToken, get("/changes").param("entity", "GAME").param("since", "10"))).isEqualTo(200);
+    }
+
+    @Test
+    void userCannotReadUserOrRentalChanges() throws Exception {
+
+        assertThat(status(userToken, get("/changes"))).isEqualTo(403);
+        assertThat(status(userToken, get("/changes").param("entity", "USER"))).isEqualTo(403);
+        assertThat(status(userToken, get("/changes").param("entity", "RENTAL"))).isEqualTo(403);
+        assertThat(status(userToken, get("/changes").param("entity", "GAME,USER"))).isEqualTo(403);
+        assertThat(status(userToken, get("/changes").param("entity", "GAME", "RENTAL"))).isEqualTo(403);
+        assertThat(status(userToken, get("/changes").param("entity", ""))).isEqualTo(403);
+    }
+
+    @Test
+    void adminReadsAllChanges() throws Exception {
+
+        assertThat(status(adminToken, get("/changes"))).isEqualTo(200);
+        assertThat(status(adminToken, get("/changes").param("entity", "USER", "RENTAL"))).isEqualTo(200);
+        assertThat(status(adminToken, get("/changes").param("entity", "GAME"))).isEqualTo(200);
+    }
+
+    @Test
+    void anonymousCannotReadGameChanges() throws Exception {
+
+        int status = mockMvc.perform(get("/changes").param("entity", "GAME")).andReturn().getResponse().getStatus();
+
+        assertThat(status).isIn(401, 403);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private String token(User user) {
+
+        return "Bearer " + jwtService.generateToken(userRepository.save(user));
+    }
+
+    private int status(String token, MockHttpServletRequestBuilder request) throws Exception {
+
+        return mockMvc.perform(request.header("Authorization", token)).andReturn().getResponse().getStatus();
+    }
+}
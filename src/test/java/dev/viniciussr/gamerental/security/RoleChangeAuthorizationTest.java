@@ -0,0 +1,111 @@
+package dev.viniciussr.gamerental.security;
+
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.security.jwt.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Autorização das requisições após alterações feitas em outra instância da aplicação.
+ * <p>
+ * O usuário fica no cache de segundo nível desta instância; a alteração feita por outra instância é simulada
+ * gravando diretamente no banco, sem passar pelo cache. O mesmo token passa a valer com a nova role já na
+ * requisição seguinte.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RoleChangeAuthorizationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        user = userRepository.save(new User("Bruno", "bruno@gamerental.dev", "hash", UserRole.USER,
+                SubscriptionPlans.LEGEND, 0));
+        token = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Test
+    void promotionOnAnotherInstanceIsAuthorizedOnNextRequest() throws Exception {
+
+        assertThat(listUsers()).isEqualTo(403);
+        cacheUser();
+
+        changeRoleOnAnotherInstance(UserRole.ADMIN);
+
+        assertThat(listUsers()).isEqualTo(200);
+    }
+
+    @Test
+    void demotionOnAnotherInstanceIsDeniedOnNextRequest() throws Exception {
+
+        changeRoleOnAnotherInstance(UserRole.ADMIN);
+        assertThat(listUsers()).isEqualTo(200);
+        cacheUser();
+
+        changeRoleOnAnotherInstance(UserRole.USER);
+
+        assertThat(listUsers()).isEqualTo(403);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Carrega o usuário no cache de segundo nível desta instância, com a role atual.
+     */
+    private void cacheUser() {
+
+        userRepository.findById(user.getIdUser());
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .containsEntity(User.class, user.getIdUser())).isTrue();
+    }
+
+    private void changeRoleOnAnotherInstance(UserRole role) {
+
+        jdbcTemplate.update("UPDATE tb_user SET role = ? WHERE id_user = ?", role.name(), user.getIdUser());
+    }
+
+    private int listUsers() throws Exception {
+
+        return mockMvc.perform(get("/users").header("Authorization", token))
+                .andReturn().getResponse().getStatus();
+    }
+}
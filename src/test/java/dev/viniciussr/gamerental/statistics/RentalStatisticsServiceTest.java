@@ -0,0 +1,228 @@
+package dev.viniciussr.gamerental.statistics;
+
+import dev.viniciussr.gamerental.dto.DailyRentalStatsDto;
+import dev.viniciussr.gamerental.dto.GameRankingDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.RentalStatus;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.Rental;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.RentalRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.service.RentalService;
+import dev.viniciussr.gamerental.service.RentalStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Estatísticas de aluguéis: eventos gravados na transação do aluguel e somados em lotes ao rollup diário,
+ * e reconstrução a partir do histórico (tabela principal e arquivo).
+ * <p>
+ * A soma periódica é adiada para além da duração do teste; cada teste chama {@code foldDeltas()} explicitamente.
+ * Lotes de 2 eventos, para que a soma percorra vários lotes.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "rental.statistics.fold-interval-ms=3600000",
+        "rental.statistics.fold-batch-size=2"
+})
+@ActiveProfiles("test")
+class RentalStatisticsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate YESTERDAY = TODAY.minusDays(1);
+
+    @Autowired
+    private RentalStatisticsService statisticsService;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental_stats_delta");
+        jdbcTemplate.update("DELETE FROM tb_rental_daily_stats");
+        jdbcTemplate.update("DELETE FROM tb_rental_archive");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        user = userRepository.save(new User("Jogador", "jogador@gamerental.dev", "hash", UserRole.USER, SubscriptionPlans.LEGEND, 0));
+        game = gameRepository.save(new Game("Celeste", GameGenres.PLATFORMER, EnumSet.of(Platforms.PC), 5, true));
+    }
+
+    @Test
+    void rentalEventsAreStoredWithTheRentalUntilFolded() {
+
+        RentalDto rental = rentalService.createRental(new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null));
+        rentalService.returnRental(rental.idRental());
+
+        // Eventos já confirmados no banco junto com o aluguel: nada a perder em uma queda antes da soma
+        assertThat(deltaRows()).isEqualTo(2);
+        assertThat(statsRows()).isZero();
+
+        assertThat(statisticsService.foldDeltas()).isEqualTo(2);
+
+        assertThat(deltaRows()).isZero();
+        assertThat(dailyStats(TODAY, TODAY)).containsExactly(new DailyRentalStatsDto(TODAY, 1L, 1L, 0L));
+    }
+
+    @Test
+    void countersAccumulateAcrossFolds() {
+
+        rentalService.createRental(new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null));
+        statisticsService.foldDeltas();
+        rentalService.createRental(new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null));
+        statisticsService.foldDeltas();
+
+        assertThat(dailyStats(TODAY, TODAY)).containsExactly(new DailyRentalStatsDto(TODAY, 2L, 0L, 0L));
+        assertThat(statisticsService.listTopGames(TODAY, TODAY, 10))
+                .containsExactly(new GameRankingDto(game.getIdGame(), "Celeste", 2L));
+    }
+
+    @Test
+    void rolledBackEventsAreNotCounted() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statisticsService.recordRentalCreated(new Rental(game, user, TODAY, TODAY.plusDays(15), RentalStatus.ACTIVE));
+            status.setRollbackOnly();
+        });
+
+        assertThat(deltaRows()).isZero();
+        assertThat(statisticsService.foldDeltas()).isZero();
+        assertThat(statsRows()).isZero();
+    }
+
+    @Test
+    void concurrentFoldsCountEachEventOnce() throws Exception {
+
+        int events = 20;
+        Rental rental = new Rental(game, user, TODAY, TODAY.plusDays(15), RentalStatus.ACTIVE);
+        for (int i = 0; i < events; i++) statisticsService.recordRentalCreated(rental);
+
+        // Duas instâncias somando ao mesmo tempo
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(statisticsService::foldDeltas);
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(statisticsService::foldDeltas);
+
+        assertThat(first.get(10, TimeUnit.SECONDS) + second.get(10, TimeUnit.SECONDS)).isEqualTo(events);
+        assertThat(deltaRows()).isZero();
+        assertThat(dailyStats(TODAY, TODAY)).containsExactly(new DailyRentalStatsDto(TODAY, (long) events, 0L, 0L));
+    }
+
+    @Test
+    void rebuildRecomputesDaysFromRentalsAndArchive() {
+
+        LocalDate twoDaysAgo = TODAY.minusDays(2);
+        insertRental(twoDaysAgo, YESTERDAY, RentalStatus.RETURNED);
+        insertRental(twoDaysAgo, YESTERDAY, RentalStatus.CANCELLED);
+        insertRental(YESTERDAY, null, RentalStatus.ACTIVE);
+        insertArchivedRental(twoDaysAgo, YESTERDAY);
+
+        // Contagem incorreta previamente gravada: substituída pela reconstrução
+        jdbcTemplate.update("""
+                INSERT INTO tb_rental_daily_stats (stat_date, game_id, genre, plan, rentals_created, rentals_returned, rentals_cancelled)
+                VALUES (?, ?, 'PLATFORMER', 'LEGEND', 42, 0, 0)
+                """, Date.valueOf(twoDaysAgo), game.getIdGame());
+
+        statisticsService.rebuildStatistics(twoDaysAgo, YESTERDAY);
+
+        assertThat(dailyStats(twoDaysAgo, YESTERDAY)).containsExactly(
+                new DailyRentalStatsDto(twoDaysAgo, 3L, 0L, 0L),
+                new DailyRentalStatsDto(YESTERDAY, 1L, 2L, 1L)
+        );
+    }
+
+    @Test
+    void rebuildDoesNotCountPendingEventsTwice() {
+
+        // Aluguel de ontem já gravado, com o evento ainda não somado (ex.: soma após a meia-noite ou falha anterior)
+        Rental rental = insertRental(YESTERDAY, null, RentalStatus.ACTIVE);
+        statisticsService.recordRentalCreated(rental);
+
+        statisticsService.rebuildStatistics(YESTERDAY, YESTERDAY);
+        statisticsService.foldDeltas();
+
+        assertThat(dailyStats(YESTERDAY, YESTERDAY)).containsExactly(new DailyRentalStatsDto(YESTERDAY, 1L, 0L, 0L));
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private Rental insertRental(LocalDate rentalDate, LocalDate endDate, RentalStatus status) {
+
+        return rentalRepository.save(new Rental(game, user, rentalDate, endDate, status));
+    }
+
+    private void insertArchivedRental(LocalDate rentalDate, LocalDate endDate) {
+
+        jdbcTemplate.update("""
+                INSERT INTO tb_rental_archive (id_rental, game_id, user_id, rental_date, end_date, status, archived_at)
+                VALUES (?, ?, ?, ?, ?, 'RETURNED', ?)
+                """, 1_000_000L, game.getIdGame(), user.getIdUser(), Date.valueOf(rentalDate), Date.valueOf(endDate),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private List<DailyRentalStatsDto> dailyStats(LocalDate from, LocalDate to) {
+
+        return statisticsService.listDailyStatsByGenre(GameGenres.PLATFORMER, from, to);
+    }
+
+    private int deltaRows() {
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_rental_stats_delta", Integer.class);
+        return rows != null ? rows : 0;
+    }
+
+    private int statsRows() {
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_rental_daily_stats", Integer.class);
+        return rows != null ? rows : 0;
+    }
+}
@@ -0,0 +1,231 @@
+package dev.viniciussr.gamerental.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.viniciussr.gamerental.dto.GameUpdateDto;
+import dev.viniciussr.gamerental.dto.InventoryEventDto;
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.security.jwt.JwtService;
+import dev.viniciussr.gamerental.service.GameService;
+import dev.viniciussr.gamerental.service.RentalService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stream de estoque ({@code GET /games/stream}): eventos publicados após o commit para todas as conexões
+ * e retomada pelo header {@code Last-Event-ID}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class InventoryStreamTest {
+
+    private static final int SUBSCRIBERS = 3;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private User user;
+    private Game game;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental_stats_delta");
+        jdbcTemplate.update("DELETE FROM tb_rental_daily_stats");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        user = userRepository.save(new User("Jogador", "jogador@gamerental.dev", "hash", UserRole.USER, SubscriptionPlans.LEGEND, 0));
+        game = gameRepository.save(new Game("Celeste", GameGenres.PLATFORMER, EnumSet.of(Platforms.PC), 1, true));
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void rentalAndReturnArePushedToAllSubscribers() throws Exception {
+
+        List<Subscription> subscriptions = new ArrayList<>();
+        try {
+            for (int i = 0; i < SUBSCRIBERS; i++) subscriptions.add(subscribe(null));
+
+            RentalDto rental = rentalService.createRental(new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null));
+            rentalService.returnRental(rental.idRental());
+
+            for (Subscription subscription : subscriptions) {
+                assertThat(inventory(subscription.next())).isEqualTo(new InventoryEventDto(game.getIdGame(), 0, false, false));
+                assertThat(inventory(subscription.next())).isEqualTo(new InventoryEventDto(game.getIdGame(), 1, true, false));
+            }
+        } finally {
+            subscriptions.forEach(Subscription::close);
+        }
+    }
+
+    @Test
+    void reconnectionResumesAfterLastEventId() throws Exception {
+
+        Event first;
+        try (Subscription subscription = subscribe(null)) {
+            updateQuantity(5);
+            first = subscription.next();
+        }
+
+        // Alterações enquanto o cliente está desconectado
+        updateQuantity(6);
+        gameService.deleteGame(game.getIdGame());
+
+        try (Subscription resumed = subscribe(first.id())) {
+            assertThat(inventory(resumed.next())).isEqualTo(new InventoryEventDto(game.getIdGame(), 6, true, false));
+            assertThat(inventory(resumed.next())).isEqualTo(new InventoryEventDto(game.getIdGame(), 0, false, true));
+        }
+    }
+
+    @Test
+    void unknownLastEventIdRequestsReset() throws Exception {
+
+        try (Subscription subscription = subscribe("outra-instancia.42")) {
+            assertThat(subscription.next().type()).isEqualTo("reset");
+        }
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private void updateQuantity(int quantity) {
+
+        gameService.updateGame(game.getIdGame(), new GameUpdateDto(null, null, null, quantity));
+    }
+
+    private InventoryEventDto inventory(Event event) throws IOException {
+
+        assertThat(event.type()).isEqualTo("inventory");
+        return objectMapper.readValue(event.data(), InventoryEventDto.class);
+    }
+
+    private Subscription subscribe(String lastEventId) throws IOException, InterruptedException {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/games/stream"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) request.header("Last-Event-ID", lastEventId);
+
+        HttpResponse<Stream<String>> response = httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new Subscription(response.body());
+    }
+
+    /**
+     * Evento SSE recebido (campos {@code id}, {@code event} e {@code data}).
+     */
+    private record Event(String id, String type, String data) {
+    }
+
+    /**
+     * Conexão inscrita no stream, lida em uma thread virtual.
+     */
+    private static final class Subscription implements AutoCloseable {
+
+        private final Stream<String> lines;
+        private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+
+        Subscription(Stream<String> lines) {
+            this.lines = lines;
+            Thread.ofVirtual().start(this::read);
+        }
+
+        Event next() throws InterruptedException {
+
+            Event event = events.poll(10, TimeUnit.SECONDS);
+            assertThat(event).as("evento recebido").isNotNull();
+            return event;
+        }
+
+        @Override
+        public void close() {
+            lines.close();
+        }
+
+        private void read() {
+
+            String[] fields = new String[3];
+            try {
+                lines.forEach(line -> {
+                    if (line.isEmpty()) {
+                        if (fields[1] != null) events.add(new Event(fields[0], fields[1], fields[2]));
+                        fields[0] = fields[1] = fields[2] = null;
+                    } else if (line.startsWith("id: ")) {
+                        fields[0] = line.substring(4);
+                    } else if (line.startsWith("event: ")) {
+                        fields[1] = line.substring(7);
+                    } else if (line.startsWith("data: ")) {
+                        fields[2] = line.substring(6);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Conexão encerrada pelo teste
+            }
+        }
+    }
+}
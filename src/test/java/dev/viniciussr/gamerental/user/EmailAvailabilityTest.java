@@ -0,0 +1,190 @@
+package dev.viniciussr.gamerental.user;
+
+import dev.viniciussr.gamerental.dto.UserDto;
+import dev.viniciussr.gamerental.dto.UserRegisterDto;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.exception.user.UserAlreadyExistsException;
+import dev.viniciussr.gamerental.service.EmailBloomFilter;
+import dev.viniciussr.gamerental.service.UserService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verificação de e-mail disponível no cadastro, com o filtro de e-mails cadastrados ({@link EmailBloomFilter}).
+ * <p>
+ * O filtro só muda após o commit e nunca deixa passar um e-mail cadastrado sem a exceção de domínio: nem após
+ * transações desfeitas, nem para cadastros de outras instâncias, nem durante a reconstrução periódica.
+ * A carga dos e-mails na reconstrução passa por um ouvinte de comandos do teste, que permite confirmar
+ * cadastros enquanto ela está em andamento.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(EmailAvailabilityTest.EmailLoadProbeConfig.class)
+class EmailAvailabilityTest {
+
+    /** Ação executada após a consulta dos e-mails cadastrados (carga do filtro). */
+    private static final AtomicReference<Runnable> onEmailLoad = new AtomicReference<>(() -> {});
+
+    @TestConfiguration
+    static class EmailLoadProbeConfig {
+
+        @Bean
+        QueryExecutionListener emailLoadProbe() {
+
+            return new QueryExecutionListener() {
+                @Override
+                public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                }
+
+                @Override
+                public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+                    if (queryInfoList.isEmpty()) return;
+                    String query = queryInfoList.getFirst().getQuery().toLowerCase();
+                    if (query.startsWith("select u1_0.email from tb_user")) onEmailLoad.get().run();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        emailFilter.rebuild();
+    }
+
+    @AfterEach
+    void resetProbe() {
+
+        onEmailLoad.set(() -> {});
+    }
+
+    @Test
+    void rolledBackDeletionKeepsEmailInFilter() {
+
+        UserDto user = userService.createUser(newUser("lucas@gamerental.dev"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteUser(user.idUser());
+            status.setRollbackOnly();
+        });
+
+        assertThat(emailFilter.mightContain("lucas@gamerental.dev")).isTrue();
+        assertThatThrownBy(() -> userService.createUser(newUser("lucas@gamerental.dev")))
+                .isInstanceOf(UserAlreadyExistsException.class);
+    }
+
+    @Test
+    void rolledBackRegistrationDoesNotAddEmail() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.createUser(newUser("desfeito@gamerental.dev"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(emailFilter.mightContain("desfeito@gamerental.dev")).isFalse();
+    }
+
+    @Test
+    void deletionIsAppliedAfterCommit() {
+
+        UserDto user = userService.createUser(newUser("sofia@gamerental.dev"));
+
+        userService.deleteUser(user.idUser());
+
+        assertThat(emailFilter.mightContain("sofia@gamerental.dev")).isFalse();
+        assertThat(userService.createUser(newUser("sofia@gamerental.dev")).email()).isEqualTo("sofia@gamerental.dev");
+    }
+
+    @Test
+    void duplicateMissingFromFilterIsRejectedWithDomainException() {
+
+        // Cadastro feito por outra instância, ainda fora do filtro desta
+        jdbcTemplate.update("""
+                INSERT INTO tb_user (name, email, password, role, plan, active_rentals)
+                VALUES ('Outra Instância', 'outra@gamerental.dev', 'hash', 'USER', 'NOOB', 0)
+                """);
+        assertThat(emailFilter.mightContain("outra@gamerental.dev")).isFalse();
+
+        assertThatThrownBy(() -> userService.createUser(newUser("outra@gamerental.dev")))
+                .isInstanceOf(UserAlreadyExistsException.class);
+    }
+
+    @Test
+    void registrationCommittedDuringRebuildIsKept() throws Exception {
+
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        onEmailLoad.set(() -> {
+            loaded.countDown();
+            await(release);
+        });
+
+        // Reconstrução com a carga já feita, ainda sem o novo e-mail
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(emailFilter::rebuild);
+        assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+        onEmailLoad.set(() -> {});
+
+        userService.createUser(newUser("durante@gamerental.dev"));
+
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(emailFilter.mightContain("durante@gamerental.dev")).isTrue();
+        assertThatThrownBy(() -> userService.createUser(newUser("durante@gamerental.dev")))
+                .isInstanceOf(UserAlreadyExistsException.class);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private static UserRegisterDto newUser(String email) {
+
+        return new UserRegisterDto("Jogador", email, "senha1234", SubscriptionPlans.NOOB);
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package dev.viniciussr.gamerental.user;
+
+import db.migration.V16__Normalize_user_search_columns;
+import dev.viniciussr.gamerental.dto.UserDto;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.exception.user.UserNotFoundException;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.service.UserSearchIndex;
+import dev.viniciussr.gamerental.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Busca de usuários por trecho do nome e do e-mail pelo índice de trigramas ({@link UserSearchIndex}).
+ * <p>
+ * Os resultados são comparados com os da consulta anterior ao índice
+ * ({@code UPPER(coluna) LIKE UPPER('%trecho%')}, com os curingas escapados), executada no mesmo banco.
+ * O índice só muda após o commit, e o preenchimento das colunas normalizadas dos usuários existentes
+ * usa a mesma normalização da aplicação.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserSearchTest {
+
+    private static final List<String> NAMES = List.of(
+            "José Silva", "JOSE SOUZA", "Josefina Araújo", "Maria da Conceição", "Mario Conceicao",
+            "Ânia Brandão", "ana_100%", "Anabela Simões"
+    );
+
+    private static final List<String> NAME_QUERIES = List.of(
+            "", "a", "jo", "JOSÉ", "josé", "jose", "SILVA", "conceição", "conceicao", "ão", "ania", "Ânia",
+            "_", "%", "100%", "a_1", "ab", "inexistente"
+    );
+
+    private static final List<String> EMAIL_QUERIES = List.of(
+            "", "@", "jose", "JOSE.", "gamerental.dev", ".dev", "_", "ção", "inexistente"
+    );
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        for (int i = 0; i < NAMES.size(); i++) {
+            userRepository.save(newUser(NAMES.get(i), email(i)));
+        }
+        userSearchIndex.rebuild();
+    }
+
+    @Test
+    void nameSearchMatchesPreviousLikeQuery() {
+
+        for (String query : NAME_QUERIES) {
+            assertThat(ids(userService::listUsersByName, query))
+                    .as("nome contendo '%s'", query)
+                    .isEqualTo(likeQuery("name", query));
+        }
+    }
+
+    @Test
+    void emailSearchMatchesPreviousLikeQuery() {
+
+        for (String query : EMAIL_QUERIES) {
+            assertThat(ids(userService::listUsersByEmail, query))
+                    .as("e-mail contendo '%s'", query)
+                    .isEqualTo(likeQuery("email", query));
+        }
+    }
+
+    @Test
+    void rolledBackChangesDoNotReachIndex() {
+
+        User existing = userRepository.findAll().getFirst();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteUser(existing.getIdUser());
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(newUser("Desfeito Rollback", "desfeito@gamerental.dev"));
+            userSearchIndex.index(userRepository.findByEmail("desfeito@gamerental.dev").orElseThrow());
+            status.setRollbackOnly();
+        });
+
+        assertThat(userSearchIndex.searchByName(existing.getName())).contains(existing.getIdUser());
+        assertThat(userSearchIndex.searchByName("rollback")).isEmpty();
+    }
+
+    @Test
+    void committedChangesReachIndexAfterCommit() {
+
+        User existing = userRepository.findAll().getFirst();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteUser(existing.getIdUser());
+            assertThat(userSearchIndex.searchByName(existing.getName())).contains(existing.getIdUser());
+        });
+
+        assertThat(userSearchIndex.searchByName(existing.getName())).doesNotContain(existing.getIdUser());
+    }
+
+    @Test
+    void backfillUsesApplicationNormalization() throws Exception {
+
+        // Usuário gravado antes da correção: colunas preenchidas apenas com LOWER(), acentos mantidos
+        jdbcTemplate.update("UPDATE tb_user SET name_normalized = LOWER(name), email_normalized = LOWER(email)");
+        assertThat(userService.listUsersByNamePrefix("jose").stream().map(UserDto::name))
+                .containsExactly("JOSE SOUZA", "Josefina Araújo");
+
+        try (Connection connection = dataSource.getConnection()) {
+            new V16__Normalize_user_search_columns().migrate(new MigrationContext(connection));
+        }
+
+        List<String> mismatches = jdbcTemplate.query("SELECT name, name_normalized FROM tb_user", (rs, row) ->
+                        User.normalizeForSearch(rs.getString("name")).equals(rs.getString("name_normalized"))
+                                ? null : rs.getString("name"))
+                .stream().filter(name -> name != null).toList();
+        assertThat(mismatches).isEmpty();
+        assertThat(userService.listUsersByNamePrefix("jose").stream().map(UserDto::name))
+                .containsExactly("José Silva", "JOSE SOUZA", "Josefina Araújo");
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    /**
+     * Consulta anterior ao índice de busca, como gerada para {@code findBy<Coluna>ContainingIgnoreCase}.
+     */
+    private List<Long> likeQuery(String column, String query) {
+
+        String escaped = query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return jdbcTemplate.queryForList(
+                "SELECT id_user FROM tb_user WHERE UPPER(" + column + ") LIKE UPPER(?) ESCAPE '\\' ORDER BY id_user",
+                Long.class, "%" + escaped + "%");
+    }
+
+    private static List<Long> ids(Function<String, List<UserDto>> search, String query) {
+
+        try {
+            return search.apply(query).stream().map(UserDto::idUser).toList();
+        } catch (UserNotFoundException e) {
+            return List.of();
+        }
+    }
+
+    private static String email(int index) {
+
+        return switch (index % 3) {
+            case 0 -> "jose." + index + "@gamerental.dev";
+            case 1 -> "conceição_" + index + "@gamerental.dev";
+            default -> "Usuario" + index + "@GameRental.dev";
+        };
+    }
+
+    private static User newUser(String name, String email) {
+
+        return new User(name, email, "hash", UserRole.USER, SubscriptionPlans.NOOB, 0);
+    }
+
+    /**
+     * Contexto mínimo de execução da migração, sobre uma conexão do pool.
+     */
+    private record MigrationContext(Connection connection) implements Context {
+
+        @Override
+        public Configuration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public Connection getConnection() {
+            return connection;
+        }
+    }
+}
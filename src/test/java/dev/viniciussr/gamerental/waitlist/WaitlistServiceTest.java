@@ -0,0 +1,268 @@
+package dev.viniciussr.gamerental.waitlist;
+
+import dev.viniciussr.gamerental.dto.RentalDto;
+import dev.viniciussr.gamerental.dto.WaitlistDto;
+import dev.viniciussr.gamerental.enums.GameGenres;
+import dev.viniciussr.gamerental.enums.Platforms;
+import dev.viniciussr.gamerental.enums.SubscriptionPlans;
+import dev.viniciussr.gamerental.enums.UserRole;
+import dev.viniciussr.gamerental.enums.WaitlistStatus;
+import dev.viniciussr.gamerental.exception.game.GameIsNotAvailableException;
+import dev.viniciussr.gamerental.exception.waitlist.AlreadyOnWaitlistException;
+import dev.viniciussr.gamerental.model.Game;
+import dev.viniciussr.gamerental.model.User;
+import dev.viniciussr.gamerental.repository.GameRepository;
+import dev.viniciussr.gamerental.repository.UserRepository;
+import dev.viniciussr.gamerental.service.RentalService;
+import dev.viniciussr.gamerental.service.WaitlistService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fila de espera de jogos indisponíveis: reserva da cópia liberada ao primeiro da fila, aluguel com a reserva,
+ * expiração e desistência da reserva, e no máximo uma entrada em aberto por jogo e usuário, mesmo com
+ * inclusões simultâneas.
+ * <p>
+ * A expiração periódica é adiada para além da duração do teste; cada teste chama {@code expireHolds()}
+ * explicitamente, com a passagem do tempo simulada recuando o {@code hold_expires_at} da reserva.
+ * </p>
+ */
+@SpringBootTest(properties = "rental.waitlist.expire-interval-ms=3600000")
+@ActiveProfiles("test")
+class WaitlistServiceTest {
+
+    private static final int ATTEMPTS = 8;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Game game;
+    private User renter;
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("DELETE FROM tb_waitlist");
+        jdbcTemplate.update("DELETE FROM tb_rental_stats_delta");
+        jdbcTemplate.update("DELETE FROM tb_rental_daily_stats");
+        jdbcTemplate.update("DELETE FROM tb_rental");
+        jdbcTemplate.update("DELETE FROM tb_game_platform");
+        jdbcTemplate.update("DELETE FROM tb_game");
+        jdbcTemplate.update("DELETE FROM tb_user");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        game = gameRepository.save(new Game("Hades", GameGenres.ROGUELIKE, EnumSet.of(Platforms.PC), 1, true));
+        renter = userRepository.save(newUser("locatario@gamerental.dev"));
+        first = userRepository.save(newUser("primeiro@gamerental.dev"));
+        second = userRepository.save(newUser("segundo@gamerental.dev"));
+    }
+
+    @Test
+    void returnedCopyIsHeldForFirstInLineWhoRentsIt() {
+
+        Long rental = rent(renter);
+        WaitlistDto firstEntry = join(first);
+        WaitlistDto secondEntry = join(second);
+        assertThat(firstEntry.position()).isEqualTo(1);
+        assertThat(secondEntry.position()).isEqualTo(2);
+
+        rentalService.returnRental(rental);
+
+        // Cópia reservada ao primeiro da fila: fora do estoque e indisponível aos demais
+        assertThat(status(firstEntry)).isEqualTo(WaitlistStatus.HOLDING);
+        assertThat(quantity()).isZero();
+        assertThatThrownBy(() -> rent(second)).isInstanceOf(GameIsNotAvailableException.class);
+
+        rent(first);
+
+        assertThat(status(firstEntry)).isEqualTo(WaitlistStatus.FULFILLED);
+        assertThat(status(secondEntry)).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(waitlistService.findWaitlistEntryById(secondEntry.idWaitlist()).position()).isEqualTo(1);
+        assertThat(quantity()).isZero();
+    }
+
+    @Test
+    void expiredHoldPassesCopyToNextInLine() {
+
+        Long rental = rent(renter);
+        WaitlistDto firstEntry = join(first);
+        WaitlistDto secondEntry = join(second);
+        rentalService.returnRental(rental);
+
+        expireHoldOf(firstEntry);
+        waitlistService.expireHolds();
+
+        assertThat(status(firstEntry)).isEqualTo(WaitlistStatus.EXPIRED);
+        assertThat(status(secondEntry)).isEqualTo(WaitlistStatus.HOLDING);
+        assertThatThrownBy(() -> rent(first)).isInstanceOf(GameIsNotAvailableException.class);
+
+        // Última reserva da fila expirada: a cópia volta ao estoque
+        expireHoldOf(secondEntry);
+        waitlistService.expireHolds();
+
+        assertThat(status(secondEntry)).isEqualTo(WaitlistStatus.EXPIRED);
+        assertThat(quantity()).isEqualTo(1);
+    }
+
+    @Test
+    void leavingWhileHoldingPassesCopyToNextInLine() {
+
+        Long rental = rent(renter);
+        WaitlistDto firstEntry = join(first);
+        WaitlistDto secondEntry = join(second);
+        rentalService.returnRental(rental);
+
+        waitlistService.leaveWaitlist(firstEntry.idWaitlist());
+
+        assertThat(status(firstEntry)).isEqualTo(WaitlistStatus.CANCELLED);
+        assertThat(status(secondEntry)).isEqualTo(WaitlistStatus.HOLDING);
+        assertThat(quantity()).isZero();
+
+        // Sem ninguém aguardando, a desistência devolve a cópia ao estoque
+        waitlistService.leaveWaitlist(secondEntry.idWaitlist());
+
+        assertThat(status(secondEntry)).isEqualTo(WaitlistStatus.CANCELLED);
+        assertThat(quantity()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateJoinIsRejectedAndClosedEntryAllowsRejoining() {
+
+        rent(renter);
+        WaitlistDto entry = join(first);
+
+        assertThatThrownBy(() -> join(first)).isInstanceOf(AlreadyOnWaitlistException.class);
+
+        waitlistService.leaveWaitlist(entry.idWaitlist());
+
+        assertThat(join(first).position()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentJoinsOfSameUserCreateOneOpenEntry() throws Exception {
+
+        rent(renter);
+
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(ATTEMPTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        join(first);
+                        joined.incrementAndGet();
+                    } catch (AlreadyOnWaitlistException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(joined.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - 1);
+        assertThat(openEntries(first)).isEqualTo(1);
+    }
+
+    @Test
+    void databaseRejectsSecondOpenEntryOfSameUser() {
+
+        rent(renter);
+        join(first);
+
+        // Inclusão que não passa pela verificação do serviço (ex.: outra instância na mesma janela)
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+                INSERT INTO tb_waitlist (game_id, user_id, status, created_at)
+                VALUES (?, ?, 'WAITING', LOCALTIMESTAMP(6))
+                """, game.getIdGame(), first.getIdUser()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    // ****** Métodos Auxiliares ******
+
+    private Long rent(User user) {
+
+        return rentalService.createRental(new RentalDto(null, game.getIdGame(), user.getIdUser(), null, null, null)).idRental();
+    }
+
+    private WaitlistDto join(User user) {
+
+        return waitlistService.joinWaitlist(new WaitlistDto(null, game.getIdGame(), user.getIdUser(), null, null, null, null));
+    }
+
+    private WaitlistStatus status(WaitlistDto entry) {
+
+        return waitlistService.findWaitlistEntryById(entry.idWaitlist()).status();
+    }
+
+    /**
+     * Simula o fim do prazo da reserva.
+     */
+    private void expireHoldOf(WaitlistDto entry) {
+
+        jdbcTemplate.update("UPDATE tb_waitlist SET hold_expires_at = DATEADD('MINUTE', -1, LOCALTIMESTAMP(6)) WHERE id_waitlist = ?",
+                entry.idWaitlist());
+    }
+
+    private int quantity() {
+
+        return jdbcTemplate.queryForObject("SELECT quantity FROM tb_game WHERE id_game = ?", Integer.class, game.getIdGame());
+    }
+
+    private int openEntries(User user) {
+
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_waitlist WHERE user_id = ? AND status IN ('WAITING', 'HOLDING')",
+                Integer.class, user.getIdUser());
+    }
+
+    private static User newUser(String email) {
+
+        return new User("Jogador", email, "hash", UserRole.USER, SubscriptionPlans.LEGEND, 0);
+    }
+}